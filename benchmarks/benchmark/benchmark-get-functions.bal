@@ -1,6 +1,7 @@
 import benchmarksprintf;
 import benchmarktypes;
 import benchmarkio;
+import benchmarkworkers;
 import ballerina/io;
 
 map<function()> functions;
@@ -13,10 +14,14 @@ function addFunctions() {
     addJSONFunctions();
     addIntFunctions();
     addFloatFunctions();
+    addDecimalFunctions();
+    addRecordFunctions();
+    addUnionFunctions();
     addTimeFunctions();
     addSprintfFunctions();
     addIoFunctions();
     addStringFunctions();
+    addWorkerFunctions();
 }
 
 function addJSONFunctions() {
@@ -77,6 +82,31 @@ function addFloatFunctions() {
     functions["benchmarkFloatDivisionWithReturn"] = benchmarktypes:benchmarkFloatDivisionWithReturn;
 }
 
+function addDecimalFunctions() {
+    functions["benchmarkDecimalAddition"] = benchmarktypes:benchmarkDecimalAddition;
+    functions["benchmarkDecimalSubtraction"] = benchmarktypes:benchmarkDecimalSubtraction;
+    functions["benchmarkDecimalMultiplication"] = benchmarktypes:benchmarkDecimalMultiplication;
+    functions["benchmarkDecimalComparison"] = benchmarktypes:benchmarkDecimalComparison;
+    functions["benchmarkDecimalPriceCalculation"] = benchmarktypes:benchmarkDecimalPriceCalculation;
+    functions["benchmarkDecimalLargeValueAddition"] = benchmarktypes:benchmarkDecimalLargeValueAddition;
+}
+
+function addRecordFunctions() {
+    functions["benchmarkClosedRecordCreation"] = benchmarktypes:benchmarkClosedRecordCreation;
+    functions["benchmarkOpenRecordCreation"] = benchmarktypes:benchmarkOpenRecordCreation;
+    functions["benchmarkEmptyMapCreation"] = benchmarktypes:benchmarkEmptyMapCreation;
+    functions["benchmarkMapCreation"] = benchmarktypes:benchmarkMapCreation;
+    functions["benchmarkRecordArrayCreation"] = benchmarktypes:benchmarkRecordArrayCreation;
+    functions["benchmarkTableCreation"] = benchmarktypes:benchmarkTableCreation;
+}
+
+function addUnionFunctions() {
+    functions["benchmarkUnionIntNarrowedSum"] = benchmarktypes:benchmarkUnionIntNarrowedSum;
+    functions["benchmarkUnionFloatNarrowedSum"] = benchmarktypes:benchmarkUnionFloatNarrowedSum;
+    functions["benchmarkAnyIntNarrowedSum"] = benchmarktypes:benchmarkAnyIntNarrowedSum;
+    functions["benchmarkUnionIntAccumulator"] = benchmarktypes:benchmarkUnionIntAccumulator;
+}
+
 function addTimeFunctions() {
     functions["benchmarkCurrentTimeFunction"] = benchmarktypes:benchmarkCurrentTimeFunction;
     functions["benchmarkCreateTimeWithZoneIDFunction"] = benchmarktypes:benchmarkCreateTimeWithZoneIDFunction;
@@ -140,3 +170,12 @@ function addStringFunctions() {
     functions["benchmarkStringSplit"] = benchmarktypes:benchmarkStringSplit;
     functions["benchmarkStringUnescape"] = benchmarktypes:benchmarkStringUnescape;
 }
+
+function addWorkerFunctions() {
+    functions["benchmarkWorkerFanOutFanIn2"] = benchmarkworkers:benchmarkWorkerFanOutFanIn2;
+    functions["benchmarkWorkerFanOutFanIn4"] = benchmarkworkers:benchmarkWorkerFanOutFanIn4;
+    functions["benchmarkWorkerFanOutFanIn8"] = benchmarkworkers:benchmarkWorkerFanOutFanIn8;
+    functions["benchmarkWorkerFanOutFanIn16"] = benchmarkworkers:benchmarkWorkerFanOutFanIn16;
+    functions["benchmarkWorkerFanOutFanIn32"] = benchmarkworkers:benchmarkWorkerFanOutFanIn32;
+    functions["benchmarkWorkerFanOutFanIn64"] = benchmarkworkers:benchmarkWorkerFanOutFanIn64;
+}
@@ -0,0 +1,41 @@
+public function benchmarkDecimalAddition() {
+    decimal a = 10.10;
+    decimal b = 9.9;
+    decimal c = a + b;
+}
+
+public function benchmarkDecimalSubtraction() {
+    decimal a = 25.50;
+    decimal b = 15.5;
+    decimal c = a - b;
+}
+
+public function benchmarkDecimalMultiplication() {
+    decimal a = 2.5;
+    decimal b = 5.55;
+    decimal c = a * b;
+}
+
+public function benchmarkDecimalComparison() {
+    decimal a = 25.50;
+    decimal b = 25.5;
+    boolean c = a >= b;
+}
+
+public function benchmarkDecimalPriceCalculation() {
+    decimal[] prices = [19.99, 5.49, 120.00, 0.99, 42.50];
+    int[] quantities = [3, 10, 1, 25, 2];
+    decimal taxRate = 0.0825;
+    decimal total = 0;
+    foreach int i in 0 ..< prices.length() {
+        decimal lineTotal = prices[i] * <decimal> quantities[i];
+        total = total + lineTotal + lineTotal * taxRate;
+    }
+    boolean overLimit = total > 500.0;
+}
+
+public function benchmarkDecimalLargeValueAddition() {
+    decimal a = 123456789012345678901234567890.12;
+    decimal b = 987654321098765432109876543210.98;
+    decimal c = a + b;
+}
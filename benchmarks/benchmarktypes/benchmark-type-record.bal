@@ -0,0 +1,44 @@
+type ClosedPerson record {|
+    string name;
+    int age;
+|};
+
+type Employee record {|
+    readonly string name;
+    int age;
+|};
+
+type OpenPerson record {
+    string name;
+    int age;
+};
+
+public function benchmarkClosedRecordCreation() {
+    ClosedPerson p = {name: "Alice", age: 30};
+}
+
+public function benchmarkOpenRecordCreation() {
+    OpenPerson p = {name: "Alice", age: 30, "city": "Colombo"};
+}
+
+public function benchmarkEmptyMapCreation() {
+    map<int> m = {};
+}
+
+public function benchmarkMapCreation() {
+    map<string> m = {name: "Alice", city: "Colombo"};
+}
+
+public function benchmarkRecordArrayCreation() {
+    ClosedPerson[] people = [];
+    foreach int i in 0 ..< 100 {
+        people.push({name: "Alice", age: i});
+    }
+}
+
+public function benchmarkTableCreation() {
+    table<Employee> key(name) employees = table [
+        {name: "Alice", age: 30},
+        {name: "Bob", age: 31}
+    ];
+}
@@ -0,0 +1,38 @@
+public function benchmarkUnionIntNarrowedSum() {
+    int sum = 0;
+    foreach int i in 0 ..< 100 {
+        int|string value = i;
+        if value is int {
+            sum = sum + value;
+        }
+    }
+}
+
+public function benchmarkUnionFloatNarrowedSum() {
+    float sum = 0.0;
+    foreach int i in 0 ..< 100 {
+        float|string value = <float> i;
+        if value is float {
+            sum = sum + value;
+        }
+    }
+}
+
+public function benchmarkAnyIntNarrowedSum() {
+    int sum = 0;
+    foreach int i in 0 ..< 100 {
+        any value = i;
+        if value is int {
+            sum = sum + value;
+        }
+    }
+}
+
+public function benchmarkUnionIntAccumulator() {
+    int|float total = 0;
+    foreach int i in 0 ..< 100 {
+        if total is int {
+            total = total + i;
+        }
+    }
+}
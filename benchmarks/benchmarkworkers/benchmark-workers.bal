@@ -0,0 +1,983 @@
+public function benchmarkWorkerFanOutFanIn2() {
+    @strand{thread:"any"}
+    worker w1 {
+        int value = <- default;
+        value -> default;
+    }
+
+    int input = 1;
+    input -> w1;
+    int result1 = <- w1;
+}
+
+public function benchmarkWorkerFanOutFanIn4() {
+    @strand{thread:"any"}
+    worker w1 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w2 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w3 {
+        int value = <- default;
+        value -> default;
+    }
+
+    int input = 1;
+    input -> w1;
+    input -> w2;
+    input -> w3;
+    int result1 = <- w1;
+    int result2 = <- w2;
+    int result3 = <- w3;
+}
+
+public function benchmarkWorkerFanOutFanIn8() {
+    @strand{thread:"any"}
+    worker w1 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w2 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w3 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w4 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w5 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w6 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w7 {
+        int value = <- default;
+        value -> default;
+    }
+
+    int input = 1;
+    input -> w1;
+    input -> w2;
+    input -> w3;
+    input -> w4;
+    input -> w5;
+    input -> w6;
+    input -> w7;
+    int result1 = <- w1;
+    int result2 = <- w2;
+    int result3 = <- w3;
+    int result4 = <- w4;
+    int result5 = <- w5;
+    int result6 = <- w6;
+    int result7 = <- w7;
+}
+
+public function benchmarkWorkerFanOutFanIn16() {
+    @strand{thread:"any"}
+    worker w1 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w2 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w3 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w4 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w5 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w6 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w7 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w8 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w9 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w10 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w11 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w12 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w13 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w14 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w15 {
+        int value = <- default;
+        value -> default;
+    }
+
+    int input = 1;
+    input -> w1;
+    input -> w2;
+    input -> w3;
+    input -> w4;
+    input -> w5;
+    input -> w6;
+    input -> w7;
+    input -> w8;
+    input -> w9;
+    input -> w10;
+    input -> w11;
+    input -> w12;
+    input -> w13;
+    input -> w14;
+    input -> w15;
+    int result1 = <- w1;
+    int result2 = <- w2;
+    int result3 = <- w3;
+    int result4 = <- w4;
+    int result5 = <- w5;
+    int result6 = <- w6;
+    int result7 = <- w7;
+    int result8 = <- w8;
+    int result9 = <- w9;
+    int result10 = <- w10;
+    int result11 = <- w11;
+    int result12 = <- w12;
+    int result13 = <- w13;
+    int result14 = <- w14;
+    int result15 = <- w15;
+}
+
+public function benchmarkWorkerFanOutFanIn32() {
+    @strand{thread:"any"}
+    worker w1 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w2 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w3 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w4 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w5 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w6 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w7 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w8 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w9 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w10 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w11 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w12 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w13 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w14 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w15 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w16 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w17 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w18 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w19 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w20 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w21 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w22 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w23 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w24 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w25 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w26 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w27 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w28 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w29 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w30 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w31 {
+        int value = <- default;
+        value -> default;
+    }
+
+    int input = 1;
+    input -> w1;
+    input -> w2;
+    input -> w3;
+    input -> w4;
+    input -> w5;
+    input -> w6;
+    input -> w7;
+    input -> w8;
+    input -> w9;
+    input -> w10;
+    input -> w11;
+    input -> w12;
+    input -> w13;
+    input -> w14;
+    input -> w15;
+    input -> w16;
+    input -> w17;
+    input -> w18;
+    input -> w19;
+    input -> w20;
+    input -> w21;
+    input -> w22;
+    input -> w23;
+    input -> w24;
+    input -> w25;
+    input -> w26;
+    input -> w27;
+    input -> w28;
+    input -> w29;
+    input -> w30;
+    input -> w31;
+    int result1 = <- w1;
+    int result2 = <- w2;
+    int result3 = <- w3;
+    int result4 = <- w4;
+    int result5 = <- w5;
+    int result6 = <- w6;
+    int result7 = <- w7;
+    int result8 = <- w8;
+    int result9 = <- w9;
+    int result10 = <- w10;
+    int result11 = <- w11;
+    int result12 = <- w12;
+    int result13 = <- w13;
+    int result14 = <- w14;
+    int result15 = <- w15;
+    int result16 = <- w16;
+    int result17 = <- w17;
+    int result18 = <- w18;
+    int result19 = <- w19;
+    int result20 = <- w20;
+    int result21 = <- w21;
+    int result22 = <- w22;
+    int result23 = <- w23;
+    int result24 = <- w24;
+    int result25 = <- w25;
+    int result26 = <- w26;
+    int result27 = <- w27;
+    int result28 = <- w28;
+    int result29 = <- w29;
+    int result30 = <- w30;
+    int result31 = <- w31;
+}
+
+public function benchmarkWorkerFanOutFanIn64() {
+    @strand{thread:"any"}
+    worker w1 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w2 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w3 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w4 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w5 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w6 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w7 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w8 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w9 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w10 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w11 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w12 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w13 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w14 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w15 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w16 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w17 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w18 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w19 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w20 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w21 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w22 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w23 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w24 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w25 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w26 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w27 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w28 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w29 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w30 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w31 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w32 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w33 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w34 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w35 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w36 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w37 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w38 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w39 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w40 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w41 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w42 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w43 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w44 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w45 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w46 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w47 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w48 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w49 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w50 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w51 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w52 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w53 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w54 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w55 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w56 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w57 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w58 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w59 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w60 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w61 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w62 {
+        int value = <- default;
+        value -> default;
+    }
+
+    @strand{thread:"any"}
+    worker w63 {
+        int value = <- default;
+        value -> default;
+    }
+
+    int input = 1;
+    input -> w1;
+    input -> w2;
+    input -> w3;
+    input -> w4;
+    input -> w5;
+    input -> w6;
+    input -> w7;
+    input -> w8;
+    input -> w9;
+    input -> w10;
+    input -> w11;
+    input -> w12;
+    input -> w13;
+    input -> w14;
+    input -> w15;
+    input -> w16;
+    input -> w17;
+    input -> w18;
+    input -> w19;
+    input -> w20;
+    input -> w21;
+    input -> w22;
+    input -> w23;
+    input -> w24;
+    input -> w25;
+    input -> w26;
+    input -> w27;
+    input -> w28;
+    input -> w29;
+    input -> w30;
+    input -> w31;
+    input -> w32;
+    input -> w33;
+    input -> w34;
+    input -> w35;
+    input -> w36;
+    input -> w37;
+    input -> w38;
+    input -> w39;
+    input -> w40;
+    input -> w41;
+    input -> w42;
+    input -> w43;
+    input -> w44;
+    input -> w45;
+    input -> w46;
+    input -> w47;
+    input -> w48;
+    input -> w49;
+    input -> w50;
+    input -> w51;
+    input -> w52;
+    input -> w53;
+    input -> w54;
+    input -> w55;
+    input -> w56;
+    input -> w57;
+    input -> w58;
+    input -> w59;
+    input -> w60;
+    input -> w61;
+    input -> w62;
+    input -> w63;
+    int result1 = <- w1;
+    int result2 = <- w2;
+    int result3 = <- w3;
+    int result4 = <- w4;
+    int result5 = <- w5;
+    int result6 = <- w6;
+    int result7 = <- w7;
+    int result8 = <- w8;
+    int result9 = <- w9;
+    int result10 = <- w10;
+    int result11 = <- w11;
+    int result12 = <- w12;
+    int result13 = <- w13;
+    int result14 = <- w14;
+    int result15 = <- w15;
+    int result16 = <- w16;
+    int result17 = <- w17;
+    int result18 = <- w18;
+    int result19 = <- w19;
+    int result20 = <- w20;
+    int result21 = <- w21;
+    int result22 = <- w22;
+    int result23 = <- w23;
+    int result24 = <- w24;
+    int result25 = <- w25;
+    int result26 = <- w26;
+    int result27 = <- w27;
+    int result28 = <- w28;
+    int result29 = <- w29;
+    int result30 = <- w30;
+    int result31 = <- w31;
+    int result32 = <- w32;
+    int result33 = <- w33;
+    int result34 = <- w34;
+    int result35 = <- w35;
+    int result36 = <- w36;
+    int result37 = <- w37;
+    int result38 = <- w38;
+    int result39 = <- w39;
+    int result40 = <- w40;
+    int result41 = <- w41;
+    int result42 = <- w42;
+    int result43 = <- w43;
+    int result44 = <- w44;
+    int result45 = <- w45;
+    int result46 = <- w46;
+    int result47 = <- w47;
+    int result48 = <- w48;
+    int result49 = <- w49;
+    int result50 = <- w50;
+    int result51 = <- w51;
+    int result52 = <- w52;
+    int result53 = <- w53;
+    int result54 = <- w54;
+    int result55 = <- w55;
+    int result56 = <- w56;
+    int result57 = <- w57;
+    int result58 = <- w58;
+    int result59 = <- w59;
+    int result60 = <- w60;
+    int result61 = <- w61;
+    int result62 = <- w62;
+    int result63 = <- w63;
+}
@@ -21,6 +21,7 @@ import org.ballerinalang.config.ConfigRegistry;
 import org.ballerinalang.logging.formatters.HttpAccessLogFormatter;
 import org.ballerinalang.logging.formatters.HttpTraceLogFormatter;
 import org.ballerinalang.logging.formatters.JsonLogFormatter;
+import org.ballerinalang.logging.handlers.AsyncLogHandler;
 import org.ballerinalang.logging.util.BLogLevel;
 import org.ballerinalang.logging.util.BLogLevelMapper;
 
@@ -31,10 +32,13 @@ import java.io.InputStream;
 import java.io.PrintStream;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.ConsoleHandler;
 import java.util.logging.FileHandler;
+import java.util.logging.Handler;
 import java.util.logging.Level;
 import java.util.logging.LogManager;
 import java.util.logging.Logger;
@@ -42,8 +46,14 @@ import java.util.logging.SocketHandler;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import static org.ballerinalang.logging.util.Constants.ASYNC_LOG;
+import static org.ballerinalang.logging.util.Constants.ASYNC_LOG_BATCH_SIZE;
+import static org.ballerinalang.logging.util.Constants.ASYNC_LOG_BUFFER_SIZE;
+import static org.ballerinalang.logging.util.Constants.ASYNC_LOG_OVERFLOW_POLICY;
 import static org.ballerinalang.logging.util.Constants.BALLERINA_USER_LOG_LEVEL;
 import static org.ballerinalang.logging.util.Constants.CONSOLE_LOGGER;
+import static org.ballerinalang.logging.util.Constants.DEFAULT_ASYNC_LOG_BATCH_SIZE;
+import static org.ballerinalang.logging.util.Constants.DEFAULT_ASYNC_LOG_BUFFER_SIZE;
 import static org.ballerinalang.logging.util.Constants.HTTP_ACCESS_LOG;
 import static org.ballerinalang.logging.util.Constants.HTTP_ACCESS_LOG_CONSOLE;
 import static org.ballerinalang.logging.util.Constants.HTTP_ACCESS_LOG_FILE;
@@ -70,6 +80,8 @@ public class BLogManager extends LogManager {
     private BLogLevel ballerinaUserLogLevel = BLogLevel.INFO; // default to INFO
     private Logger httpTraceLogger;
     private Logger httpAccessLogger;
+    private Logger ballerinaRootLogger;
+    private List<AsyncLogHandler> asyncHandlers = new CopyOnWriteArrayList<>();
 
     @Override
     public void readConfiguration(InputStream ins) throws IOException, SecurityException {
@@ -102,6 +114,7 @@ public class BLogManager extends LogManager {
         }
         loggerLevels.put(BALLERINA_USER_LOG_LEVEL, ballerinaUserLogLevel);
 
+        setLogApiHandler();
         setHttpTraceLogHandler();
         setHttpAccessLogHandler();
 
@@ -127,6 +140,26 @@ public class BLogManager extends LogManager {
         return loggerLevels.size() > 1;
     }
 
+    /**
+     * Makes the handlers of the Ballerina log API asynchronous, if asynchronous logging is enabled.
+     */
+    public void setLogApiHandler() {
+        if (!isAsyncLogEnabled()) {
+            return;
+        }
+        if (ballerinaRootLogger == null) {
+            // keep a reference to prevent this logger from being garbage collected
+            ballerinaRootLogger = Logger.getLogger(BALLERINA_ROOT_LOGGER_NAME);
+        }
+        for (Handler handler : ballerinaRootLogger.getHandlers()) {
+            if (handler instanceof AsyncLogHandler) {
+                continue;
+            }
+            ballerinaRootLogger.removeHandler(handler);
+            ballerinaRootLogger.addHandler(toAsyncHandler(handler));
+        }
+    }
+
     /**
      * Initializes the HTTP trace logger.
      */
@@ -144,7 +177,7 @@ public class BLogManager extends LogManager {
             ConsoleHandler consoleHandler = new ConsoleHandler();
             consoleHandler.setFormatter(new HttpTraceLogFormatter());
             consoleHandler.setLevel(Level.FINEST);
-            httpTraceLogger.addHandler(consoleHandler);
+            httpTraceLogger.addHandler(toAsyncHandler(consoleHandler));
             tracelogsEnabled = true;
         }
 
@@ -154,7 +187,7 @@ public class BLogManager extends LogManager {
                 FileHandler fileHandler = new FileHandler(logFilePath, true);
                 fileHandler.setFormatter(new HttpTraceLogFormatter());
                 fileHandler.setLevel(Level.FINEST);
-                httpTraceLogger.addHandler(fileHandler);
+                httpTraceLogger.addHandler(toAsyncHandler(fileHandler));
                 tracelogsEnabled = true;
             } catch (IOException e) {
                 throw new RuntimeException("failed to setup HTTP trace log file: " + logFilePath, e);
@@ -168,7 +201,7 @@ public class BLogManager extends LogManager {
                 SocketHandler socketHandler = new SocketHandler(host, Integer.parseInt(port));
                 socketHandler.setFormatter(new JsonLogFormatter());
                 socketHandler.setLevel(Level.FINEST);
-                httpTraceLogger.addHandler(socketHandler);
+                httpTraceLogger.addHandler(toAsyncHandler(socketHandler));
                 tracelogsEnabled = true;
             } catch (IOException e) {
                 throw new RuntimeException("failed to connect to " + host + ":" + port, e);
@@ -199,7 +232,7 @@ public class BLogManager extends LogManager {
             ConsoleHandler consoleHandler = new ConsoleHandler();
             consoleHandler.setFormatter(new HttpAccessLogFormatter());
             consoleHandler.setLevel(Level.INFO);
-            httpAccessLogger.addHandler(consoleHandler);
+            httpAccessLogger.addHandler(toAsyncHandler(consoleHandler));
             httpAccessLogger.setLevel(Level.INFO);
             accesslogsEnabled = true;
         }
@@ -210,7 +243,7 @@ public class BLogManager extends LogManager {
                 FileHandler fileHandler = new FileHandler(filePath, true);
                 fileHandler.setFormatter(new HttpAccessLogFormatter());
                 fileHandler.setLevel(Level.INFO);
-                httpAccessLogger.addHandler(fileHandler);
+                httpAccessLogger.addHandler(toAsyncHandler(fileHandler));
                 httpAccessLogger.setLevel(Level.INFO);
                 accesslogsEnabled = true;
             } catch (IOException e) {
@@ -224,6 +257,49 @@ public class BLogManager extends LogManager {
         }
     }
 
+    /**
+     * Returns the number of log records dropped by the asynchronous handlers because their buffers were full.
+     *
+     * @return number of dropped log records
+     */
+    public long getDroppedLogCount() {
+        long count = 0;
+        for (AsyncLogHandler handler : asyncHandlers) {
+            count += handler.getDroppedCount();
+        }
+        return count;
+    }
+
+    private boolean isAsyncLogEnabled() {
+        return Boolean.parseBoolean(ConfigRegistry.getInstance().getAsString(ASYNC_LOG));
+    }
+
+    /**
+     * Wraps a handler with an asynchronous handler if asynchronous logging is enabled, so that the records are
+     * formatted and written by a background writer instead of the thread that logs them.
+     *
+     * @param handler handler to wrap
+     * @return the asynchronous handler, or the given handler if asynchronous logging is not enabled
+     */
+    private Handler toAsyncHandler(Handler handler) {
+        if (!isAsyncLogEnabled()) {
+            return handler;
+        }
+        ConfigRegistry configRegistry = ConfigRegistry.getInstance();
+        int bufferSize = configRegistry.contains(ASYNC_LOG_BUFFER_SIZE) ?
+                (int) configRegistry.getAsInt(ASYNC_LOG_BUFFER_SIZE) : DEFAULT_ASYNC_LOG_BUFFER_SIZE;
+        int batchSize = configRegistry.contains(ASYNC_LOG_BATCH_SIZE) ?
+                (int) configRegistry.getAsInt(ASYNC_LOG_BATCH_SIZE) : DEFAULT_ASYNC_LOG_BATCH_SIZE;
+        if (bufferSize <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("async log buffer size and batch size should be greater than zero");
+        }
+        AsyncLogHandler asyncHandler = new AsyncLogHandler(handler, bufferSize, batchSize,
+                AsyncLogHandler.OverflowPolicy.toOverflowPolicy(
+                        configRegistry.getAsString(ASYNC_LOG_OVERFLOW_POLICY)));
+        asyncHandlers.add(asyncHandler);
+        return asyncHandler;
+    }
+
     private String substituteVariables(String value) {
         Matcher matcher = varPattern.matcher(value);
         boolean found = matcher.find();
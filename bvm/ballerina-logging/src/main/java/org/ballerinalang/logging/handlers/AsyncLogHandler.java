@@ -0,0 +1,219 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.logging.handlers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.ErrorManager;
+import java.util.logging.Formatter;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+/**
+ * A log handler which hands the records over to a background writer instead of writing them on the logging thread.
+ * Records are queued in a bounded buffer; the writer takes them in batches, formats each batch with the formatter of
+ * the wrapped handler and publishes it to the wrapped handler as a single record, so that a batch costs one write and
+ * one flush. When the buffer is full the record is either dropped and counted, or the logging thread waits for the
+ * writer, depending on the {@link OverflowPolicy}.
+ * <p>
+ * The wrapped handler is given a formatter which writes the batches as they are, and its level and formatter are
+ * taken over by this handler. Closing this handler writes the queued records and closes the wrapped handler. Records
+ * are queued under the read lock of the handler and the handler is marked closed under the write lock, so a record
+ * accepted before the close is always queued ahead of the end of the queue, and hence written.
+ *
+ * @since 2.0.0
+ */
+public class AsyncLogHandler extends Handler {
+
+    private static final LogRecord END = new LogRecord(Level.OFF, "");
+
+    private final Handler handler;
+    private final BlockingQueue<LogRecord> queue;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final Thread writer;
+    private final LongAdder dropped = new LongAdder();
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private volatile boolean closed = false;
+
+    /**
+     * Creates an asynchronous handler which writes to the given handler.
+     *
+     * @param handler        handler to write the records to
+     * @param bufferSize     maximum number of records waiting to be written
+     * @param batchSize      maximum number of records written at once
+     * @param overflowPolicy what to do with a record when the buffer is full
+     */
+    public AsyncLogHandler(Handler handler, int bufferSize, int batchSize, OverflowPolicy overflowPolicy) {
+        this.handler = handler;
+        this.queue = new ArrayBlockingQueue<>(bufferSize);
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+
+        setLevel(handler.getLevel());
+        setFormatter(handler.getFormatter());
+        handler.setLevel(Level.ALL);
+        handler.setFormatter(new BatchFormatter());
+
+        this.writer = new Thread(this::write, "ballerina-log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public void publish(LogRecord record) {
+        if (closed || !isLoggable(record)) {
+            return;
+        }
+        closeLock.readLock().lock();
+        try {
+            // checked again, since the handler may have been closed while waiting for the lock
+            if (closed) {
+                return;
+            }
+            if (overflowPolicy == OverflowPolicy.DROP) {
+                if (!queue.offer(record)) {
+                    dropped.increment();
+                }
+                return;
+            }
+            // the writer is running until the handler is closed, which waits for this record
+            queue.put(record);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            dropped.increment();
+        } finally {
+            closeLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void flush() {
+        // records are flushed by the writer after each batch
+    }
+
+    @Override
+    public synchronized void close() throws SecurityException {
+        if (closed) {
+            return;
+        }
+        closeLock.writeLock().lock();
+        try {
+            closed = true;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        try {
+            // no record can be queued after the end from here on
+            queue.put(END);
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        handler.close();
+    }
+
+    /**
+     * @return number of records dropped because the buffer was full
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return number of records waiting to be written
+     */
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    private void write() {
+        List<LogRecord> batch = new ArrayList<>(batchSize);
+        StringBuilder text = new StringBuilder();
+        boolean ended = false;
+        while (!ended) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                // only the end of the queue stops the writer
+                continue;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            if (batch.remove(END)) {
+                ended = true;
+            }
+
+            Formatter formatter = getFormatter();
+            for (LogRecord record : batch) {
+                try {
+                    text.append(formatter.format(record));
+                } catch (Exception e) {
+                    reportError(null, e, ErrorManager.FORMAT_FAILURE);
+                }
+            }
+            if (text.length() > 0) {
+                LogRecord batchRecord = new LogRecord(batch.get(0).getLevel(), text.toString());
+                batchRecord.setLoggerName(batch.get(0).getLoggerName());
+                try {
+                    handler.publish(batchRecord);
+                    handler.flush();
+                } catch (Exception e) {
+                    reportError(null, e, ErrorManager.WRITE_FAILURE);
+                }
+            }
+            batch.clear();
+            text.setLength(0);
+        }
+    }
+
+    /**
+     * What to do with a record when the buffer is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Drop the record and count it.
+         */
+        DROP,
+        /**
+         * Wait until the writer makes room for the record.
+         */
+        BLOCK;
+
+        public static OverflowPolicy toOverflowPolicy(String policy) {
+            return DROP.name().equalsIgnoreCase(policy) ? DROP : BLOCK;
+        }
+    }
+
+    /**
+     * Formatter of the wrapped handler, which writes the already formatted batches as they are.
+     */
+    private static class BatchFormatter extends Formatter {
+
+        @Override
+        public String format(LogRecord record) {
+            return record.getMessage();
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.logging.handlers;
+
+import org.ballerinalang.logging.handlers.AsyncLogHandler.OverflowPolicy;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.logging.Formatter;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+/**
+ * Test cases for {@link AsyncLogHandler}.
+ */
+public class AsyncLogHandlerTest {
+
+    @Test
+    public void testDropCountsOverflowedRecords() throws InterruptedException {
+        CollectingHandler target = new CollectingHandler();
+        target.stall();
+        AsyncLogHandler handler = new AsyncLogHandler(target, 2, 1, OverflowPolicy.DROP);
+
+        handler.publish(record("0"));
+        // the writer holds "0", so the buffer takes two more records
+        target.awaitStalled();
+        for (int i = 1; i <= 5; i++) {
+            handler.publish(record(String.valueOf(i)));
+        }
+        Assert.assertEquals(handler.getDroppedCount(), 3);
+        Assert.assertEquals(handler.getPendingCount(), 2);
+
+        target.resume();
+        handler.close();
+        Assert.assertEquals(target.getMessages(), Arrays.asList("0", "1", "2"));
+        Assert.assertEquals(handler.getDroppedCount(), 3);
+    }
+
+    @Test
+    public void testBlockLosesNothing() throws InterruptedException {
+        CollectingHandler target = new CollectingHandler();
+        AsyncLogHandler handler = new AsyncLogHandler(target, 4, 3, OverflowPolicy.BLOCK);
+        int threads = 4;
+        int records = 2000;
+        List<Thread> loggers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            String prefix = t + ":";
+            Thread logger = new Thread(() -> {
+                for (int i = 0; i < records; i++) {
+                    handler.publish(record(prefix + i));
+                }
+            });
+            loggers.add(logger);
+            logger.start();
+        }
+        for (Thread logger : loggers) {
+            logger.join();
+        }
+        handler.close();
+
+        Assert.assertEquals(handler.getDroppedCount(), 0);
+        List<String> messages = target.getMessages();
+        Assert.assertEquals(messages.size(), threads * records);
+        // the records of each thread are written in the order they were logged
+        int[] next = new int[threads];
+        for (String message : messages) {
+            int thread = Integer.parseInt(message.substring(0, message.indexOf(':')));
+            Assert.assertEquals(Integer.parseInt(message.substring(message.indexOf(':') + 1)), next[thread]++);
+        }
+    }
+
+    @Test
+    public void testBatchesKeepRecordOrder() throws InterruptedException {
+        CollectingHandler target = new CollectingHandler();
+        target.stall();
+        AsyncLogHandler handler = new AsyncLogHandler(target, 100, 8, OverflowPolicy.BLOCK);
+
+        handler.publish(record("first"));
+        target.awaitStalled();
+        List<String> expected = new ArrayList<>();
+        expected.add("first");
+        for (int i = 0; i < 50; i++) {
+            handler.publish(record(String.valueOf(i)));
+            expected.add(String.valueOf(i));
+        }
+        target.resume();
+        handler.close();
+
+        Assert.assertEquals(target.getMessages(), expected);
+        // one batch with the first record, then the rest in full batches but the last
+        Assert.assertEquals(target.getBatchSizes(), Arrays.asList(1, 8, 8, 8, 8, 8, 8, 2));
+    }
+
+    @Test
+    public void testCloseWritesQueuedRecords() throws InterruptedException {
+        CollectingHandler target = new CollectingHandler();
+        target.stall();
+        AsyncLogHandler handler = new AsyncLogHandler(target, 10, 4, OverflowPolicy.DROP);
+
+        handler.publish(record("0"));
+        target.awaitStalled();
+        for (int i = 1; i < 10; i++) {
+            handler.publish(record(String.valueOf(i)));
+        }
+        Thread closer = new Thread(handler::close);
+        closer.start();
+        target.resume();
+        closer.join();
+
+        Assert.assertEquals(target.getMessages(),
+                            Arrays.asList("0", "1", "2", "3", "4", "5", "6", "7", "8", "9"));
+        Assert.assertTrue(target.isClosed());
+
+        // records logged after the close are ignored
+        handler.publish(record("10"));
+        Assert.assertEquals(target.getMessages().size(), 10);
+        Assert.assertEquals(handler.getDroppedCount(), 0);
+    }
+
+    private static LogRecord record(String message) {
+        return new LogRecord(Level.INFO, message);
+    }
+
+    /**
+     * Collects the records written by the writer, and can hold the writer inside a write.
+     */
+    private static class CollectingHandler extends Handler {
+
+        private final List<String> messages = new ArrayList<>();
+        private final List<Integer> batchSizes = new ArrayList<>();
+        private final CountDownLatch stalled = new CountDownLatch(1);
+        private volatile CountDownLatch resumed = new CountDownLatch(0);
+        private volatile boolean closed = false;
+
+        CollectingHandler() {
+            setFormatter(new Formatter() {
+                @Override
+                public String format(LogRecord record) {
+                    return record.getMessage() + "\n";
+                }
+            });
+        }
+
+        void stall() {
+            resumed = new CountDownLatch(1);
+        }
+
+        void awaitStalled() throws InterruptedException {
+            stalled.await();
+        }
+
+        void resume() {
+            resumed.countDown();
+        }
+
+        @Override
+        public void publish(LogRecord record) {
+            String text = getFormatter().format(record);
+            List<String> lines = Arrays.asList(text.split("\n"));
+            synchronized (this) {
+                messages.addAll(lines);
+                batchSizes.add(lines.size());
+            }
+            stalled.countDown();
+            try {
+                resumed.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        synchronized List<String> getMessages() {
+            return new ArrayList<>(messages);
+        }
+
+        synchronized List<Integer> getBatchSizes() {
+            return new ArrayList<>(batchSizes);
+        }
+
+        boolean isClosed() {
+            return closed;
+        }
+    }
+}
@@ -0,0 +1,300 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.jvm;
+
+import org.ballerinalang.jvm.JSONPullParser.Event;
+import org.ballerinalang.jvm.api.BErrorCreator;
+import org.ballerinalang.jvm.api.values.BError;
+import org.ballerinalang.jvm.api.values.BString;
+import org.ballerinalang.jvm.commons.ArrayState;
+import org.ballerinalang.jvm.types.BArrayType;
+import org.ballerinalang.jvm.types.BField;
+import org.ballerinalang.jvm.types.BMapType;
+import org.ballerinalang.jvm.types.BRecordType;
+import org.ballerinalang.jvm.types.BType;
+import org.ballerinalang.jvm.types.BTypes;
+import org.ballerinalang.jvm.types.BUnionType;
+import org.ballerinalang.jvm.types.TypeTags;
+import org.ballerinalang.jvm.util.Flags;
+import org.ballerinalang.jvm.util.exceptions.BLangExceptionHelper;
+import org.ballerinalang.jvm.util.exceptions.BallerinaException;
+import org.ballerinalang.jvm.values.ArrayValueImpl;
+import org.ballerinalang.jvm.values.DecimalValue;
+import org.ballerinalang.jvm.values.MapValue;
+import org.ballerinalang.jvm.values.MapValueImpl;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static org.ballerinalang.jvm.util.exceptions.BallerinaErrorReasons.VALUE_LANG_LIB_CONVERSION_ERROR;
+import static org.ballerinalang.jvm.util.exceptions.RuntimeErrors.INCOMPATIBLE_CONVERT_OPERATION;
+
+/**
+ * Binds JSON content read by a {@link JSONPullParser} to a value of a target type in a single pass, without
+ * building the json value first.
+ * <p>
+ * Records, maps and open arrays are bound directly, and so are the int, float, decimal, string and boolean values
+ * which are already of the target type, along with nil for optional types. Any other value is read as a json value
+ * and handed to the given converter along with its target type. The result, or the error, is the same as when
+ * converting the json value of the whole document: a document whose members cannot be converted fails with the
+ * conversion error of the document, once the rest of it has been parsed.
+ *
+ * @since 2.0.0
+ */
+public class JSONBinder {
+
+    private final Function<BRecordType, MapValue<BString, Object>> recordFactory;
+    private final BiFunction<Object, BType, Object> converter;
+    private int depth;
+
+    /**
+     * Creates a binder.
+     *
+     * @param recordFactory creates the record value of a record type, with its default values
+     * @param converter     converts a json value to a target type
+     */
+    public JSONBinder(Function<BRecordType, MapValue<BString, Object>> recordFactory,
+                      BiFunction<Object, BType, Object> converter) {
+        this.recordFactory = recordFactory;
+        this.converter = converter;
+    }
+
+    /**
+     * Binds the document read by the parser to the given type. The parser should not have been moved yet.
+     *
+     * @param parser     parser of the document
+     * @param targetType type to bind to
+     * @return the value
+     * @throws BallerinaException if the document is not valid JSON
+     * @throws BError             if the document cannot be converted to the type
+     */
+    public Object bindDocument(JSONPullParser parser, BType targetType) throws BallerinaException, BError {
+        Event event = parser.next();
+        Object value;
+        try {
+            value = bind(parser, targetType);
+        } catch (MemberMismatchException e) {
+            // parse the rest of the document, so that it is rejected if it is not valid JSON
+            for (Event next = parser.next(); next != Event.END_DOCUMENT; next = parser.next()) {
+                if (next == Event.NUMBER) {
+                    parser.getNumber();
+                }
+            }
+            BType sourceType = event == Event.START_OBJECT ? new BMapType(BTypes.typeJSON) :
+                    new BArrayType(BTypes.typeJSON);
+            throw BErrorCreator.createError(VALUE_LANG_LIB_CONVERSION_ERROR, BLangExceptionHelper.getErrorMessage(
+                    INCOMPATIBLE_CONVERT_OPERATION, sourceType, targetType));
+        }
+        parser.next();
+        return value;
+    }
+
+    private Object bind(JSONPullParser parser, BType targetType) {
+        Event event = parser.currentEvent();
+        switch (targetType.getTag()) {
+            case TypeTags.RECORD_TYPE_TAG:
+                if (event == Event.START_OBJECT) {
+                    return bindRecord(parser, (BRecordType) targetType);
+                }
+                break;
+            case TypeTags.MAP_TAG:
+                if (event == Event.START_OBJECT) {
+                    return bindMap(parser, (BMapType) targetType);
+                }
+                break;
+            case TypeTags.ARRAY_TAG:
+                if (event == Event.START_ARRAY && ((BArrayType) targetType).getState() == ArrayState.UNSEALED) {
+                    return bindArray(parser, (BArrayType) targetType);
+                }
+                break;
+            case TypeTags.INT_TAG:
+            case TypeTags.FLOAT_TAG:
+            case TypeTags.DECIMAL_TAG:
+            case TypeTags.STRING_TAG:
+            case TypeTags.BOOLEAN_TAG:
+                return bindSimpleValue(parser, targetType, targetType);
+            case TypeTags.UNION_TAG:
+                BType nonNilType = getNonNilSimpleType((BUnionType) targetType);
+                if (nonNilType != null) {
+                    return event == Event.NULL ? null : bindSimpleValue(parser, nonNilType, targetType);
+                }
+                break;
+            default:
+                break;
+        }
+        return convert(parser.readValue(), targetType);
+    }
+
+    private MapValue<BString, Object> bindRecord(JSONPullParser parser, BRecordType recordType) {
+        MapValue<BString, Object> record = recordFactory.apply(recordType);
+        Map<String, BField> fields = recordType.getFields();
+        int requiredFieldCount = 0;
+        for (BField field : fields.values()) {
+            if (Flags.isFlagOn(field.flags, Flags.REQUIRED)) {
+                requiredFieldCount++;
+            }
+        }
+        Set<String> requiredFieldsSeen = requiredFieldCount == 0 ? null : new HashSet<>(requiredFieldCount * 2);
+        while (parser.next() == Event.FIELD_NAME) {
+            String fieldName = parser.getText();
+            BString key = parser.getBString();
+            BField field = fields.get(fieldName);
+            BType fieldType;
+            if (field != null) {
+                fieldType = field.type;
+                if (requiredFieldsSeen != null && Flags.isFlagOn(field.flags, Flags.REQUIRED)) {
+                    requiredFieldsSeen.add(fieldName);
+                }
+            } else if (!recordType.sealed) {
+                fieldType = recordType.restFieldType;
+            } else {
+                throw MemberMismatchException.INSTANCE;
+            }
+            parser.next();
+            record.put(key, bindMember(parser, fieldType));
+        }
+        if (requiredFieldCount != 0 && requiredFieldsSeen.size() != requiredFieldCount) {
+            throw MemberMismatchException.INSTANCE;
+        }
+        return record;
+    }
+
+    private MapValue<BString, Object> bindMap(JSONPullParser parser, BMapType mapType) {
+        MapValueImpl<BString, Object> map = new MapValueImpl<>(mapType);
+        BType constraintType = mapType.getConstrainedType();
+        while (parser.next() == Event.FIELD_NAME) {
+            BString key = parser.getBString();
+            parser.next();
+            map.put(key, bindMember(parser, constraintType));
+        }
+        return map;
+    }
+
+    private ArrayValueImpl bindArray(JSONPullParser parser, BArrayType arrayType) {
+        ArrayValueImpl array = new ArrayValueImpl(arrayType);
+        BType elementType = arrayType.getElementType();
+        long index = 0;
+        while (parser.next() != Event.END_ARRAY) {
+            array.add(index++, bindMember(parser, elementType));
+        }
+        return array;
+    }
+
+    private Object bindMember(JSONPullParser parser, BType targetType) {
+        depth++;
+        Object value = bind(parser, targetType);
+        depth--;
+        return value;
+    }
+
+    /**
+     * Binds a value of a simple basic type, if it is already of that type. Other values, including the numeric
+     * conversions, are left to the converter.
+     */
+    private Object bindSimpleValue(JSONPullParser parser, BType type, BType targetType) {
+        Object value = parser.getScalarValue();
+        switch (parser.currentEvent()) {
+            case STRING:
+                if (type.getTag() == TypeTags.STRING_TAG) {
+                    return value;
+                }
+                break;
+            case TRUE:
+            case FALSE:
+                if (type.getTag() == TypeTags.BOOLEAN_TAG) {
+                    return value;
+                }
+                break;
+            case NUMBER:
+                if ((type.getTag() == TypeTags.INT_TAG && value instanceof Long) ||
+                        (type.getTag() == TypeTags.FLOAT_TAG && value instanceof Double) ||
+                        (type.getTag() == TypeTags.DECIMAL_TAG && value instanceof DecimalValue)) {
+                    return value;
+                }
+                break;
+            case START_OBJECT:
+            case START_ARRAY:
+                value = parser.readValue();
+                break;
+            default:
+                break;
+        }
+        return convert(value, targetType);
+    }
+
+    /**
+     * Converts a json value with the converter. The error of a member is not the error of the document, which is
+     * reported by {@link #bindDocument} instead.
+     */
+    private Object convert(Object value, BType targetType) {
+        if (depth == 0) {
+            return converter.apply(value, targetType);
+        }
+        try {
+            return converter.apply(value, targetType);
+        } catch (BError e) {
+            throw MemberMismatchException.INSTANCE;
+        }
+    }
+
+    private static BType getNonNilSimpleType(BUnionType unionType) {
+        List<BType> memberTypes = unionType.getMemberTypes();
+        if (memberTypes.size() != 2) {
+            return null;
+        }
+        BType first = memberTypes.get(0);
+        BType second = memberTypes.get(1);
+        if (first.getTag() == TypeTags.NULL_TAG) {
+            return isSimpleType(second) ? second : null;
+        }
+        if (second.getTag() == TypeTags.NULL_TAG) {
+            return isSimpleType(first) ? first : null;
+        }
+        return null;
+    }
+
+    private static boolean isSimpleType(BType type) {
+        switch (type.getTag()) {
+            case TypeTags.INT_TAG:
+            case TypeTags.FLOAT_TAG:
+            case TypeTags.DECIMAL_TAG:
+            case TypeTags.STRING_TAG:
+            case TypeTags.BOOLEAN_TAG:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Signals that a member of the document cannot be converted to its target type.
+     */
+    private static class MemberMismatchException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+        private static final MemberMismatchException INSTANCE = new MemberMismatchException();
+
+        private MemberMismatchException() {
+            super("JSON member cannot be converted to the target type", null, false, false);
+        }
+    }
+}
@@ -31,12 +31,16 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.CharBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Map.Entry;
 
 /**
  * This class represents the functionality to generate the JSON constructs to be written out
- * to a given {@link OutputStream}.
+ * to a given {@link OutputStream}. UTF-8 output is encoded directly into a byte buffer, without going through a
+ * {@link Writer}.
  * 
  * @since 0.995.0
  */
@@ -44,8 +48,21 @@ public class JSONGenerator {
 
     private static final int DEFAULT_DEPTH = 10;
 
+    private static final int BUFFER_SIZE = 8192;
+    private static final int FIELD_NAME_CACHE_SIZE = 64;
+    private static final byte[] NULL_BYTES = {'n', 'u', 'l', 'l'};
+    private static final byte[] TRUE_BYTES = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE_BYTES = {'f', 'a', 'l', 's', 'e'};
+
     private Writer writer;
 
+    // set instead of the writer when the output is UTF-8 encoded, which is then done directly into the buffer
+    private OutputStream out;
+    private byte[] buff;
+    private int count;
+    private String[] fieldNames;
+    private byte[][] encodedFieldNames;
+
     private boolean[] levelInit = new boolean[DEFAULT_DEPTH];
 
     private int currentLevel;
@@ -68,7 +85,12 @@ public class JSONGenerator {
     }
 
     public JSONGenerator(OutputStream out, Charset charset) {
-        this(new BufferedWriter(new OutputStreamWriter(out, charset)));
+        if (StandardCharsets.UTF_8.equals(charset)) {
+            this.out = out;
+            this.buff = new byte[BUFFER_SIZE];
+        } else {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, charset));
+        }
     }
 
     public JSONGenerator(Writer writer) {
@@ -96,7 +118,7 @@ public class JSONGenerator {
     private void processStartLevel() throws IOException {
         if (!this.fieldActive) {
             if (this.getLevelInit(this.currentLevel)) {
-                this.writer.write(", ");
+                this.write(", ");
             } else {
                 this.setLevelInit(this.currentLevel, true);
             }
@@ -114,7 +136,7 @@ public class JSONGenerator {
 
     private void processFieldInit() throws IOException {
         if (this.getLevelInit(this.currentLevel)) {
-            this.writer.write(", ");
+            this.write(", ");
         } else {
             this.setLevelInit(this.currentLevel, true);
         }
@@ -127,7 +149,7 @@ public class JSONGenerator {
             return;
         }
         if (this.getLevelInit(this.currentLevel)) {
-            this.writer.write(", ");
+            this.write(", ");
         } else {
             this.setLevelInit(this.currentLevel, true);
         }
@@ -135,39 +157,75 @@ public class JSONGenerator {
 
     public void startObject() throws IOException {
         this.processStartLevel();
-        this.writer.write('{');
+        this.write('{');
     }
 
     public void endObject() throws IOException {
-        this.writer.write('}');
+        this.write('}');
         this.processEndLevel();
     }
 
     public void writeFieldName(String fieldName) throws IOException {
         this.processFieldInit();
+        if (this.out != null) {
+            this.writeEncodedFieldName(fieldName);
+            return;
+        }
         this.writeStringValue(fieldName);
         this.writer.write(":");
     }
 
+    /**
+     * Writes the quoted field name along with the ':', encoding it only the first time it is seen, since the same
+     * field names repeat across the objects of a value.
+     */
+    private void writeEncodedFieldName(String fieldName) throws IOException {
+        if (this.fieldNames == null) {
+            this.fieldNames = new String[FIELD_NAME_CACHE_SIZE];
+            this.encodedFieldNames = new byte[FIELD_NAME_CACHE_SIZE][];
+        }
+        int index = fieldName.hashCode() & (FIELD_NAME_CACHE_SIZE - 1);
+        String cached = this.fieldNames[index];
+        if (cached == fieldName || fieldName.equals(cached)) {
+            this.writeBytes(this.encodedFieldNames[index]);
+            return;
+        }
+        // an escaped or encoded character takes up to 3 bytes, and the quotes and the ':' take 3 more
+        int maxLength = fieldName.length() * 3 + 3;
+        if (maxLength > this.buff.length) {
+            this.writeStringValue(fieldName);
+            this.write(':');
+            return;
+        }
+        if (this.count + maxLength > this.buff.length) {
+            this.flushBuffer();
+        }
+        int start = this.count;
+        this.writeStringValue(fieldName);
+        this.write(':');
+        this.fieldNames[index] = fieldName;
+        this.encodedFieldNames[index] = Arrays.copyOfRange(this.buff, start, this.count);
+    }
+
     private void writeStringValue(String value) throws IOException {
-        this.writer.write("\"");
+        this.write('"');
         int count = value.length();
-        char ch;
         boolean escaped = false;
-        char[] chs = value.toCharArray();
         for (int i = 0; i < count; i++) {
-            ch = chs[i];
+            char ch = value.charAt(i);
             if (ch < escChars.length && escChars[ch]) {
                 escaped = true;
                 break;
             }
         }
         if (escaped) {
-            this.writeStringEsc(chs);
+            this.writeStringEsc(value.toCharArray());
+        } else if (this.out != null) {
+            this.writeEncoded(value, 0, count);
         } else {
-            this.writer.write(chs);
+            this.writer.write(value);
         }
-        this.writer.write("\"");
+        this.write('"');
     }
 
     public void writeString(String value) throws IOException {
@@ -183,43 +241,43 @@ public class JSONGenerator {
             ch = chs[i];
             switch (ch) {
                 case '"':
-                    this.writer.write(chs, index, i - index);
-                    writer.write("\\\"");
+                    this.write(chs, index, i - index);
+                    this.write("\\\"");
                     index = i + 1;
                     break;
                 case '\\':
-                    this.writer.write(chs, index, i - index);
-                    writer.write("\\\\");
+                    this.write(chs, index, i - index);
+                    this.write("\\\\");
                     index = i + 1;
                     break;
                 case '/':
-                    this.writer.write(chs, index, i - index);
-                    writer.write("\\/");
+                    this.write(chs, index, i - index);
+                    this.write("\\/");
                     index = i + 1;
                     break;
                 case '\b':
-                    this.writer.write(chs, index, i - index);
-                    writer.write("\\b");
+                    this.write(chs, index, i - index);
+                    this.write("\\b");
                     index = i + 1;
                     break;
                 case '\n':
-                    this.writer.write(chs, index, i - index);
-                    writer.write("\\n");
+                    this.write(chs, index, i - index);
+                    this.write("\\n");
                     index = i + 1;
                     break;
                 case '\r':
-                    this.writer.write(chs, index, i - index);
-                    writer.write("\\r");
+                    this.write(chs, index, i - index);
+                    this.write("\\r");
                     index = i + 1;
                     break;
                 case '\f':
-                    this.writer.write(chs, index, i - index);
-                    writer.write("\\f");
+                    this.write(chs, index, i - index);
+                    this.write("\\f");
                     index = i + 1;
                     break;
                 case '\t':
-                    this.writer.write(chs, index, i - index);
-                    writer.write("\\t");
+                    this.write(chs, index, i - index);
+                    this.write("\\t");
                     index = i + 1;
                     break;
                 default:
@@ -228,50 +286,175 @@ public class JSONGenerator {
         }
 
         if (count - index > 0) {
-            this.writer.write(chs, index, count - index);
+            this.write(chs, index, count - index);
         }
 
     }
 
     public void writeNumber(long value) throws IOException {
         this.processValueInit();
-        this.writer.write(Long.toString(value));
+        if (this.out != null && value != Long.MIN_VALUE) {
+            this.writeLong(value);
+            return;
+        }
+        this.write(Long.toString(value));
     }
 
     public void writeNumber(double value) throws IOException {
         this.processValueInit();
-        this.writer.write(Double.toString(value));
+        this.write(Double.toString(value));
     }
 
     public void writeNumber(BigDecimal value) throws IOException {
         this.processValueInit();
-        this.writer.write(value.toString());
+        this.write(value.toString());
     }
 
     public void writeBoolean(boolean value) throws IOException {
         this.processValueInit();
+        if (this.out != null) {
+            this.writeBytes(value ? TRUE_BYTES : FALSE_BYTES);
+            return;
+        }
         this.writer.write(Boolean.toString(value));
     }
 
     public void writeNull() throws IOException {
         this.processValueInit();
+        if (this.out != null) {
+            this.writeBytes(NULL_BYTES);
+            return;
+        }
         this.writer.write("null");
     }
 
     public void writeStartArray() throws IOException {
         this.processStartLevel();
-        this.writer.write("[");
+        this.write('[');
     }
 
     public void writeEndArray() throws IOException {
-        this.writer.write("]");
+        this.write(']');
         this.processEndLevel();
     }
 
     public void flush() throws IOException {
+        if (this.out != null) {
+            this.flushBuffer();
+            this.out.flush();
+            return;
+        }
         this.writer.flush();
     }
 
+    private void write(char ch) throws IOException {
+        if (this.out == null) {
+            this.writer.write(ch);
+            return;
+        }
+        if (ch < 0x80) {
+            if (this.count == this.buff.length) {
+                this.flushBuffer();
+            }
+            this.buff[this.count++] = (byte) ch;
+            return;
+        }
+        this.writeEncoded(String.valueOf(ch), 0, 1);
+    }
+
+    private void write(String str) throws IOException {
+        if (this.out == null) {
+            this.writer.write(str);
+            return;
+        }
+        this.writeEncoded(str, 0, str.length());
+    }
+
+    private void write(char[] chs, int offset, int length) throws IOException {
+        if (this.out == null) {
+            this.writer.write(chs, offset, length);
+            return;
+        }
+        this.writeEncoded(CharBuffer.wrap(chs), offset, offset + length);
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        if (this.count + bytes.length > this.buff.length) {
+            this.flushBuffer();
+            if (bytes.length > this.buff.length) {
+                this.out.write(bytes);
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, this.buff, this.count, bytes.length);
+        this.count += bytes.length;
+    }
+
+    /**
+     * Encodes the characters in UTF-8 into the buffer. As with an {@link OutputStreamWriter}, an unpaired surrogate
+     * is written as '?'.
+     */
+    private void writeEncoded(CharSequence chs, int start, int end) throws IOException {
+        byte[] buff = this.buff;
+        int count = this.count;
+        for (int i = start; i < end; i++) {
+            // a character takes up to 4 bytes, when it is a surrogate pair
+            if (count + 4 > buff.length) {
+                this.count = count;
+                this.flushBuffer();
+                count = 0;
+            }
+            char ch = chs.charAt(i);
+            if (ch < 0x80) {
+                buff[count++] = (byte) ch;
+            } else if (ch < 0x800) {
+                buff[count++] = (byte) (0xC0 | (ch >> 6));
+                buff[count++] = (byte) (0x80 | (ch & 0x3F));
+            } else if (!Character.isSurrogate(ch)) {
+                buff[count++] = (byte) (0xE0 | (ch >> 12));
+                buff[count++] = (byte) (0x80 | ((ch >> 6) & 0x3F));
+                buff[count++] = (byte) (0x80 | (ch & 0x3F));
+            } else if (Character.isHighSurrogate(ch) && i + 1 < end && Character.isLowSurrogate(chs.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(ch, chs.charAt(++i));
+                buff[count++] = (byte) (0xF0 | (codePoint >> 18));
+                buff[count++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buff[count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buff[count++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else {
+                buff[count++] = '?';
+            }
+        }
+        this.count = count;
+    }
+
+    private void writeLong(long value) throws IOException {
+        // a long takes up to 20 bytes, with the sign
+        if (this.count + 20 > this.buff.length) {
+            this.flushBuffer();
+        }
+        if (value < 0) {
+            this.buff[this.count++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long rest = value / 10; rest != 0; rest /= 10) {
+            digits++;
+        }
+        int index = this.count + digits;
+        this.count = index;
+        do {
+            this.buff[--index] = (byte) ('0' + (value % 10));
+            value /= 10;
+        } while (value != 0);
+    }
+
+    private void flushBuffer() throws IOException {
+        if (this.count > 0) {
+            this.out.write(this.buff, 0, this.count);
+            this.count = 0;
+        }
+    }
+
     @SuppressWarnings("unchecked")
     public void serialize(Object json) throws IOException {
         if (json == null) {
@@ -287,8 +470,28 @@ public class JSONGenerator {
                 }
                 this.writeStartArray();
                 ArrayValue jsonArray = (ArrayValue) json;
-                for (int i = 0; i < jsonArray.size(); i++) {
-                    this.serialize(jsonArray.get(i));
+                switch (jsonArray.getElementType().getTag()) {
+                    // read the elements of arrays of simple values without boxing them
+                    case TypeTags.INT_TAG:
+                        for (int i = 0; i < jsonArray.size(); i++) {
+                            this.writeNumber(jsonArray.getInt(i));
+                        }
+                        break;
+                    case TypeTags.FLOAT_TAG:
+                        for (int i = 0; i < jsonArray.size(); i++) {
+                            this.writeNumber(jsonArray.getFloat(i));
+                        }
+                        break;
+                    case TypeTags.BOOLEAN_TAG:
+                        for (int i = 0; i < jsonArray.size(); i++) {
+                            this.writeBoolean(jsonArray.getBoolean(i));
+                        }
+                        break;
+                    default:
+                        for (int i = 0; i < jsonArray.size(); i++) {
+                            this.serialize(jsonArray.get(i));
+                        }
+                        break;
                 }
                 this.writeEndArray();
                 break;
@@ -38,6 +38,7 @@ import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayDeque;
 import java.util.Deque;
 
@@ -101,6 +102,9 @@ public class JSONParser {
      */
     public static Object parse(InputStream in, String charsetName) throws BallerinaException {
         try {
+            if (isUTF8(charsetName)) {
+                return parse(new JSONPullParser(in, NonStringValueProcessingMode.FROM_JSON_STRING));
+            }
             Object jsonObj = parse(new InputStreamReader(new BufferedInputStream(in), charsetName),
                     NonStringValueProcessingMode.FROM_JSON_STRING);
             return changeForBString(jsonObj);
@@ -133,6 +137,29 @@ public class JSONParser {
         return parse(new StringReader(jsonStr), mode);
     }
 
+    /**
+     * Parses the given UTF-8 encoded bytes and returns a json, reading the bytes directly through a
+     * {@link JSONPullParser}.
+     *
+     * @param bytes UTF-8 encoded JSON content
+     * @param mode  the mode to use when processing numeric values
+     * @return JSON value if parsing is successful
+     * @throws BallerinaException for any parsing error
+     */
+    public static Object parse(byte[] bytes, NonStringValueProcessingMode mode) throws BallerinaException {
+        return parse(new JSONPullParser(bytes, mode));
+    }
+
+    private static Object parse(JSONPullParser parser) throws BallerinaException {
+        Object jsonObj = parser.readValue();
+        parser.next();
+        return jsonObj;
+    }
+
+    private static boolean isUTF8(String charsetName) {
+        return StandardCharsets.UTF_8.name().equalsIgnoreCase(charsetName) || "UTF8".equalsIgnoreCase(charsetName);
+    }
+
     private static Object changeForBString(Object jsonObj) {
         if (jsonObj instanceof String) {
             return BStringUtils.fromString((String) jsonObj);
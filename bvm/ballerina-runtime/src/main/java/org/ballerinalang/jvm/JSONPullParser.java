@@ -0,0 +1,795 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.jvm;
+
+import org.ballerinalang.jvm.JSONParser.NonStringValueProcessingMode;
+import org.ballerinalang.jvm.api.BStringUtils;
+import org.ballerinalang.jvm.api.values.BString;
+import org.ballerinalang.jvm.types.BArrayType;
+import org.ballerinalang.jvm.types.BMapType;
+import org.ballerinalang.jvm.types.BTypes;
+import org.ballerinalang.jvm.util.exceptions.BallerinaException;
+import org.ballerinalang.jvm.values.ArrayValue;
+import org.ballerinalang.jvm.values.ArrayValueImpl;
+import org.ballerinalang.jvm.values.DecimalValue;
+import org.ballerinalang.jvm.values.MapValueImpl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A pull parser which reads JSON from UTF-8 encoded bytes, without decoding the input through a {@link java.io.Reader}.
+ * <p>
+ * The content is consumed one {@link Event} at a time, so that a caller can bind the values to its own structures as
+ * they are read, read a sub tree as a json value using {@link #readValue()}, or skip it using {@link #skipValue()}.
+ * Field names and string values are decoded only when they are asked for, and repeated field names share the same
+ * string instances. Accepts the same documents as {@link JSONParser}, and converts numbers the same way for a given
+ * {@link NonStringValueProcessingMode}.
+ *
+ * @since 2.0.0
+ */
+@SuppressWarnings("unchecked")
+public class JSONPullParser {
+
+    /**
+     * Events reported by the parser.
+     */
+    public enum Event {
+        START_OBJECT, END_OBJECT, START_ARRAY, END_ARRAY, FIELD_NAME, STRING, NUMBER, TRUE, FALSE, NULL, END_DOCUMENT
+    }
+
+    private static final int EOF = -1;
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_CACHED_NAME_LENGTH = 64;
+    private static final int NAME_CACHE_SIZE = 256;
+    // 18 digits always fit in a long
+    private static final int MAX_FAST_PATH_DIGITS = 18;
+
+    private static final int DOC_START = 0;
+    private static final int DOC_END = 1;
+    private static final int FIRST_FIELD = 2;
+    private static final int NEXT_FIELD = 3;
+    private static final int FIELD_VALUE = 4;
+    private static final int FIRST_ELEMENT = 5;
+    private static final int NEXT_ELEMENT = 6;
+    private static final int ENDED = 7;
+
+    private final InputStream in;
+    private final NonStringValueProcessingMode mode;
+    private byte[] buff;
+    private int pos;
+    private int limit;
+    // offset of the first byte of the buffer in the input
+    private long buffOffset;
+
+    private int state = DOC_START;
+    private boolean[] objectStack = new boolean[32];
+    private int depth;
+    private Event event;
+
+    private int tokenStart = -1;
+    private int tokenEnd;
+    private boolean tokenEndsInput;
+    private boolean tokenEscaped;
+    private boolean tokenAscii;
+    private String text;
+    private BString bText;
+
+    // error positions are reported the way JSONParser reports them: columns count UTF-16 chars, and the first
+    // character of each number, boolean or null token of the line is counted twice
+    private int line = 1;
+    private long lineStart;
+    private int lineTokenCount;
+    private int lineExtraBytes;
+
+    private final String[] nameCache = new String[NAME_CACHE_SIZE];
+    private final BString[] bNameCache = new BString[NAME_CACHE_SIZE];
+
+    /**
+     * Creates a parser reading the given UTF-8 encoded bytes.
+     *
+     * @param bytes JSON content
+     */
+    public JSONPullParser(byte[] bytes) {
+        this(bytes, NonStringValueProcessingMode.FROM_JSON_STRING);
+    }
+
+    /**
+     * Creates a parser reading the given UTF-8 encoded bytes.
+     *
+     * @param bytes JSON content
+     * @param mode  the mode to use when processing numeric values
+     */
+    public JSONPullParser(byte[] bytes, NonStringValueProcessingMode mode) {
+        this.in = null;
+        this.mode = mode;
+        this.buff = bytes;
+        this.limit = bytes.length;
+    }
+
+    /**
+     * Creates a parser reading UTF-8 encoded JSON content from the given stream, as the events are pulled. The stream
+     * is not closed by the parser.
+     *
+     * @param in   input stream which contains the JSON content
+     * @param mode the mode to use when processing numeric values
+     */
+    public JSONPullParser(InputStream in, NonStringValueProcessingMode mode) {
+        this.in = in;
+        this.mode = mode;
+        this.buff = new byte[BUFFER_SIZE];
+    }
+
+    /**
+     * Moves to the next event of the document.
+     *
+     * @return the event
+     * @throws BallerinaException if the content is not valid JSON
+     */
+    public Event next() throws BallerinaException {
+        tokenStart = -1;
+        text = null;
+        bText = null;
+        int ch;
+        switch (state) {
+            case DOC_START:
+                ch = skipWhitespace();
+                if (ch == EOF) {
+                    throw error("empty JSON document", ch);
+                }
+                return event = startValue(ch);
+            case FIRST_FIELD:
+                ch = skipWhitespace();
+                if (ch == '}') {
+                    return event = endContainer(Event.END_OBJECT);
+                }
+                if (ch != '"' && ch != '\'') {
+                    throw error("expected \" or }", ch);
+                }
+                return event = fieldName(ch);
+            case NEXT_FIELD:
+                ch = skipWhitespace();
+                if (ch == '}') {
+                    return event = endContainer(Event.END_OBJECT);
+                }
+                if (ch != ',') {
+                    throw error(isEndAfterToken(ch) ? "unexpected end of JSON document" : "expected , or }", ch);
+                }
+                ch = skipWhitespace();
+                if (ch != '"' && ch != '\'') {
+                    throw error("expected \"", ch);
+                }
+                return event = fieldName(ch);
+            case FIELD_VALUE:
+                ch = skipWhitespace();
+                if (ch != ':') {
+                    throw error("expected :", ch);
+                }
+                return event = startValue(skipWhitespace());
+            case FIRST_ELEMENT:
+                ch = skipWhitespace();
+                if (ch == ']') {
+                    return event = endContainer(Event.END_ARRAY);
+                }
+                return event = startValue(ch);
+            case NEXT_ELEMENT:
+                ch = skipWhitespace();
+                if (ch == ']') {
+                    return event = endContainer(Event.END_ARRAY);
+                }
+                if (ch != ',') {
+                    throw error(isEndAfterToken(ch) ? "unexpected end of JSON document" : "expected , or ]", ch);
+                }
+                return event = startValue(skipWhitespace());
+            case DOC_END:
+                ch = skipWhitespace();
+                if (ch != EOF) {
+                    throw error("JSON document has already ended", ch);
+                }
+                state = ENDED;
+                return event = Event.END_DOCUMENT;
+            default:
+                return event = Event.END_DOCUMENT;
+        }
+    }
+
+    /**
+     * Returns the last event returned by {@link #next()}.
+     *
+     * @return the current event, or null if the parser has not been moved yet
+     */
+    public Event currentEvent() {
+        return event;
+    }
+
+    /**
+     * Returns the text of the current field name, string, number, boolean or null event.
+     *
+     * @return the text
+     */
+    public String getText() {
+        if (text != null) {
+            return text;
+        }
+        if (tokenStart < 0) {
+            return null;
+        }
+        if (event == Event.FIELD_NAME) {
+            return text = fieldNameEntry().getValue();
+        }
+        return text = decodeToken();
+    }
+
+    /**
+     * Returns the current field name or string value as a {@link BString}.
+     *
+     * @return the string value
+     */
+    public BString getBString() {
+        if (bText != null) {
+            return bText;
+        }
+        if (event == Event.FIELD_NAME) {
+            return bText = fieldNameEntry();
+        }
+        return bText = BStringUtils.fromString(getText());
+    }
+
+    /**
+     * Returns the current number, as an int, float or decimal value according to the numeric processing mode.
+     *
+     * @return the number
+     * @throws BallerinaException if the current token is not a valid number
+     */
+    public Object getNumber() throws BallerinaException {
+        if (mode == NonStringValueProcessingMode.FROM_JSON_STRING) {
+            Object value = parseSimpleInteger();
+            if (value != null) {
+                return value;
+            }
+        }
+        String str = getText();
+        try {
+            if (str.indexOf('.') >= 0) {
+                switch (mode) {
+                    case FROM_JSON_FLOAT_STRING:
+                        return Double.parseDouble(str);
+                    case FROM_JSON_DECIMAL_STRING:
+                        return new DecimalValue(str);
+                    default:
+                        return isNegativeZero(str) ? (Object) Double.parseDouble(str) : new DecimalValue(str);
+                }
+            }
+            switch (mode) {
+                case FROM_JSON_FLOAT_STRING:
+                    return Double.parseDouble(str);
+                case FROM_JSON_DECIMAL_STRING:
+                    return new DecimalValue(str);
+                default:
+                    return isNegativeZero(str) ? (Object) Double.parseDouble(str) : (Object) Long.parseLong(str);
+            }
+        } catch (NumberFormatException e) {
+            // reported at the character which ended the token
+            throw error("unrecognized token '" + str + "'", buffOffset + tokenEnd);
+        }
+    }
+
+    /**
+     * Returns the value of the current string, number, boolean or null event.
+     *
+     * @return the value
+     */
+    public Object getScalarValue() {
+        switch (event) {
+            case STRING:
+                return getBString();
+            case NUMBER:
+                return getNumber();
+            case TRUE:
+                return Boolean.TRUE;
+            case FALSE:
+                return Boolean.FALSE;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Reads the value starting at the current event as a json value. If the parser has not been moved yet, reads
+     * the root value of the document. Once returned, the current event is the last event of the value.
+     *
+     * @return the json value
+     * @throws BallerinaException if the content is not valid JSON
+     */
+    public Object readValue() throws BallerinaException {
+        if (event == null) {
+            next();
+        }
+        if (event != Event.START_OBJECT && event != Event.START_ARRAY) {
+            return getScalarValue();
+        }
+
+        // explicit stacks, so that deeply nested documents do not overflow the call stack
+        List<Object> parents = new ArrayList<>();
+        List<BString> parentFieldNames = new ArrayList<>();
+        Object current = newContainer(event);
+        BString fieldName = null;
+        while (true) {
+            Event e = next();
+            switch (e) {
+                case FIELD_NAME:
+                    fieldName = getBString();
+                    break;
+                case START_OBJECT:
+                case START_ARRAY:
+                    parents.add(current);
+                    parentFieldNames.add(fieldName);
+                    current = newContainer(e);
+                    break;
+                case END_OBJECT:
+                case END_ARRAY:
+                    int last = parents.size() - 1;
+                    if (last < 0) {
+                        return current;
+                    }
+                    Object child = current;
+                    current = parents.remove(last);
+                    fieldName = parentFieldNames.remove(last);
+                    addToContainer(current, fieldName, child);
+                    break;
+                default:
+                    addToContainer(current, fieldName, getScalarValue());
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Skips the value starting at the current event. Once returned, the current event is the last event of the value.
+     * The numbers of the value are still parsed, so that the content is rejected the same way as when reading it.
+     *
+     * @throws BallerinaException if the content is not valid JSON
+     */
+    public void skipValue() throws BallerinaException {
+        if (event == Event.NUMBER) {
+            getNumber();
+        }
+        if (event != Event.START_OBJECT && event != Event.START_ARRAY) {
+            return;
+        }
+        int skipDepth = 1;
+        while (skipDepth > 0) {
+            switch (next()) {
+                case START_OBJECT:
+                case START_ARRAY:
+                    skipDepth++;
+                    break;
+                case END_OBJECT:
+                case END_ARRAY:
+                    skipDepth--;
+                    break;
+                case NUMBER:
+                    getNumber();
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private static Object newContainer(Event event) {
+        if (event == Event.START_OBJECT) {
+            return new MapValueImpl<>(new BMapType(BTypes.typeJSON));
+        }
+        return new ArrayValueImpl(new BArrayType(BTypes.typeJSON));
+    }
+
+    private static void addToContainer(Object container, BString fieldName, Object value) {
+        if (container instanceof ArrayValue) {
+            ((ArrayValue) container).append(value);
+        } else {
+            ((MapValueImpl<BString, Object>) container).put(fieldName, value);
+        }
+    }
+
+    private Event startValue(int ch) {
+        switch (ch) {
+            case '{':
+                push(true);
+                state = FIRST_FIELD;
+                return Event.START_OBJECT;
+            case '[':
+                push(false);
+                state = FIRST_ELEMENT;
+                return Event.START_ARRAY;
+            case '"':
+            case '\'':
+                scanString(ch);
+                valueEnded();
+                return Event.STRING;
+            case EOF:
+                throw new BallerinaException("invalid JSON document");
+            default:
+                lineTokenCount++;
+                Event tokenEvent = scanToken();
+                valueEnded();
+                return tokenEvent;
+        }
+    }
+
+    private Event fieldName(int quote) {
+        scanString(quote);
+        state = FIELD_VALUE;
+        return Event.FIELD_NAME;
+    }
+
+    private Event endContainer(Event endEvent) {
+        depth--;
+        valueEnded();
+        return endEvent;
+    }
+
+    private void valueEnded() {
+        if (depth == 0) {
+            state = DOC_END;
+        } else {
+            state = objectStack[depth - 1] ? NEXT_FIELD : NEXT_ELEMENT;
+        }
+    }
+
+    private void push(boolean isObject) {
+        if (depth == objectStack.length) {
+            objectStack = Arrays.copyOf(objectStack, depth * 2);
+        }
+        objectStack[depth++] = isObject;
+    }
+
+    private int skipWhitespace() {
+        while (true) {
+            if (pos == limit && !fill()) {
+                return EOF;
+            }
+            int ch = buff[pos++];
+            switch (ch) {
+                case ' ':
+                case '\t':
+                case '\r':
+                    break;
+                case '\n':
+                    newLine();
+                    break;
+                default:
+                    return ch & 0xFF;
+            }
+        }
+    }
+
+    /**
+     * Finds the end of the string starting after the given quote, and validates its escape sequences. Decoding is
+     * left to when the string is asked for.
+     */
+    private void scanString(int quote) {
+        tokenStart = pos;
+        tokenEscaped = false;
+        tokenAscii = true;
+        while (true) {
+            if (pos == limit && !fill()) {
+                throw error("unexpected end of JSON document", EOF);
+            }
+            byte b = buff[pos];
+            if (b == quote) {
+                tokenEnd = pos++;
+                return;
+            }
+            if (b == '\\') {
+                tokenEscaped = true;
+                pos++;
+                scanEscape();
+                continue;
+            }
+            if (b < 0) {
+                tokenAscii = false;
+                countExtraBytes(b);
+            } else if (b == '\n') {
+                pos++;
+                newLine();
+                continue;
+            }
+            pos++;
+        }
+    }
+
+    private void scanEscape() {
+        if (pos == limit && !fill()) {
+            throw error("expected escaped characters", EOF);
+        }
+        switch (buff[pos++]) {
+            case '"':
+            case '\\':
+            case '/':
+            case 'b':
+            case 'f':
+            case 'n':
+            case 'r':
+            case 't':
+                return;
+            case 'u':
+                for (int i = 0; i < 4; i++) {
+                    if (pos == limit && !fill()) {
+                        throw error("expected hexadecimal value of an unicode character", EOF);
+                    }
+                    if (Character.digit(buff[pos++], 16) < 0) {
+                        throw error("expected hexadecimal value of an unicode character", buffOffset + pos - 1);
+                    }
+                }
+                return;
+            default:
+                throw error("expected escaped characters", buffOffset + pos - 1);
+        }
+    }
+
+    /**
+     * Reads a number, boolean or null token, which runs up to a whitespace, a separator or the end of the document.
+     */
+    private Event scanToken() {
+        tokenStart = pos - 1;
+        tokenEscaped = false;
+        tokenAscii = true;
+        while (pos < limit || fill()) {
+            byte b = buff[pos];
+            if (b == ' ' || b == '\t' || b == '\n' || b == '\r' || b == ',' || b == '}' || b == ']') {
+                break;
+            }
+            if (b < 0) {
+                tokenAscii = false;
+                countExtraBytes(b);
+            }
+            pos++;
+        }
+        tokenEnd = pos;
+        tokenEndsInput = pos == limit;
+        int length = tokenEnd - tokenStart;
+        byte first = buff[tokenStart];
+        if (length == 4 && first == 't' && matches("true")) {
+            return Event.TRUE;
+        }
+        if (length == 5 && first == 'f' && matches("false")) {
+            return Event.FALSE;
+        }
+        if (length == 4 && first == 'n' && matches("null")) {
+            return Event.NULL;
+        }
+        return Event.NUMBER;
+    }
+
+    private boolean matches(String literal) {
+        for (int i = 0; i < literal.length(); i++) {
+            if (buff[tokenStart + i] != literal.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads more input into the buffer, keeping the bytes of the token being scanned.
+     *
+     * @return false if the input has ended
+     */
+    private boolean fill() {
+        if (in == null) {
+            return false;
+        }
+        int keep = tokenStart >= 0 ? tokenStart : pos;
+        int kept = limit - keep;
+        if (keep == 0 && kept == buff.length) {
+            buff = Arrays.copyOf(buff, buff.length * 2);
+        } else if (keep > 0) {
+            System.arraycopy(buff, keep, buff, 0, kept);
+            buffOffset += keep;
+            pos -= keep;
+            limit = kept;
+            if (tokenStart >= 0) {
+                tokenStart = 0;
+            }
+        }
+        try {
+            int count = in.read(buff, limit, buff.length - limit);
+            if (count <= 0) {
+                return false;
+            }
+            limit += count;
+            return true;
+        } catch (IOException e) {
+            throw new BallerinaException("Error reading JSON: " + e.getMessage());
+        }
+    }
+
+    private Long parseSimpleInteger() {
+        int i = tokenStart;
+        boolean negative = buff[i] == '-';
+        if (negative) {
+            i++;
+        }
+        int digits = tokenEnd - i;
+        if (digits == 0 || digits > MAX_FAST_PATH_DIGITS) {
+            return null;
+        }
+        long value = 0;
+        for (; i < tokenEnd; i++) {
+            int digit = buff[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return null;
+            }
+            value = value * 10 + digit;
+        }
+        if (negative && value == 0) {
+            // negative zero is a float; left to the generic conversion
+            return null;
+        }
+        return negative ? -value : value;
+    }
+
+    private static boolean isNegativeZero(String str) {
+        return '-' == str.charAt(0) && 0 == Double.parseDouble(str);
+    }
+
+    private BString fieldNameEntry() {
+        int length = tokenEnd - tokenStart;
+        if (tokenEscaped || length > MAX_CACHED_NAME_LENGTH) {
+            return BStringUtils.fromString(decodeToken());
+        }
+        int hash = 0;
+        for (int i = tokenStart; i < tokenEnd; i++) {
+            hash = 31 * hash + buff[i];
+        }
+        int index = (hash ^ (hash >>> 16)) & (NAME_CACHE_SIZE - 1);
+        String cached = nameCache[index];
+        if (cached != null && cached.length() == length && tokenAscii && isSameAscii(cached)) {
+            return bNameCache[index];
+        }
+        String name = decodeToken();
+        BString bName = BStringUtils.fromString(name);
+        if (tokenAscii) {
+            nameCache[index] = name;
+            bNameCache[index] = bName;
+        }
+        return bName;
+    }
+
+    private boolean isSameAscii(String str) {
+        for (int i = 0, j = tokenStart; j < tokenEnd; i++, j++) {
+            if (str.charAt(i) != buff[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String decodeToken() {
+        int length = tokenEnd - tokenStart;
+        if (!tokenEscaped) {
+            return new String(buff, tokenStart, length,
+                    tokenAscii ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+        }
+        StringBuilder sb = new StringBuilder(length);
+        int segmentStart = tokenStart;
+        int i = tokenStart;
+        while (i < tokenEnd) {
+            if (buff[i] != '\\') {
+                i++;
+                continue;
+            }
+            // a byte of a multi-byte UTF-8 sequence is never a '\', so the segments split on whole characters
+            appendSegment(sb, segmentStart, i);
+            char escaped = (char) buff[i + 1];
+            i += 2;
+            switch (escaped) {
+                case 'b':
+                    sb.append('\b');
+                    break;
+                case 'f':
+                    sb.append('\f');
+                    break;
+                case 'n':
+                    sb.append('\n');
+                    break;
+                case 'r':
+                    sb.append('\r');
+                    break;
+                case 't':
+                    sb.append('\t');
+                    break;
+                case 'u':
+                    sb.append(unicodeChar(i));
+                    i += 4;
+                    break;
+                default:
+                    // '"', '\\' or '/', as the escape sequences are validated when the string is scanned
+                    sb.append(escaped);
+                    break;
+            }
+            segmentStart = i;
+        }
+        appendSegment(sb, segmentStart, tokenEnd);
+        return sb.toString();
+    }
+
+    private void appendSegment(StringBuilder sb, int start, int end) {
+        if (start == end) {
+            return;
+        }
+        if (tokenAscii) {
+            for (int i = start; i < end; i++) {
+                sb.append((char) buff[i]);
+            }
+        } else {
+            sb.append(new String(buff, start, end - start, StandardCharsets.UTF_8));
+        }
+    }
+
+    private char unicodeChar(int start) {
+        int value = 0;
+        for (int i = start; i < start + 4; i++) {
+            value = (value << 4) | Character.digit(buff[i], 16);
+        }
+        return (char) value;
+    }
+
+    /**
+     * Checks whether the input ended right at the end of the number, boolean or null token of the previous event.
+     */
+    private boolean isEndAfterToken(int ch) {
+        return ch == EOF && tokenEndsInput;
+    }
+
+    private void newLine() {
+        line++;
+        lineStart = buffOffset + pos;
+        lineTokenCount = 0;
+        lineExtraBytes = 0;
+    }
+
+    /**
+     * Counts the bytes of a non-ASCII character which do not add a UTF-16 char to the column.
+     */
+    private void countExtraBytes(byte b) {
+        if ((b & 0xC0) == 0x80) {
+            lineExtraBytes++;
+        } else if ((b & 0xF8) == 0xF0) {
+            // a supplementary character takes two chars
+            lineExtraBytes--;
+        }
+    }
+
+    /**
+     * Creates the error of the character last read, which is {@link #EOF} if the input has ended.
+     */
+    private BallerinaException error(String message, int lastChar) {
+        return error(message, lastChar == EOF ? buffOffset + limit : buffOffset + pos - 1);
+    }
+
+    private BallerinaException error(String message, long offset) {
+        long column = offset - lineStart + 1 - lineExtraBytes + lineTokenCount;
+        return new BallerinaException(message + " at line: " + line + " column: " + column);
+    }
+}
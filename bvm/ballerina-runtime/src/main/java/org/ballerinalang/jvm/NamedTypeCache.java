@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm;
+
+import org.ballerinalang.jvm.types.BType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of data derived from types, keyed by the identity of a type or of a pair of types. Only named types
+ * are cached. They are created once when the module types are initialized and live as long as the program, whereas
+ * anonymous types may be created for a single operation (e.g. the union of the field types of a record), and caching
+ * them would keep them alive. Since the named types of a program are a fixed set, entries are never evicted; once the
+ * cache is full, further entries are simply not cached.
+ *
+ * @param <V> type of the cached data
+ * @since 2.0.0
+ */
+class NamedTypeCache<V> {
+
+    private final int maxEntries;
+    private final Map<TypeKey, V> entries = new ConcurrentHashMap<>();
+
+    NamedTypeCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Checks whether data derived from a type may be cached, which is the case for named types.
+     *
+     * @param type type to check
+     * @return true if the type is named
+     */
+    static boolean isCacheable(BType type) {
+        String name = type.getName();
+        return type.getPackage() != null && name != null && !name.isEmpty();
+    }
+
+    V get(BType type) {
+        return entries.get(new TypeKey(type, null));
+    }
+
+    V get(BType sourceType, BType targetType) {
+        return entries.get(new TypeKey(sourceType, targetType));
+    }
+
+    void put(BType type, V value) {
+        if (isCacheable(type)) {
+            putIfNotFull(new TypeKey(type, null), value);
+        }
+    }
+
+    void put(BType sourceType, BType targetType, V value) {
+        if (isCacheable(sourceType) && isCacheable(targetType)) {
+            putIfNotFull(new TypeKey(sourceType, targetType), value);
+        }
+    }
+
+    private void putIfNotFull(TypeKey key, V value) {
+        if (entries.size() < maxEntries) {
+            entries.put(key, value);
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Identity based key of a type, or of a source and target type pair.
+     */
+    private static class TypeKey {
+        private final BType sourceType;
+        private final BType targetType;
+
+        TypeKey(BType sourceType, BType targetType) {
+            this.sourceType = sourceType;
+            this.targetType = targetType;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof TypeKey)) {
+                return false;
+            }
+            TypeKey other = (TypeKey) obj;
+            return this.sourceType == other.sourceType && this.targetType == other.targetType;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(sourceType) + System.identityHashCode(targetType);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.jvm;
+
+import org.ballerinalang.jvm.api.BStringUtils;
+import org.ballerinalang.jvm.api.values.BString;
+import org.ballerinalang.jvm.types.BField;
+import org.ballerinalang.jvm.types.BRecordType;
+import org.ballerinalang.jvm.types.BType;
+import org.ballerinalang.jvm.util.Flags;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * What a conversion to a record type needs to know about the record type: the keys of its required fields and the
+ * type of each field. Plans are derived from the record type alone, so they are computed once per record type and
+ * shared by all conversions. Types are keyed by identity and never change once the module types are initialized; the
+ * plans are bounded the same way as the {@link TypeCheckCache}.
+ *
+ * @since 2.0.0
+ */
+class RecordConversionPlan {
+
+    private static final int MAX_ENTRIES = 4096;
+
+    private static final Map<RecordTypeKey, RecordConversionPlan> plans = new ConcurrentHashMap<>();
+
+    private final Map<String, BField> fields;
+    private final BString[] requiredFieldKeys;
+    private final BType restFieldType;
+    private final boolean sealed;
+
+    private RecordConversionPlan(BRecordType recordType) {
+        this.fields = recordType.getFields();
+        List<BString> requiredFieldKeys = new ArrayList<>();
+        for (BField field : fields.values()) {
+            if (Flags.isFlagOn(field.flags, Flags.REQUIRED)) {
+                requiredFieldKeys.add(BStringUtils.fromString(field.getFieldName()));
+            }
+        }
+        this.requiredFieldKeys = requiredFieldKeys.toArray(new BString[0]);
+        this.restFieldType = recordType.restFieldType;
+        this.sealed = recordType.sealed;
+    }
+
+    static RecordConversionPlan of(BRecordType recordType) {
+        RecordTypeKey key = new RecordTypeKey(recordType);
+        RecordConversionPlan plan = plans.get(key);
+        if (plan != null) {
+            return plan;
+        }
+        plan = new RecordConversionPlan(recordType);
+        if (plans.size() >= MAX_ENTRIES) {
+            plans.clear();
+        }
+        plans.put(key, plan);
+        return plan;
+    }
+
+    BString[] getRequiredFieldKeys() {
+        return requiredFieldKeys;
+    }
+
+    /**
+     * Returns the type of a field of the record, which is the rest field type for a field the record does not
+     * declare.
+     *
+     * @param fieldName name of the field
+     * @return type of the field, or null if the record is closed and does not declare the field
+     */
+    BType getFieldType(String fieldName) {
+        BField field = fields.get(fieldName);
+        if (field != null) {
+            return field.type;
+        }
+        return sealed ? null : restFieldType;
+    }
+
+    /**
+     * Identity based key of a record type.
+     */
+    private static class RecordTypeKey {
+        private final BRecordType recordType;
+
+        RecordTypeKey(BRecordType recordType) {
+            this.recordType = recordType;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof RecordTypeKey && ((RecordTypeKey) obj).recordType == this.recordType;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(recordType);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm;
+
+import org.ballerinalang.jvm.types.BType;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Memo of the structural subtype relations computed by the {@link TypeChecker}. Only relations between named types
+ * are memoized, see {@link NamedTypeCache}. Types never change once the module types are initialized, hence entries
+ * are never invalidated.
+ *
+ * @since 2.0.0
+ */
+public class TypeCheckCache {
+
+    private static final int MAX_ENTRIES = 16384;
+
+    private static final NamedTypeCache<Boolean> cache = new NamedTypeCache<>(MAX_ENTRIES);
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+
+    private TypeCheckCache() {
+    }
+
+    static Boolean get(BType sourceType, BType targetType) {
+        if (!NamedTypeCache.isCacheable(sourceType) || !NamedTypeCache.isCacheable(targetType)) {
+            return null;
+        }
+        Boolean result = cache.get(sourceType, targetType);
+        if (result == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return result;
+    }
+
+    static void put(BType sourceType, BType targetType, boolean result) {
+        cache.put(sourceType, targetType, result);
+    }
+
+    /**
+     * @return number of type checks answered from the memo
+     */
+    public static long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return number of type checks between named types that had to be computed
+     */
+    public static long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return number of memoized type pairs
+     */
+    public static int getSize() {
+        return cache.size();
+    }
+}
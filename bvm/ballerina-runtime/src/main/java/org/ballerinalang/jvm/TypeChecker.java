@@ -386,7 +386,7 @@ public class TypeChecker {
      */
     public static boolean checkDecimalEqual(DecimalValue lhsValue, DecimalValue rhsValue) {
         return isDecimalRealNumber(lhsValue) && isDecimalRealNumber(rhsValue) &&
-               lhsValue.decimalValue().compareTo(rhsValue.decimalValue()) == 0;
+               lhsValue.compareTo(rhsValue) == 0;
     }
 
     /**
@@ -425,7 +425,7 @@ public class TypeChecker {
             case ZERO:
             case OTHER:
                 return rhsValue.valueKind == DecimalValueKind.NEGATIVE_INFINITY || (isDecimalRealNumber(rhsValue) &&
-                        lhsValue.decimalValue().compareTo(rhsValue.decimalValue()) > 0);
+                        lhsValue.compareTo(rhsValue) > 0);
             default:
                 return false;
         }
@@ -441,7 +441,7 @@ public class TypeChecker {
     public static boolean checkDecimalGreaterThanOrEqual(DecimalValue lhsValue, DecimalValue rhsValue) {
         return checkDecimalGreaterThan(lhsValue, rhsValue) ||
                (isDecimalRealNumber(lhsValue) && isDecimalRealNumber(rhsValue) &&
-                lhsValue.decimalValue().compareTo(rhsValue.decimalValue()) == 0);
+                lhsValue.compareTo(rhsValue) == 0);
     }
 
     /**
@@ -639,8 +639,18 @@ public class TypeChecker {
             case TypeTags.XML_PI_TAG:
                 return targetTypeTag == sourceTypeTag;
             default:
-                return checkIsRecursiveType(sourceType, targetType,
+                if (unresolvedTypes != null && !unresolvedTypes.isEmpty()) {
+                    // the result may depend on the assumptions made for the enclosing cyclic types
+                    return checkIsRecursiveType(sourceType, targetType, unresolvedTypes);
+                }
+                Boolean cachedResult = TypeCheckCache.get(sourceType, targetType);
+                if (cachedResult != null) {
+                    return cachedResult;
+                }
+                boolean result = checkIsRecursiveType(sourceType, targetType,
                         unresolvedTypes == null ? new ArrayList<>() : unresolvedTypes);
+                TypeCheckCache.put(sourceType, targetType, result);
+                return result;
         }
     }
 
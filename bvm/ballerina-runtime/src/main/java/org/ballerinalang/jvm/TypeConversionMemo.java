@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.jvm;
+
+import org.ballerinalang.jvm.types.BRecordType;
+import org.ballerinalang.jvm.types.BType;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Memo of the record types found convertible for the mapping values of a single conversion, such as a
+ * {@code cloneWithType} or a {@code fromJsonWithType} call. A conversion checks a value against its target type and
+ * then converts each member, which checks the member against its own target type again; with the memo the members
+ * of a record are checked once instead of once per enclosing record.
+ * <p>
+ * Values are keyed by identity and are assumed not to change during the conversion. Results that rely on a cyclic
+ * reference being assumed convertible depend on where the check started from, so they are not memoized.
+ *
+ * @since 2.0.0
+ */
+public class TypeConversionMemo {
+
+    private Map<ValueTypeKey, Boolean> recordChecks;
+    private Map<ValueTypeKey, Boolean> recordChecksFromJson;
+    private int assumptionCount;
+
+    Boolean get(Object value, BRecordType targetType, boolean isFromJson) {
+        Map<ValueTypeKey, Boolean> memo = isFromJson ? recordChecksFromJson : recordChecks;
+        if (memo == null) {
+            return null;
+        }
+        return memo.get(new ValueTypeKey(value, targetType));
+    }
+
+    void put(Object value, BRecordType targetType, boolean isFromJson, boolean convertible) {
+        Map<ValueTypeKey, Boolean> memo;
+        if (isFromJson) {
+            if (recordChecksFromJson == null) {
+                recordChecksFromJson = new HashMap<>();
+            }
+            memo = recordChecksFromJson;
+        } else {
+            if (recordChecks == null) {
+                recordChecks = new HashMap<>();
+            }
+            memo = recordChecks;
+        }
+        memo.put(new ValueTypeKey(value, targetType), convertible);
+    }
+
+    /**
+     * Records that a cyclic reference was assumed to be convertible.
+     */
+    void assume() {
+        assumptionCount++;
+    }
+
+    int getAssumptionCount() {
+        return assumptionCount;
+    }
+
+    /**
+     * Identity based key of a value and target type pair.
+     */
+    private static class ValueTypeKey {
+        private final Object value;
+        private final BType targetType;
+
+        ValueTypeKey(Object value, BType targetType) {
+            this.value = value;
+            this.targetType = targetType;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof ValueTypeKey)) {
+                return false;
+            }
+            ValueTypeKey other = (ValueTypeKey) obj;
+            return this.value == other.value && this.targetType == other.targetType;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(value) + System.identityHashCode(targetType);
+        }
+    }
+}
@@ -24,7 +24,6 @@ import org.ballerinalang.jvm.api.values.BString;
 import org.ballerinalang.jvm.commons.TypeValuePair;
 import org.ballerinalang.jvm.internal.ErrorUtils;
 import org.ballerinalang.jvm.types.BArrayType;
-import org.ballerinalang.jvm.types.BField;
 import org.ballerinalang.jvm.types.BMapType;
 import org.ballerinalang.jvm.types.BRecordType;
 import org.ballerinalang.jvm.types.BTableType;
@@ -32,7 +31,6 @@ import org.ballerinalang.jvm.types.BType;
 import org.ballerinalang.jvm.types.BTypes;
 import org.ballerinalang.jvm.types.BUnionType;
 import org.ballerinalang.jvm.types.TypeTags;
-import org.ballerinalang.jvm.util.Flags;
 import org.ballerinalang.jvm.util.exceptions.BLangExceptionHelper;
 import org.ballerinalang.jvm.util.exceptions.BallerinaErrorReasons;
 import org.ballerinalang.jvm.util.exceptions.RuntimeErrors;
@@ -43,7 +41,6 @@ import org.ballerinalang.jvm.values.MapValueImpl;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -238,6 +235,21 @@ public class TypeConverter {
 
     public static List<BType> getConvertibleTypes(Object inputValue, BType targetType,
                                                   List<TypeValuePair> unresolvedValues) {
+        return getConvertibleTypes(inputValue, targetType, unresolvedValues, null);
+    }
+
+    /**
+     * Returns the types, out of the target type, which the given value can be converted to. The record checks are
+     * memoized in the given memo, which is expected to be shared by all the checks of a single conversion.
+     *
+     * @param inputValue       value to convert
+     * @param targetType       type to convert to
+     * @param unresolvedValues values which are being checked at the moment
+     * @param memo             memo of the conversion, or null
+     * @return the types the value can be converted to
+     */
+    public static List<BType> getConvertibleTypes(Object inputValue, BType targetType,
+                                                  List<TypeValuePair> unresolvedValues, TypeConversionMemo memo) {
         List<BType> convertibleTypes = new ArrayList<>();
 
         int targetTypeTag = targetType.getTag();
@@ -245,11 +257,11 @@ public class TypeConverter {
         switch (targetTypeTag) {
             case TypeTags.UNION_TAG:
                 for (BType memType : ((BUnionType) targetType).getMemberTypes()) {
-                    convertibleTypes.addAll(getConvertibleTypes(inputValue, memType, unresolvedValues));
+                    convertibleTypes.addAll(getConvertibleTypes(inputValue, memType, unresolvedValues, memo));
                 }
                 break;
             case TypeTags.RECORD_TYPE_TAG:
-                if (isConvertibleToRecordType(inputValue, (BRecordType) targetType, false, unresolvedValues)) {
+                if (isConvertibleToRecordType(inputValue, (BRecordType) targetType, false, unresolvedValues, memo)) {
                     convertibleTypes.add(targetType);
                 }
                 break;
@@ -269,16 +281,32 @@ public class TypeConverter {
 
     public static List<BType> getConvertibleTypesFromJson(Object value, BType targetType,
                                                           List<TypeValuePair> unresolvedValues) {
+        return getConvertibleTypesFromJson(value, targetType, unresolvedValues, null);
+    }
+
+    /**
+     * Returns the types, out of the target type, which the given json value can be converted to. The record checks
+     * are memoized in the given memo, which is expected to be shared by all the checks of a single conversion.
+     *
+     * @param value            json value to convert
+     * @param targetType       type to convert to
+     * @param unresolvedValues values which are being checked at the moment
+     * @param memo             memo of the conversion, or null
+     * @return the types the value can be converted to
+     */
+    public static List<BType> getConvertibleTypesFromJson(Object value, BType targetType,
+                                                          List<TypeValuePair> unresolvedValues,
+                                                          TypeConversionMemo memo) {
         List<BType> convertibleTypes = new ArrayList<>();
 
         int targetTypeTag = targetType.getTag();
 
-        convertibleTypes.addAll(TypeConverter.getConvertibleTypes(value, targetType));
+        convertibleTypes.addAll(TypeConverter.getConvertibleTypes(value, targetType, new ArrayList<>(), memo));
 
         if (convertibleTypes.size() == 0) {
             switch (targetTypeTag) {
                 case TypeTags.RECORD_TYPE_TAG:
-                    if (isConvertibleToRecordType(value, (BRecordType) targetType, true, unresolvedValues)) {
+                    if (isConvertibleToRecordType(value, (BRecordType) targetType, true, unresolvedValues, memo)) {
                         convertibleTypes.add(targetType);
                     }
                     break;
@@ -303,68 +331,62 @@ public class TypeConverter {
     }
 
     private static boolean isConvertibleToRecordType(Object sourceValue, BRecordType targetType, boolean isFromJson,
-                                                     List<TypeValuePair> unresolvedValues) {
+                                                     List<TypeValuePair> unresolvedValues, TypeConversionMemo memo) {
         if (!(sourceValue instanceof MapValueImpl)) {
             return false;
         }
 
+        if (memo != null) {
+            Boolean convertible = memo.get(sourceValue, targetType, isFromJson);
+            if (convertible != null) {
+                return convertible;
+            }
+        }
+
         TypeValuePair typeValuePair = new TypeValuePair(sourceValue, targetType);
         if (unresolvedValues.contains(typeValuePair)) {
+            if (memo != null) {
+                memo.assume();
+            }
             return true;
         }
         unresolvedValues.add(typeValuePair);
 
-        Map<String, BType> targetFieldTypes = new HashMap<>();
-        BType restFieldType = targetType.restFieldType;
-
-        for (BField field : targetType.getFields().values()) {
-            targetFieldTypes.put(field.getFieldName(), field.type);
+        if (memo == null) {
+            return isConvertibleToRecordFields((MapValueImpl) sourceValue, targetType, isFromJson, unresolvedValues,
+                                               null);
         }
+        int assumptionCount = memo.getAssumptionCount();
+        boolean convertible = isConvertibleToRecordFields((MapValueImpl) sourceValue, targetType, isFromJson,
+                                                          unresolvedValues, memo);
+        if (memo.getAssumptionCount() == assumptionCount) {
+            memo.put(sourceValue, targetType, isFromJson, convertible);
+        }
+        return convertible;
+    }
 
-        MapValueImpl sourceMapValueImpl = (MapValueImpl) sourceValue;
-        for (Map.Entry targetTypeEntry : targetFieldTypes.entrySet()) {
-            String fieldName = targetTypeEntry.getKey().toString();
-
-            if (sourceMapValueImpl.containsKey(BStringUtils.fromString(fieldName))) {
-                continue;
-            }
-            BField targetField = targetType.getFields().get(fieldName);
-            if (Flags.isFlagOn(targetField.flags, Flags.REQUIRED)) {
+    private static boolean isConvertibleToRecordFields(MapValueImpl sourceMapValueImpl, BRecordType targetType,
+                                                       boolean isFromJson, List<TypeValuePair> unresolvedValues,
+                                                       TypeConversionMemo memo) {
+        RecordConversionPlan plan = RecordConversionPlan.of(targetType);
+        for (BString requiredFieldKey : plan.getRequiredFieldKeys()) {
+            if (!sourceMapValueImpl.containsKey(requiredFieldKey)) {
                 return false;
             }
         }
 
         for (Object object : sourceMapValueImpl.entrySet()) {
             Map.Entry valueEntry = (Map.Entry) object;
-            String fieldName = valueEntry.getKey().toString();
+            BType fieldType = plan.getFieldType(valueEntry.getKey().toString());
+            if (fieldType == null) {
+                return false;
+            }
 
-            if (isFromJson) {
-                if (targetFieldTypes.containsKey(fieldName)) {
-                    if (getConvertibleTypesFromJson(valueEntry.getValue(), targetFieldTypes.get(fieldName),
-                            unresolvedValues).size() != 1) {
-                        return false;
-                    }
-                } else if (!targetType.sealed) {
-                    if (getConvertibleTypesFromJson(valueEntry.getValue(), restFieldType,
-                            unresolvedValues).size() != 1) {
-                        return false;
-                    }
-                } else {
-                    return false;
-                }
-            } else {
-                if (targetFieldTypes.containsKey(fieldName)) {
-                    if (getConvertibleTypes(valueEntry.getValue(), targetFieldTypes.get(fieldName),
-                            unresolvedValues).size() != 1) {
-                        return false;
-                    }
-                } else if (!targetType.sealed) {
-                    if (getConvertibleTypes(valueEntry.getValue(), restFieldType, unresolvedValues).size() != 1) {
-                        return false;
-                    }
-                } else {
-                    return false;
-                }
+            List<BType> convertibleTypes = isFromJson ?
+                    getConvertibleTypesFromJson(valueEntry.getValue(), fieldType, unresolvedValues, memo) :
+                    getConvertibleTypes(valueEntry.getValue(), fieldType, unresolvedValues, memo);
+            if (convertibleTypes.size() != 1) {
+                return false;
             }
         }
         return true;
@@ -48,6 +48,7 @@ import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import javax.xml.XMLConstants;
 import javax.xml.namespace.QName;
@@ -137,6 +138,32 @@ public class XMLFactory {
         }
     }
 
+    /**
+     * Create an iterator over the children of the root element of the XML document in a stream. Children are built
+     * as they are iterated, so the document is never fully in memory.
+     *
+     * @param xmlStream XML input stream
+     * @param charset Charset to be used for parsing, or null to detect it from the document
+     * @param skippedElementNames Expanded names of the child elements to skip
+     * @return Iterator of the children
+     */
+    public static XMLStreamIterator parseChildren(InputStream xmlStream, String charset,
+                                                  Set<String> skippedElementNames) {
+        return new XMLStreamIterator(xmlStream, charset, skippedElementNames);
+    }
+
+    /**
+     * Create an iterator over the children of the root element of the XML document read from a reader. Children are
+     * built as they are iterated, so the document is never fully in memory.
+     *
+     * @param reader XML reader
+     * @param skippedElementNames Expanded names of the child elements to skip
+     * @return Iterator of the children
+     */
+    public static XMLStreamIterator parseChildren(Reader reader, Set<String> skippedElementNames) {
+        return new XMLStreamIterator(reader, skippedElementNames);
+    }
+
     /**
      * Concatenate two XML sequences and produce a single sequence.
      *
@@ -493,7 +520,7 @@ public class XMLFactory {
                 target[len] = b;
             }
 
-            return new String(target, 0, len);
+            return new String(target, 0, len, StandardCharsets.UTF_8);
         }
     }
 }
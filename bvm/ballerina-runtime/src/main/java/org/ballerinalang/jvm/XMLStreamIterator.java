@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.jvm;
+
+import org.ballerinalang.jvm.api.BErrorCreator;
+import org.ballerinalang.jvm.api.BStringUtils;
+import org.ballerinalang.jvm.values.IteratorValue;
+import org.ballerinalang.jvm.values.XMLValue;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UnsupportedEncodingException;
+import java.util.Collections;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import static javax.xml.stream.XMLStreamConstants.CDATA;
+import static javax.xml.stream.XMLStreamConstants.CHARACTERS;
+import static javax.xml.stream.XMLStreamConstants.COMMENT;
+import static javax.xml.stream.XMLStreamConstants.END_DOCUMENT;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.PROCESSING_INSTRUCTION;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
+/**
+ * Iterator over the children of the root element of an XML document read from a stream. Children are built only
+ * when they are reached and are not kept once returned, so a document of any size can be processed in memory
+ * bounded by its largest child. Child elements with one of the given names are skipped without being built. A name
+ * is given in the expanded form used for xml element names, i.e. {@code {namespace-uri}local-name}, or only the local
+ * name for an element in no namespace.
+ * <p>
+ * The children are the same xml values that {@link XMLFactory#parse(InputStream)} gives as the children of the root
+ * element. The stream is closed once the root element ends, or when the iterator is closed.
+ *
+ * @since 2.0.0
+ */
+public class XMLStreamIterator implements IteratorValue, AutoCloseable {
+
+    private final Closeable source;
+    private final Set<String> skippedElementNames;
+    private XMLStreamReader xmlStreamReader;
+    private XMLTreeBuilder treeBuilder;
+    private XMLValue next;
+    private boolean done;
+
+    /**
+     * Creates an iterator over the children of the root element of the document in the given stream.
+     *
+     * @param inputStream         stream of the document
+     * @param charset             charset of the document, or null to detect it from the document
+     * @param skippedElementNames expanded names of the child elements to skip
+     */
+    public XMLStreamIterator(InputStream inputStream, String charset, Set<String> skippedElementNames) {
+        this.source = inputStream;
+        this.skippedElementNames = skippedElementNames == null ? Collections.emptySet() : skippedElementNames;
+        try {
+            init(charset == null ? XMLTreeBuilder.createXMLStreamReader(inputStream) :
+                         XMLTreeBuilder.createXMLStreamReader(new InputStreamReader(inputStream, charset)));
+        } catch (XMLStreamException | UnsupportedEncodingException e) {
+            close();
+            throw createError(e);
+        }
+    }
+
+    /**
+     * Creates an iterator over the children of the root element of the document read from the given reader.
+     *
+     * @param reader              reader of the document
+     * @param skippedElementNames expanded names of the child elements to skip
+     */
+    public XMLStreamIterator(Reader reader, Set<String> skippedElementNames) {
+        this.source = reader;
+        this.skippedElementNames = skippedElementNames == null ? Collections.emptySet() : skippedElementNames;
+        try {
+            init(XMLTreeBuilder.createXMLStreamReader(reader));
+        } catch (XMLStreamException e) {
+            close();
+            throw createError(e);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !done) {
+            next = readNextChild();
+        }
+        return next != null;
+    }
+
+    @Override
+    public Object next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        XMLValue child = next;
+        next = null;
+        return child;
+    }
+
+    @Override
+    public void close() {
+        done = true;
+        next = null;
+        try {
+            if (xmlStreamReader != null) {
+                xmlStreamReader.close();
+            }
+            source.close();
+        } catch (XMLStreamException | IOException e) {
+            // nothing more to read from the stream
+        }
+    }
+
+    private void init(XMLStreamReader xmlStreamReader) throws XMLStreamException {
+        this.xmlStreamReader = xmlStreamReader;
+        this.treeBuilder = new XMLTreeBuilder(xmlStreamReader);
+        moveToRootElement();
+    }
+
+    private void moveToRootElement() throws XMLStreamException {
+        while (xmlStreamReader.hasNext()) {
+            if (xmlStreamReader.next() == START_ELEMENT) {
+                return;
+            }
+        }
+        close();
+    }
+
+    private XMLValue readNextChild() {
+        try {
+            while (true) {
+                switch (xmlStreamReader.next()) {
+                    case START_ELEMENT:
+                        // QName gives the {namespace-uri}local-name form, or the local name for no namespace
+                        if (skippedElementNames.contains(xmlStreamReader.getName().toString())) {
+                            skipElement();
+                            break;
+                        }
+                        return treeBuilder.parseElement();
+                    case CDATA:
+                    case CHARACTERS:
+                        return XMLFactory.createXMLText(xmlStreamReader.getText());
+                    case COMMENT:
+                        return XMLFactory.createXMLComment(xmlStreamReader.getText());
+                    case PROCESSING_INSTRUCTION:
+                        return XMLFactory.createXMLProcessingInstruction(xmlStreamReader.getPITarget(),
+                                                                         xmlStreamReader.getPIData());
+                    case END_ELEMENT:
+                    case END_DOCUMENT:
+                        // end of the root element
+                        close();
+                        return null;
+                    default:
+                        break;
+                }
+            }
+        } catch (XMLStreamException e) {
+            close();
+            throw createError(e);
+        }
+    }
+
+    private void skipElement() throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = xmlStreamReader.next();
+            if (event == START_ELEMENT) {
+                depth++;
+            } else if (event == END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private static RuntimeException createError(Exception e) {
+        return BErrorCreator.createError(BStringUtils.fromString("failed to create xml: " + e.getMessage()));
+    }
+}
@@ -29,6 +29,7 @@ import org.ballerinalang.jvm.values.XMLQName;
 import org.ballerinalang.jvm.values.XMLSequence;
 import org.ballerinalang.jvm.values.XMLValue;
 
+import java.io.InputStream;
 import java.io.Reader;
 import java.io.StringReader;
 import java.util.ArrayDeque;
@@ -79,6 +80,33 @@ public class XMLTreeBuilder {
     }
 
     public XMLTreeBuilder(Reader stringReader) {
+        init();
+        try {
+            xmlStreamReader = xmlInputFactory.createXMLStreamReader(stringReader);
+        } catch (XMLStreamException e) {
+            handleXMLStreamException(e);
+        }
+    }
+
+    /**
+     * Creates a builder of the elements read by the given reader, one at a time, through {@link #parseElement()}.
+     *
+     * @param xmlStreamReader reader of the XML content
+     */
+    XMLTreeBuilder(XMLStreamReader xmlStreamReader) {
+        init();
+        this.xmlStreamReader = xmlStreamReader;
+    }
+
+    static XMLStreamReader createXMLStreamReader(InputStream inputStream) throws XMLStreamException {
+        return xmlInputFactory.createXMLStreamReader(inputStream);
+    }
+
+    static XMLStreamReader createXMLStreamReader(Reader reader) throws XMLStreamException {
+        return xmlInputFactory.createXMLStreamReader(reader);
+    }
+
+    private void init() {
         namespaces = new HashMap<>();
         seqDeque = new ArrayDeque<>();
         siblingDeque = new ArrayDeque<>();
@@ -86,12 +114,6 @@ public class XMLTreeBuilder {
         ArrayList<BXML> siblings = new ArrayList<>();
         siblingDeque.push(siblings);
         seqDeque.push(new XMLSequence(siblings));
-
-        try {
-            xmlStreamReader = xmlInputFactory.createXMLStreamReader(stringReader);
-        } catch (XMLStreamException e) {
-            handleXMLStreamException(e);
-        }
     }
 
     private void handleXMLStreamException(Exception e) {
@@ -136,6 +158,46 @@ public class XMLTreeBuilder {
         return null;
     }
 
+    /**
+     * Builds the element at the current {@code START_ELEMENT} event of the reader, reading up to the matching
+     * {@code END_ELEMENT} event. The element is not kept by the builder.
+     *
+     * @return the element
+     * @throws XMLStreamException if the content is not well formed
+     */
+    XMLItem parseElement() throws XMLStreamException {
+        List<BXML> siblings = siblingDeque.peek();
+        readElement(xmlStreamReader);
+        int depth = 1;
+        while (depth > 0) {
+            switch (xmlStreamReader.next()) {
+                case START_ELEMENT:
+                    readElement(xmlStreamReader);
+                    depth++;
+                    break;
+                case END_ELEMENT:
+                    endElement();
+                    depth--;
+                    break;
+                case PROCESSING_INSTRUCTION:
+                    readPI(xmlStreamReader);
+                    break;
+                case COMMENT:
+                    readComment(xmlStreamReader);
+                    break;
+                case CDATA:
+                case CHARACTERS:
+                    readText(xmlStreamReader);
+                    break;
+                default:
+                    break;
+            }
+        }
+        XMLItem element = (XMLItem) siblings.get(0);
+        siblings.clear();
+        return element;
+    }
+
     private void handleDTD(XMLStreamReader xmlStreamReader) {
         // ignore
     }
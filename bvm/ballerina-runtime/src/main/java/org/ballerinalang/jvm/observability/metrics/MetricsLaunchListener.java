@@ -18,6 +18,7 @@
 package org.ballerinalang.jvm.observability.metrics;
 
 import org.ballerinalang.config.ConfigRegistry;
+import org.ballerinalang.jvm.TypeCheckCache;
 import org.ballerinalang.jvm.launch.LaunchListener;
 import org.ballerinalang.jvm.observability.ObserveUtils;
 import org.ballerinalang.jvm.observability.metrics.noop.NoOpMetricProvider;
@@ -25,6 +26,10 @@ import org.ballerinalang.jvm.observability.metrics.noop.NoOpMetricReporter;
 import org.ballerinalang.jvm.observability.metrics.spi.MetricProvider;
 import org.ballerinalang.jvm.observability.metrics.spi.MetricReporter;
 import org.ballerinalang.jvm.observability.tracer.InvalidConfigurationException;
+import org.ballerinalang.jvm.scheduling.Scheduler;
+import org.ballerinalang.jvm.scheduling.SchedulerStats;
+import org.ballerinalang.jvm.transactions.TransactionResourceManager;
+import org.ballerinalang.jvm.transactions.TransactionStats;
 
 import java.io.PrintStream;
 import java.lang.management.ManagementFactory;
@@ -110,20 +115,63 @@ public class MetricsLaunchListener implements LaunchListener {
     }
 
     private void registerBallerinaMetrics() {
-//        final BLangScheduler.SchedulerStats schedulerStats = BLangScheduler.getStats();
-//        final String prefix = "ballerina_scheduler_";
-//        PolledGauge.builder(prefix + "ready_worker_count", schedulerStats,
-//                BLangScheduler.SchedulerStats::getReadyWorkerCount).register();
-//        PolledGauge.builder(prefix + "running_worker_count", schedulerStats,
-//                BLangScheduler.SchedulerStats::getRunningWorkerCount).register();
-//        PolledGauge.builder(prefix + "excepted_worker_count", schedulerStats,
-//                BLangScheduler.SchedulerStats::getExceptedWorkerCount).register();
-//        PolledGauge.builder(prefix + "paused_worker_count", schedulerStats,
-//                BLangScheduler.SchedulerStats::getPausedWorkerCount).register();
-//        PolledGauge.builder(prefix + "waiting_for_response_worker_count", schedulerStats,
-//                BLangScheduler.SchedulerStats::getWaitingForResponseWorkerCount).register();
-//        PolledGauge.builder(prefix + "waiting_for_lock_worker_count", schedulerStats,
-//                BLangScheduler.SchedulerStats::getWaitingForLockWorkerCount).register();
+        final SchedulerStats schedulerStats = Scheduler.getStats();
+        schedulerStats.enableTimings();
+        final String prefix = "ballerina_scheduler_";
+        PolledGauge.builder(prefix + "runnable_queue_depth", schedulerStats,
+                SchedulerStats::getRunnableQueueDepth)
+                .description("Strand groups waiting to be executed").register();
+        PolledGauge.builder(prefix + "strand_count", schedulerStats, SchedulerStats::getStrandCount)
+                .description("Strands scheduled and not yet completed").register();
+        PolledGauge.builder(prefix + "worker_limit", schedulerStats, SchedulerStats::getWorkerLimit)
+                .description("Strand groups allowed to execute at once").register();
+        PolledGauge.builder(prefix + "worker_thread_count", schedulerStats, SchedulerStats::getWorkerThreadCount)
+                .description("Running worker threads").register();
+        PolledGauge.builder(prefix + "dequeued_groups", schedulerStats,
+                SchedulerStats::getDequeuedGroupCount)
+                .description("Strand groups taken for execution").register();
+        PolledGauge.builder(prefix + "group_wait_time_nanoseconds", schedulerStats,
+                SchedulerStats::getGroupWaitTimeNanos)
+                .description("Time strand groups waited to be executed").register();
+        PolledGauge.builder(prefix + "executed_items", schedulerStats, SchedulerStats::getExecutedItemCount)
+                .description("Strand executions, including resumptions").register();
+        PolledGauge.builder(prefix + "item_run_time_nanoseconds", schedulerStats,
+                SchedulerStats::getItemRunTimeNanos)
+                .description("Time spent executing strands").register();
+        PolledGauge.builder(prefix + "yields", schedulerStats, SchedulerStats::getYieldCount)
+                .description("Times strands yielded to the scheduler").register();
+        PolledGauge.builder(prefix + "parks", schedulerStats, SchedulerStats::getParkCount)
+                .description("Times strands were parked until unblocked").register();
+
+        final String typeCheckPrefix = "ballerina_type_check_cache_";
+        PolledGauge.builder(typeCheckPrefix + "hits", TypeCheckCache.class,
+                type -> TypeCheckCache.getHitCount())
+                .description("Structural type checks answered from the memo").register();
+        PolledGauge.builder(typeCheckPrefix + "misses", TypeCheckCache.class,
+                type -> TypeCheckCache.getMissCount())
+                .description("Structural type checks computed").register();
+        PolledGauge.builder(typeCheckPrefix + "size", TypeCheckCache.class, type -> TypeCheckCache.getSize())
+                .description("Memoized type pairs").register();
+
+        final TransactionStats transactionStats = TransactionResourceManager.getInstance().getStats();
+        final String transactionPrefix = "ballerina_transactions_";
+        PolledGauge.builder(transactionPrefix + "in_flight", transactionStats, TransactionStats::getInFlightCount)
+                .description("Transactions registered with the resource manager and not yet ended").register();
+        PolledGauge.builder(transactionPrefix + "prepared", transactionStats, TransactionStats::getPrepareCount)
+                .description("Prepare phases run").register();
+        PolledGauge.builder(transactionPrefix + "prepare_time_nanoseconds", transactionStats,
+                TransactionStats::getPrepareTimeNanos)
+                .description("Time spent preparing transaction participants").register();
+        PolledGauge.builder(transactionPrefix + "committed", transactionStats, TransactionStats::getCommitCount)
+                .description("Transaction blocks committed").register();
+        PolledGauge.builder(transactionPrefix + "commit_time_nanoseconds", transactionStats,
+                TransactionStats::getCommitTimeNanos)
+                .description("Time spent committing transaction participants").register();
+        PolledGauge.builder(transactionPrefix + "aborted", transactionStats, TransactionStats::getAbortCount)
+                .description("Transaction blocks aborted").register();
+        PolledGauge.builder(transactionPrefix + "abort_time_nanoseconds", transactionStats,
+                TransactionStats::getAbortTimeNanos)
+                .description("Time spent aborting transaction participants").register();
     }
 
     @Override
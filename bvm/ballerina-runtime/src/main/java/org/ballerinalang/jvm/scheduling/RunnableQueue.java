@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.scheduling;
+
+/**
+ * Holds the {@link ItemGroup}s that are ready to be executed by the {@link Scheduler} worker threads.
+ *
+ * @since 2.0.0
+ */
+interface RunnableQueue {
+
+    /**
+     * Adds a group that became runnable. Implementations may keep the group close to the calling worker.
+     *
+     * @param group runnable item group
+     */
+    void add(ItemGroup group);
+
+    /**
+     * Adds a group that should be picked by any worker, regardless of the calling thread.
+     *
+     * @param group runnable item group
+     */
+    void addShared(ItemGroup group);
+
+    /**
+     * Retrieves the next runnable group, waiting if necessary until one becomes available.
+     *
+     * @return next runnable group
+     * @throws InterruptedException if interrupted while waiting
+     */
+    ItemGroup take() throws InterruptedException;
+
+    /**
+     * Binds the current thread as the worker with the given index.
+     *
+     * @param workerIndex index of the worker, less than the number of worker threads
+     */
+    void bindWorker(int workerIndex);
+
+    /**
+     * Unbinds the current thread, handing over any group that is still queued locally.
+     */
+    void unbindWorker();
+
+    /**
+     * @return approximate number of groups waiting to be executed
+     */
+    int size();
+}
@@ -32,8 +32,7 @@ import java.io.PrintStream;
 import java.util.Map;
 import java.util.Set;
 import java.util.Stack;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -41,6 +40,7 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 
 import static org.ballerinalang.jvm.scheduling.ItemGroup.POISON_PILL;
+import static org.ballerinalang.jvm.scheduling.ItemGroup.RETIRE_PILL;
 
 /**
  * Strand scheduler for JBallerina.
@@ -57,7 +57,7 @@ public class Scheduler {
     /**
      * Strands that are ready for execution.
      */
-    private BlockingQueue<ItemGroup> runnableList = new LinkedBlockingDeque<>();
+    private final RunnableQueue runnableList;
 
     private static final ThreadLocal<StrandHolder> strandHolder = ThreadLocal.withInitial(StrandHolder::new);
 
@@ -65,15 +65,61 @@ public class Scheduler {
 
     private static String poolSizeConf = System.getenv(BLangConstants.BALLERINA_MAX_POOL_SIZE_ENV_VAR);
 
+    private static String schedulerModeConf = System.getenv(BLangConstants.BALLERINA_SCHEDULER_MODE_ENV_VAR);
+
+    private static String virtualThreadsConf = System.getenv(BLangConstants.BALLERINA_VIRTUAL_THREADS_ENV_VAR);
+
+    private static String minPoolSizeConf = System.getenv(BLangConstants.BALLERINA_MIN_POOL_SIZE_ENV_VAR);
+
+    /**
+     * Totals of the statistics of all the schedulers in the process, published as metrics.
+     */
+    private static final SchedulerStats processStats = new SchedulerStats(null);
+
+    /**
+     * Statistics of this scheduler, which drive its adaptive pool.
+     */
+    final SchedulerStats stats = new SchedulerStats(processStats);
+
     /**
      * This can be changed by setting the BALLERINA_MAX_POOL_SIZE system variable.
      * Default is 100.
      */
     private final int numThreads;
 
+    /**
+     * Lower bound of the worker threads. The pool is adaptive when this is less than {@link #numThreads}, and can be
+     * changed by setting the BALLERINA_MIN_POOL_SIZE system variable.
+     */
+    private final int minThreads;
+
     private static int poolSize = Runtime.getRuntime().availableProcessors() * 2;
 
-    private Semaphore mainBlockSem;
+    /**
+     * Guards the worker slots, so that the pool is not resized while the scheduler is being poisoned.
+     */
+    private final Object workersLock = new Object();
+
+    /**
+     * Worker indexes taken by running worker threads. The last one belongs to the thread that called {@link #start()}.
+     */
+    private boolean[] workerSlots;
+
+    private int liveWorkers;
+
+    private int retiringWorkers;
+
+    private boolean poisoned;
+
+    private Semaphore workerPermits;
+
+    private WorkerPoolController poolController;
+
+    /**
+     * Executor that runs item groups on virtual threads. When this is null, item groups run on the worker thread
+     * that picked them from the runnable list.
+     */
+    private final Executor groupExecutor;
 
     public Scheduler(boolean immortal) {
         try {
@@ -86,12 +132,84 @@ public class Scheduler {
                                 BLangConstants.BALLERINA_MAX_POOL_SIZE_ENV_VAR + ", " + t.getMessage());
         }
         this.numThreads = poolSize;
+        this.minThreads = readMinPoolSize(poolSize);
+        if (minThreads < numThreads) {
+            // the adaptive pool is driven by item wait and run times
+            stats.enableTimings();
+        }
         this.immortal = immortal;
+        this.runnableList = createRunnableQueue(numThreads);
+        this.groupExecutor = createGroupExecutor();
     }
 
     public Scheduler(int numThreads, boolean immortal) {
         this.numThreads = numThreads;
+        this.minThreads = numThreads;
         this.immortal = immortal;
+        this.runnableList = createRunnableQueue(numThreads);
+        this.groupExecutor = createGroupExecutor();
+    }
+
+    Scheduler(int numThreads, int minThreads, boolean immortal, Executor groupExecutor) {
+        this.numThreads = numThreads;
+        this.minThreads = minThreads;
+        if (minThreads < numThreads) {
+            stats.enableTimings();
+        }
+        this.immortal = immortal;
+        this.runnableList = createRunnableQueue(numThreads);
+        this.groupExecutor = groupExecutor;
+    }
+
+    private int readMinPoolSize(int maxPoolSize) {
+        if (minPoolSizeConf == null) {
+            return maxPoolSize;
+        }
+        try {
+            int minPoolSize = Integer.parseInt(minPoolSizeConf);
+            if (minPoolSize > 0 && minPoolSize < maxPoolSize) {
+                return minPoolSize;
+            }
+        } catch (Throwable t) {
+            // Log and continue with a fixed size pool
+            err.println("ballerina: error occurred in scheduler while reading system variable:" +
+                                BLangConstants.BALLERINA_MIN_POOL_SIZE_ENV_VAR + ", " + t.getMessage());
+        }
+        return maxPoolSize;
+    }
+
+    private Executor createGroupExecutor() {
+        if (!Boolean.parseBoolean(virtualThreadsConf)) {
+            return null;
+        }
+        Executor executor = VirtualThreadSupport.createExecutor();
+        if (executor == null) {
+            err.println("ballerina: virtual threads are not supported by the current Java runtime, ignoring system " +
+                                "variable:" + BLangConstants.BALLERINA_VIRTUAL_THREADS_ENV_VAR);
+        }
+        return executor;
+    }
+
+    private RunnableQueue createRunnableQueue(int numThreads) {
+        if (schedulerModeConf == null || schedulerModeConf.isEmpty() ||
+                BLangConstants.SCHEDULER_MODE_DEFAULT.equalsIgnoreCase(schedulerModeConf)) {
+            return new SharedRunnableQueue();
+        }
+        if (BLangConstants.SCHEDULER_MODE_WORK_STEALING.equalsIgnoreCase(schedulerModeConf)) {
+            return new WorkStealingRunnableQueue(numThreads);
+        }
+        err.println("ballerina: unknown scheduler mode '" + schedulerModeConf + "' in system variable:" +
+                            BLangConstants.BALLERINA_SCHEDULER_MODE_ENV_VAR + ", using the default mode");
+        return new SharedRunnableQueue();
+    }
+
+    /**
+     * Returns the saturation statistics of the schedulers in this process.
+     *
+     * @return totals of the scheduler statistics
+     */
+    public static SchedulerStats getStats() {
+        return processStats;
     }
 
     public static Strand getStrand() {
@@ -140,10 +258,11 @@ public class Scheduler {
         SchedulerItem item = new SchedulerItem(fp.getFunction(), params, future);
         future.strand.schedulerItem = item;
         totalStrands.incrementAndGet();
+        stats.strandCreated();
         future.strand.strandGroup = parent.strandGroup;
         parent.strandGroup.add(item);
         if (parent.strandGroup.scheduled.compareAndSet(false, true)) {
-            runnableList.add(future.strand.strandGroup);
+            addToRunnableList(future.strand.strandGroup);
         }
         return future;
     }
@@ -190,10 +309,11 @@ public class Scheduler {
         SchedulerItem item = new SchedulerItem(function, params, future);
         future.strand.schedulerItem = item;
         totalStrands.incrementAndGet();
+        stats.strandCreated();
         ItemGroup group = new ItemGroup(item);
         future.strand.strandGroup = group;
         group.scheduled.set(true);
-        runnableList.add(group);
+        addToRunnableList(group);
         return future;
     }
 
@@ -216,83 +336,253 @@ public class Scheduler {
         SchedulerItem item = new SchedulerItem(consumer, params, future);
         future.strand.schedulerItem = item;
         totalStrands.incrementAndGet();
+        stats.strandCreated();
         ItemGroup group = new ItemGroup(item);
         future.strand.strandGroup = group;
         group.scheduled.set(true);
-        runnableList.add(group);
+        addToRunnableList(group);
         return future;
     }
 
     public void start() {
-        this.mainBlockSem = new Semaphore(-(numThreads - 1));
+        int initialThreads = numThreads;
+        if (minThreads < numThreads) {
+            this.workerPermits = new Semaphore(minThreads);
+            this.poolController = new WorkerPoolController(this, workerPermits, stats, minThreads, numThreads);
+            initialThreads = minThreads;
+        } else {
+            stats.setWorkerLimit(numThreads);
+        }
+        synchronized (workersLock) {
+            this.workerSlots = new boolean[numThreads];
+            this.workerSlots[numThreads - 1] = true;
+            this.liveWorkers = 1;
+            for (int i = 1; i < initialThreads; i++) {
+                startWorker();
+            }
+            stats.setWorkerThreadCount(liveWorkers);
+        }
+        if (poolController != null) {
+            Thread controllerThread = new Thread(poolController, "jbal-strand-pool-controller");
+            controllerThread.setDaemon(true);
+            controllerThread.start();
+        }
+        this.runSafely(numThreads - 1);
+        synchronized (workersLock) {
+            try {
+                while (liveWorkers > 1) {
+                    workersLock.wait();
+                }
+            } catch (InterruptedException e) {
+                RuntimeUtils.printCrashLog(e);
+            }
+            liveWorkers = 0;
+        }
+        if (poolController != null) {
+            poolController.stop();
+            poolController = null;
+        }
+        stats.setWorkerLimit(0);
+        stats.setWorkerThreadCount(0);
+    }
+
+    /**
+     * Starts or retires worker threads so that the given number of them take strand groups. A worker retires when
+     * it takes a retire pill from the runnable list, so a busy pool only shrinks as its workers become idle.
+     *
+     * @param threads number of worker threads, within the bounds of the pool
+     */
+    void resizeWorkers(int threads) {
+        synchronized (workersLock) {
+            if (poisoned || workerSlots == null) {
+                return;
+            }
+            int change = threads - (liveWorkers - retiringWorkers);
+            for (; change > 0 && liveWorkers < numThreads; change--) {
+                startWorker();
+            }
+            for (; change < 0; change++) {
+                retiringWorkers++;
+                runnableList.addShared(RETIRE_PILL);
+            }
+            stats.setWorkerThreadCount(liveWorkers);
+        }
+    }
+
+    /**
+     * Starts a worker thread in a free slot. Must be called holding the workers lock.
+     */
+    private void startWorker() {
+        if (poisoned) {
+            return;
+        }
         for (int i = 0; i < numThreads - 1; i++) {
-            new Thread(this::runSafely, "jbal-strand-exec-" + i).start();
+            if (!workerSlots[i]) {
+                workerSlots[i] = true;
+                liveWorkers++;
+                final int workerIndex = i;
+                new Thread(() -> runSafely(workerIndex), "jbal-strand-exec-" + i).start();
+                return;
+            }
         }
-        this.runSafely();
-        try {
-            this.mainBlockSem.acquire();
-        } catch (InterruptedException e) {
-            RuntimeUtils.printCrashLog(e);
+    }
+
+    /**
+     * Decides whether the worker that took a retire pill stops. The thread that called {@link #start()} does not
+     * stop, and once the scheduler is poisoned every worker waits for a poison pill instead.
+     */
+    private boolean retire(int workerIndex) {
+        synchronized (workersLock) {
+            if (poisoned || workerIndex == numThreads - 1) {
+                retiringWorkers--;
+                return false;
+            }
+            // the worker stays counted as retiring until it exits
+            return true;
+        }
+    }
+
+    private void workerExited(int workerIndex, boolean retired) {
+        synchronized (workersLock) {
+            workerSlots[workerIndex] = false;
+            liveWorkers--;
+            if (retired) {
+                retiringWorkers--;
+            }
+            stats.setWorkerThreadCount(liveWorkers);
+            workersLock.notifyAll();
+        }
+    }
+
+    private int getRetiringWorkers() {
+        synchronized (workersLock) {
+            return retiringWorkers;
         }
     }
 
     /**
      * Defensive programming to prevent unforeseen errors.
      */
-    private void runSafely() {
+    private void runSafely(int workerIndex) {
+        runnableList.bindWorker(workerIndex);
+        boolean retired = false;
         try {
-            run();
+            retired = run(workerIndex);
         } catch (Throwable t) {
             RuntimeUtils.printCrashLog(t);
+        } finally {
+            runnableList.unbindWorker();
+        }
+        if (workerIndex != numThreads - 1) {
+            workerExited(workerIndex, retired);
         }
     }
 
     /**
      * Executes tasks that are submitted to the Scheduler.
+     *
+     * @return whether the worker stopped because the adaptive pool shrank
      */
-    private void run() {
+    private boolean run(int workerIndex) {
+        WorkerPoolController controller = this.poolController;
         while (true) {
-            SchedulerItem item;
+            boolean permitAcquired = controller != null;
+            if (permitAcquired) {
+                // Wait until the adaptive pool allows this worker to execute strands, or the scheduler is poisoned
+                workerPermits.acquireUninterruptibly();
+            }
             ItemGroup group;
             try {
                 group = runnableList.take();
             } catch (InterruptedException ignored) {
+                if (permitAcquired) {
+                    controller.releasePermit();
+                }
                 continue;
             }
 
             if (group == POISON_PILL) {
-                this.mainBlockSem.release();
-                break;
+                if (permitAcquired) {
+                    controller.releasePermit();
+                }
+                return false;
             }
 
-            while (!group.items.empty()) {
-                Object result = null;
-                Throwable panic = null;
+            if (group == RETIRE_PILL) {
+                if (permitAcquired) {
+                    controller.releasePermit();
+                }
+                if (retire(workerIndex)) {
+                    return true;
+                }
+                continue;
+            }
 
-                item = group.get();
+            stats.groupDequeued(group.queuedTime == 0 ? 0 : System.nanoTime() - group.queuedTime);
+            group.lastWorker = workerIndex;
+            if (groupExecutor != null) {
+                // Worker threads only dispatch, so an item blocked on Java interop holds a virtual thread
+                // instead of one of the pool threads. The permit goes with the group until it yields or
+                // completes, so that the adaptive pool still limits the groups that run at once.
+                final ItemGroup dispatchedGroup = group;
+                final WorkerPoolController permitHolder = permitAcquired ? controller : null;
+                groupExecutor.execute(() -> runGroupSafely(dispatchedGroup, permitHolder));
+                continue;
+            }
+            runGroup(group);
+            if (permitAcquired) {
+                controller.releasePermit();
+            }
+        }
+    }
 
-                try {
-                    strandHolder.get().strand = item.future.strand;
-                    result = item.execute();
-                } catch (Throwable e) {
-                    panic = createError(e);
-                    notifyChannels(item, panic);
+    private void runGroupSafely(ItemGroup group, WorkerPoolController permitHolder) {
+        try {
+            runGroup(group);
+        } catch (Throwable t) {
+            RuntimeUtils.printCrashLog(t);
+        } finally {
+            if (permitHolder != null) {
+                permitHolder.releasePermit();
+            }
+        }
+    }
 
-                    if (!(panic instanceof BError)) {
-                        RuntimeUtils.printCrashLog(panic);
-                    }
-                    // Please refer #18763.
-                    // This logs cases where errors have occurred while strand is blocked.
-                    if (item.isYielded()) {
-                        RuntimeUtils.printCrashLog(panic);
-                    }
-                } finally {
-                    strandHolder.get().strand = null;
+    /**
+     * Executes the items of the given group on the current thread until the group runs out of runnable items.
+     */
+    private void runGroup(ItemGroup group) {
+        SchedulerItem item;
+        while (!group.items.empty()) {
+            Object result = null;
+            Throwable panic = null;
+
+            item = group.get();
+
+            boolean timed = stats.isTimingsEnabled();
+            long startTime = timed ? System.nanoTime() : 0;
+            try {
+                strandHolder.get().strand = item.future.strand;
+                result = item.execute();
+            } catch (Throwable e) {
+                panic = createError(e);
+                notifyChannels(item, panic);
+
+                if (!(panic instanceof BError)) {
+                    RuntimeUtils.printCrashLog(panic);
                 }
-                postProcess(item, result, panic);
-                if (group.items.empty()) {
-                    group.scheduled.set(false);
+                // Please refer #18763.
+                // This logs cases where errors have occurred while strand is blocked.
+                if (item.isYielded()) {
+                    RuntimeUtils.printCrashLog(panic);
                 }
+            } finally {
+                strandHolder.get().strand = null;
+            }
+            stats.itemExecuted(timed ? System.nanoTime() - startTime : 0);
+            postProcess(item, result, panic);
+            if (group.items.empty()) {
+                group.scheduled.set(false);
             }
         }
     }
@@ -303,6 +593,7 @@ public class Scheduler {
     private void postProcess(SchedulerItem item, Object result, Throwable panic) {
         switch (item.getState()) {
             case BLOCK_AND_YIELD:
+                stats.yielded();
                 item.future.strand.lock();
                 // need to recheck due to concurrency, unblockStrand() may have changed state
                 if (item.getState().getStatus() == State.YIELD.getStatus()) {
@@ -311,9 +602,11 @@ public class Scheduler {
                     break;
                 }
                 item.parked = true;
+                stats.parked();
                 item.future.strand.unlock();
                 break;
             case BLOCK_ON_AND_YIELD:
+                stats.yielded();
                 WaitContext waitContext = item.future.strand.waitContext;
                 waitContext.lock();
                 waitContext.intermediate = false;
@@ -324,6 +617,7 @@ public class Scheduler {
                 waitContext.unLock();
                 break;
             case YIELD:
+                stats.yielded();
                 reschedule(item);
                 break;
             case RUNNABLE:
@@ -365,15 +659,14 @@ public class Scheduler {
 
                 cleanUp(justCompleted);
 
+                stats.strandCompleted();
                 int strandsLeft = totalStrands.decrementAndGet();
                 if (strandsLeft == 0) {
                     // (number of started stands - finished stands) = 0, all the work is done
-                    assert runnableList.size() == 0;
+                    assert runnableList.size() <= getRetiringWorkers();
 
                     if (!immortal) {
-                        for (int i = 0; i < numThreads; i++) {
-                            runnableList.add(POISON_PILL);
-                        }
+                        poison();
                     }
                 }
                 break;
@@ -442,11 +735,19 @@ public class Scheduler {
             //  2) All others have finished
             // In this case we need to put it back in the runnable list.
             if (group.scheduled.compareAndSet(false, true)) {
-                runnableList.add(group);
+                addToRunnableList(group);
             }
         }
     }
 
+    private void addToRunnableList(ItemGroup group) {
+        if (stats.isTimingsEnabled()) {
+            group.queuedTime = System.nanoTime();
+        }
+        stats.groupQueued();
+        runnableList.add(group);
+    }
+
     public FutureValue createFuture(Strand parent, CallableUnitCallback callback, Map<String, Object> properties,
                                     BType constraint, String name, StrandMetadata metadata) {
         Strand newStrand = new Strand(name, metadata, this, parent, properties);
@@ -463,8 +764,15 @@ public class Scheduler {
     }
 
     public void poison() {
+        synchronized (workersLock) {
+            poisoned = true;
+        }
+        if (workerPermits != null) {
+            // let the workers waiting for a permit reach the poison pills
+            workerPermits.release(numThreads);
+        }
         for (int i = 0; i < numThreads; i++) {
-            runnableList.add(POISON_PILL);
+            runnableList.addShared(POISON_PILL);
         }
     }
 }
@@ -534,8 +842,24 @@ class ItemGroup {
      */
     AtomicBoolean scheduled = new AtomicBoolean(false);
 
+    /**
+     * Index of the worker that last executed this group, used to keep the group on the same worker when it becomes
+     * runnable again. Only a hint, hence not synchronized.
+     */
+    int lastWorker = -1;
+
+    /**
+     * Time this group was last added to the runnable list, only recorded when scheduler timings are enabled.
+     */
+    long queuedTime;
+
     public static final ItemGroup POISON_PILL = new ItemGroup();
 
+    /**
+     * Stops the worker that takes it, when the adaptive pool shrinks.
+     */
+    static final ItemGroup RETIRE_PILL = new ItemGroup();
+
     public ItemGroup(SchedulerItem item) {
         items.push(item);
     }
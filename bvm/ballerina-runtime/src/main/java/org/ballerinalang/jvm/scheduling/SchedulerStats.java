@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.scheduling;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Saturation statistics of a strand scheduler. Each scheduler keeps its own statistics, which are also added to the
+ * process-wide totals returned by {@link Scheduler#getStats()}.
+ * Counters are cumulative; timings are only collected once {@link #enableTimings()} is called on the statistics or
+ * on the totals, since they require reading the clock around every executed item.
+ *
+ * @since 2.0.0
+ */
+public class SchedulerStats {
+
+    // updated on every schedule, dequeue and strand completion, so striped counters are used and summed when read
+    private final LongAdder runnableGroups = new LongAdder();
+    private final LongAdder strands = new LongAdder();
+    private final AtomicInteger workerLimit = new AtomicInteger();
+    private final AtomicInteger workerThreads = new AtomicInteger();
+    private final LongAdder dequeuedGroups = new LongAdder();
+    private final LongAdder groupWaitNanos = new LongAdder();
+    private final LongAdder executedItems = new LongAdder();
+    private final LongAdder itemRunNanos = new LongAdder();
+    private final LongAdder yields = new LongAdder();
+    private final LongAdder parks = new LongAdder();
+    private volatile boolean timingsEnabled;
+    private final SchedulerStats totals;
+
+    SchedulerStats(SchedulerStats totals) {
+        this.totals = totals;
+    }
+
+    /**
+     * Starts collecting the wait and run time of scheduled items.
+     */
+    public void enableTimings() {
+        this.timingsEnabled = true;
+    }
+
+    boolean isTimingsEnabled() {
+        return timingsEnabled || (totals != null && totals.timingsEnabled);
+    }
+
+    void groupQueued() {
+        runnableGroups.increment();
+        if (totals != null) {
+            totals.groupQueued();
+        }
+    }
+
+    void groupDequeued(long waitNanos) {
+        runnableGroups.decrement();
+        dequeuedGroups.increment();
+        if (waitNanos > 0) {
+            groupWaitNanos.add(waitNanos);
+        }
+        if (totals != null) {
+            totals.groupDequeued(waitNanos);
+        }
+    }
+
+    void itemExecuted(long runNanos) {
+        executedItems.increment();
+        if (runNanos > 0) {
+            itemRunNanos.add(runNanos);
+        }
+        if (totals != null) {
+            totals.itemExecuted(runNanos);
+        }
+    }
+
+    void strandCreated() {
+        strands.increment();
+        if (totals != null) {
+            totals.strandCreated();
+        }
+    }
+
+    void strandCompleted() {
+        strands.decrement();
+        if (totals != null) {
+            totals.strandCompleted();
+        }
+    }
+
+    void yielded() {
+        yields.increment();
+        if (totals != null) {
+            totals.yielded();
+        }
+    }
+
+    void parked() {
+        parks.increment();
+        if (totals != null) {
+            totals.parked();
+        }
+    }
+
+    void setWorkerLimit(int limit) {
+        int previousLimit = workerLimit.getAndSet(limit);
+        if (totals != null) {
+            totals.workerLimit.addAndGet(limit - previousLimit);
+        }
+    }
+
+    void setWorkerThreadCount(int count) {
+        int previousCount = workerThreads.getAndSet(count);
+        if (totals != null) {
+            totals.workerThreads.addAndGet(count - previousCount);
+        }
+    }
+
+    /**
+     * @return number of strand groups waiting in the runnable lists
+     */
+    public long getRunnableQueueDepth() {
+        return runnableGroups.sum();
+    }
+
+    /**
+     * @return number of strands that are scheduled and not yet completed
+     */
+    public long getStrandCount() {
+        return strands.sum();
+    }
+
+    /**
+     * @return number of worker threads that are currently allowed to execute strands, summed over the running
+     * schedulers for the totals
+     */
+    public int getWorkerLimit() {
+        return workerLimit.get();
+    }
+
+    /**
+     * @return number of running worker threads, summed over the running schedulers for the totals
+     */
+    public int getWorkerThreadCount() {
+        return workerThreads.get();
+    }
+
+    /**
+     * @return total number of strand groups taken from the runnable lists
+     */
+    public long getDequeuedGroupCount() {
+        return dequeuedGroups.sum();
+    }
+
+    /**
+     * @return total time, in nanoseconds, strand groups have spent in the runnable lists
+     */
+    public long getGroupWaitTimeNanos() {
+        return groupWaitNanos.sum();
+    }
+
+    /**
+     * @return total number of scheduler items executed, including resumptions of yielded items
+     */
+    public long getExecutedItemCount() {
+        return executedItems.sum();
+    }
+
+    /**
+     * @return total time, in nanoseconds, spent executing scheduler items
+     */
+    public long getItemRunTimeNanos() {
+        return itemRunNanos.sum();
+    }
+
+    /**
+     * @return total number of times a strand yielded to the scheduler
+     */
+    public long getYieldCount() {
+        return yields.sum();
+    }
+
+    /**
+     * @return total number of times a strand got parked waiting to be unblocked
+     */
+    public long getParkCount() {
+        return parks.sum();
+    }
+}
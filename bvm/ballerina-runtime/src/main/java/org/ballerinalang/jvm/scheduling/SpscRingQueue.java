@@ -0,0 +1,131 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.jvm.scheduling;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Unbounded lock-free queue for a single producer and a single consumer, such as the sending and the receiving worker
+ * of a {@link WorkerDataChannel}.
+ * <p>
+ * Elements are kept in a ring of slots. A slot is free when it holds null: the producer fills it, and the consumer
+ * empties it after taking the element, so the two sides only meet on the slots. The producer always leaves the slot
+ * after the one it fills free. When that slot is taken, the ring is full, and the producer links a new ring through
+ * the extra slot at the end of the array, writes the element to the new ring and leaves a jump marker in the old one.
+ * The consumer follows the marker, and the old ring is dropped once it is drained.
+ *
+ * @param <E> type of the elements
+ * @since 2.0.0
+ */
+class SpscRingQueue<E> {
+
+    private static final Object JUMP = new Object();
+
+    private final int capacity;
+    private final int mask;
+
+    // only accessed by the producer
+    private AtomicReferenceArray<Object> producerRing;
+
+    // only accessed by the consumer
+    private AtomicReferenceArray<Object> consumerRing;
+
+    private final AtomicLong producerIndex = new AtomicLong();
+    private final AtomicLong consumerIndex = new AtomicLong();
+
+    /**
+     * @param capacity number of slots of a ring, a power of two not less than 2
+     */
+    SpscRingQueue(int capacity) {
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.producerRing = new AtomicReferenceArray<>(capacity + 1);
+        this.consumerRing = producerRing;
+    }
+
+    /**
+     * Adds an element. Must only be called by the producer.
+     *
+     * @param element element to add, not null
+     */
+    void offer(E element) {
+        AtomicReferenceArray<Object> ring = producerRing;
+        long index = producerIndex.get();
+        int offset = (int) index & mask;
+        if (ring.get((int) (index + 1) & mask) != null) {
+            AtomicReferenceArray<Object> next = new AtomicReferenceArray<>(capacity + 1);
+            next.lazySet(offset, element);
+            ring.lazySet(capacity, next);
+            // the element and the link are visible before the marker that leads the consumer to them
+            ring.lazySet(offset, JUMP);
+            producerRing = next;
+        } else {
+            ring.lazySet(offset, element);
+        }
+        producerIndex.lazySet(index + 1);
+    }
+
+    /**
+     * Takes the oldest element. Must only be called by the consumer.
+     *
+     * @return the oldest element, or null if there is none
+     */
+    @SuppressWarnings("unchecked")
+    E poll() {
+        long index = consumerIndex.get();
+        int offset = (int) index & mask;
+        Object element = followJump(offset);
+        if (element == null) {
+            return null;
+        }
+        consumerRing.lazySet(offset, null);
+        consumerIndex.lazySet(index + 1);
+        return (E) element;
+    }
+
+    /**
+     * Returns the oldest element without taking it. Must only be called by the consumer.
+     *
+     * @return the oldest element, or null if there is none
+     */
+    @SuppressWarnings("unchecked")
+    E peek() {
+        return (E) followJump((int) consumerIndex.get() & mask);
+    }
+
+    /**
+     * Whether there are no elements, as seen by the calling thread. May be called by either side.
+     *
+     * @return true if all the added elements are taken
+     */
+    boolean isEmpty() {
+        return consumerIndex.get() == producerIndex.get();
+    }
+
+    private Object followJump(int offset) {
+        Object element = consumerRing.get(offset);
+        if (element == JUMP) {
+            @SuppressWarnings("unchecked")
+            AtomicReferenceArray<Object> next = (AtomicReferenceArray<Object>) consumerRing.get(capacity);
+            consumerRing = next;
+            element = next.get(offset);
+        }
+        return element;
+    }
+}
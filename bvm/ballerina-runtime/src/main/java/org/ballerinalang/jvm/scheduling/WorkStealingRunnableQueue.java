@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.scheduling;
+
+import java.util.Deque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link RunnableQueue} with a deque per worker thread. A worker pushes and pops groups from the head of its own
+ * deque, and only when it runs out of work it takes from the shared injection queue or steals from the tail of
+ * another worker's deque. Groups submitted from non-worker threads (e.g. network callbacks) go to the deque of the
+ * worker that last executed the group while that worker is alive, falling back to the injection queue.
+ * <p>
+ * Workers that find no work park until a group is added, instead of polling. The number of queued groups is only
+ * computed when {@link #size()} is called.
+ *
+ * @since 2.0.0
+ */
+class WorkStealingRunnableQueue implements RunnableQueue {
+
+    private final Deque<ItemGroup>[] localQueues;
+    private final AtomicIntegerArray boundWorkers;
+    private final Queue<ItemGroup> injectionQueue = new ConcurrentLinkedQueue<>();
+    private final Queue<Thread> idleWorkers = new ConcurrentLinkedQueue<>();
+    // striped, so that workers pushing and polling their own deques do not contend on it, and only summed by size()
+    private final LongAdder size = new LongAdder();
+    private final ThreadLocal<Integer> workerIndex = new ThreadLocal<>();
+
+    @SuppressWarnings("unchecked")
+    WorkStealingRunnableQueue(int maxWorkers) {
+        this.localQueues = new Deque[maxWorkers];
+        this.boundWorkers = new AtomicIntegerArray(maxWorkers);
+        for (int i = 0; i < maxWorkers; i++) {
+            this.localQueues[i] = new ConcurrentLinkedDeque<>();
+        }
+    }
+
+    @Override
+    public void add(ItemGroup group) {
+        Integer current = workerIndex.get();
+        if (current != null) {
+            push(localQueues[current], group);
+            return;
+        }
+        int owner = group.lastWorker;
+        if (owner >= 0 && owner < localQueues.length && boundWorkers.get(owner) == 1) {
+            Deque<ItemGroup> ownerQueue = localQueues[owner];
+            push(ownerQueue, group);
+            // The owner may have exited after the check above. Its deque is drained after it is marked unbound,
+            // so either the drain moved the group to the injection queue or the group is taken back here.
+            if (boundWorkers.get(owner) == 0 && ownerQueue.removeFirstOccurrence(group)) {
+                injectionQueue.add(group);
+                signalIdleWorker();
+            }
+            return;
+        }
+        addShared(group);
+    }
+
+    @Override
+    public void addShared(ItemGroup group) {
+        size.increment();
+        injectionQueue.add(group);
+        signalIdleWorker();
+    }
+
+    private void push(Deque<ItemGroup> queue, ItemGroup group) {
+        size.increment();
+        queue.addFirst(group);
+        signalIdleWorker();
+    }
+
+    @Override
+    public ItemGroup take() throws InterruptedException {
+        Integer current = workerIndex.get();
+        int self = current == null ? -1 : current;
+        Thread thread = Thread.currentThread();
+        while (true) {
+            ItemGroup group = poll(self);
+            if (group != null) {
+                return group;
+            }
+            // Register as idle before the final re-check so that a concurrent add either is seen by the
+            // re-check or unparks this thread.
+            idleWorkers.add(thread);
+            group = poll(self);
+            if (group != null) {
+                if (!idleWorkers.remove(thread)) {
+                    // A concurrent add already picked this thread to run its group, hand the signal over to
+                    // another idle worker.
+                    signalIdleWorker();
+                }
+                return group;
+            }
+            LockSupport.park(this);
+            idleWorkers.remove(thread);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    private ItemGroup poll(int self) {
+        ItemGroup group;
+        if (self >= 0) {
+            group = localQueues[self].pollFirst();
+            if (group != null) {
+                size.decrement();
+                return group;
+            }
+        }
+        group = injectionQueue.poll();
+        if (group != null) {
+            size.decrement();
+            return group;
+        }
+        return steal(self);
+    }
+
+    private ItemGroup steal(int self) {
+        int workers = localQueues.length;
+        int start = ThreadLocalRandom.current().nextInt(workers);
+        for (int i = 0; i < workers; i++) {
+            int victim = (start + i) % workers;
+            if (victim == self) {
+                continue;
+            }
+            ItemGroup group = localQueues[victim].pollLast();
+            if (group != null) {
+                size.decrement();
+                return group;
+            }
+        }
+        return null;
+    }
+
+    private void signalIdleWorker() {
+        Thread idle = idleWorkers.poll();
+        if (idle != null) {
+            LockSupport.unpark(idle);
+        }
+    }
+
+    @Override
+    public void bindWorker(int workerIndex) {
+        this.workerIndex.set(workerIndex);
+        this.boundWorkers.set(workerIndex, 1);
+    }
+
+    @Override
+    public void unbindWorker() {
+        Integer current = workerIndex.get();
+        if (current == null) {
+            return;
+        }
+        workerIndex.remove();
+        boundWorkers.set(current, 0);
+        Deque<ItemGroup> local = localQueues[current];
+        ItemGroup group;
+        while ((group = local.pollLast()) != null) {
+            injectionQueue.add(group);
+            signalIdleWorker();
+        }
+    }
+
+    @Override
+    public int size() {
+        return (int) size.sum();
+    }
+}
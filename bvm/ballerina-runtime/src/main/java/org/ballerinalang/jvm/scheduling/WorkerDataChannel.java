@@ -19,70 +19,75 @@ package org.ballerinalang.jvm.scheduling;
 
 import org.ballerinalang.jvm.values.ErrorValue;
 
-import java.util.LinkedList;
-import java.util.Queue;
-import java.util.concurrent.locks.Lock;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReentrantLock;
 
 import static org.ballerinalang.jvm.scheduling.State.BLOCK_AND_YIELD;
+import static org.ballerinalang.jvm.scheduling.State.RUNNABLE;
 
 /**
  * This represents a worker data channel that is created for each worker to
  * worker interaction for each function call.
+ * <p>
+ * The channel is lock-free. Each channel has a single sending and a single receiving strand, so the messages are
+ * kept in a {@link SpscRingQueue}. A strand that has to wait (the receiver, a sync sender or a flushing sender) publishes
+ * itself in an atomic slot and then re-checks the channel, so that either it sees the data that arrived meanwhile or
+ * the other party sees the slot. Whoever clears the slot first owns the wake up, hence a strand is never unblocked
+ * twice or missed.
  *
  * @since 0.995.0
  */
 public class WorkerDataChannel {
 
-    private Strand receiver;
-    private WaitingSender waitingSender;
-    private WaitingSender flushSender;
-    private ErrorValue error;
-    private Throwable panic;
-    private int senderCounter;
-    private int receiverCounter;
+    private final AtomicReference<Strand> receiver = new AtomicReference<>();
+    private final AtomicReference<WaitingSender> waitingSender = new AtomicReference<>();
+    private final AtomicReference<WaitingSender> flushSender = new AtomicReference<>();
+    private volatile ErrorValue error;
+    private volatile Throwable panic;
+    private final AtomicInteger senderCounter = new AtomicInteger();
+    private final AtomicInteger receiverCounter = new AtomicInteger();
+    // only accessed by the sending strand
     private boolean reschedule;
 
-    private Lock channelLock;
-
     public String chnlName;
 
+    private static final int RING_CAPACITY = 16;
+
     @SuppressWarnings("rawtypes")
-    private Queue<WorkerResult> channel = new LinkedList<>();
+    private final SpscRingQueue<WorkerResult> channel = new SpscRingQueue<>(RING_CAPACITY);
+
+    // only taken by callers of the deprecated lock methods
+    private final ReentrantLock channelLock = new ReentrantLock();
 
     public WorkerDataChannel() {
-        this.channelLock = new ReentrantLock();
-        this.senderCounter = 0;
-        this.receiverCounter = 0;
     }
+
     public WorkerDataChannel(String channelName) {
-        this.channelLock = new ReentrantLock();
-        this.senderCounter = 0;
-        this.receiverCounter = 0;
         this.chnlName = channelName;
     }
 
+    /**
+     * @deprecated the channel operations no longer take this lock, hence it does not guard the channel state
+     */
+    @Deprecated
     public void acquireChannelLock() {
         this.channelLock.lock();
     }
 
+    /**
+     * @deprecated the channel operations no longer take this lock, hence it does not guard the channel state
+     */
+    @Deprecated
     public void releaseChannelLock() {
         this.channelLock.unlock();
     }
 
     @SuppressWarnings("rawtypes")
     public void sendData(Object data, Strand sender) {
-        try {
-            acquireChannelLock();
-            this.channel.add(new WorkerResult(data));
-            this.senderCounter++;
-            if (this.receiver != null) {
-                this.receiver.scheduler.unblockStrand(this.receiver);
-                this.receiver = null;
-            }
-        } finally {
-            releaseChannelLock();
-        }
+        this.channel.offer(new WorkerResult(data));
+        this.senderCounter.incrementAndGet();
+        unblockReceiver();
     }
 
     /**
@@ -93,89 +98,115 @@ public class WorkerDataChannel {
      * @throws Throwable panic
      */
     public Object syncSendData(Object data, Strand strand) throws Throwable {
-        try {
-            acquireChannelLock();
-            if (!reschedule) {
-                // this is a new message, not a reschedule
-                this.channel.add(new WorkerResult(data, true));
-                this.senderCounter++;
-                this.waitingSender = new WaitingSender(strand, -1);
-
-                if (this.receiver != null) {
-                    // multiple checks are added to make sure this is
-                    this.receiver.scheduler.unblockStrand(this.receiver);
-                    this.receiver = null;
-                } else if (this.panic != null) {
+        if (!reschedule) {
+            // this is a new message, not a reschedule
+            WaitingSender sender = new WaitingSender(strand, -1);
+            // the strand has to be blocked before the message is visible, the receiver may unblock it right away
+            strand.setState(BLOCK_AND_YIELD);
+            this.waitingSender.set(sender);
+            this.channel.offer(new WorkerResult(data, true));
+            this.senderCounter.incrementAndGet();
+
+            if (!unblockReceiver() && (this.panic != null || this.error != null) &&
+                    this.waitingSender.compareAndSet(sender, null)) {
+                // receiver is already in panic or error state, and will not unblock this strand
+                strand.setState(RUNNABLE);
+                if (this.panic != null) {
                     Throwable panic = this.panic;
                     this.panic = null;
                     throw panic;
-                } else if (this.error != null) {
-                    ErrorValue ret = this.error;
-                    return ret;
                 }
-
-                reschedule = true;
-                strand.setState(BLOCK_AND_YIELD);
-                return null;
-            }
-
-            reschedule = false;
-            if (this.panic != null && this.channel.peek() != null) {
-                Throwable e = this.panic;
-                throw e;
-            } else if (this.error != null && this.channel.peek() != null) {
-                ErrorValue ret = this.error;
-                return ret;
+                return this.error;
             }
 
-            // sync send done
+            reschedule = true;
             return null;
-        } finally {
-            releaseChannelLock();
         }
+
+        reschedule = false;
+        if (this.panic != null && !this.channel.isEmpty()) {
+            Throwable e = this.panic;
+            throw e;
+        } else if (this.error != null && !this.channel.isEmpty()) {
+            ErrorValue ret = this.error;
+            return ret;
+        }
+
+        // sync send done
+        return null;
     }
-    
+
     @SuppressWarnings("rawtypes")
     public Object tryTakeData(Strand strand) throws Throwable {
-        try {
-            acquireChannelLock();
-            WorkerResult result = this.channel.peek();
+        while (true) {
+            WorkerResult result = this.channel.poll();
             if (result != null) {
-                this.receiverCounter++;
-                this.channel.remove();
-
+                int received = this.receiverCounter.incrementAndGet();
                 if (result.isSync) {
                     // sync sender will pick the this.error as result, which is null
-                    Strand waiting  = this.waitingSender.waitingStrand;
-                    waiting.scheduler.unblockStrand(waiting);
-                    this.waitingSender = null;
-                } else if (this.flushSender != null && this.flushSender.flushCount == this.receiverCounter) {
-                    this.flushSender.waitingStrand.flushDetail.flushLock.lock();
-                    this.flushSender.waitingStrand.flushDetail.flushedCount++;
-                    if (this.flushSender.waitingStrand.flushDetail.flushedCount
-                            == this.flushSender.waitingStrand.flushDetail.flushChannels.length &&
-                            this.flushSender.waitingStrand.isBlocked()) {
-                            //will continue if this is a sync wait, will try to flush again if blocked on flush
-                            this.flushSender.waitingStrand.scheduler.unblockStrand(this.flushSender.waitingStrand);
-
+                    WaitingSender sender = this.waitingSender.getAndSet(null);
+                    if (sender != null) {
+                        sender.waitingStrand.scheduler.unblockStrand(sender.waitingStrand);
+                    }
+                } else {
+                    WaitingSender sender = this.flushSender.get();
+                    if (sender != null && received >= sender.flushCount &&
+                            this.flushSender.compareAndSet(sender, null)) {
+                        notifyFlushed(sender.waitingStrand);
                     }
-                    this.flushSender.waitingStrand.flushDetail.flushLock.unlock();
-                    this.flushSender = null;
                 }
                 return result.value;
-            } else if (this.panic != null && this.senderCounter == this.receiverCounter + 1) {
-                this.receiverCounter++;
+            } else if (this.panic != null && isFailedSenderPending()) {
+                this.receiverCounter.incrementAndGet();
                 throw this.panic;
-            } else if (this.error != null && this.senderCounter == this.receiverCounter + 1) {
-                this.receiverCounter++;
+            } else if (this.error != null && isFailedSenderPending()) {
+                this.receiverCounter.incrementAndGet();
                 return error;
-            } else {
-                this.receiver = strand;
-                strand.setState(BLOCK_AND_YIELD);
+            }
+
+            strand.setState(BLOCK_AND_YIELD);
+            this.receiver.set(strand);
+            if (!hasPendingResult() || !this.receiver.compareAndSet(strand, null)) {
+                // either nothing arrived, or a sender already took the receiver and will unblock it
                 return null;
             }
+            // something arrived while blocking, and this strand is still the one to take it
+            strand.setState(RUNNABLE);
+        }
+    }
+
+    private boolean hasPendingResult() {
+        return this.channel.peek() != null ||
+                ((this.panic != null || this.error != null) && isFailedSenderPending());
+    }
+
+    /**
+     * Whether the sender has failed after its last message was received. A failing sender counts as one more send.
+     */
+    private boolean isFailedSenderPending() {
+        return this.senderCounter.get() == this.receiverCounter.get() + 1;
+    }
+
+    private boolean unblockReceiver() {
+        Strand waiting = this.receiver.getAndSet(null);
+        if (waiting == null) {
+            return false;
+        }
+        waiting.scheduler.unblockStrand(waiting);
+        return true;
+    }
+
+    private void notifyFlushed(Strand flushStrand) {
+        flushStrand.flushDetail.flushLock.lock();
+        try {
+            flushStrand.flushDetail.flushedCount++;
+            if (flushStrand.flushDetail.flushedCount == flushStrand.flushDetail.flushChannels.length &&
+                    flushStrand.isBlocked()) {
+                //will continue if this is a sync wait, will try to flush again if blocked on flush
+                flushStrand.scheduler.unblockStrand(flushStrand);
+            }
         } finally {
-            releaseChannelLock();
+            flushStrand.flushDetail.flushLock.unlock();
         }
     }
 
@@ -184,14 +215,9 @@ public class WorkerDataChannel {
      * @param error the BError of the receiving worker
      */
     public void setSendError(ErrorValue error) {
-        acquireChannelLock();
         this.error = error;
-        this.senderCounter++;
-        if (this.receiver != null) {
-            this.receiver.scheduler.unblockStrand(this.receiver);
-            this.receiver = null;
-        }
-        releaseChannelLock();
+        this.senderCounter.incrementAndGet();
+        unblockReceiver();
     }
 
     /**
@@ -200,24 +226,35 @@ public class WorkerDataChannel {
      * @param error to be set
      */
     public void setReceiveError(ErrorValue error) {
-        acquireChannelLock();
         this.error = error;
-        this.receiverCounter++;
-        if (this.flushSender != null) {
-            this.flushSender.waitingStrand.flushDetail.flushLock.lock();
-            Strand flushStrand = this.flushSender.waitingStrand;
-            if (flushStrand.isBlocked()) {
-                flushStrand.flushDetail.result = error;
-                flushStrand.scheduler.unblockStrand(flushStrand);
+        this.receiverCounter.incrementAndGet();
+        notifyReceiverFailure(error, null);
+    }
+
+    private void notifyReceiverFailure(ErrorValue error, Throwable panic) {
+        WaitingSender flushing = this.flushSender.getAndSet(null);
+        if (flushing != null) {
+            Strand flushStrand = flushing.waitingStrand;
+            flushStrand.flushDetail.flushLock.lock();
+            try {
+                if (panic != null) {
+                    flushStrand.flushDetail.panic = panic;
+                }
+                if (flushStrand.isBlocked()) {
+                    if (panic == null) {
+                        flushStrand.flushDetail.result = error;
+                    }
+                    flushStrand.scheduler.unblockStrand(flushStrand);
+                }
+            } finally {
+                flushStrand.flushDetail.flushLock.unlock();
             }
-            this.flushSender.waitingStrand.flushDetail.flushLock.unlock();
-            this.flushSender = null;
-        } else if (this.waitingSender != null) {
-            Strand waiting = this.waitingSender.waitingStrand;
-            waiting.scheduler.unblockStrand(waiting);
-            this.waitingSender = null;
+            return;
+        }
+        WaitingSender waiting = this.waitingSender.getAndSet(null);
+        if (waiting != null) {
+            waiting.waitingStrand.scheduler.unblockStrand(waiting.waitingStrand);
         }
-        releaseChannelLock();
     }
 
     /**
@@ -228,29 +265,36 @@ public class WorkerDataChannel {
      * @throws Throwable panic
      */
     public ErrorValue flushChannel(Strand strand) throws Throwable {
-        acquireChannelLock();
-        try {
+        if (this.panic != null) {
+            throw this.panic;
+        } else if (this.error != null) {
+            return this.error;
+        }
+        WaitingSender sender = new WaitingSender(strand, this.senderCounter.get());
+        if (this.receiverCounter.get() < sender.flushCount) {
+            this.flushSender.set(sender);
+            // re-check, the receiver may have taken the last message or failed before the flush wait was visible
+            if (this.receiverCounter.get() < sender.flushCount && this.panic == null && this.error == null) {
+                return null;
+            }
+            if (!this.flushSender.compareAndSet(sender, null)) {
+                // the receiver already took the flush wait and notifies the strand
+                return null;
+            }
             if (this.panic != null) {
                 throw this.panic;
             } else if (this.error != null) {
                 return this.error;
-            } else if (this.receiverCounter == this.senderCounter) {
-                strand.flushDetail.flushLock.lock();
-                strand.flushDetail.flushedCount++;
-                strand.flushDetail.flushLock.unlock();
-                return null;
             }
-            this.flushSender = new WaitingSender(strand, this.senderCounter);
-            return null;
-        } finally {
-            releaseChannelLock();
         }
+        strand.flushDetail.flushLock.lock();
+        strand.flushDetail.flushedCount++;
+        strand.flushDetail.flushLock.unlock();
+        return null;
     }
 
     public void removeFlushWait() {
-        acquireChannelLock();
-        this.flushSender = null;
-        releaseChannelLock();
+        this.flushSender.set(null);
     }
 
     /**
@@ -259,17 +303,9 @@ public class WorkerDataChannel {
      * @param panic to be set
      */
     public void setSendPanic(Throwable panic) {
-        try {
-            acquireChannelLock();
-            this.panic  = panic;
-            this.senderCounter++;
-            if (this.receiver != null) {
-                this.receiver.scheduler.unblockStrand(this.receiver);
-                this.receiver = null;
-            }
-        } finally {
-            releaseChannelLock();
-        }
+        this.panic = panic;
+        this.senderCounter.incrementAndGet();
+        unblockReceiver();
     }
 
     /**
@@ -278,24 +314,9 @@ public class WorkerDataChannel {
      * @param panic to be set
      */
     public void setReceiverPanic(Throwable panic) {
-        acquireChannelLock();
-        this.panic  = panic;
-        this.receiverCounter++;
-        if (this.flushSender != null) {
-            this.flushSender.waitingStrand.flushDetail.flushLock.lock();
-            Strand flushStrand = this.flushSender.waitingStrand;
-            this.flushSender.waitingStrand.flushDetail.panic = panic;
-            if (flushStrand.isBlocked()) {
-                flushStrand.scheduler.unblockStrand(flushStrand);
-            }
-            this.flushSender.waitingStrand.flushDetail.flushLock.unlock();
-            this.flushSender = null;
-        } else if (this.waitingSender != null) {
-            Strand waiting = this.waitingSender.waitingStrand;
-            waiting.scheduler.unblockStrand(waiting);
-            this.waitingSender = null;
-        }
-        releaseChannelLock();
+        this.panic = panic;
+        this.receiverCounter.incrementAndGet();
+        notifyReceiverFailure(null, panic);
     }
 
     /**
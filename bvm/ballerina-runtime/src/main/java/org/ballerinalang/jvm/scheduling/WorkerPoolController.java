@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.scheduling;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Grows and shrinks the scheduler worker threads, within the configured bounds, based on the {@link SchedulerStats}
+ * sampled at a fixed interval. The pool grows while strand groups wait in the runnable list and shrinks when the
+ * list is empty and the workers are mostly idle.
+ * <p>
+ * Growing starts new worker threads, and shrinking asks idle workers to stop. The number of groups that run at once
+ * is also limited with permits: a worker holds one of them while it waits for and executes a strand group. When
+ * groups run on virtual threads, the permit is handed over with the group and returned when the group yields or
+ * completes, since the worker threads then only dispatch groups. Growing releases new permits right away, whereas
+ * shrinking is recorded as a pending withdrawal that the next worker to finish a group honours by not returning its
+ * permit.
+ *
+ * @since 2.0.0
+ */
+class WorkerPoolController implements Runnable {
+
+    static final long SAMPLE_INTERVAL_MILLIS = 500;
+    private static final long GROW_WAIT_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final double SHRINK_UTILIZATION_THRESHOLD = 0.5;
+
+    private final Scheduler scheduler;
+    private final Semaphore workerPermits;
+    private final SchedulerStats stats;
+    private final int minWorkers;
+    private final int maxWorkers;
+    private final AtomicInteger pendingWithdrawals = new AtomicInteger();
+    private int workerLimit;
+    private volatile boolean stopped;
+
+    private long lastDequeuedGroups;
+    private long lastGroupWaitNanos;
+    private long lastItemRunNanos;
+
+    WorkerPoolController(Scheduler scheduler, Semaphore workerPermits, SchedulerStats stats, int minWorkers,
+                         int maxWorkers) {
+        this.scheduler = scheduler;
+        this.workerPermits = workerPermits;
+        this.stats = stats;
+        this.minWorkers = minWorkers;
+        this.maxWorkers = maxWorkers;
+        this.workerLimit = minWorkers;
+        stats.setWorkerLimit(minWorkers);
+    }
+
+    @Override
+    public void run() {
+        lastDequeuedGroups = stats.getDequeuedGroupCount();
+        lastGroupWaitNanos = stats.getGroupWaitTimeNanos();
+        lastItemRunNanos = stats.getItemRunTimeNanos();
+        while (!stopped) {
+            try {
+                Thread.sleep(SAMPLE_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            adjust();
+        }
+    }
+
+    void stop() {
+        this.stopped = true;
+    }
+
+    /**
+     * Returns the permit of a worker that finished executing a strand group, unless a shrink is pending.
+     */
+    void releasePermit() {
+        if (!consumePendingWithdrawal()) {
+            workerPermits.release();
+        }
+    }
+
+    private boolean consumePendingWithdrawal() {
+        int pending;
+        do {
+            pending = pendingWithdrawals.get();
+            if (pending == 0) {
+                return false;
+            }
+        } while (!pendingWithdrawals.compareAndSet(pending, pending - 1));
+        return true;
+    }
+
+    private void adjust() {
+        long dequeuedGroups = stats.getDequeuedGroupCount();
+        long groupWaitNanos = stats.getGroupWaitTimeNanos();
+        long itemRunNanos = stats.getItemRunTimeNanos();
+
+        long groups = dequeuedGroups - lastDequeuedGroups;
+        long avgWaitNanos = groups == 0 ? 0 : (groupWaitNanos - lastGroupWaitNanos) / groups;
+        double utilization = (double) (itemRunNanos - lastItemRunNanos) /
+                (TimeUnit.MILLISECONDS.toNanos(SAMPLE_INTERVAL_MILLIS) * workerLimit);
+        long queueDepth = stats.getRunnableQueueDepth();
+
+        lastDequeuedGroups = dequeuedGroups;
+        lastGroupWaitNanos = groupWaitNanos;
+        lastItemRunNanos = itemRunNanos;
+
+        if (queueDepth > 0 && avgWaitNanos > GROW_WAIT_THRESHOLD_NANOS && workerLimit < maxWorkers) {
+            int step = Math.min(Math.max(1, workerLimit / 2), maxWorkers - workerLimit);
+            for (int i = 0; i < step; i++) {
+                if (!consumePendingWithdrawal()) {
+                    workerPermits.release();
+                }
+            }
+            workerLimit += step;
+        } else if (queueDepth == 0 && utilization < SHRINK_UTILIZATION_THRESHOLD && workerLimit > minWorkers) {
+            pendingWithdrawals.incrementAndGet();
+            workerLimit--;
+        }
+        stats.setWorkerLimit(workerLimit);
+        scheduler.resizeWorkers(workerLimit);
+    }
+}
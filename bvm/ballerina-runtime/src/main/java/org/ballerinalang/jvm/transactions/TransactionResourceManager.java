@@ -24,12 +24,12 @@ import org.ballerinalang.jvm.values.FPValue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 import javax.transaction.xa.XAException;
 import javax.transaction.xa.XAResource;
@@ -40,31 +40,26 @@ import static javax.transaction.xa.XAResource.TMSUCCESS;
 
 /**
  * {@code TransactionResourceManager} registry for transaction contexts.
+ * <p>
+ * The state of each global transaction is kept in a single {@link TransactionState}, in a concurrent map keyed by
+ * the global transaction id. The state is created and dropped while holding the lock of its entry in the map, so
+ * concurrent transactions do not contend with each other. The state of a transaction is dropped once its last
+ * transaction block with registered resources commits or aborts.
  *
  * @since 1.0
  */
 public class TransactionResourceManager {
 
-    private static TransactionResourceManager transactionResourceManager = null;
+    private static volatile TransactionResourceManager transactionResourceManager = null;
     private static final Logger log = LoggerFactory.getLogger(TransactionResourceManager.class);
-    private Map<String, List<BallerinaTransactionContext>> resourceRegistry;
-    private Map<String, Xid> xidRegistry;
 
-    private Map<String, List<FPValue>> committedFuncRegistry;
-    private Map<String, List<FPValue>> abortedFuncRegistry;
-
-    private ConcurrentSkipListSet<String> failedResourceParticipantSet = new ConcurrentSkipListSet<>();
-    private ConcurrentSkipListSet<String> failedLocalParticipantSet = new ConcurrentSkipListSet<>();
-    private ConcurrentHashMap<String, ConcurrentSkipListSet<String>> localParticipants = new ConcurrentHashMap<>();
+    private final Map<String, TransactionState> transactions = new ConcurrentHashMap<>();
+    private final TransactionStats stats = new TransactionStats();
 
     public Map<BArray, Object> transactionInfoMap;
 
     private TransactionResourceManager() {
-        resourceRegistry = new HashMap<>();
-        xidRegistry = new HashMap<>();
-        committedFuncRegistry = new HashMap<>();
-        abortedFuncRegistry = new HashMap<>();
-        transactionInfoMap = new HashMap<>();
+        transactionInfoMap = new ConcurrentHashMap<>();
     }
 
     public static TransactionResourceManager getInstance() {
@@ -78,6 +73,13 @@ public class TransactionResourceManager {
         return transactionResourceManager;
     }
 
+    /**
+     * @return statistics of the transactions handled by the resource manager
+     */
+    public TransactionStats getStats() {
+        return stats;
+    }
+
     /**
      * This method will register connection resources with a particular transaction.
      *
@@ -86,31 +88,30 @@ public class TransactionResourceManager {
      * @param txContext          ballerina transaction context which includes the underlying connection info
      */
     public void register(String transactionId, String transactionBlockId, BallerinaTransactionContext txContext) {
-        String combinedId = generateCombinedTransactionId(transactionId, transactionBlockId);
-        resourceRegistry.computeIfAbsent(combinedId, resourceList -> new ArrayList<>()).add(txContext);
+        update(transactionId, state -> state.getOrCreateBlock(transactionBlockId).resources.add(txContext));
     }
 
     /**
      * This method will register a committed function handler of a particular transaction.
      *
-     * @param transactionBlockId the block id of the transaction
+     * @param transactionId the global transaction id
      * @param fpValue   the function pointer for the committed function
      */
-    public void registerCommittedFunction(String transactionBlockId, FPValue fpValue) {
+    public void registerCommittedFunction(String transactionId, FPValue fpValue) {
         if (fpValue != null) {
-            committedFuncRegistry.computeIfAbsent(transactionBlockId, list -> new ArrayList<>()).add(fpValue);
+            update(transactionId, state -> state.committedFunctions.add(fpValue));
         }
     }
 
     /**
      * This method will register an aborted function handler of a particular transaction.
      *
-     * @param transactionBlockId the block id of the transaction
+     * @param transactionId the global transaction id
      * @param fpValue   the function pointer for the aborted function
      */
-    public void registerAbortedFunction(String transactionBlockId, FPValue fpValue) {
+    public void registerAbortedFunction(String transactionId, FPValue fpValue) {
         if (fpValue != null) {
-            abortedFuncRegistry.computeIfAbsent(transactionBlockId, list -> new ArrayList<>()).add(fpValue);
+            update(transactionId, state -> state.abortedFunctions.add(fpValue));
         }
     }
 
@@ -126,11 +127,11 @@ public class TransactionResourceManager {
      */
     public void registerParticipation(String gTransactionId, String transactionBlockId, FPValue committed,
                                       FPValue aborted, Strand strand) {
-        localParticipants.computeIfAbsent(gTransactionId, gid -> new ConcurrentSkipListSet<>()).add(transactionBlockId);
+        // The participant handlers take the transaction id as their argument, so they are not invoked along with the
+        // handlers of the transaction when it ends.
+        update(gTransactionId, state -> state.localParticipantBlockIds.add(transactionBlockId));
 
         TransactionLocalContext transactionLocalContext = strand.currentTrxContext;
-        registerCommittedFunction(transactionBlockId, committed);
-        registerAbortedFunction(transactionBlockId, aborted);
         transactionLocalContext.beginTransactionBlock(transactionBlockId);
     }
 
@@ -142,25 +143,34 @@ public class TransactionResourceManager {
      * @return the status of the prepare operation
      */
     public boolean prepare(String transactionId, String transactionBlockId) {
-        String combinedId = generateCombinedTransactionId(transactionId, transactionBlockId);
-        List<BallerinaTransactionContext> txContextList = resourceRegistry.get(combinedId);
-        if (txContextList != null) {
-            for (BallerinaTransactionContext ctx : txContextList) {
+        long startTime = System.nanoTime();
+        try {
+            return prepareResources(transactionId, transactionBlockId);
+        } finally {
+            stats.prepared(System.nanoTime() - startTime);
+        }
+    }
+
+    private boolean prepareResources(String transactionId, String transactionBlockId) {
+        TransactionState state = transactions.get(transactionId);
+        BlockState block = state == null ? null : state.blocks.get(transactionBlockId);
+        if (block != null) {
+            for (BallerinaTransactionContext ctx : block.resources) {
                 try {
                     XAResource xaResource = ctx.getXAResource();
                     if (xaResource != null) {
-                        Xid xid = xidRegistry.get(combinedId);
-                        xaResource.prepare(xid);
+                        xaResource.prepare(block.xid);
                     }
                 } catch (Throwable e) {
-                    log.error("error in prepare the transaction, " + combinedId + ":" + e.getMessage(), e);
+                    log.error("error in prepare the transaction, " +
+                            generateCombinedTransactionId(transactionId, transactionBlockId) + ":" + e.getMessage(), e);
                     return false;
                 }
             }
         }
 
         boolean status = true;
-        if (failedResourceParticipantSet.contains(transactionId) || failedLocalParticipantSet.contains(transactionId)) {
+        if (state != null && (state.resourceFailed || state.localParticipantFailed)) {
             // resource participant reported failure.
             status = false;
         }
@@ -177,32 +187,33 @@ public class TransactionResourceManager {
      * @return the status of the commit operation
      */
     public boolean notifyCommit(Strand strand, String transactionId, String transactionBlockId) {
-        String combinedId = generateCombinedTransactionId(transactionId, transactionBlockId);
+        long startTime = System.nanoTime();
         boolean commitSuccess = true;
-        List<BallerinaTransactionContext> txContextList = resourceRegistry.get(combinedId);
-        if (txContextList != null) {
-            for (BallerinaTransactionContext ctx : txContextList) {
+        TransactionState state = transactions.get(transactionId);
+        BlockState block = state == null ? null : state.blocks.get(transactionBlockId);
+        if (block != null) {
+            for (BallerinaTransactionContext ctx : block.resources) {
                 try {
                     XAResource xaResource = ctx.getXAResource();
                     if (xaResource != null) {
-                        Xid xid = xidRegistry.get(combinedId);
-                        xaResource.commit(xid, false);
+                        xaResource.commit(block.xid, false);
                     } else {
                         ctx.commit();
                     }
                 } catch (Throwable e) {
-                    log.error("error in commit the transaction, " + combinedId + ":" + e.getMessage(), e);
+                    log.error("error in commit the transaction, " +
+                            generateCombinedTransactionId(transactionId, transactionBlockId) + ":" + e.getMessage(), e);
                     commitSuccess = false;
                 } finally {
                     ctx.close();
                 }
             }
         }
-        invokeCommittedFunction(strand, transactionId, transactionBlockId);
-        removeContextsFromRegistry(combinedId, transactionId);
-        failedResourceParticipantSet.remove(transactionId);
-        failedLocalParticipantSet.remove(transactionId);
-        localParticipants.remove(transactionId);
+        if (state != null) {
+            invokeCommittedFunction(strand, state.committedFunctions);
+        }
+        endTransactionBlock(transactionId, transactionBlockId);
+        stats.committed(System.nanoTime() - startTime);
         return commitSuccess;
     }
 
@@ -216,21 +227,22 @@ public class TransactionResourceManager {
      * @return the status of the abort operation
      */
     public boolean notifyAbort(Strand strand, String transactionId, String transactionBlockId, Object error) {
-        String combinedId = generateCombinedTransactionId(transactionId, transactionBlockId);
+        long startTime = System.nanoTime();
         boolean abortSuccess = true;
-        List<BallerinaTransactionContext> txContextList = resourceRegistry.get(combinedId);
-        if (txContextList != null) {
-            for (BallerinaTransactionContext ctx : txContextList) {
+        TransactionState state = transactions.get(transactionId);
+        BlockState block = state == null ? null : state.blocks.get(transactionBlockId);
+        if (block != null) {
+            for (BallerinaTransactionContext ctx : block.resources) {
                 try {
                     XAResource xaResource = ctx.getXAResource();
-                    Xid xid = xidRegistry.get(combinedId);
                     if (xaResource != null) {
-                        ctx.getXAResource().rollback(xid);
+                        xaResource.rollback(block.xid);
                     } else {
                         ctx.rollback();
                     }
                 } catch (Throwable e) {
-                    log.error("error in abort the transaction, " + combinedId + ":" + e.getMessage(), e);
+                    log.error("error in abort the transaction, " +
+                            generateCombinedTransactionId(transactionId, transactionBlockId) + ":" + e.getMessage(), e);
                     abortSuccess = false;
                 } finally {
                     ctx.close();
@@ -242,11 +254,11 @@ public class TransactionResourceManager {
 
         // todo: Temporaraly disabling abort functions as there is no clear way to separate rollback and full abort.
 
-        invokeAbortedFunction(strand, transactionId, transactionBlockId, error);
-        removeContextsFromRegistry(combinedId, transactionId);
-        failedResourceParticipantSet.remove(transactionId);
-        failedLocalParticipantSet.remove(transactionId);
-        localParticipants.remove(transactionId);
+        if (state != null) {
+            invokeAbortedFunction(strand, state.abortedFunctions, error);
+        }
+        endTransactionBlock(transactionId, transactionBlockId);
+        stats.aborted(System.nanoTime() - startTime);
         return abortSuccess;
     }
 
@@ -259,17 +271,13 @@ public class TransactionResourceManager {
      * @param xaResource         the XA resource which participates in the transaction
      */
     public void beginXATransaction(String transactionId, String transactionBlockId, XAResource xaResource) {
-        String combinedId = generateCombinedTransactionId(transactionId, transactionBlockId);
-        Xid xid = xidRegistry.get(combinedId);
-        if (xid == null) {
-            xid = XIDGenerator.createXID();
-            xidRegistry.put(combinedId, xid);
-        }
+        Xid[] xid = new Xid[1];
+        update(transactionId, state -> xid[0] = state.getOrCreateBlock(transactionBlockId).getOrCreateXid());
         try {
-            xaResource.start(xid, TMNOFLAGS);
+            xaResource.start(xid[0], TMNOFLAGS);
         } catch (XAException e) {
-            throw new BallerinaException("error in starting the XA transaction: id: " + combinedId + " error:" + e
-                    .getMessage());
+            throw new BallerinaException("error in starting the XA transaction: id: " +
+                    generateCombinedTransactionId(transactionId, transactionBlockId) + " error:" + e.getMessage());
         }
     }
 
@@ -280,21 +288,19 @@ public class TransactionResourceManager {
      * @param transactionBlockId the block id of the transaction
      */
     void endXATransaction(String transactionId, String transactionBlockId) {
-        String combinedId = generateCombinedTransactionId(transactionId, transactionBlockId);
-        Xid xid = xidRegistry.get(combinedId);
-        if (xid != null) {
-            List<BallerinaTransactionContext> txContextList = resourceRegistry.get(combinedId);
-            if (txContextList != null) {
-                for (BallerinaTransactionContext ctx : txContextList) {
-                    try {
-                        XAResource xaResource = ctx.getXAResource();
-                        if (xaResource != null) {
-                            ctx.getXAResource().end(xid, TMSUCCESS);
-                        }
-                    } catch (Throwable e) {
-                        throw new BallerinaException(
-                                "error in ending the XA transaction: id: " + combinedId + " error:" + e.getMessage());
+        TransactionState state = transactions.get(transactionId);
+        BlockState block = state == null ? null : state.blocks.get(transactionBlockId);
+        if (block != null && block.xid != null) {
+            for (BallerinaTransactionContext ctx : block.resources) {
+                try {
+                    XAResource xaResource = ctx.getXAResource();
+                    if (xaResource != null) {
+                        xaResource.end(block.xid, TMSUCCESS);
                     }
+                } catch (Throwable e) {
+                    throw new BallerinaException("error in ending the XA transaction: id: " +
+                            generateCombinedTransactionId(transactionId, transactionBlockId) + " error:" +
+                            e.getMessage());
                 }
             }
         }
@@ -305,19 +311,46 @@ public class TransactionResourceManager {
         notifyAbort(strand, transactionId, transactionBlockId, error);
     }
 
-    private void removeContextsFromRegistry(String transactionCombinedId, String gTransactionId) {
-        resourceRegistry.remove(transactionCombinedId);
-        xidRegistry.remove(transactionCombinedId);
+    /**
+     * Applies an update to the state of a transaction, creating the state if the transaction does not have one. The
+     * update runs while holding the lock of the entry of the transaction.
+     */
+    private void update(String transactionId, Consumer<TransactionState> update) {
+        transactions.compute(transactionId, (id, state) -> {
+            if (state == null) {
+                state = new TransactionState();
+                stats.transactionStarted();
+            }
+            update.accept(state);
+            return state;
+        });
+    }
+
+    /**
+     * Drops the resources of a transaction block once it is committed or aborted, along with the participant state
+     * of the transaction. The transaction itself is dropped when none of its blocks have resources left.
+     */
+    private void endTransactionBlock(String transactionId, String transactionBlockId) {
+        transactions.computeIfPresent(transactionId, (id, state) -> {
+            state.blocks.remove(transactionBlockId);
+            state.resourceFailed = false;
+            state.localParticipantFailed = false;
+            state.localParticipantBlockIds.clear();
+            if (state.blocks.isEmpty()) {
+                stats.transactionEnded();
+                return null;
+            }
+            return state;
+        });
     }
 
     private String generateCombinedTransactionId(String transactionId, String transactionBlockId) {
         return transactionId + ":" + transactionBlockId;
     }
 
-    private void invokeCommittedFunction(Strand strand, String transactionId, String transactionBlockId) {
-        List<FPValue> fpValueList = committedFuncRegistry.get(transactionId);
+    private void invokeCommittedFunction(Strand strand, List<FPValue> fpValueList) {
         Object[] args = { strand, strand.currentTrxContext.getInfoRecord(), true };
-        if (fpValueList != null) {
+        if (!fpValueList.isEmpty()) {
             for (int i = fpValueList.size(); i > 0; i--) {
                 FPValue fp = fpValueList.get(i - 1);
                 //TODO: Replace fp.getFunction().apply
@@ -328,11 +361,10 @@ public class TransactionResourceManager {
         }
     }
 
-    private void invokeAbortedFunction(Strand strand, String transactionId, String transactionBlockId, Object error) {
-        List<FPValue> fpValueList = abortedFuncRegistry.get(transactionId);
+    private void invokeAbortedFunction(Strand strand, List<FPValue> fpValueList, Object error) {
         //TODO: Need to pass the retryManager to get the willRetry value.
         Object[] args = { strand, strand.currentTrxContext.getInfoRecord(), true, error, true, false, true };
-        if (fpValueList != null) {
+        if (!fpValueList.isEmpty()) {
             for (int i = fpValueList.size(); i > 0; i--) {
                 FPValue fp = fpValueList.get(i - 1);
                 //TODO: Replace fp.getFunction().apply
@@ -344,15 +376,48 @@ public class TransactionResourceManager {
     }
 
     public void notifyResourceFailure(String gTransactionId) {
-        failedResourceParticipantSet.add(gTransactionId);
+        update(gTransactionId, state -> state.resourceFailed = true);
         // The resource excepted (uncaught).
         log.info("Trx infected callable unit excepted id : " + gTransactionId);
     }
 
     public void notifyLocalParticipantFailure(String gTransactionId, String blockId) {
-        ConcurrentSkipListSet<String> participantBlockIds = localParticipants.get(gTransactionId);
-        if (participantBlockIds != null && participantBlockIds.contains(blockId)) {
-            failedLocalParticipantSet.add(gTransactionId);
+        transactions.computeIfPresent(gTransactionId, (id, state) -> {
+            if (state.localParticipantBlockIds.contains(blockId)) {
+                state.localParticipantFailed = true;
+            }
+            return state;
+        });
+    }
+
+    /**
+     * State of a global transaction.
+     */
+    private static class TransactionState {
+        private final Map<String, BlockState> blocks = new ConcurrentHashMap<>();
+        private final List<FPValue> committedFunctions = new CopyOnWriteArrayList<>();
+        private final List<FPValue> abortedFunctions = new CopyOnWriteArrayList<>();
+        private final Set<String> localParticipantBlockIds = ConcurrentHashMap.newKeySet();
+        private volatile boolean resourceFailed;
+        private volatile boolean localParticipantFailed;
+
+        BlockState getOrCreateBlock(String transactionBlockId) {
+            return blocks.computeIfAbsent(transactionBlockId, id -> new BlockState());
+        }
+    }
+
+    /**
+     * Resources registered with a transaction block, along with the XA transaction id of the block.
+     */
+    private static class BlockState {
+        private final List<BallerinaTransactionContext> resources = new CopyOnWriteArrayList<>();
+        private volatile Xid xid;
+
+        Xid getOrCreateXid() {
+            if (xid == null) {
+                xid = XIDGenerator.createXID();
+            }
+            return xid;
         }
     }
 }
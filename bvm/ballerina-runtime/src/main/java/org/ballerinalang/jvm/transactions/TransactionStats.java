@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.jvm.transactions;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of the transactions handled by the {@link TransactionResourceManager}. Counters and timings are
+ * cumulative, except for the number of transactions in flight.
+ *
+ * @since 2.0.0
+ */
+public class TransactionStats {
+
+    private final AtomicLong inFlight = new AtomicLong();
+    private final LongAdder prepared = new LongAdder();
+    private final LongAdder prepareNanos = new LongAdder();
+    private final LongAdder committed = new LongAdder();
+    private final LongAdder commitNanos = new LongAdder();
+    private final LongAdder aborted = new LongAdder();
+    private final LongAdder abortNanos = new LongAdder();
+
+    TransactionStats() {
+    }
+
+    void transactionStarted() {
+        inFlight.incrementAndGet();
+    }
+
+    void transactionEnded() {
+        inFlight.decrementAndGet();
+    }
+
+    void prepared(long nanos) {
+        prepared.increment();
+        prepareNanos.add(nanos);
+    }
+
+    void committed(long nanos) {
+        committed.increment();
+        commitNanos.add(nanos);
+    }
+
+    void aborted(long nanos) {
+        aborted.increment();
+        abortNanos.add(nanos);
+    }
+
+    /**
+     * @return number of transactions which have registered with the resource manager and have not ended yet
+     */
+    public long getInFlightCount() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return total number of prepare phases run
+     */
+    public long getPrepareCount() {
+        return prepared.sum();
+    }
+
+    /**
+     * @return total time, in nanoseconds, spent preparing the participants of transactions
+     */
+    public long getPrepareTimeNanos() {
+        return prepareNanos.sum();
+    }
+
+    /**
+     * @return total number of transaction blocks committed
+     */
+    public long getCommitCount() {
+        return committed.sum();
+    }
+
+    /**
+     * @return total time, in nanoseconds, spent committing the participants of transactions
+     */
+    public long getCommitTimeNanos() {
+        return commitNanos.sum();
+    }
+
+    /**
+     * @return total number of transaction blocks aborted
+     */
+    public long getAbortCount() {
+        return aborted.sum();
+    }
+
+    /**
+     * @return total time, in nanoseconds, spent aborting the participants of transactions
+     */
+    public long getAbortTimeNanos() {
+        return abortNanos.sum();
+    }
+}
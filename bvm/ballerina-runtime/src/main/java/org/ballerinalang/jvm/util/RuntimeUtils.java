@@ -108,6 +108,36 @@ public class RuntimeUtils {
         return (intValue >= BBYTE_MIN_VALUE && intValue <= BBYTE_MAX_VALUE);
     }
 
+    /**
+     * Compares two strings in the order of their code points, which is the order of Ballerina strings. Unlike
+     * {@link String#compareTo(String)}, which compares UTF-16 code units, supplementary code points are ordered
+     * after the rest of the BMP. Strings are compared without decoding the code points.
+     *
+     * @param str1 first string
+     * @param str2 second string
+     * @return a negative integer, zero, or a positive integer as the first string is less than, equal to, or
+     * greater than the second
+     */
+    public static int codePointCompare(String str1, String str2) {
+        int len = Math.min(str1.length(), str2.length());
+        for (int i = 0; i < len; i++) {
+            char c1 = str1.charAt(i);
+            char c2 = str2.charAt(i);
+            if (c1 != c2) {
+                return codePointOrder(c1) - codePointOrder(c2);
+            }
+        }
+        return str1.length() - str2.length();
+    }
+
+    private static int codePointOrder(char c) {
+        // surrogates represent supplementary code points, so they go above the rest of the BMP
+        if (c >= Character.MIN_SURROGATE) {
+            return c > Character.MAX_SURROGATE ? c - 0x800 : c + 0x2000;
+        }
+        return c;
+    }
+
     /**
      * Keep a function parameter info, required for argument parsing.
      */
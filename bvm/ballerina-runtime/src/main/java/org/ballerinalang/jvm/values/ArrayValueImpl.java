@@ -43,7 +43,6 @@ import java.util.Arrays;
 import java.util.Map;
 import java.util.Objects;
 import java.util.StringJoiner;
-import java.util.stream.IntStream;
 
 import static org.ballerinalang.jvm.util.BLangConstants.ARRAY_LANG_LIB;
 import static org.ballerinalang.jvm.util.exceptions.BallerinaErrorReasons.INDEX_OUT_OF_RANGE_ERROR_IDENTIFIER;
@@ -71,6 +70,9 @@ public class ArrayValueImpl extends AbstractArrayValue {
     private byte[] byteValues;
     private double[] floatValues;
     private BString[] bStringValues;
+    // Whether the store of a simple basic type array is shared with a clone of the array, or with the array it was
+    // cloned from. A shared store is copied before the array is updated.
+    private boolean sharedStore;
     // ------------------------ Constructors -------------------------------------------------------------------
 
     @Deprecated
@@ -632,11 +634,15 @@ public class ArrayValueImpl extends AbstractArrayValue {
             return this;
         }
 
-        if (refs.containsKey(this)) {
-            return refs.get(this);
+        Object copy = refs.get(this);
+        if (copy != null) {
+            return copy;
         }
 
-        ArrayValue valueArray = null;
+        // The members of a simple basic type array are immutable, so the clone shares the store with this array,
+        // and whichever of them is updated first copies it. A ref value array is shared the same way as long as
+        // each of its members is its own clone, i.e. it holds only simple values, strings and immutable values.
+        ArrayValueImpl valueArray;
         switch (this.elementType.getTag()) {
             case TypeTags.INT_TAG:
             case TypeTags.SIGNED32_INT_TAG:
@@ -645,33 +651,47 @@ public class ArrayValueImpl extends AbstractArrayValue {
             case TypeTags.UNSIGNED32_INT_TAG:
             case TypeTags.UNSIGNED16_INT_TAG:
             case TypeTags.UNSIGNED8_INT_TAG:
-                valueArray = new ArrayValueImpl(Arrays.copyOf(intValues, this.size));
+                valueArray = shareStore(new ArrayValueImpl(intValues));
                 break;
             case TypeTags.BOOLEAN_TAG:
-                valueArray = new ArrayValueImpl(Arrays.copyOf(booleanValues, this.size));
+                valueArray = shareStore(new ArrayValueImpl(booleanValues));
                 break;
             case TypeTags.BYTE_TAG:
-                valueArray = new ArrayValueImpl(Arrays.copyOf(byteValues, this.size));
+                valueArray = shareStore(new ArrayValueImpl(byteValues));
                 break;
             case TypeTags.FLOAT_TAG:
-                valueArray = new ArrayValueImpl(Arrays.copyOf(floatValues, this.size));
+                valueArray = shareStore(new ArrayValueImpl(floatValues));
                 break;
             case TypeTags.STRING_TAG:
             case TypeTags.CHAR_STRING_TAG:
-                valueArray = new ArrayValueImpl(Arrays.copyOf(bStringValues, this.size));
+                valueArray = shareStore(new ArrayValueImpl(bStringValues));
                 break;
             default:
-                Object[] values = new Object[this.size];
-                valueArray = new ArrayValueImpl(values, arrayType);
-                IntStream.range(0, this.size).forEach(i -> {
+                valueArray = new ArrayValueImpl(this.refValues, arrayType);
+                valueArray.size = this.size;
+                // registered before the members are copied, so that cycles back to this array end at the copy
+                refs.put(this, valueArray);
+                Object[] values = null;
+                for (int i = 0; i < this.size; i++) {
                     Object value = this.refValues[i];
-                    if (value instanceof RefValue) {
-                        values[i] = ((RefValue) value).copy(refs);
-                    } else {
-                        values[i] = value;
+                    if (!(value instanceof RefValue)) {
+                        continue;
                     }
-                });
-                break;
+                    Object memberCopy = ((RefValue) value).copy(refs);
+                    if (memberCopy == value) {
+                        continue;
+                    }
+                    if (values == null) {
+                        // the first mutable member, from here on the clone needs a store of its own
+                        values = Arrays.copyOf(this.refValues, this.size);
+                        valueArray.refValues = values;
+                    }
+                    values[i] = memberCopy;
+                }
+                if (values == null) {
+                    shareStore(valueArray);
+                }
+                return valueArray;
         }
 
         refs.put(this, valueArray);
@@ -789,6 +809,20 @@ public class ArrayValueImpl extends AbstractArrayValue {
         return Arrays.copyOf(intValues, size);
     }
 
+    /**
+     * Get the backing store of the array for in place updates. This is the {@code long[]}, {@code double[]},
+     * {@code byte[]}, {@code boolean[]} or {@code BString[]} of an array of a simple basic type, and the ref value
+     * array otherwise. Only the first {@link #size()} members of the store are valid.
+     *
+     * @return backing store of the array
+     */
+    public Object getBackingStoreForUpdate() {
+        handleImmutableArrayValue();
+        unshareStore();
+        Object store = getArrayFromType(elementType.getTag());
+        return store != null ? store : refValues;
+    }
+
     @Override
     public void serialize(OutputStream outputStream) {
         if (this.elementType.getTag() == TypeTags.BYTE_TAG) {
@@ -877,6 +911,7 @@ public class ArrayValueImpl extends AbstractArrayValue {
                 refValues = Arrays.copyOf(refValues, newLength);
                 break;
         }
+        sharedStore = false;
     }
 
     @Override
@@ -1004,6 +1039,7 @@ public class ArrayValueImpl extends AbstractArrayValue {
         int intIndex = (int) index;
         rangeCheck(index, size);
         fillerValueCheck(intIndex, size);
+        unshareStore();
         ensureCapacity(intIndex + 1, currentArraySize);
         fillValues(intIndex);
         resetSize(intIndex);
@@ -1017,6 +1053,7 @@ public class ArrayValueImpl extends AbstractArrayValue {
 
         int intIndex = (int) index;
         rangeCheck(index, size);
+        unshareStore();
         ensureCapacity(intIndex + 1, currentArraySize);
 
         switch (this.elementType.getTag()) {
@@ -1042,6 +1079,19 @@ public class ArrayValueImpl extends AbstractArrayValue {
         this.elementType = elementType;
     }
 
+    private ArrayValueImpl shareStore(ArrayValueImpl clone) {
+        clone.size = this.size;
+        clone.sharedStore = true;
+        this.sharedStore = true;
+        return clone;
+    }
+
+    private void unshareStore() {
+        if (sharedStore) {
+            resizeInternalArray(getCurrentArrayLength());
+        }
+    }
+
     private void resetSize(int index) {
         if (index >= size) {
             size = index + 1;
@@ -1049,15 +1099,32 @@ public class ArrayValueImpl extends AbstractArrayValue {
     }
 
     private void shiftArray(int index, Object arr) {
+        if (sharedStore) {
+            unshareStore();
+            arr = getArrayFromType(this.elementType.getTag());
+        }
         int nElemsToBeMoved = this.size - 1 - index;
         if (nElemsToBeMoved >= 0) {
             System.arraycopy(arr, index + 1, arr, index, nElemsToBeMoved);
         }
         this.size--;
+        // clear the vacated slot, so that the member does not reappear if the array grows again
+        if (arr instanceof Object[]) {
+            ((Object[]) arr)[this.size] = null;
+        } else if (arr instanceof long[]) {
+            ((long[]) arr)[this.size] = 0;
+        } else if (arr instanceof double[]) {
+            ((double[]) arr)[this.size] = 0;
+        } else if (arr instanceof byte[]) {
+            ((byte[]) arr)[this.size] = 0;
+        } else if (arr instanceof boolean[]) {
+            ((boolean[]) arr)[this.size] = false;
+        }
     }
 
     private void unshiftArray(long index, int unshiftByN, int arrLength) {
         int lastIndex = size() + unshiftByN - 1;
+        unshareStore();
         prepareForConsecutiveMultiAdd(lastIndex, arrLength);
         Object arr = getArrayFromType(elementType.getTag());
 
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.values;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Values already copied during a clone, mapped to their copies by identity.
+ * <p>
+ * The value being cloned is kept in a field, and the identity map is only allocated when a second value is copied,
+ * i.e. on the first mutable member. Cloning a value with no mutable members therefore allocates no map.
+ *
+ * @since 2.0.0
+ */
+public final class CloneRefs extends AbstractMap<Object, Object> {
+
+    private Object rootValue;
+    private Object rootCopy;
+    private IdentityHashMap<Object, Object> refs;
+
+    @Override
+    public Object get(Object value) {
+        if (refs != null) {
+            return refs.get(value);
+        }
+        return value == rootValue ? rootCopy : null;
+    }
+
+    @Override
+    public boolean containsKey(Object value) {
+        if (refs != null) {
+            return refs.containsKey(value);
+        }
+        return rootValue != null && value == rootValue;
+    }
+
+    @Override
+    public Object put(Object value, Object copy) {
+        if (refs == null) {
+            if (rootValue == null || value == rootValue) {
+                Object previous = rootCopy;
+                rootValue = value;
+                rootCopy = copy;
+                return previous;
+            }
+            refs = new IdentityHashMap<>();
+            refs.put(rootValue, rootCopy);
+        }
+        return refs.put(value, copy);
+    }
+
+    @Override
+    public int size() {
+        if (refs != null) {
+            return refs.size();
+        }
+        return rootValue == null ? 0 : 1;
+    }
+
+    @Override
+    public Set<Entry<Object, Object>> entrySet() {
+        if (refs != null) {
+            return refs.entrySet();
+        }
+        if (rootValue == null) {
+            return Collections.emptySet();
+        }
+        return Collections.singleton(new SimpleImmutableEntry<>(rootValue, rootCopy));
+    }
+}
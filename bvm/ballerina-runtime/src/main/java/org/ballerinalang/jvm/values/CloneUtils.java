@@ -18,10 +18,11 @@
 
 package org.ballerinalang.jvm.values;
 
-import java.util.HashMap;
-
 /**
  * This class contains the functions related to cloning Ballerina values.
+ * <p>
+ * Values already copied during a clone are tracked by identity, since list values compare and hash by content, and
+ * distinct but equal members must stay distinct in the clone. See {@link CloneRefs}.
  *
  * @since 1.0.0
  */
@@ -44,7 +45,7 @@ public class CloneUtils {
         }
 
         RefValue refValue = (RefValue) value;
-        return refValue.copy(new HashMap<>());
+        return refValue.copy(new CloneRefs());
     }
 
     /**
@@ -64,6 +65,6 @@ public class CloneUtils {
         }
 
         RefValue refValue = (RefValue) value;
-        return refValue.frozenCopy(new HashMap<>());
+        return refValue.frozenCopy(new CloneRefs());
     }
 }
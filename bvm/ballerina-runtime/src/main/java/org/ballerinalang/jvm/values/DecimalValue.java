@@ -29,6 +29,7 @@ import org.ballerinalang.jvm.util.BLangConstants;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.MathContext;
+import java.math.RoundingMode;
 
 /**
  * <p>
@@ -49,36 +50,115 @@ public class DecimalValue implements SimpleValue, BDecimal {
 
     private static final DecimalValue NaN = new DecimalValue("-1", DecimalValueKind.NOT_A_NUMBER);
 
+    // Marks a decimal whose unscaled value does not fit in a long.
+    private static final long INFLATED = Long.MIN_VALUE;
+
+    private static final int MAX_COMPACT_DIGITS = 18;
+
+    private static final long[] TEN_POWERS = {
+            1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L, 1000000000L, 10000000000L,
+            100000000000L, 1000000000000L, 10000000000000L, 100000000000000L, 1000000000000000L,
+            10000000000000000L, 100000000000000000L, 1000000000000000000L
+    };
+
     // Variable used to track the kind of a decimal value.
     @Deprecated
     public DecimalValueKind valueKind = DecimalValueKind.OTHER;
 
+    // A decimal whose unscaled value fits in a long is held as the unscaled value and the scale, which is enough for
+    // the arithmetic below to be done without a BigDecimal when the result also fits in a long. Since a long holds
+    // at most 19 digits, such results never need rounding to the 34 digits of DECIMAL128, and they are the same as
+    // the BigDecimal results. The BigDecimal of such a decimal is created only when it is asked for.
     private BigDecimal value;
+    private final long unscaled;
+    private final int scale;
 
     public DecimalValue(BigDecimal value) {
         this.value = value;
+        this.unscaled = value.precision() <= MAX_COMPACT_DIGITS ? value.unscaledValue().longValue() : INFLATED;
+        this.scale = value.scale();
         if (!this.booleanValue()) {
             this.valueKind = DecimalValueKind.ZERO;
         }
     }
 
     public DecimalValue(String value) {
-        // Check whether the number provided is a hexadecimal value.
-        if (isHexValueString(value)) {
-            this.value = hexToDecimalFloatingPointNumber(value);
+        int compactScale = getCompactScale(value);
+        if (compactScale >= 0) {
+            this.unscaled = parseUnscaledValue(value);
+            this.scale = compactScale;
         } else {
-            this.value = new BigDecimal(value, MathContext.DECIMAL128);
+            // Check whether the number provided is a hexadecimal value.
+            if (isHexValueString(value)) {
+                this.value = hexToDecimalFloatingPointNumber(value);
+            } else {
+                this.value = new BigDecimal(value, MathContext.DECIMAL128);
+            }
+            this.unscaled = this.value.precision() <= MAX_COMPACT_DIGITS ?
+                    this.value.unscaledValue().longValue() : INFLATED;
+            this.scale = this.value.scale();
         }
         if (!this.booleanValue()) {
             this.valueKind = DecimalValueKind.ZERO;
         }
     }
 
+    private DecimalValue(long unscaled, int scale) {
+        this.unscaled = unscaled;
+        this.scale = scale;
+        if (unscaled == 0) {
+            this.valueKind = DecimalValueKind.ZERO;
+        }
+    }
+
     public DecimalValue(String value, DecimalValueKind valueKind) {
         this(value);
         this.valueKind = valueKind;
     }
 
+    /**
+     * Returns the scale of the given number if it is a plain decimal number of at most 18 digits, which then has the
+     * same unscaled value and scale as the BigDecimal parsed from it.
+     *
+     * @param value string value of the number
+     * @return the scale, or -1 if the number is not such a number
+     */
+    private static int getCompactScale(String value) {
+        int length = value.length();
+        int i = 0;
+        if (length > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+')) {
+            i++;
+        }
+        int digits = 0;
+        int pointIndex = -1;
+        for (; i < length; i++) {
+            char ch = value.charAt(i);
+            if (ch >= '0' && ch <= '9') {
+                digits++;
+            } else if (ch == '.' && pointIndex < 0) {
+                pointIndex = i;
+            } else {
+                return -1;
+            }
+        }
+        if (digits == 0 || digits > MAX_COMPACT_DIGITS) {
+            return -1;
+        }
+        return pointIndex < 0 ? 0 : length - pointIndex - 1;
+    }
+
+    private static long parseUnscaledValue(String value) {
+        long unscaled = 0;
+        boolean negative = value.charAt(0) == '-';
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            if (ch >= '0' && ch <= '9') {
+                unscaled = unscaled * 10 + (ch - '0');
+            }
+        }
+        return negative ? -unscaled : unscaled;
+    }
+
     private static boolean isHexValueString(String value) {
         String upperCaseValue = value.toUpperCase();
         return upperCaseValue.startsWith("0X") || upperCaseValue.startsWith("-0X");
@@ -141,7 +221,12 @@ public class DecimalValue implements SimpleValue, BDecimal {
      * @return the value
      */
     public BigDecimal decimalValue() {
-        return this.value;
+        BigDecimal value = this.value;
+        if (value == null) {
+            value = BigDecimal.valueOf(this.unscaled, this.scale);
+            this.value = value;
+        }
+        return value;
     }
 
     /**
@@ -159,6 +244,7 @@ public class DecimalValue implements SimpleValue, BDecimal {
                 throw ErrorUtils.createNumericConversionError(POSITIVE_INF, BTypes.typeInt);
         }
 
+        BigDecimal value = this.decimalValue();
         if (!isDecimalWithinIntRange(value)) {
             throw ErrorUtils.createNumericConversionError(this.stringValue(null), BTypes.typeDecimal, BTypes.typeInt);
         }
@@ -190,7 +276,8 @@ public class DecimalValue implements SimpleValue, BDecimal {
                 throw ErrorUtils.createNumericConversionError(POSITIVE_INF, BTypes.typeByte);
         }
 
-        int intVal = (int) Math.rint(this.value.doubleValue());
+        BigDecimal value = this.decimalValue();
+        int intVal = (int) Math.rint(value.doubleValue());
         if (!isByteLiteral(intVal)) {
             throw ErrorUtils.createNumericConversionError(value, BTypes.typeDecimal, BTypes.typeByte);
         }
@@ -209,7 +296,7 @@ public class DecimalValue implements SimpleValue, BDecimal {
         if (this.valueKind == DecimalValueKind.NOT_A_NUMBER) {
             return Double.NaN;
         }
-        return value.doubleValue();
+        return this.decimalValue().doubleValue();
     }
 
     /**
@@ -217,7 +304,7 @@ public class DecimalValue implements SimpleValue, BDecimal {
      * @return true if the value is non zero
      */
     public boolean booleanValue() {
-        return value.compareTo(BigDecimal.ZERO) != 0;
+        return this.signum() != 0;
     }
 
     /**
@@ -229,7 +316,7 @@ public class DecimalValue implements SimpleValue, BDecimal {
         if (this.valueKind != DecimalValueKind.OTHER) {
             return this.valueKind.getValue();
         }
-        return value.toString();
+        return this.decimalValue().toString();
     }
 
     /**
@@ -237,7 +324,7 @@ public class DecimalValue implements SimpleValue, BDecimal {
      * @return the decimal value
      */
     public BigDecimal value() {
-        return this.value;
+        return this.decimalValue();
     }
 
     /**
@@ -278,6 +365,10 @@ public class DecimalValue implements SimpleValue, BDecimal {
                     return this;
                 }
                 if (augend.valueKind == DecimalValueKind.OTHER) {
+                    DecimalValue sum = addCompact(this.unscaled, this.scale, augend.unscaled, augend.scale);
+                    if (sum != null) {
+                        return sum;
+                    }
                     return new DecimalValue(this.decimalValue().add(augend.decimalValue(), MathContext.DECIMAL128));
                 }
                 return augend;
@@ -316,6 +407,13 @@ public class DecimalValue implements SimpleValue, BDecimal {
                     return this;
                 }
                 if (subtrahend.valueKind == DecimalValueKind.OTHER) {
+                    if (subtrahend.unscaled != INFLATED) {
+                        DecimalValue difference = addCompact(this.unscaled, this.scale, -subtrahend.unscaled,
+                                                             subtrahend.scale);
+                        if (difference != null) {
+                            return difference;
+                        }
+                    }
                     return new DecimalValue(this.decimalValue().subtract(subtrahend.decimalValue(),
                             MathContext.DECIMAL128));
                 }
@@ -342,7 +440,7 @@ public class DecimalValue implements SimpleValue, BDecimal {
                         multiplicand.valueKind == DecimalValueKind.NOT_A_NUMBER) {
                     return NaN;
                 }
-                if (multiplicand.decimalValue().compareTo(BigDecimal.ZERO) > 0) {
+                if (multiplicand.signum() > 0) {
                     return POSITIVE_INF;
                 }
                 return NEGATIVE_INF;
@@ -351,7 +449,7 @@ public class DecimalValue implements SimpleValue, BDecimal {
                         multiplicand.valueKind == DecimalValueKind.NOT_A_NUMBER) {
                     return NaN;
                 }
-                if (multiplicand.decimalValue().compareTo(BigDecimal.ZERO) > 0) {
+                if (multiplicand.signum() > 0) {
                     return NEGATIVE_INF;
                 }
                 return POSITIVE_INF;
@@ -359,10 +457,15 @@ public class DecimalValue implements SimpleValue, BDecimal {
                 return NaN;
             default:
                 if (multiplicand.valueKind == DecimalValueKind.OTHER) {
+                    DecimalValue product = multiplyCompact(this.unscaled, this.scale, multiplicand.unscaled,
+                                                           multiplicand.scale);
+                    if (product != null) {
+                        return product;
+                    }
                     return new DecimalValue(this.decimalValue().multiply(multiplicand.decimalValue(),
                             MathContext.DECIMAL128));
                 }
-                if (this.decimalValue().compareTo(BigDecimal.ZERO) > 0) {
+                if (this.signum() > 0) {
                     return multiplicand;
                 }
                 return multiplicand.negate();
@@ -385,22 +488,22 @@ public class DecimalValue implements SimpleValue, BDecimal {
             case POSITIVE_INFINITY:
                 if (divisor.valueKind == DecimalValueKind.ZERO ||
                         (divisor.valueKind == DecimalValueKind.OTHER &&
-                                divisor.decimalValue().compareTo(BigDecimal.ZERO) > 0)) {
+                                divisor.signum() > 0)) {
                     return POSITIVE_INF;
                 }
                 if (divisor.valueKind == DecimalValueKind.OTHER &&
-                        divisor.decimalValue().compareTo(BigDecimal.ZERO) < 0) {
+                        divisor.signum() < 0) {
                     return NEGATIVE_INF;
                 }
                 return NaN;
             case NEGATIVE_INFINITY:
                 if (divisor.valueKind == DecimalValueKind.ZERO ||
                         (divisor.valueKind == DecimalValueKind.OTHER &&
-                                divisor.decimalValue().compareTo(BigDecimal.ZERO) > 0)) {
+                                divisor.signum() > 0)) {
                     return NEGATIVE_INF;
                 }
                 if (divisor.valueKind == DecimalValueKind.OTHER &&
-                        divisor.decimalValue().compareTo(BigDecimal.ZERO) < 0) {
+                        divisor.signum() < 0) {
                     return POSITIVE_INF;
                 }
                 return NaN;
@@ -417,7 +520,7 @@ public class DecimalValue implements SimpleValue, BDecimal {
                 if (divisor.valueKind == DecimalValueKind.NOT_A_NUMBER) {
                     return NaN;
                 }
-                return this.decimalValue().compareTo(BigDecimal.ZERO) > 0 ? POSITIVE_INF : NEGATIVE_INF;
+                return this.signum() > 0 ? POSITIVE_INF : NEGATIVE_INF;
         }
     }
 
@@ -451,6 +554,9 @@ public class DecimalValue implements SimpleValue, BDecimal {
     public DecimalValue negate() {
         switch (this.valueKind) {
             case OTHER:
+                if (this.unscaled != INFLATED) {
+                    return new DecimalValue(-this.unscaled, this.scale);
+                }
                 return new DecimalValue(this.decimalValue().negate());
             case POSITIVE_INFINITY:
                 return NEGATIVE_INF;
@@ -486,6 +592,154 @@ public class DecimalValue implements SimpleValue, BDecimal {
         return remainder((DecimalValue) divisor);
     }
 
+    /**
+     * Compares the numeric values of this decimal and the given decimal, as {@link BigDecimal#compareTo} does.
+     *
+     * @param other decimal to compare with
+     * @return -1, 0 or 1 as this decimal is less than, equal to or greater than the given decimal
+     */
+    public int compareTo(DecimalValue other) {
+        long lhs = this.unscaled;
+        long rhs = other.unscaled;
+        if (lhs != INFLATED && rhs != INFLATED) {
+            if (this.scale == other.scale) {
+                return Long.compare(lhs, rhs);
+            }
+            if (this.scale < other.scale) {
+                lhs = scaleUp(lhs, other.scale - this.scale);
+            } else {
+                rhs = scaleUp(rhs, this.scale - other.scale);
+            }
+            if (lhs != INFLATED && rhs != INFLATED) {
+                return Long.compare(lhs, rhs);
+            }
+        }
+        return this.decimalValue().compareTo(other.decimalValue());
+    }
+
+    /**
+     * Returns the signum of the value of this decimal.
+     *
+     * @return -1, 0 or 1 as the value is negative, zero or positive
+     */
+    public int signum() {
+        if (this.unscaled != INFLATED) {
+            return Long.signum(this.unscaled);
+        }
+        return this.value.signum();
+    }
+
+    /**
+     * Returns the absolute value of this decimal.
+     *
+     * @return {@code abs(this)}
+     */
+    public DecimalValue abs() {
+        if (this.unscaled != INFLATED) {
+            return new DecimalValue(Math.abs(this.unscaled), this.scale);
+        }
+        return new DecimalValue(this.value.abs());
+    }
+
+    /**
+     * Returns this decimal rounded to an integral value with the given rounding mode, as
+     * {@code setScale(0, roundingMode)} of its {@link BigDecimal} does.
+     *
+     * @param roundingMode rounding mode to apply
+     * @return the rounded value
+     */
+    public DecimalValue toIntegralValue(RoundingMode roundingMode) {
+        long unscaled = this.unscaled;
+        if (unscaled == INFLATED || this.scale > MAX_COMPACT_DIGITS) {
+            return new DecimalValue(this.decimalValue().setScale(0, roundingMode));
+        }
+        if (this.scale <= 0) {
+            long integral = scaleUp(unscaled, -this.scale);
+            if (integral == INFLATED) {
+                return new DecimalValue(this.decimalValue().setScale(0, roundingMode));
+            }
+            return new DecimalValue(integral, 0);
+        }
+        long divisor = TEN_POWERS[this.scale];
+        long quotient = unscaled / divisor;
+        long remainder = unscaled % divisor;
+        if (remainder == 0) {
+            return new DecimalValue(quotient, 0);
+        }
+        int sign = remainder < 0 ? -1 : 1;
+        boolean awayFromZero;
+        switch (roundingMode) {
+            case CEILING:
+                awayFromZero = sign > 0;
+                break;
+            case FLOOR:
+                awayFromZero = sign < 0;
+                break;
+            case HALF_EVEN:
+                long doubleRemainder = Math.abs(remainder) * 2;
+                awayFromZero = doubleRemainder > divisor || (doubleRemainder == divisor && (quotient & 1) != 0);
+                break;
+            default:
+                return new DecimalValue(this.decimalValue().setScale(0, roundingMode));
+        }
+        return new DecimalValue(awayFromZero ? quotient + sign : quotient, 0);
+    }
+
+    private static DecimalValue addCompact(long lhs, int lhsScale, long rhs, int rhsScale) {
+        if (lhs == INFLATED || rhs == INFLATED) {
+            return null;
+        }
+        int scale = lhsScale;
+        if (lhsScale < rhsScale) {
+            lhs = scaleUp(lhs, rhsScale - lhsScale);
+            scale = rhsScale;
+        } else if (lhsScale > rhsScale) {
+            rhs = scaleUp(rhs, lhsScale - rhsScale);
+        }
+        if (lhs == INFLATED || rhs == INFLATED) {
+            return null;
+        }
+        long sum = lhs + rhs;
+        if (((lhs ^ sum) & (rhs ^ sum)) < 0 || sum == INFLATED) {
+            return null;
+        }
+        return new DecimalValue(sum, scale);
+    }
+
+    private static DecimalValue multiplyCompact(long lhs, int lhsScale, long rhs, int rhsScale) {
+        if (lhs == INFLATED || rhs == INFLATED) {
+            return null;
+        }
+        long scale = (long) lhsScale + rhsScale;
+        if (scale != (int) scale) {
+            return null;
+        }
+        long product = lhs * rhs;
+        if (((Math.abs(lhs) | Math.abs(rhs)) >>> 31 != 0) && rhs != 0 && product / rhs != lhs) {
+            return null;
+        }
+        if (product == INFLATED) {
+            return null;
+        }
+        return new DecimalValue(product, (int) scale);
+    }
+
+    /**
+     * Multiplies the given unscaled value by the given power of ten.
+     *
+     * @return the result, or {@link #INFLATED} if it does not fit in a long
+     */
+    private static long scaleUp(long value, int digits) {
+        if (digits > MAX_COMPACT_DIGITS) {
+            return value == 0 ? 0 : INFLATED;
+        }
+        long power = TEN_POWERS[digits];
+        if (Math.abs(value) > Long.MAX_VALUE / power) {
+            return INFLATED;
+        }
+        return value * power;
+    }
+
     /**
      * Returns value kind of {@code (-this)}.
      * @return value kind
@@ -507,12 +761,12 @@ public class DecimalValue implements SimpleValue, BDecimal {
         }
 
         DecimalValue bDecimal = (DecimalValue) obj;
-        return ((value.compareTo(bDecimal.value) == 0) && (this.valueKind == bDecimal.valueKind));
+        return ((this.compareTo(bDecimal) == 0) && (this.valueKind == bDecimal.valueKind));
     }
 
     @Override
     public int hashCode() {
-        return value.hashCode();
+        return this.decimalValue().hashCode();
     }
 
     /**
@@ -530,7 +784,7 @@ public class DecimalValue implements SimpleValue, BDecimal {
      * @return decimal value
      */
     public static DecimalValue valueOf(int value) {
-        return new DecimalValue(new BigDecimal(value, MathContext.DECIMAL128).setScale(1, BigDecimal.ROUND_HALF_EVEN));
+        return new DecimalValue(value * 10L, 1);
     }
 
     /**
@@ -539,6 +793,9 @@ public class DecimalValue implements SimpleValue, BDecimal {
      * @return decimal value
      */
     public static DecimalValue valueOf(long value) {
+        if (value >= -Long.MAX_VALUE / 10 && value <= Long.MAX_VALUE / 10) {
+            return new DecimalValue(value * 10, 1);
+        }
         return new DecimalValue(new BigDecimal(value, MathContext.DECIMAL128).setScale(1, BigDecimal.ROUND_HALF_EVEN));
     }
 
@@ -557,28 +814,27 @@ public class DecimalValue implements SimpleValue, BDecimal {
      * @return decimal value
      */
     public static DecimalValue valueOf(boolean value) {
-        return new DecimalValue(value ? BigDecimal.ONE.setScale(1, BigDecimal.ROUND_HALF_EVEN) :
-                                        BigDecimal.ZERO.setScale(1, BigDecimal.ROUND_HALF_EVEN));
+        return new DecimalValue(value ? 10 : 0, 1);
     }
 
     public static DecimalValue valueOfJ(byte value) {
-        return new DecimalValue(new BigDecimal(value, MathContext.DECIMAL128).setScale(1, BigDecimal.ROUND_HALF_EVEN));
+        return new DecimalValue(value * 10L, 1);
     }
 
     public static DecimalValue valueOfJ(char value) {
-        return new DecimalValue(new BigDecimal(value, MathContext.DECIMAL128).setScale(1, BigDecimal.ROUND_HALF_EVEN));
+        return new DecimalValue(value * 10L, 1);
     }
 
     public static DecimalValue valueOfJ(short value) {
-        return new DecimalValue(new BigDecimal(value, MathContext.DECIMAL128).setScale(1, BigDecimal.ROUND_HALF_EVEN));
+        return new DecimalValue(value * 10L, 1);
     }
 
     public static DecimalValue valueOfJ(int value) {
-        return new DecimalValue(new BigDecimal(value, MathContext.DECIMAL128).setScale(1, BigDecimal.ROUND_HALF_EVEN));
+        return new DecimalValue(value * 10L, 1);
     }
 
     public static DecimalValue valueOfJ(long value) {
-        return new DecimalValue(new BigDecimal(value, MathContext.DECIMAL128).setScale(1, BigDecimal.ROUND_HALF_EVEN));
+        return valueOf(value);
     }
 
     public static DecimalValue valueOfJ(float value) {
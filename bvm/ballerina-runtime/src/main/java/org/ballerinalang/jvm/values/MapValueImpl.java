@@ -41,8 +41,8 @@ import org.ballerinalang.jvm.types.TypeTags;
 import org.ballerinalang.jvm.util.exceptions.BLangExceptionHelper;
 import org.ballerinalang.jvm.util.exceptions.BallerinaException;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -85,7 +85,9 @@ public class MapValueImpl<K, V> extends LinkedHashMap<K, V> implements RefValue,
     private static final long serialVersionUID = 1L;
     private TypedescValue typedesc;
     private BType type;
-    private final Map<String, Object> nativeData = new HashMap<>();
+    // Created on first use, since most maps and records never hold native data. Volatile, so that a map created by
+    // one strand is seen fully constructed by strands on other threads.
+    private volatile Map<String, Object> nativeData;
     private BType iteratorNextReturnType;
 
     public MapValueImpl(TypedescValue typedesc) {
@@ -391,8 +393,9 @@ public class MapValueImpl<K, V> extends LinkedHashMap<K, V> implements RefValue,
             return this;
         }
 
-        if (refs.containsKey(this)) {
-            return refs.get(this);
+        Object copy = refs.get(this);
+        if (copy != null) {
+            return copy;
         }
 
         MapValueImpl<K, V> newMap = new MapValueImpl<>(type);
@@ -470,15 +473,15 @@ public class MapValueImpl<K, V> extends LinkedHashMap<K, V> implements RefValue,
     }
 
     public String getJSONString() {
-        ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
-        JSONGenerator gen = new JSONGenerator(byteOut);
+        StringWriter stringWriter = new StringWriter();
+        JSONGenerator gen = new JSONGenerator(stringWriter);
         try {
             gen.serialize(this);
             gen.flush();
         } catch (IOException e) {
             throw new BallerinaException("Error in converting JSON to a string: " + e.getMessage(), e);
         }
-        return new String(byteOut.toByteArray());
+        return stringWriter.toString();
     }
 
     @Override
@@ -528,7 +531,7 @@ public class MapValueImpl<K, V> extends LinkedHashMap<K, V> implements RefValue,
      * @param data value to be added.
      */
     public void addNativeData(String key, Object data) {
-        nativeData.put(key, data);
+        getNativeDataMap().put(key, data);
     }
 
     /**
@@ -537,7 +540,8 @@ public class MapValueImpl<K, V> extends LinkedHashMap<K, V> implements RefValue,
      * @return value for the given key.
      */
     public Object getNativeData(String key) {
-        return nativeData.get(key);
+        Map<String, Object> nativeData = this.nativeData;
+        return nativeData == null ? null : nativeData.get(key);
     }
 
     @Override
@@ -551,7 +555,17 @@ public class MapValueImpl<K, V> extends LinkedHashMap<K, V> implements RefValue,
      * @return nativeData map
      */
     public Map<String, Object> getNativeDataMap() {
-        return this.nativeData;
+        Map<String, Object> nativeData = this.nativeData;
+        if (nativeData == null) {
+            synchronized (this) {
+                nativeData = this.nativeData;
+                if (nativeData == null) {
+                    nativeData = new HashMap<>();
+                    this.nativeData = nativeData;
+                }
+            }
+        }
+        return nativeData;
     }
 
     private void initializeIteratorNextReturnType() {
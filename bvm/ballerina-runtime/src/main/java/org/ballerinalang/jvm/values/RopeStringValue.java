@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.jvm.values;
+
+import org.ballerinalang.jvm.api.BStringUtils;
+import org.ballerinalang.jvm.api.values.BLink;
+import org.ballerinalang.jvm.api.values.BString;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Represent the concatenation of two ballerina strings, which is not copied into a single string until its content
+ * is needed. Concatenating to a rope only creates a new rope, so building a string by repeated concatenation takes
+ * time linear to the length of the result. The content is flattened, once, for anything other than the length, the
+ * concatenation and substrings that fall within one side of the rope; after which the rope lets go of its sides.
+ *
+ * @since 2.0.0
+ */
+class RopeStringValue implements StringValue {
+
+    // Concatenations shorter than this, in chars, are copied right away.
+    static final int MIN_ROPE_LENGTH = 64;
+
+    // Sides of the rope; set to null once the rope is flattened. The flattened value is written before the sides are
+    // cleared, so a reader that finds a side cleared also finds the flattened value.
+    private volatile BString left;
+    private volatile BString right;
+    private volatile StringValue flat;
+    private final int length;
+    private final int charLength;
+
+    RopeStringValue(BString left, BString right) {
+        this.left = left;
+        this.right = right;
+        this.length = left.length() + right.length();
+        this.charLength = charLength(left) + charLength(right);
+    }
+
+    /**
+     * Concatenates two strings, creating a rope if the result is long enough.
+     *
+     * @param left  string on the left
+     * @param right string on the right
+     * @return the concatenated string
+     */
+    static BString concat(BString left, BString right) {
+        if (charLength(left) + charLength(right) < MIN_ROPE_LENGTH) {
+            if (left instanceof BmpStringValue && right instanceof BmpStringValue) {
+                return new BmpStringValue(left.getValue() + right.getValue());
+            }
+            return BStringUtils.fromString(left.getValue() + right.getValue());
+        }
+        return new RopeStringValue(left, right);
+    }
+
+    @Override
+    public String getValue() {
+        return flatten().getValue();
+    }
+
+    @Override
+    public int getCodePoint(int index) {
+        return flatten().getCodePoint(index);
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public BString concat(BString str) {
+        return concat(this, str);
+    }
+
+    @Override
+    public Long indexOf(BString str, int fromIndex) {
+        return flatten().indexOf(str, fromIndex);
+    }
+
+    @Override
+    public Long lastIndexOf(BString str, int fromIndex) {
+        return flatten().lastIndexOf(str, fromIndex);
+    }
+
+    @Override
+    public BString substring(int beginIndex, int endIndex) {
+        if (beginIndex < 0 || endIndex > length || beginIndex > endIndex) {
+            return flatten().substring(beginIndex, endIndex);
+        }
+        BString current = this;
+        // walk down while the range falls within one side of the rope
+        while (current instanceof RopeStringValue) {
+            RopeStringValue rope = (RopeStringValue) current;
+            BString left = rope.left;
+            BString right = rope.right;
+            if (left == null || right == null) {
+                return rope.flat.substring(beginIndex, endIndex);
+            }
+            int leftLength = left.length();
+            if (endIndex <= leftLength) {
+                current = left;
+            } else if (beginIndex >= leftLength) {
+                current = right;
+                beginIndex -= leftLength;
+                endIndex -= leftLength;
+            } else {
+                return rope.flatten().substring(beginIndex, endIndex);
+            }
+        }
+        return current.substring(beginIndex, endIndex);
+    }
+
+    @Override
+    public String stringValue(BLink parent) {
+        return getValue();
+    }
+
+    @Override
+    public String informalStringValue(BLink parent) {
+        return "\"" + toString() + "\"";
+    }
+
+    @Override
+    public int hashCode() {
+        return getValue().hashCode();
+    }
+
+    @Override
+    public boolean equals(Object str) {
+        if (str == this) {
+            return true;
+        }
+        if (str instanceof BString) {
+            return ((BString) str).getValue().equals(getValue());
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return getValue();
+    }
+
+    private StringValue flatten() {
+        StringValue flat = this.flat;
+        if (flat != null) {
+            return flat;
+        }
+        BString left = this.left;
+        BString right = this.right;
+        if (left == null || right == null) {
+            return this.flat;
+        }
+        char[] chars = new char[charLength];
+        int offset = 0;
+        // depth first walk, without recursion since ropes built in a loop are as deep as the loop is long
+        Deque<BString> pending = new ArrayDeque<>();
+        pending.push(right);
+        pending.push(left);
+        while (!pending.isEmpty()) {
+            BString str = pending.pop();
+            if (str instanceof RopeStringValue) {
+                RopeStringValue rope = (RopeStringValue) str;
+                BString ropeLeft = rope.left;
+                BString ropeRight = rope.right;
+                if (ropeLeft != null && ropeRight != null) {
+                    pending.push(ropeRight);
+                    pending.push(ropeLeft);
+                    continue;
+                }
+                str = rope.flat;
+            }
+            String value = str.getValue();
+            value.getChars(0, value.length(), chars, offset);
+            offset += value.length();
+        }
+        flat = (StringValue) BStringUtils.fromString(new String(chars));
+        this.flat = flat;
+        this.left = null;
+        this.right = null;
+        return flat;
+    }
+
+    private static int charLength(BString str) {
+        if (str instanceof RopeStringValue) {
+            return ((RopeStringValue) str).charLength;
+        }
+        return str.getValue().length();
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.jvm.values;
+
+import org.ballerinalang.jvm.api.values.BString;
+import org.ballerinalang.jvm.types.BIntersectionType;
+import org.ballerinalang.jvm.types.BType;
+import org.ballerinalang.jvm.types.BUnionType;
+import org.ballerinalang.jvm.types.TypeTags;
+import org.ballerinalang.jvm.util.RuntimeUtils;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Secondary index of a {@link TableValueImpl} on a field of its members, which maps the values of the field to the
+ * members that have them. Members are referred to by the hash the table stores them under. A hash index answers
+ * equality lookups, and an ordered index answers range lookups as well.
+ * <p>
+ * Indexes are maintained as members are added, put and removed. Only {@code readonly} fields of a single simple
+ * basic type, optionally with (), can be indexed, so the indexed field of a member cannot be updated in place and
+ * all the keys of an index are of the same type.
+ *
+ * @since 2.0.0
+ */
+class TableIndex {
+
+    private static final Object NIL_KEY = new Object();
+
+    private final BString fieldName;
+    private final Class<?> keyClass;
+    private final boolean ordered;
+    private final Map<Object, Set<Long>> entries;
+
+    TableIndex(BString fieldName, Class<?> keyClass, boolean ordered) {
+        this.fieldName = fieldName;
+        this.keyClass = keyClass;
+        this.ordered = ordered;
+        this.entries = ordered ? new TreeMap<>(TableIndex::compareKeys) : new HashMap<>();
+    }
+
+    Class<?> getKeyClass() {
+        return keyClass;
+    }
+
+    boolean isOrdered() {
+        return ordered;
+    }
+
+    void add(Long hash, MapValue<?, ?> member) {
+        entries.computeIfAbsent(getKey(member.get(fieldName)), key -> new LinkedHashSet<>()).add(hash);
+    }
+
+    void remove(Long hash, MapValue<?, ?> member) {
+        Object key = getKey(member.get(fieldName));
+        Set<Long> hashes = entries.get(key);
+        if (hashes != null && hashes.remove(hash) && hashes.isEmpty()) {
+            entries.remove(key);
+        }
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    Collection<Long> get(Object value) {
+        Object key = getKey(value);
+        if (!isValidKey(key)) {
+            // values of different basic types are never equal
+            return Collections.emptySet();
+        }
+        Set<Long> hashes = entries.get(key);
+        return hashes == null ? Collections.emptySet() : hashes;
+    }
+
+    /**
+     * Returns the members with a value within the given bounds, where a null bound leaves that side unbounded. ()
+     * and NaN values are not within any range. Returns null if a bound is not of the type of the field.
+     */
+    Collection<Long> getRange(Object from, boolean fromInclusive, Object to, boolean toInclusive) {
+        Object fromKey = from == null ? null : getKey(from);
+        Object toKey = to == null ? null : getKey(to);
+        if ((fromKey != null && (fromKey == NIL_KEY || !isValidKey(fromKey))) ||
+                (toKey != null && (toKey == NIL_KEY || !isValidKey(toKey)))) {
+            return null;
+        }
+        NavigableMap<Object, Set<Long>> range = (NavigableMap<Object, Set<Long>>) entries;
+        if (fromKey != null) {
+            range = range.tailMap(fromKey, fromInclusive);
+        }
+        if (toKey != null) {
+            range = range.headMap(toKey, toInclusive);
+        }
+        Set<Long> hashes = new LinkedHashSet<>();
+        for (Map.Entry<Object, Set<Long>> entry : range.entrySet()) {
+            Object key = entry.getKey();
+            if (key != NIL_KEY && !(key instanceof Double && ((Double) key).isNaN())) {
+                hashes.addAll(entry.getValue());
+            }
+        }
+        return hashes;
+    }
+
+    private boolean isValidKey(Object key) {
+        return key == NIL_KEY || keyClass.isInstance(key);
+    }
+
+    /**
+     * Returns the class of the keys of an index on a field of the given type, or null if such a field cannot be
+     * indexed. Fields of a simple basic type, optionally with (), can be indexed.
+     */
+    static Class<?> getKeyClass(BType fieldType) {
+        if (fieldType.getTag() == TypeTags.INTERSECTION_TAG) {
+            return getKeyClass(((BIntersectionType) fieldType).getEffectiveType());
+        }
+        if (fieldType.getTag() == TypeTags.UNION_TAG) {
+            Class<?> keyClass = null;
+            for (BType memberType : ((BUnionType) fieldType).getMemberTypes()) {
+                if (memberType.getTag() == TypeTags.NULL_TAG) {
+                    continue;
+                }
+                Class<?> memberKeyClass = getKeyClass(memberType);
+                if (memberKeyClass == null || (keyClass != null && keyClass != memberKeyClass)) {
+                    return null;
+                }
+                keyClass = memberKeyClass;
+            }
+            return keyClass;
+        }
+        int tag = fieldType.getTag();
+        if (TypeTags.isIntegerTypeTag(tag) || tag == TypeTags.BYTE_TAG) {
+            return Long.class;
+        }
+        if (TypeTags.isStringTypeTag(tag)) {
+            return String.class;
+        }
+        switch (tag) {
+            case TypeTags.FLOAT_TAG:
+                return Double.class;
+            case TypeTags.DECIMAL_TAG:
+                return BigDecimal.class;
+            case TypeTags.BOOLEAN_TAG:
+                return Boolean.class;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Normalizes a field value to a key, such that values which are equal in Ballerina have equal keys.
+     */
+    private static Object getKey(Object value) {
+        if (value == null) {
+            return NIL_KEY;
+        }
+        if (value instanceof Integer) {
+            return ((Integer) value).longValue();
+        }
+        if (value instanceof Double) {
+            // -0.0 == +0.0
+            return (Double) value == 0 ? 0.0 : value;
+        }
+        if (value instanceof DecimalValue) {
+            BigDecimal decimal = ((DecimalValue) value).value();
+            return decimal.signum() == 0 ? BigDecimal.ZERO : decimal.stripTrailingZeros();
+        }
+        if (value instanceof BString) {
+            return ((BString) value).getValue();
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compareKeys(Object key1, Object key2) {
+        if (key1 == NIL_KEY || key2 == NIL_KEY) {
+            return key1 == key2 ? 0 : (key1 == NIL_KEY ? -1 : 1);
+        }
+        if (key1 instanceof String && key2 instanceof String) {
+            return RuntimeUtils.codePointCompare((String) key1, (String) key2);
+        }
+        return ((Comparable<Object>) key1).compareTo(key2);
+    }
+}
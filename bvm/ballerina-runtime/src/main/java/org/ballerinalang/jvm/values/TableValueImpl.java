@@ -34,12 +34,14 @@ import org.ballerinalang.jvm.types.BTableType;
 import org.ballerinalang.jvm.types.BTupleType;
 import org.ballerinalang.jvm.types.BType;
 import org.ballerinalang.jvm.types.TypeTags;
+import org.ballerinalang.jvm.util.Flags;
 import org.ballerinalang.jvm.util.exceptions.BLangFreezeException;
 
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -84,7 +86,10 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
 
     private boolean nextKeySupported;
 
-    private final Map<String, Object> nativeData = new HashMap<>();
+    // Created on first use, since most tables never hold native data. Volatile, so that a map created by one strand
+    // is seen fully constructed by strands on other threads.
+    private volatile Map<String, Object> nativeData;
+    private Map<String, TableIndex> indexes;
 
     public TableValueImpl(BTableType type) {
         this.type = type;
@@ -147,6 +152,10 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
             clone.add((V) value);
         }
 
+        if (indexes != null) {
+            indexes.forEach((fieldName, index) ->
+                                    clone.addIndex(BStringUtils.fromString(fieldName), index.isOrdered()));
+        }
        return clone;
     }
 
@@ -225,6 +234,119 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
         keyToIndexMap.clear();
         indexToKeyMap.clear();
         noOfAddedEntries = 0;
+        if (indexes != null) {
+            indexes.values().forEach(TableIndex::clear);
+        }
+    }
+
+    /**
+     * Creates an index on a field of the members, which is used to look up members by the value of the field. A
+     * hash index supports equality lookups, and an ordered index supports range lookups as well. The field has to
+     * be a {@code readonly} field of a simple basic type, optionally with (), so that the indexed value of a member
+     * cannot change while it is in the table.
+     *
+     * @param fieldName name of the field
+     * @param ordered   whether the index is ordered
+     */
+    public void addIndex(BString fieldName, boolean ordered) {
+        TableIndex existing = indexes == null ? null : indexes.get(fieldName.getValue());
+        if (existing != null && (existing.isOrdered() || !ordered)) {
+            return;
+        }
+
+        BType constraintType = type.getConstrainedType();
+        BType fieldType = getTableConstraintField(constraintType, fieldName.getValue());
+        Class<?> keyClass = fieldType == null ? null : TableIndex.getKeyClass(fieldType);
+        if (keyClass == null || !isReadOnlyField(constraintType, fieldName.getValue())) {
+            throw BErrorCreator.createError(OPERATION_NOT_SUPPORTED_ERROR, BStringUtils.fromString(
+                    "cannot create an index on field '" + fieldName + "' of table '" + type + "', expected a " +
+                            "readonly field of a simple basic type"));
+        }
+
+        TableIndex index = new TableIndex(fieldName, keyClass, ordered);
+        for (Map.Entry<Long, V> entry : values.entrySet()) {
+            index.add(entry.getKey(), (MapValue<?, ?>) entry.getValue());
+        }
+        if (indexes == null) {
+            indexes = new HashMap<>();
+        }
+        indexes.put(fieldName.getValue(), index);
+    }
+
+    /**
+     * Looks up the members whose field is equal to the given value using an index on the field.
+     *
+     * @param fieldName name of the field
+     * @param value     value of the field
+     * @return a table of the same type with the matching members in the order of this table, or null if there is no
+     * index on the field
+     */
+    public TableValueImpl<K, V> lookupIndex(BString fieldName, Object value) {
+        TableIndex index = indexes == null ? null : indexes.get(fieldName.getValue());
+        if (index == null) {
+            return null;
+        }
+        return createTableOf(index.get(value));
+    }
+
+    /**
+     * Looks up the members whose field is within the given bounds using an ordered index on the field.
+     *
+     * @param fieldName     name of the field
+     * @param from          lower bound, or null if there is no lower bound
+     * @param fromInclusive whether the lower bound is inclusive
+     * @param to            upper bound, or null if there is no upper bound
+     * @param toInclusive   whether the upper bound is inclusive
+     * @return a table of the same type with the matching members in the order of this table, or null if there is no
+     * ordered index on the field or a bound is not of the type of the field
+     */
+    public TableValueImpl<K, V> lookupIndexRange(BString fieldName, Object from, boolean fromInclusive, Object to,
+                                                 boolean toInclusive) {
+        TableIndex index = indexes == null ? null : indexes.get(fieldName.getValue());
+        if (index == null || !index.isOrdered()) {
+            return null;
+        }
+        Collection<Long> hashes = index.getRange(from, fromInclusive, to, toInclusive);
+        return hashes == null ? null : createTableOf(hashes);
+    }
+
+    private TableValueImpl<K, V> createTableOf(Collection<Long> hashes) {
+        List<Long> orderedHashes = new ArrayList<>(hashes);
+        orderedHashes.sort(Comparator.comparing(keyToIndexMap::get));
+        TableValueImpl<K, V> table = new TableValueImpl<>(type);
+        if (fieldNames != null) {
+            table.fieldNames = fieldNames;
+        }
+        for (Long hash : orderedHashes) {
+            table.valueHolder.addData(values.get(hash));
+        }
+        return table;
+    }
+
+    private static boolean isReadOnlyField(BType constraintType, String fieldName) {
+        if (constraintType.isReadOnly()) {
+            return true;
+        }
+        if (constraintType.getTag() != TypeTags.RECORD_TYPE_TAG) {
+            return false;
+        }
+        BField field = ((BRecordType) constraintType).getFields().get(fieldName);
+        return field != null && Flags.isFlagOn(field.flags, Flags.READONLY);
+    }
+
+    // This method keeps the indexes up to date when a member is added, replaced or removed
+    private void updateIndexes(Long hash, V oldValue, V newValue) {
+        if (indexes == null) {
+            return;
+        }
+        for (TableIndex index : indexes.values()) {
+            if (oldValue != null) {
+                index.remove(hash, (MapValue<?, ?>) oldValue);
+            }
+            if (newValue != null) {
+                index.add(hash, (MapValue<?, ?>) newValue);
+            }
+        }
     }
 
     @Override
@@ -296,12 +418,23 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
 
     @Override
     public void addNativeData(String key, Object data) {
+        Map<String, Object> nativeData = this.nativeData;
+        if (nativeData == null) {
+            synchronized (this) {
+                nativeData = this.nativeData;
+                if (nativeData == null) {
+                    nativeData = new HashMap<>();
+                    this.nativeData = nativeData;
+                }
+            }
+        }
         nativeData.put(key, data);
     }
 
     @Override
     public Object getNativeData(String key) {
-        return nativeData.get(key);
+        Map<String, Object> nativeData = this.nativeData;
+        return nativeData == null ? null : nativeData.get(key);
     }
 
     @Override
@@ -337,8 +470,8 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
 
     private BType getTableConstraintField(BType constraintType, String fieldName) {
         if (constraintType.getTag() == TypeTags.RECORD_TYPE_TAG) {
-            Map<String, BField> fieldList = ((BRecordType) constraintType).getFields();
-            return fieldList.get(fieldName).getFieldType();
+            BField field = ((BRecordType) constraintType).getFields().get(fieldName);
+            return field == null ? null : field.getFieldType();
         } else if (constraintType.getTag() == TypeTags.MAP_TAG) {
             return ((BMapType) constraintType).getConstrainedType();
         }
@@ -417,7 +550,9 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
             UUID uuid = UUID.randomUUID();
             entries.put((long) uuid.hashCode(), entry);
             updateIndexKeyMappings((long) uuid.hashCode());
-            return values.put((long) uuid.hashCode(), data);
+            V oldData = values.put((long) uuid.hashCode(), data);
+            updateIndexes((long) uuid.hashCode(), oldData, data);
+            return oldData;
         }
 
         public V remove(K key) {
@@ -489,7 +624,9 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
             entries.put(hash, entry);
             keys.put(hash, key);
             updateIndexKeyMappings(hash);
-            return values.put(hash, data);
+            V oldData = values.put(hash, data);
+            updateIndexes(hash, oldData, data);
+            return oldData;
         }
 
         public V putData(V data) {
@@ -510,7 +647,9 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
             if (index != null && index == noOfAddedEntries - 1) {
                 noOfAddedEntries--;
             }
-            return values.remove(hash);
+            V oldData = values.remove(hash);
+            updateIndexes(hash, oldData, null);
+            return oldData;
         }
 
         public boolean containsKey(K key) {
@@ -0,0 +1,188 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.jvm.scheduling;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * Test cases for the {@link Scheduler} adaptive pool, statistics and group executor.
+ */
+public class SchedulerTest {
+
+    private static final String GROUP_THREAD_NAME = "test-group-thread";
+    private static final int STRAND_COUNT = 16;
+
+    @Test
+    public void testGroupsRunOnGroupExecutor() {
+        Set<String> threadNames = ConcurrentHashMap.newKeySet();
+        Scheduler scheduler = new Scheduler(2, 2, false, newGroupExecutor());
+        AtomicInteger completed = new AtomicInteger();
+        for (int i = 0; i < STRAND_COUNT; i++) {
+            schedule(scheduler, params -> {
+                threadNames.add(Thread.currentThread().getName());
+                completed.incrementAndGet();
+                return null;
+            });
+        }
+        scheduler.start();
+
+        Assert.assertEquals(completed.get(), STRAND_COUNT);
+        Assert.assertEquals(threadNames.size(), 1);
+        Assert.assertTrue(threadNames.contains(GROUP_THREAD_NAME));
+    }
+
+    @Test
+    public void testDispatchedGroupsHoldWorkerPermits() {
+        int maxWorkers = 4;
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger completed = new AtomicInteger();
+        Scheduler scheduler = new Scheduler(maxWorkers, 1, false, newGroupExecutor());
+        for (int i = 0; i < STRAND_COUNT; i++) {
+            schedule(scheduler, params -> {
+                int current = running.incrementAndGet();
+                maxRunning.accumulateAndGet(current, Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                completed.incrementAndGet();
+                return null;
+            });
+        }
+        scheduler.start();
+
+        Assert.assertEquals(completed.get(), STRAND_COUNT);
+        // Without the permits, the workers would dispatch all the groups right away
+        Assert.assertTrue(maxRunning.get() <= maxWorkers, "groups running at once: " + maxRunning.get());
+    }
+
+    @Test
+    public void testStatsArePerScheduler() {
+        Scheduler scheduler = new Scheduler(2, false);
+        Scheduler idleScheduler = new Scheduler(2, false);
+        long executedBefore = Scheduler.getStats().getExecutedItemCount();
+        for (int i = 0; i < STRAND_COUNT; i++) {
+            schedule(scheduler, params -> null);
+        }
+        scheduler.start();
+
+        Assert.assertEquals(scheduler.stats.getExecutedItemCount(), STRAND_COUNT);
+        Assert.assertEquals(scheduler.stats.getStrandCount(), 0);
+        Assert.assertEquals(idleScheduler.stats.getExecutedItemCount(), 0);
+        Assert.assertEquals(Scheduler.getStats().getExecutedItemCount() - executedBefore, STRAND_COUNT);
+    }
+
+    @Test
+    public void testPoolStartsWithMinWorkers() throws Exception {
+        Scheduler scheduler = new Scheduler(3, 1, true, null);
+        Thread mainWorker = new Thread(scheduler::start);
+        mainWorker.start();
+
+        // Only the calling thread works until the pool grows, and it waits for groups without polling
+        waitUntil(() -> mainWorker.getState() == Thread.State.WAITING);
+        Assert.assertEquals(workerThreads().size(), 0);
+        Assert.assertEquals(scheduler.stats.getWorkerLimit(), 1);
+        Assert.assertEquals(scheduler.stats.getWorkerThreadCount(), 1);
+
+        scheduler.poison();
+        mainWorker.join(10000);
+        Assert.assertFalse(mainWorker.isAlive());
+        Assert.assertEquals(scheduler.stats.getWorkerLimit(), 0);
+        Assert.assertEquals(scheduler.stats.getWorkerThreadCount(), 0);
+    }
+
+    @Test
+    public void testPoolGrowsAndShrinks() throws Exception {
+        int maxWorkers = 4;
+        Scheduler scheduler = new Scheduler(maxWorkers, 1, true, null);
+        Thread mainWorker = new Thread(scheduler::start);
+        mainWorker.start();
+
+        Set<String> threadNames = ConcurrentHashMap.newKeySet();
+        AtomicInteger completed = new AtomicInteger();
+        int strandCount = 100;
+        for (int i = 0; i < strandCount; i++) {
+            schedule(scheduler, params -> {
+                threadNames.add(Thread.currentThread().getName());
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                completed.incrementAndGet();
+                return null;
+            });
+        }
+
+        // Queued groups wait for over a millisecond, so the pool grows to the max
+        waitUntil(() -> scheduler.stats.getWorkerThreadCount() == maxWorkers);
+        Assert.assertEquals(scheduler.stats.getWorkerLimit(), maxWorkers);
+        waitUntil(() -> completed.get() == strandCount);
+        Assert.assertEquals(threadNames.size(), maxWorkers);
+
+        // Idle workers take retire pills until the pool is back to the min
+        waitUntil(() -> scheduler.stats.getWorkerThreadCount() == 1);
+        waitUntil(() -> workerThreads().isEmpty());
+        Assert.assertEquals(scheduler.stats.getWorkerLimit(), 1);
+
+        scheduler.poison();
+        mainWorker.join(10000);
+        Assert.assertFalse(mainWorker.isAlive());
+        Assert.assertEquals(scheduler.stats.getWorkerThreadCount(), 0);
+    }
+
+    private static List<Thread> workerThreads() {
+        List<Thread> threads = new ArrayList<>();
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.isAlive() && thread.getName().startsWith("jbal-strand-exec-")) {
+                threads.add(thread);
+            }
+        }
+        return threads;
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        Assert.assertTrue(condition.getAsBoolean());
+    }
+
+    private static void schedule(Scheduler scheduler, Function<Object[], Object> function) {
+        scheduler.schedule(new Object[1], function, null, null, null, null);
+    }
+
+    private static Executor newGroupExecutor() {
+        return command -> new Thread(command, GROUP_THREAD_NAME).start();
+    }
+}
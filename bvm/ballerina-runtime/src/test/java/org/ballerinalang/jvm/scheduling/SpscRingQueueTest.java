@@ -0,0 +1,92 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.jvm.scheduling;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Test cases for {@link SpscRingQueue}.
+ */
+public class SpscRingQueueTest {
+
+    private static final long TIMEOUT_MILLIS = 10000;
+
+    @Test
+    public void testElementsAreTakenInOrder() {
+        SpscRingQueue<Integer> queue = new SpscRingQueue<>(4);
+        Assert.assertTrue(queue.isEmpty());
+        Assert.assertNull(queue.poll());
+
+        queue.offer(1);
+        queue.offer(2);
+        Assert.assertFalse(queue.isEmpty());
+        Assert.assertEquals(queue.peek(), Integer.valueOf(1));
+        Assert.assertEquals(queue.poll(), Integer.valueOf(1));
+        Assert.assertEquals(queue.poll(), Integer.valueOf(2));
+        Assert.assertNull(queue.peek());
+        Assert.assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testFullRingIsLinkedToNewRing() {
+        SpscRingQueue<Integer> queue = new SpscRingQueue<>(2);
+        // more elements than the ring holds, so the producer jumps to new rings several times
+        for (int i = 0; i < 10; i++) {
+            queue.offer(i);
+        }
+        Assert.assertEquals(queue.peek(), Integer.valueOf(0));
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(queue.poll(), Integer.valueOf(i));
+        }
+        Assert.assertNull(queue.poll());
+
+        // interleaved, the drained ring is reused
+        for (int i = 0; i < 10; i++) {
+            queue.offer(i);
+            Assert.assertEquals(queue.poll(), Integer.valueOf(i));
+        }
+        Assert.assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testConcurrentProducerAndConsumer() throws InterruptedException {
+        SpscRingQueue<Integer> queue = new SpscRingQueue<>(16);
+        int count = 1000000;
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < count; i++) {
+                queue.offer(i);
+            }
+        });
+        producer.start();
+
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        int expected = 0;
+        while (expected < count && System.currentTimeMillis() < deadline) {
+            Integer element = queue.poll();
+            if (element != null) {
+                Assert.assertEquals(element.intValue(), expected);
+                expected++;
+            }
+        }
+        producer.join(TIMEOUT_MILLIS);
+        Assert.assertEquals(expected, count);
+        Assert.assertTrue(queue.isEmpty());
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.jvm.scheduling;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Test cases for {@link WorkStealingRunnableQueue}.
+ */
+public class WorkStealingRunnableQueueTest {
+
+    private static final long TIMEOUT_MILLIS = 10000;
+
+    @Test
+    public void testLocalGroupsAreTakenInLifoOrder() throws InterruptedException {
+        WorkStealingRunnableQueue queue = new WorkStealingRunnableQueue(2);
+        queue.bindWorker(0);
+        ItemGroup first = newGroup();
+        ItemGroup second = newGroup();
+        queue.add(first);
+        queue.add(second);
+        Assert.assertEquals(queue.size(), 2);
+        Assert.assertSame(queue.take(), second);
+        Assert.assertSame(queue.take(), first);
+        Assert.assertEquals(queue.size(), 0);
+        queue.unbindWorker();
+    }
+
+    @Test
+    public void testIdleWorkerStealsQueuedGroup() throws Exception {
+        WorkStealingRunnableQueue queue = new WorkStealingRunnableQueue(2);
+        queue.bindWorker(0);
+        ItemGroup group = newGroup();
+        queue.add(group);
+
+        AtomicReference<ItemGroup> stolen = new AtomicReference<>();
+        Thread thief = new Thread(() -> {
+            queue.bindWorker(1);
+            try {
+                stolen.set(queue.take());
+            } catch (InterruptedException ignored) {
+                // test fails on the assertion below
+            } finally {
+                queue.unbindWorker();
+            }
+        });
+        thief.start();
+        thief.join(TIMEOUT_MILLIS);
+        Assert.assertSame(stolen.get(), group);
+        queue.unbindWorker();
+    }
+
+    @Test
+    public void testExternalAddDoesNotTargetExitedWorker() throws Exception {
+        WorkStealingRunnableQueue queue = new WorkStealingRunnableQueue(2);
+        Thread exited = new Thread(() -> {
+            queue.bindWorker(0);
+            queue.unbindWorker();
+        });
+        exited.start();
+        exited.join(TIMEOUT_MILLIS);
+
+        ItemGroup group = newGroup();
+        group.lastWorker = 0;
+        queue.add(group);
+
+        // The remaining worker picks the group up, and nothing is left behind on the exited worker
+        queue.bindWorker(1);
+        try {
+            Assert.assertSame(queue.take(), group);
+            Assert.assertEquals(queue.size(), 0);
+        } finally {
+            queue.unbindWorker();
+        }
+    }
+
+    @Test
+    public void testGroupsOfExitingWorkerAreHandedOver() throws Exception {
+        WorkStealingRunnableQueue queue = new WorkStealingRunnableQueue(2);
+        ItemGroup group = newGroup();
+        Thread exiting = new Thread(() -> {
+            queue.bindWorker(0);
+            queue.add(group);
+            queue.unbindWorker();
+        });
+        exiting.start();
+        exiting.join(TIMEOUT_MILLIS);
+
+        Assert.assertSame(queue.take(), group);
+        Assert.assertEquals(queue.size(), 0);
+    }
+
+    @Test
+    public void testParkedWorkerIsSignalled() throws Exception {
+        WorkStealingRunnableQueue queue = new WorkStealingRunnableQueue(1);
+        AtomicReference<ItemGroup> taken = new AtomicReference<>();
+        Thread worker = new Thread(() -> {
+            queue.bindWorker(0);
+            try {
+                taken.set(queue.take());
+            } catch (InterruptedException ignored) {
+                // test fails on the assertion below
+            } finally {
+                queue.unbindWorker();
+            }
+        });
+        worker.start();
+
+        // An idle worker waits without a timeout until a group is added
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (worker.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        Assert.assertEquals(worker.getState(), Thread.State.WAITING);
+
+        ItemGroup group = newGroup();
+        queue.add(group);
+        worker.join(TIMEOUT_MILLIS);
+        Assert.assertSame(taken.get(), group);
+    }
+
+    @Test
+    public void testParkedWorkerIsInterrupted() throws Exception {
+        WorkStealingRunnableQueue queue = new WorkStealingRunnableQueue(1);
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        Thread worker = new Thread(() -> {
+            try {
+                queue.take();
+            } catch (InterruptedException e) {
+                thrown.set(e);
+            }
+        });
+        worker.start();
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (worker.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        worker.interrupt();
+        worker.join(TIMEOUT_MILLIS);
+        Assert.assertTrue(thrown.get() instanceof InterruptedException);
+    }
+
+    @Test
+    public void testAllGroupsAreTakenOnce() throws Exception {
+        int workers = 4;
+        int groupsPerProducer = 10000;
+        WorkStealingRunnableQueue queue = new WorkStealingRunnableQueue(workers);
+        Set<ItemGroup> taken = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+        CountDownLatch done = new CountDownLatch(workers * groupsPerProducer);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            final int workerIndex = i;
+            Thread worker = new Thread(() -> {
+                queue.bindWorker(workerIndex);
+                try {
+                    while (true) {
+                        ItemGroup group = queue.take();
+                        if (group == ItemGroup.POISON_PILL) {
+                            return;
+                        }
+                        // Reschedule from the worker thread, as a strand group becoming runnable again
+                        if (group.lastWorker == -1) {
+                            group.lastWorker = workerIndex;
+                            queue.add(group);
+                            continue;
+                        }
+                        Assert.assertTrue(taken.add(group));
+                        done.countDown();
+                    }
+                } catch (InterruptedException ignored) {
+                    // the latch is not released
+                } finally {
+                    queue.unbindWorker();
+                }
+            });
+            threads.add(worker);
+            worker.start();
+        }
+        for (int i = 0; i < workers; i++) {
+            Thread producer = new Thread(() -> {
+                for (int j = 0; j < groupsPerProducer; j++) {
+                    queue.add(newGroup());
+                }
+            });
+            threads.add(producer);
+            producer.start();
+        }
+
+        Assert.assertTrue(done.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(taken.size(), workers * groupsPerProducer);
+        for (int i = 0; i < workers; i++) {
+            queue.addShared(ItemGroup.POISON_PILL);
+        }
+        for (Thread thread : threads) {
+            thread.join(TIMEOUT_MILLIS);
+            Assert.assertFalse(thread.isAlive());
+        }
+        Assert.assertEquals(queue.size(), 0);
+    }
+
+    private static ItemGroup newGroup() {
+        return new ItemGroup(new SchedulerItem(params -> null, new Object[0], null));
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.runtime.test;
+
+import org.ballerinalang.jvm.api.BStringUtils;
+import org.ballerinalang.jvm.api.values.BString;
+import org.ballerinalang.jvm.types.BArrayType;
+import org.ballerinalang.jvm.types.BMapType;
+import org.ballerinalang.jvm.types.BTypes;
+import org.ballerinalang.jvm.values.ArrayValue;
+import org.ballerinalang.jvm.values.ArrayValueImpl;
+import org.ballerinalang.jvm.values.CloneRefs;
+import org.ballerinalang.jvm.values.MapValueImpl;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+
+/**
+ * Test cases for cloning arrays, where the clone shares the store with the original array until either of them is
+ * updated.
+ */
+public class ArrayValueCloneTest {
+
+    @Test
+    public void testIntArray() {
+        ArrayValue original = new ArrayValueImpl(new long[]{3, 1, 2});
+        ArrayValue clone = copy(original);
+        clone.add(0, 10L);
+        Assert.assertEquals(original.getIntArray(), new long[]{3, 1, 2});
+        Assert.assertEquals(clone.getIntArray(), new long[]{10, 1, 2});
+
+        clone = copy(original);
+        original.append(4L);
+        Assert.assertEquals(clone.getIntArray(), new long[]{3, 1, 2});
+        Assert.assertEquals(original.getIntArray(), new long[]{3, 1, 2, 4});
+
+        clone = copy(original);
+        Arrays.sort((long[]) ((ArrayValueImpl) clone).getBackingStoreForUpdate(), 0, clone.size());
+        Assert.assertEquals(clone.getIntArray(), new long[]{1, 2, 3, 4});
+        Assert.assertEquals(original.getIntArray(), new long[]{3, 1, 2, 4});
+    }
+
+    @Test
+    public void testStringArray() {
+        ArrayValue original = new ArrayValueImpl(new BString[]{fromString("a"), fromString("b"), fromString("c")});
+        ArrayValue clone = copy(original);
+        Assert.assertEquals(clone.shift(0), fromString("a"));
+        Assert.assertEquals(original.getStringArray(), new String[]{"a", "b", "c"});
+        Assert.assertEquals(clone.getStringArray(), new String[]{"b", "c"});
+
+        clone = copy(original);
+        clone.setLength(1);
+        Assert.assertEquals(original.getStringArray(), new String[]{"a", "b", "c"});
+        Assert.assertEquals(clone.getStringArray(), new String[]{"a"});
+    }
+
+    @Test
+    public void testJsonArrayOfSimpleValues() {
+        ArrayValue original = jsonArray(1L, fromString("two"), 3.0, true, null);
+        ArrayValue clone = copy(original);
+        assertMembers(clone, 1L, fromString("two"), 3.0, true, null);
+
+        clone.add(1, (Object) fromString("zwei"));
+        clone.append(6L);
+        assertMembers(original, 1L, fromString("two"), 3.0, true, null);
+        assertMembers(clone, 1L, fromString("zwei"), 3.0, true, null, 6L);
+
+        clone = copy(original);
+        original.shift(0);
+        original.setLength(2);
+        assertMembers(clone, 1L, fromString("two"), 3.0, true, null);
+        assertMembers(original, fromString("two"), 3.0);
+    }
+
+    @Test
+    public void testJsonArrayOfImmutableValues() {
+        MapValueImpl<BString, Object> readonlyMember = jsonMap("a", 1L);
+        readonlyMember.freezeDirect();
+        ArrayValue original = jsonArray(readonlyMember, 2L);
+        ArrayValue clone = copy(original);
+        Assert.assertSame(clone.getRefValue(0), readonlyMember);
+
+        clone.add(0, (Object) 5L);
+        Assert.assertSame(original.getRefValue(0), readonlyMember);
+        assertMembers(clone, 5L, 2L);
+    }
+
+    @Test
+    public void testJsonArrayOfMutableValues() {
+        MapValueImpl<BString, Object> member = jsonMap("a", 1L);
+        ArrayValue original = jsonArray(1L, member, fromString("three"));
+        ArrayValue clone = copy(original);
+        MapValueImpl<BString, Object> memberClone = (MapValueImpl<BString, Object>) clone.getRefValue(1);
+        Assert.assertNotSame(memberClone, member);
+        Assert.assertEquals(memberClone.get(fromString("a")), 1L);
+
+        memberClone.put(fromString("a"), 2L);
+        clone.add(0, (Object) 10L);
+        Assert.assertEquals(member.get(fromString("a")), 1L);
+        assertMembers(original, 1L, member, fromString("three"));
+
+        original.add(2, (Object) 30L);
+        Assert.assertEquals(clone.getRefValue(2), fromString("three"));
+    }
+
+    @Test
+    public void testCyclicArray() {
+        ArrayValue original = jsonArray(1L);
+        MapValueImpl<BString, Object> member = jsonMap("self", original);
+        original.append(member);
+
+        ArrayValue clone = copy(original);
+        MapValueImpl<BString, Object> memberClone = (MapValueImpl<BString, Object>) clone.getRefValue(1);
+        Assert.assertSame(memberClone.get(fromString("self")), clone);
+
+        clone.add(0, (Object) 2L);
+        Assert.assertEquals(original.getRefValue(0), 1L);
+        Assert.assertSame(member.get(fromString("self")), original);
+    }
+
+    private static ArrayValue copy(ArrayValue array) {
+        return (ArrayValue) array.copy(new CloneRefs());
+    }
+
+    private static ArrayValue jsonArray(Object... members) {
+        ArrayValue array = new ArrayValueImpl(new BArrayType(BTypes.typeJSON));
+        for (Object member : members) {
+            array.append(member);
+        }
+        return array;
+    }
+
+    private static MapValueImpl<BString, Object> jsonMap(String key, Object value) {
+        MapValueImpl<BString, Object> map = new MapValueImpl<>(new BMapType(BTypes.typeJSON));
+        map.put(fromString(key), value);
+        return map;
+    }
+
+    private static void assertMembers(ArrayValue array, Object... members) {
+        Assert.assertEquals(array.size(), members.length);
+        for (int i = 0; i < members.length; i++) {
+            Assert.assertEquals(array.getRefValue(i), members[i], "member " + i);
+        }
+    }
+
+    private static BString fromString(String str) {
+        return BStringUtils.fromString(str);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.runtime.test;
+
+import org.ballerinalang.jvm.api.BStringUtils;
+import org.ballerinalang.jvm.api.values.BString;
+import org.ballerinalang.jvm.types.BMapType;
+import org.ballerinalang.jvm.types.BTypes;
+import org.ballerinalang.jvm.values.CloneRefs;
+import org.ballerinalang.jvm.values.CloneUtils;
+import org.ballerinalang.jvm.values.MapValueImpl;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Field;
+
+/**
+ * Test cases for tracking the values copied during a clone, where the identity map is only allocated once a member
+ * of the cloned value is copied.
+ */
+public class CloneRefsTest {
+
+    @Test
+    public void testCloneWithoutMutableMembers() throws ReflectiveOperationException {
+        MapValueImpl<BString, Object> original = jsonMap("a", 1L);
+        MapValueImpl<BString, Object> copy = jsonMap("a", 1L);
+        CloneRefs refs = new CloneRefs();
+        Assert.assertNull(refs.get(original));
+        Assert.assertFalse(refs.containsKey(original));
+
+        refs.put(original, copy);
+        Assert.assertSame(refs.get(original), copy);
+        Assert.assertTrue(refs.containsKey(original));
+        Assert.assertNull(refs.get(copy), "values equal to the cloned value are not its copy");
+        Assert.assertEquals(refs.size(), 1);
+        Assert.assertNull(getIdentityMap(refs));
+    }
+
+    @Test
+    public void testCloneWithMutableMembers() throws ReflectiveOperationException {
+        MapValueImpl<BString, Object> original = jsonMap("a", 1L);
+        MapValueImpl<BString, Object> member = jsonMap("a", 1L);
+        CloneRefs refs = new CloneRefs();
+        refs.put(original, "original copy");
+        refs.put(member, "member copy");
+        Assert.assertNotNull(getIdentityMap(refs));
+        Assert.assertEquals(refs.size(), 2);
+        Assert.assertEquals(refs.get(original), "original copy");
+        Assert.assertEquals(refs.get(member), "member copy");
+    }
+
+    @Test
+    public void testCloneCyclicMap() {
+        MapValueImpl<BString, Object> member = jsonMap("a", 1L);
+        MapValueImpl<BString, Object> original = jsonMap("first", member);
+        original.put(fromString("second"), jsonMap("a", 1L));
+        original.put(fromString("self"), original);
+
+        MapValueImpl<BString, Object> clone = (MapValueImpl<BString, Object>) CloneUtils.cloneValue(original);
+        Assert.assertNotSame(clone, original);
+        Assert.assertSame(clone.get(fromString("self")), clone);
+        Assert.assertNotSame(clone.get(fromString("first")), member);
+        Assert.assertNotSame(clone.get(fromString("first")), clone.get(fromString("second")));
+        Assert.assertEquals(((MapValueImpl<?, ?>) clone.get(fromString("first"))).get(fromString("a")), 1L);
+    }
+
+    private static Object getIdentityMap(CloneRefs refs) throws ReflectiveOperationException {
+        Field field = CloneRefs.class.getDeclaredField("refs");
+        field.setAccessible(true);
+        return field.get(refs);
+    }
+
+    private static MapValueImpl<BString, Object> jsonMap(String key, Object value) {
+        MapValueImpl<BString, Object> map = new MapValueImpl<>(new BMapType(BTypes.typeJSON));
+        map.put(fromString(key), value);
+        return map;
+    }
+
+    private static BString fromString(String str) {
+        return BStringUtils.fromString(str);
+    }
+}
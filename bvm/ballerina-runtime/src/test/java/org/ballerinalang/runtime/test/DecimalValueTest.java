@@ -0,0 +1,189 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.runtime.test;
+
+import org.ballerinalang.jvm.DecimalValueKind;
+import org.ballerinalang.jvm.TypeChecker;
+import org.ballerinalang.jvm.values.DecimalValue;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Random;
+
+/**
+ * Test cases for the arithmetic of {@link DecimalValue}, on values held as a scaled long and on values which do not
+ * fit in one.
+ */
+public class DecimalValueTest {
+
+    private static final String MAX_LONG = String.valueOf(Long.MAX_VALUE);
+    private static final String MIN_LONG = String.valueOf(Long.MIN_VALUE);
+
+    @Test
+    public void testCompactArithmetic() {
+        assertDecimal(decimal("1.5").add(decimal("2.25")), "3.75");
+        assertDecimal(decimal("1.50").add(decimal("2")), "3.50");
+        assertDecimal(decimal("10").subtract(decimal("0.001")), "9.999");
+        assertDecimal(decimal("-1.5").subtract(decimal("-1.5")), "0.0");
+        assertDecimal(decimal("1.5").multiply(decimal("-2.25")), "-3.375");
+        assertDecimal(decimal("0.10").multiply(decimal("0.10")), "0.0100");
+        assertDecimal(decimal("12.30").negate(), "-12.30");
+        assertDecimal(decimal("-12.30").abs(), "12.30");
+        assertDecimal(DecimalValue.valueOf(7), "7.0");
+        assertDecimal(DecimalValue.valueOf(7L).add(DecimalValue.valueOf(-7L)), "0.0");
+    }
+
+    @Test
+    public void testScaleIsKept() {
+        Assert.assertEquals(decimal("123.4500").decimalValue().scale(), 4);
+        Assert.assertEquals(decimal("-0.000").decimalValue().scale(), 3);
+        Assert.assertEquals(decimal("1.5").add(decimal("0.25")).decimalValue().scale(), 2);
+        Assert.assertEquals(decimal("1.5").multiply(decimal("0.25")).decimalValue().scale(), 3);
+        Assert.assertEquals(decimal("1e3").decimalValue().scale(), -3);
+        Assert.assertEquals(decimal("1e3").add(decimal("1")), decimal("1001"));
+        Assert.assertEquals(decimal("1e3").add(decimal("1")).decimalValue().scale(), 0);
+    }
+
+    @Test
+    public void testOverflow() {
+        assertDecimal(decimal(MAX_LONG).add(decimal("1")), "9223372036854775808");
+        assertDecimal(decimal(MIN_LONG).subtract(decimal("1")), "-9223372036854775809");
+        assertDecimal(decimal(MIN_LONG).negate(), "9223372036854775808");
+        assertDecimal(decimal(MIN_LONG).abs(), "9223372036854775808");
+        assertDecimal(decimal("4294967296").multiply(decimal("4294967296")), "18446744073709551616");
+        assertDecimal(decimal("-3037000500").multiply(decimal("3037000500")), "-9223372037000250000");
+        // aligning the scales overflows although both values fit, and the sum is rounded to 34 digits
+        assertDecimal(decimal("900000000000000000").add(decimal("0.000000000000000001")),
+                      "900000000000000000.0000000000000000");
+        assertDecimal(decimal("9000000000").add(decimal("0.000000000000000001")),
+                      "9000000000.000000000000000001");
+        // a result of more than 34 digits is rounded as before
+        assertDecimal(decimal("999999999999999999").multiply(decimal("999999999999999999"))
+                              .multiply(decimal("999999999999999999")),
+                      new BigDecimal("999999999999999999").pow(3, MathContext.DECIMAL128).toString());
+        Assert.assertEquals(decimal("1e-20").compareTo(decimal("0")), 1);
+        Assert.assertEquals(decimal(MAX_LONG).compareTo(decimal("0.1")), 1);
+    }
+
+    @Test
+    public void testZero() {
+        Assert.assertEquals(decimal("1.5").subtract(decimal("1.5")).getValueKind(), DecimalValueKind.ZERO);
+        Assert.assertEquals(decimal("0.00").multiply(decimal("7")).getValueKind(), DecimalValueKind.ZERO);
+        Assert.assertEquals(decimal("1.5").add(decimal("-1.50")).getValueKind(), DecimalValueKind.ZERO);
+        Assert.assertEquals(decimal("1.5").getValueKind(), DecimalValueKind.OTHER);
+    }
+
+    @Test
+    public void testComparison() {
+        Assert.assertEquals(decimal("1.50"), decimal("1.5"));
+        Assert.assertEquals(decimal("1.50").compareTo(decimal("1.5")), 0);
+        Assert.assertEquals(decimal("-1.5").compareTo(decimal("-1.49")), -1);
+        Assert.assertTrue(TypeChecker.checkDecimalGreaterThan(decimal("2.001"), decimal("2")));
+        Assert.assertTrue(TypeChecker.checkDecimalGreaterThanOrEqual(decimal("2.000"), decimal("2")));
+        Assert.assertFalse(TypeChecker.checkDecimalGreaterThan(decimal("2.000"), decimal("2")));
+        Assert.assertTrue(TypeChecker.checkDecimalGreaterThan(decimal("1e40"), decimal(MAX_LONG)));
+    }
+
+    @DataProvider(name = "roundingModes")
+    public Object[][] roundingModes() {
+        return new Object[][]{{RoundingMode.CEILING}, {RoundingMode.FLOOR}, {RoundingMode.HALF_EVEN},
+                {RoundingMode.HALF_UP}};
+    }
+
+    @Test(dataProvider = "roundingModes")
+    public void testToIntegralValue(RoundingMode mode) {
+        String[] values = {"2.5", "-2.5", "3.5", "-3.5", "2.4", "-2.6", "7", "-0.1", "0.000", "1e3", "1e-25",
+                "123456789012345678.5", MAX_LONG + ".5", "99999999999999999999.5"};
+        for (String value : values) {
+            assertEquivalent(decimal(value).toIntegralValue(mode),
+                             new DecimalValue(new BigDecimal(value).setScale(0, mode)), value + " " + mode);
+        }
+    }
+
+    @Test
+    public void testMatchesBigDecimal() {
+        Random random = new Random(42);
+        for (int i = 0; i < 50000; i++) {
+            DecimalValue lhs = randomDecimal(random);
+            DecimalValue rhs = randomDecimal(random);
+            BigDecimal lhsValue = lhs.decimalValue();
+            BigDecimal rhsValue = rhs.decimalValue();
+            String operands = lhsValue + ", " + rhsValue;
+            assertEquivalent(lhs.add(rhs), new DecimalValue(lhsValue.add(rhsValue, MathContext.DECIMAL128)),
+                             "add " + operands);
+            assertEquivalent(lhs.subtract(rhs),
+                             new DecimalValue(lhsValue.subtract(rhsValue, MathContext.DECIMAL128)),
+                             "subtract " + operands);
+            assertEquivalent(lhs.multiply(rhs),
+                             new DecimalValue(lhsValue.multiply(rhsValue, MathContext.DECIMAL128)),
+                             "multiply " + operands);
+            Assert.assertEquals(lhs.compareTo(rhs), lhsValue.compareTo(rhsValue), "compare " + operands);
+        }
+    }
+
+    /**
+     * Returns a random non-zero decimal. Operations on zero return one of the operands as they are, and are covered
+     * separately.
+     */
+    private static DecimalValue randomDecimal(Random random) {
+        DecimalValue value;
+        do {
+            value = randomValue(random);
+        } while (value.getValueKind() == DecimalValueKind.ZERO);
+        return value;
+    }
+
+    private static DecimalValue randomValue(Random random) {
+        long unscaled;
+        switch (random.nextInt(4)) {
+            case 0:
+                unscaled = random.nextInt(2000) - 1000;
+                break;
+            case 1:
+                unscaled = random.nextLong() >> random.nextInt(64);
+                break;
+            case 2:
+                unscaled = (random.nextBoolean() ? Long.MAX_VALUE : -Long.MAX_VALUE) - random.nextInt(1000);
+                break;
+            default:
+                return new DecimalValue(new BigDecimal(random.nextLong()).multiply(new BigDecimal(random.nextLong()))
+                                                .movePointLeft(random.nextInt(30)));
+        }
+        int scale = random.nextInt(40) - 10;
+        return new DecimalValue(BigDecimal.valueOf(unscaled, scale).toString());
+    }
+
+    private static void assertEquivalent(DecimalValue actual, DecimalValue expected, String message) {
+        // BigDecimal equality also compares the scale
+        Assert.assertEquals(actual.decimalValue(), expected.decimalValue(), message);
+        Assert.assertEquals(actual.getValueKind(), expected.getValueKind(), message);
+    }
+
+    private static void assertDecimal(DecimalValue actual, String expected) {
+        Assert.assertEquals(actual.decimalValue(), new BigDecimal(expected));
+    }
+
+    private static DecimalValue decimal(String value) {
+        return new DecimalValue(value);
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.runtime.test;
+
+import org.ballerinalang.jvm.JSONDataSource;
+import org.ballerinalang.jvm.JSONGenerator;
+import org.ballerinalang.jvm.JSONParser;
+import org.ballerinalang.jvm.api.BStringUtils;
+import org.ballerinalang.jvm.types.BMapType;
+import org.ballerinalang.jvm.types.BTypes;
+import org.ballerinalang.jvm.values.ArrayValueImpl;
+import org.ballerinalang.jvm.values.DecimalValue;
+import org.ballerinalang.jvm.values.MapValueImpl;
+import org.ballerinalang.jvm.values.StreamingJsonValue;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Test cases for {@link JSONGenerator}.
+ */
+public class JSONGeneratorTest {
+
+    @Test
+    public void testSerialize() throws IOException {
+        MapValueImpl<Object, Object> value = new MapValueImpl<>(new BMapType(BTypes.typeJSON));
+        value.put(BStringUtils.fromString("name"), BStringUtils.fromString("a\"b\\c/d\b\n\r\t\f"));
+        value.put(BStringUtils.fromString("ints"), new ArrayValueImpl(new long[]{0, -1, 42, Long.MAX_VALUE,
+                Long.MIN_VALUE}));
+        value.put(BStringUtils.fromString("floats"), new ArrayValueImpl(new double[]{1.5, -0.0}));
+        value.put(BStringUtils.fromString("flags"), new ArrayValueImpl(new boolean[]{true, false}));
+        value.put(BStringUtils.fromString("decimal"), new DecimalValue("1.50"));
+        value.put(BStringUtils.fromString("nil"), null);
+        value.put(BStringUtils.fromString("nested"), JSONParser.parse("{\"a\": [{}, [], {\"b\": null}]}"));
+
+        String expected = "{\"name\":\"a\\\"b\\\\c\\/d\\b\\n\\r\\t\\f\", "
+                + "\"ints\":[0, -1, 42, 9223372036854775807, -9223372036854775808], \"floats\":[1.5, -0.0], "
+                + "\"flags\":[true, false], \"decimal\":1.50, \"nil\":null, "
+                + "\"nested\":{\"a\":[{}, [], {\"b\":null}]}}";
+        Assert.assertEquals(serializeToBytes(value, StandardCharsets.UTF_8), expected);
+        Assert.assertEquals(value.getJSONString(), expected);
+    }
+
+    @DataProvider(name = "strings")
+    public Object[][] strings() {
+        return new Object[][]{
+                {"plain"},
+                {"café 中文"},
+                {"😀 smile 😀"},
+                {"unpaired \uD83D high"},
+                {"unpaired \uDE00 low"},
+                {"trailing \uD83D"},
+                {repeat("é😀中a\"", 5000)},
+        };
+    }
+
+    @Test(dataProvider = "strings")
+    public void testEncodingMatchesWriter(String str) throws IOException {
+        MapValueImpl<Object, Object> value = new MapValueImpl<>(new BMapType(BTypes.typeJSON));
+        value.put(BStringUtils.fromString(str), BStringUtils.fromString(str));
+        value.put(BStringUtils.fromString("list"), JSONParser.parse("[\"x\", 1, true]"));
+
+        String viaWriter = serializeToWriter(value);
+        byte[] expected = viaWriter.getBytes(StandardCharsets.UTF_8);
+        Assert.assertEquals(serialize(value, StandardCharsets.UTF_8), expected);
+        Assert.assertEquals(serialize(value, StandardCharsets.UTF_16),
+                            viaWriter.getBytes(StandardCharsets.UTF_16));
+    }
+
+    @Test
+    public void testLargeDocument() throws IOException {
+        // enough values and distinct field names to go past the byte buffer and the field name cache
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 2000; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"id\": ").append(i).append(", \"field").append(i % 100)
+                    .append("\": \"vé").append(i).append("\"}");
+        }
+        json.append(']');
+        Object value = JSONParser.parse(json.toString());
+
+        byte[] expected = serializeToWriter(value).getBytes(StandardCharsets.UTF_8);
+        Assert.assertTrue(expected.length > 8192 * 4);
+        Assert.assertEquals(serialize(value, StandardCharsets.UTF_8), expected);
+        Assert.assertEquals(JSONParser.parse(new String(expected, StandardCharsets.UTF_8)).toString(),
+                            value.toString());
+    }
+
+    @Test
+    public void testStreamingJsonValue() {
+        StreamingJsonValue value = new StreamingJsonValue(new ArrayDataSource(
+                JSONParser.parse("{\"a\": 1}"), JSONParser.parse("{\"b\": \"é\"}")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        value.serialize(new JSONGenerator(out, StandardCharsets.UTF_8));
+        Assert.assertEquals(new String(out.toByteArray(), StandardCharsets.UTF_8), "[{\"a\":1}, {\"b\":\"é\"}]");
+    }
+
+    private static String repeat(String str, int times) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            builder.append(str);
+        }
+        return builder.toString();
+    }
+
+    private static byte[] serialize(Object value, Charset charset) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JSONGenerator gen = new JSONGenerator(out, charset);
+        gen.serialize(value);
+        gen.flush();
+        return out.toByteArray();
+    }
+
+    private static String serializeToBytes(Object value, Charset charset) throws IOException {
+        return new String(serialize(value, charset), charset);
+    }
+
+    private static String serializeToWriter(Object value) throws IOException {
+        StringWriter writer = new StringWriter();
+        JSONGenerator gen = new JSONGenerator(writer);
+        gen.serialize(value);
+        gen.flush();
+        return writer.toString();
+    }
+
+    private static class ArrayDataSource implements JSONDataSource {
+
+        private final Iterator<Object> values;
+
+        ArrayDataSource(Object... values) {
+            this.values = Arrays.asList(values).iterator();
+        }
+
+        @Override
+        public void serialize(JSONGenerator gen) throws IOException {
+            while (hasNext()) {
+                gen.serialize(next());
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return values.hasNext();
+        }
+
+        @Override
+        public Object next() {
+            return values.next();
+        }
+
+        @Override
+        public Object build() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
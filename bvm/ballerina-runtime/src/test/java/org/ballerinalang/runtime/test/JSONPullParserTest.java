@@ -0,0 +1,320 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.runtime.test;
+
+import org.ballerinalang.jvm.JSONBinder;
+import org.ballerinalang.jvm.JSONParser;
+import org.ballerinalang.jvm.JSONParser.NonStringValueProcessingMode;
+import org.ballerinalang.jvm.JSONPullParser;
+import org.ballerinalang.jvm.JSONPullParser.Event;
+import org.ballerinalang.jvm.TypeChecker;
+import org.ballerinalang.jvm.api.BErrorCreator;
+import org.ballerinalang.jvm.api.BStringUtils;
+import org.ballerinalang.jvm.api.values.BError;
+import org.ballerinalang.jvm.types.BArrayType;
+import org.ballerinalang.jvm.types.BField;
+import org.ballerinalang.jvm.types.BMapType;
+import org.ballerinalang.jvm.types.BPackage;
+import org.ballerinalang.jvm.types.BRecordType;
+import org.ballerinalang.jvm.types.BType;
+import org.ballerinalang.jvm.types.BTypes;
+import org.ballerinalang.jvm.util.Flags;
+import org.ballerinalang.jvm.util.exceptions.BallerinaException;
+import org.ballerinalang.jvm.values.ArrayValue;
+import org.ballerinalang.jvm.values.DecimalValue;
+import org.ballerinalang.jvm.values.MapValue;
+import org.ballerinalang.jvm.values.MapValueImpl;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Test cases for {@link JSONPullParser} and {@link JSONBinder}.
+ */
+public class JSONPullParserTest {
+
+    private static final BPackage PACKAGE = new BPackage("testorg", "json", "1.0.0");
+
+    @Test
+    public void testEvents() {
+        JSONPullParser parser = parser("{\"a\": [1, \"x\", true, false, null], \"b\": {}}");
+        Event[] expected = {Event.START_OBJECT, Event.FIELD_NAME, Event.START_ARRAY, Event.NUMBER, Event.STRING,
+                Event.TRUE, Event.FALSE, Event.NULL, Event.END_ARRAY, Event.FIELD_NAME, Event.START_OBJECT,
+                Event.END_OBJECT, Event.END_OBJECT, Event.END_DOCUMENT};
+        for (Event event : expected) {
+            Assert.assertEquals(parser.next(), event);
+        }
+    }
+
+    @Test
+    public void testEscapes() {
+        Assert.assertEquals(parseString("\"a\\\"b\\\\c\\/d\""), "a\"b\\c/d");
+        Assert.assertEquals(parseString("\"\\b\\f\\n\\r\\t\""), "\b\f\n\r\t");
+        Assert.assertEquals(parseString("\"\\u0041\\u00e9\\u4e2d\""), "A\u00e9\u4e2d");
+        Assert.assertEquals(parseString("\"\\uD83D\\uDE00\""), "\uD83D\uDE00");
+        Assert.assertEquals(parseString("\"caf\u00e9 \uD83D\uDE00\""), "caf\u00e9 \uD83D\uDE00");
+    }
+
+    @Test
+    public void testFieldNamesAreShared() {
+        JSONPullParser parser = parser("[{\"name\": 1}, {\"name\": 2}]");
+        parser.next();
+        parser.next();
+        parser.next();
+        String first = parser.getText();
+        parser.next();
+        parser.next();
+        parser.next();
+        parser.next();
+        Assert.assertSame(parser.getText(), first);
+    }
+
+    @Test
+    public void testNumbers() {
+        Assert.assertEquals(parse("0"), 0L);
+        Assert.assertEquals(parse("-12"), -12L);
+        Assert.assertEquals(parse("123456789012345678"), 123456789012345678L);
+        Assert.assertEquals(parse(String.valueOf(Long.MAX_VALUE)), Long.MAX_VALUE);
+        Assert.assertEquals(parse(String.valueOf(Long.MIN_VALUE)), Long.MIN_VALUE);
+        Assert.assertEquals(parse("-0"), -0.0);
+        Assert.assertEquals(parse("1.50"), new DecimalValue("1.50"));
+        Assert.assertEquals(parse("2.5E-3"), new DecimalValue("2.5E-3"));
+        Assert.assertEquals(parse("1.5", NonStringValueProcessingMode.FROM_JSON_FLOAT_STRING), 1.5);
+        Assert.assertEquals(parse("1e3", NonStringValueProcessingMode.FROM_JSON_FLOAT_STRING), 1000.0);
+        Assert.assertEquals(parse("7", NonStringValueProcessingMode.FROM_JSON_DECIMAL_STRING),
+                            new DecimalValue("7"));
+        Assert.assertEquals(parse("1e3", NonStringValueProcessingMode.FROM_JSON_DECIMAL_STRING),
+                            new DecimalValue(new BigDecimal("1e3")));
+    }
+
+    @Test
+    public void testNumbersMatchJSONParser() {
+        String[] numbers = {"0", "-0", "7", "-7", "9223372036854775807", "-9223372036854775808", "0.0", "-0.0",
+                "3.14", "1.5E-10", "-2.5e+3", "123456789.123456789", "1e10", "-1E-3"};
+        for (NonStringValueProcessingMode mode : NonStringValueProcessingMode.values()) {
+            for (String number : numbers) {
+                if (mode == NonStringValueProcessingMode.FROM_JSON_STRING && number.indexOf('.') < 0 &&
+                        number.toLowerCase().indexOf('e') >= 0) {
+                    // an exponent without a fraction is not an int
+                    continue;
+                }
+                Object expected = JSONParser.parse(number, mode);
+                Object actual = parse(number, mode);
+                Assert.assertEquals(actual, expected, number + " in " + mode);
+                Assert.assertEquals(actual.getClass(), expected.getClass(), number + " in " + mode);
+            }
+        }
+    }
+
+    @Test
+    public void testNesting() {
+        MapValue<?, ?> value = (MapValue<?, ?>) parse("{\"a\": {\"b\": [1, [2, {\"c\": \"d\"}], []]}, \"e\": {}}");
+        Assert.assertEquals(value.toString(), "{\"a\":{\"b\":[1,[2,{\"c\":\"d\"}],[]]},\"e\":{}}");
+
+        StringBuilder deep = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            deep.append('[');
+        }
+        for (int i = 0; i < 10000; i++) {
+            deep.append(']');
+        }
+        ArrayValue array = (ArrayValue) parse(deep.toString());
+        Assert.assertEquals(array.size(), 1);
+    }
+
+    @Test
+    public void testSkipValue() {
+        JSONPullParser parser = parser("{\"skip\": {\"a\": [1, {\"b\": 2}]}, \"keep\": 3}");
+        parser.next();
+        parser.next();
+        parser.next();
+        parser.skipValue();
+        Assert.assertEquals(parser.next(), Event.FIELD_NAME);
+        Assert.assertEquals(parser.getText(), "keep");
+        parser.next();
+        Assert.assertEquals(parser.getNumber(), 3L);
+    }
+
+    @Test
+    public void testInputStream() {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 5000; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"id\": ").append(i).append(", \"name\": \"n\u00e9").append(i)
+                    .append("\"}");
+        }
+        json.append(']');
+        InputStream in = new ByteArrayInputStream(json.toString().getBytes(StandardCharsets.UTF_8));
+        ArrayValue value = (ArrayValue) JSONParser.parse(in, "UTF-8");
+        Assert.assertEquals(value.size(), 5000);
+        Assert.assertEquals(((MapValue<?, ?>) value.get(4999)).get(BStringUtils.fromString("name")).toString(),
+                            "n\u00e94999");
+    }
+
+    @DataProvider(name = "malformedDocuments")
+    public Object[][] malformedDocuments() {
+        return new Object[][]{
+                {"", "empty JSON document at line: 1 column: 1"},
+                {"   ", "empty JSON document at line: 1 column: 4"},
+                {"{", "expected \" or } at line: 1 column: 2"},
+                {"[", "invalid JSON document"},
+                {"{\"a\":", "invalid JSON document"},
+                {"[1, 2", "unexpected end of JSON document at line: 1 column: 8"},
+                {"[\"a\"", "expected , or ] at line: 1 column: 5"},
+                {"{\"a\" 1}", "expected : at line: 1 column: 6"},
+                {"{\"a\": 1,}", "expected \" at line: 1 column: 10"},
+                {"{a: 1}", "expected \" or } at line: 1 column: 2"},
+                {"[1 2]", "expected , or ] at line: 1 column: 5"},
+                {"{\"a\":1 \"b\"}", "expected , or } at line: 1 column: 9"},
+                {"ballerina", "unrecognized token 'ballerina' at line: 1 column: 11"},
+                {"{\"a\": tru }", "unrecognized token 'tru' at line: 1 column: 11"},
+                {"[1.2.3]", "unrecognized token '1.2.3' at line: 1 column: 8"},
+                {"[1e5]", "unrecognized token '1e5' at line: 1 column: 6"},
+                {"\"abc", "unexpected end of JSON document at line: 1 column: 5"},
+                {"\"\\x\"", "expected escaped characters at line: 1 column: 3"},
+                {"\"\\u12g4\"", "expected hexadecimal value of an unicode character at line: 1 column: 6"},
+                {"[1, 2] 3", "JSON document has already ended at line: 1 column: 10"},
+                {"{\"a\": 1}\n}", "JSON document has already ended at line: 2 column: 1"},
+                {"[\"a\nb\", x]", "unrecognized token 'x' at line: 2 column: 7"},
+                {"[\"\u00e9\uD83D\uDE00\" x]", "expected , or ] at line: 1 column: 8"},
+        };
+    }
+
+    @Test(dataProvider = "malformedDocuments")
+    public void testMalformedInput(String json, String message) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        try {
+            JSONParser.parse(bytes, NonStringValueProcessingMode.FROM_JSON_STRING);
+            Assert.fail("expected '" + json + "' to be rejected");
+        } catch (BallerinaException e) {
+            Assert.assertEquals(e.getMessage(), message);
+        }
+        try {
+            JSONParser.parse(new ByteArrayInputStream(bytes), "UTF-8");
+            Assert.fail("expected '" + json + "' to be rejected");
+        } catch (BallerinaException e) {
+            Assert.assertEquals(e.getMessage(), message);
+        }
+    }
+
+    @Test
+    public void testBindRecord() {
+        BRecordType person = createPerson(true);
+        MapValue<?, ?> value = (MapValue<?, ?>) bind("{\"name\": \"Anne\", \"age\": 30, \"tags\": [\"a\", \"b\"]}",
+                                                     person);
+        Assert.assertSame(value.getType(), person);
+        Assert.assertEquals(value.get(BStringUtils.fromString("name")).toString(), "Anne");
+        Assert.assertEquals(value.get(BStringUtils.fromString("age")), 30L);
+        Assert.assertEquals(value.get(BStringUtils.fromString("tags")).toString(), "[\"a\",\"b\"]");
+    }
+
+    @Test
+    public void testBindArrayAndMap() {
+        BArrayType records = new BArrayType(createPerson(true));
+        ArrayValue array = (ArrayValue) bind("[{\"name\": \"a\"}, {\"name\": \"b\", \"age\": null}]", records);
+        Assert.assertEquals(array.size(), 2);
+        Assert.assertSame(((MapValue<?, ?>) array.get(1)).getType(), records.getElementType());
+
+        BMapType intMap = new BMapType(BTypes.typeInt);
+        MapValue<?, ?> map = (MapValue<?, ?>) bind("{\"x\": 1, \"y\": 2}", intMap);
+        Assert.assertSame(map.getType(), intMap);
+        Assert.assertEquals(map.get(BStringUtils.fromString("y")), 2L);
+    }
+
+    @Test
+    public void testBindMismatchReportsDocumentError() {
+        BRecordType person = createPerson(true);
+        assertConversionError("{\"age\": 1}", person,
+                              "'map<json>' value cannot be converted to 'json:Person'");
+        assertConversionError("{\"name\": \"a\", \"other\": 1}", person,
+                              "'map<json>' value cannot be converted to 'json:Person'");
+        assertConversionError("[{\"name\": 1}]", new BArrayType(person),
+                              "'json[]' value cannot be converted to 'json:Person[]'");
+        // the converter reports the error of a value which is not a member
+        try {
+            bind("\"a\"", BTypes.typeInt);
+            Assert.fail("expected a string not to be converted to an int");
+        } catch (BError e) {
+            Assert.assertEquals(e.getErrorMessage().getValue(), "cannot convert 'string' to 'int'");
+        }
+    }
+
+    @Test
+    public void testBindParsesWholeDocument() {
+        try {
+            bind("[{\"name\": 1}, ]", new BArrayType(createPerson(true)));
+            Assert.fail("expected the document to be rejected");
+        } catch (BallerinaException e) {
+            Assert.assertEquals(e.getMessage(), "unrecognized token ']' at line: 1 column: 18");
+        }
+    }
+
+    private static void assertConversionError(String json, BType targetType, String message) {
+        try {
+            bind(json, targetType);
+            Assert.fail("expected '" + json + "' not to be converted");
+        } catch (BError e) {
+            Assert.assertEquals(((MapValue<?, ?>) e.getDetails()).get(BStringUtils.fromString("message")).toString(),
+                                message);
+        }
+    }
+
+    private static Object bind(String json, BType targetType) {
+        JSONBinder binder = new JSONBinder(MapValueImpl::new, (value, type) -> {
+            if (!TypeChecker.checkIsType(value, type)) {
+                throw BErrorCreator.createError(BStringUtils.fromString("cannot convert '" +
+                        TypeChecker.getType(value) + "' to '" + type + "'"));
+            }
+            return value;
+        });
+        return binder.bindDocument(parser(json), targetType);
+    }
+
+    private static BRecordType createPerson(boolean sealed) {
+        BRecordType recordType = new BRecordType("Person", PACKAGE, 0, sealed, 0);
+        Map<String, BField> fields = new HashMap<>();
+        fields.put("name", new BField(BTypes.typeString, "name", Flags.REQUIRED));
+        fields.put("age", new BField(BTypes.typeJSON, "age", Flags.OPTIONAL));
+        fields.put("tags", new BField(new BArrayType(BTypes.typeString), "tags", Flags.OPTIONAL));
+        recordType.setFields(fields);
+        return recordType;
+    }
+
+    private static JSONPullParser parser(String json) {
+        return new JSONPullParser(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Object parse(String json) {
+        return parse(json, NonStringValueProcessingMode.FROM_JSON_STRING);
+    }
+
+    private static Object parse(String json, NonStringValueProcessingMode mode) {
+        return JSONParser.parse(json.getBytes(StandardCharsets.UTF_8), mode);
+    }
+
+    private static String parseString(String json) {
+        return parse(json).toString();
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.runtime.test;
+
+import org.ballerinalang.jvm.api.BStringUtils;
+import org.ballerinalang.jvm.api.values.BString;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test cases for the rope created when concatenating long strings.
+ */
+public class RopeStringValueTest {
+
+    private static final String ROPE_CLASS = "RopeStringValue";
+    private static final String BMP = "The quick brown fox jumps over the lazy dog. ";
+    private static final String NON_BMP = "C🛸mmander Frav👽r é中 ";
+
+    @Test
+    public void testShortConcatIsCopied() {
+        BString str = fromString("abc").concat(fromString("d😀"));
+        Assert.assertNotEquals(str.getClass().getSimpleName(), ROPE_CLASS);
+        Assert.assertEquals(str.getValue(), "abcd😀");
+        Assert.assertEquals(str.length(), 5);
+    }
+
+    @Test
+    public void testLongConcat() {
+        BString str = fromString(BMP).concat(fromString(NON_BMP));
+        Assert.assertEquals(str.getClass().getSimpleName(), ROPE_CLASS);
+        assertSameString(str, BMP + NON_BMP);
+        // a flattened rope still concatenates
+        assertSameString(str.concat(fromString(BMP)), BMP + NON_BMP + BMP);
+    }
+
+    @Test
+    public void testConcatInLoop() {
+        BString str = fromString("");
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            String part = i % 7 == 0 ? "😀" : String.valueOf((char) ('a' + i % 26));
+            str = str.concat(fromString(part));
+            expected.append(part);
+        }
+        Assert.assertEquals(str.length(), expected.codePointCount(0, expected.length()));
+        // flattening a rope as deep as the loop must not recurse
+        Assert.assertEquals(str.getValue(), expected.toString());
+
+        BString prepended = fromString("");
+        for (int i = 0; i < 100000; i++) {
+            prepended = fromString("x").concat(prepended);
+        }
+        Assert.assertEquals(prepended.getValue().length(), 100000);
+    }
+
+    @Test
+    public void testSubstring() {
+        BString left = fromString(NON_BMP + NON_BMP);
+        BString right = fromString(BMP + NON_BMP);
+        String expected = NON_BMP + NON_BMP + BMP + NON_BMP;
+        int leftLength = left.length();
+        int length = leftLength + right.length();
+        int[][] ranges = {{0, 5}, {3, leftLength}, {leftLength, leftLength + 10}, {leftLength + 3, length},
+                {leftLength - 3, leftLength + 3}, {0, length}, {length, length}, {1, 1}};
+        for (int[] range : ranges) {
+            // a new rope for each range, since a range across both sides flattens the rope
+            BString rope = left.concat(right);
+            Assert.assertEquals(rope.getClass().getSimpleName(), ROPE_CLASS);
+            assertSameString(rope.substring(range[0], range[1]), substring(expected, range[0], range[1]));
+        }
+
+        BString nested = left.concat(right).concat(fromString(BMP));
+        assertSameString(nested.substring(leftLength + 2, leftLength + 20),
+                         substring(expected, leftLength + 2, leftLength + 20));
+        assertSameString(nested, expected + BMP);
+    }
+
+    @Test(expectedExceptions = StringIndexOutOfBoundsException.class)
+    public void testSubstringOutOfRange() {
+        BString rope = fromString(BMP).concat(fromString(BMP));
+        rope.substring(0, rope.length() + 1);
+    }
+
+    @Test
+    public void testMatchesFlatString() {
+        Random random = new Random(7);
+        String[] parts = {BMP, NON_BMP, "a", "😀", "fox", ""};
+        for (int i = 0; i < 200; i++) {
+            BString rope = fromString("");
+            StringBuilder expected = new StringBuilder();
+            for (int j = random.nextInt(40); j >= 0; j--) {
+                String part = parts[random.nextInt(parts.length)];
+                if (random.nextBoolean()) {
+                    rope = rope.concat(fromString(part));
+                    expected.append(part);
+                } else {
+                    rope = fromString(part).concat(rope);
+                    expected.insert(0, part);
+                }
+            }
+            String value = expected.toString();
+            int length = value.codePointCount(0, value.length());
+            int beginIndex = random.nextInt(length + 1);
+            int endIndex = beginIndex + random.nextInt(length - beginIndex + 1);
+            assertSameString(rope.substring(beginIndex, endIndex), substring(value, beginIndex, endIndex));
+            assertSameString(rope, value);
+        }
+    }
+
+    @Test
+    public void testSearch() {
+        BString rope = fromString(NON_BMP).concat(fromString(BMP)).concat(fromString(NON_BMP));
+        BString flat = fromString(NON_BMP + BMP + NON_BMP);
+        for (String search : new String[]{"fox", "Frav", "👽r", "中", "missing"}) {
+            BString str = fromString(search);
+            Assert.assertEquals(rope.indexOf(str, 0), flat.indexOf(str, 0), search);
+            Assert.assertEquals(rope.indexOf(str, 20), flat.indexOf(str, 20), search);
+            Assert.assertEquals(rope.lastIndexOf(str, rope.length() - 1), flat.lastIndexOf(str, flat.length() - 1),
+                                search);
+        }
+        for (int i = 0; i < flat.length(); i++) {
+            Assert.assertEquals(rope.getCodePoint(i), flat.getCodePoint(i));
+        }
+    }
+
+    @Test
+    public void testEquality() {
+        BString rope = fromString(BMP).concat(fromString(NON_BMP));
+        BString flat = fromString(BMP + NON_BMP);
+        Assert.assertEquals(rope, flat);
+        Assert.assertEquals(flat, rope);
+        Assert.assertEquals(rope.hashCode(), flat.hashCode());
+        Assert.assertNotEquals(rope, fromString(NON_BMP).concat(fromString(BMP)));
+    }
+
+    @Test
+    public void testConcurrentFlatten() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (int i = 0; i < 50; i++) {
+                BString rope = fromString("");
+                StringBuilder expectedBuilder = new StringBuilder();
+                for (int j = 0; j < 200; j++) {
+                    String part = j % 2 == 0 ? BMP : NON_BMP;
+                    rope = rope.concat(fromString(part));
+                    expectedBuilder.append(part);
+                }
+                String expected = expectedBuilder.toString();
+                BString shared = rope;
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> results = new ArrayList<>();
+                for (int t = 0; t < 8; t++) {
+                    int offset = t;
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        if (offset % 2 == 0) {
+                            Assert.assertEquals(shared.getValue(), expected);
+                        } else {
+                            assertSameString(shared.substring(offset, offset + 100),
+                                             substring(expected, offset, offset + 100));
+                        }
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> result : results) {
+                    result.get(10, TimeUnit.SECONDS);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void assertSameString(BString actual, String expected) {
+        Assert.assertEquals(actual.length(), expected.codePointCount(0, expected.length()));
+        Assert.assertEquals(actual.getValue(), expected);
+        Assert.assertEquals(actual.toString(), expected);
+    }
+
+    private static String substring(String str, int beginIndex, int endIndex) {
+        return str.substring(str.offsetByCodePoints(0, beginIndex), str.offsetByCodePoints(0, endIndex));
+    }
+
+    private static BString fromString(String str) {
+        return BStringUtils.fromString(str);
+    }
+}
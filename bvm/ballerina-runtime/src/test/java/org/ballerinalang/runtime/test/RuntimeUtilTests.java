@@ -64,6 +64,18 @@ public class RuntimeUtilTests {
         }
     }
 
+    @Test
+    public void testCodePointCompare() {
+        // U+1F600 is encoded as a surrogate pair, which sorts below U+FF21 in UTF-16 code unit order
+        String supplementary = new String(Character.toChars(0x1F600));
+        Assert.assertTrue(RuntimeUtils.codePointCompare(supplementary, "\uFF21") > 0);
+        Assert.assertTrue(RuntimeUtils.codePointCompare("\uFF21", supplementary) < 0);
+        Assert.assertTrue(RuntimeUtils.codePointCompare("\uE000", supplementary) < 0);
+        Assert.assertTrue(RuntimeUtils.codePointCompare("abc", "abd") < 0);
+        Assert.assertTrue(RuntimeUtils.codePointCompare("ab", "abc") < 0);
+        Assert.assertEquals(RuntimeUtils.codePointCompare("a" + supplementary, "a" + supplementary), 0);
+    }
+
     private void testVersionsNegative(String compiledVersion, String runtimeVersion, String supportedRange) {
         this.baos.reset();
         System.setProperty(JAVA_VERSION_PROPERTY, runtimeVersion);
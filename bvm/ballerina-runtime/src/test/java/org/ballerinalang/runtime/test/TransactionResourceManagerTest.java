@@ -0,0 +1,185 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.runtime.test;
+
+import org.ballerinalang.jvm.scheduling.Strand;
+import org.ballerinalang.jvm.transactions.BallerinaTransactionContext;
+import org.ballerinalang.jvm.transactions.TransactionLocalContext;
+import org.ballerinalang.jvm.transactions.TransactionResourceManager;
+import org.ballerinalang.jvm.transactions.TransactionStats;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.transaction.xa.XAResource;
+
+/**
+ * Test cases for the registry of {@link TransactionResourceManager}, which keeps the state of each transaction
+ * until its last transaction block with resources commits or aborts.
+ */
+public class TransactionResourceManagerTest {
+
+    private final TransactionResourceManager manager = TransactionResourceManager.getInstance();
+
+    @Test
+    public void testCommit() {
+        TransactionStats stats = manager.getStats();
+        long inFlight = stats.getInFlightCount();
+        long commits = stats.getCommitCount();
+        String transactionId = UUID.randomUUID().toString();
+        Resource first = new Resource();
+        Resource second = new Resource();
+        manager.register(transactionId, "block", first);
+        manager.register(transactionId, "block", second);
+        Assert.assertEquals(stats.getInFlightCount(), inFlight + 1);
+
+        Assert.assertTrue(manager.prepare(transactionId, "block"));
+        Assert.assertTrue(manager.notifyCommit(strand(transactionId), transactionId, "block"));
+        assertEnded(first, 1, 0);
+        assertEnded(second, 1, 0);
+        Assert.assertEquals(stats.getInFlightCount(), inFlight);
+        Assert.assertEquals(stats.getCommitCount(), commits + 1);
+
+        // the resources are not committed again
+        manager.notifyCommit(strand(transactionId), transactionId, "block");
+        assertEnded(first, 1, 0);
+    }
+
+    @Test
+    public void testResourceFailure() {
+        String transactionId = UUID.randomUUID().toString();
+        Resource resource = new Resource();
+        manager.register(transactionId, "block", resource);
+        manager.notifyResourceFailure(transactionId);
+        Assert.assertFalse(manager.prepare(transactionId, "block"));
+        Assert.assertTrue(manager.notifyAbort(strand(transactionId), transactionId, "block", null));
+        assertEnded(resource, 0, 1);
+
+        // a retry of the transaction starts without the failure
+        Resource retried = new Resource();
+        manager.register(transactionId, "block", retried);
+        Assert.assertTrue(manager.prepare(transactionId, "block"));
+        manager.notifyAbort(strand(transactionId), transactionId, "block", null);
+        assertEnded(retried, 0, 1);
+    }
+
+    @Test
+    public void testBlocksEndSeparately() {
+        TransactionStats stats = manager.getStats();
+        long inFlight = stats.getInFlightCount();
+        String transactionId = UUID.randomUUID().toString();
+        Resource first = new Resource();
+        Resource second = new Resource();
+        manager.register(transactionId, "first", first);
+        manager.register(transactionId, "second", second);
+
+        manager.notifyCommit(strand(transactionId), transactionId, "first");
+        assertEnded(first, 1, 0);
+        assertEnded(second, 0, 0);
+        Assert.assertEquals(stats.getInFlightCount(), inFlight + 1);
+
+        manager.notifyAbort(strand(transactionId), transactionId, "second", null);
+        assertEnded(second, 0, 1);
+        Assert.assertEquals(stats.getInFlightCount(), inFlight);
+    }
+
+    @Test
+    public void testConcurrentTransactions() throws Exception {
+        int threads = 8;
+        int transactionsPerThread = 2000;
+        long inFlight = manager.getStats().getInFlightCount();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<List<Resource>>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                List<Resource> resources = new ArrayList<>();
+                for (int j = 0; j < transactionsPerThread; j++) {
+                    String transactionId = UUID.randomUUID().toString();
+                    Resource resource = new Resource();
+                    resources.add(resource);
+                    manager.register(transactionId, "block", resource);
+                    if (j % 3 == 0) {
+                        manager.notifyAbort(strand(transactionId), transactionId, "block", null);
+                    } else {
+                        manager.prepare(transactionId, "block");
+                        manager.notifyCommit(strand(transactionId), transactionId, "block");
+                    }
+                }
+                return resources;
+            }));
+        }
+        try {
+            for (Future<List<Resource>> future : futures) {
+                for (Resource resource : future.get()) {
+                    Assert.assertEquals(resource.commits.get() + resource.rollbacks.get(), 1);
+                    Assert.assertEquals(resource.closes.get(), 1);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertEquals(manager.getStats().getInFlightCount(), inFlight);
+    }
+
+    private static void assertEnded(Resource resource, int commits, int rollbacks) {
+        Assert.assertEquals(resource.commits.get(), commits);
+        Assert.assertEquals(resource.rollbacks.get(), rollbacks);
+        Assert.assertEquals(resource.closes.get(), commits + rollbacks);
+    }
+
+    private static Strand strand(String transactionId) {
+        Strand strand = new Strand("transaction", null, null, null, null);
+        strand.currentTrxContext = TransactionLocalContext.create(transactionId, "http://localhost", "2pc");
+        return strand;
+    }
+
+    private static class Resource implements BallerinaTransactionContext {
+
+        private final AtomicInteger commits = new AtomicInteger();
+        private final AtomicInteger rollbacks = new AtomicInteger();
+        private final AtomicInteger closes = new AtomicInteger();
+
+        @Override
+        public void commit() {
+            commits.incrementAndGet();
+        }
+
+        @Override
+        public void rollback() {
+            rollbacks.incrementAndGet();
+        }
+
+        @Override
+        public void close() {
+            closes.incrementAndGet();
+        }
+
+        @Override
+        public XAResource getXAResource() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.runtime.test;
+
+import org.ballerinalang.jvm.TypeCheckCache;
+import org.ballerinalang.jvm.TypeChecker;
+import org.ballerinalang.jvm.types.BArrayType;
+import org.ballerinalang.jvm.types.BField;
+import org.ballerinalang.jvm.types.BMapType;
+import org.ballerinalang.jvm.types.BPackage;
+import org.ballerinalang.jvm.types.BRecordType;
+import org.ballerinalang.jvm.types.BType;
+import org.ballerinalang.jvm.types.BTypes;
+import org.ballerinalang.jvm.types.BUnionType;
+import org.ballerinalang.jvm.util.Flags;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Test cases for {@link TypeCheckCache}.
+ */
+public class TypeCheckCacheTest {
+
+    private static final BPackage PACKAGE = new BPackage("testorg", "cache", "1.0.0");
+
+    @Test
+    public void testNamedTypeRelationIsMemoized() {
+        BRecordType person = createRecord("Person", BTypes.typeString);
+        BRecordType employee = createRecord("Employee", BTypes.typeString);
+        BRecordType counter = createRecord("Counter", BTypes.typeInt);
+
+        int size = TypeCheckCache.getSize();
+        long hits = TypeCheckCache.getHitCount();
+        Assert.assertTrue(TypeChecker.checkIsType(employee, person));
+        Assert.assertFalse(TypeChecker.checkIsType(counter, person));
+        Assert.assertEquals(TypeCheckCache.getSize(), size + 2);
+
+        Assert.assertTrue(TypeChecker.checkIsType(employee, person));
+        Assert.assertFalse(TypeChecker.checkIsType(counter, person));
+        Assert.assertEquals(TypeCheckCache.getHitCount(), hits + 2);
+        Assert.assertEquals(TypeCheckCache.getSize(), size + 2);
+    }
+
+    @Test
+    public void testAnonymousTypeRelationIsNotMemoized() {
+        BRecordType person = createRecord("Person", BTypes.typeString);
+        int size = TypeCheckCache.getSize();
+        long misses = TypeCheckCache.getMissCount();
+
+        // types created for a single check must not be kept alive by the memo
+        BType stringMap = new BMapType(new BUnionType(Arrays.asList(BTypes.typeString, BTypes.typeInt)));
+        Assert.assertTrue(TypeChecker.checkIsType(person, stringMap));
+        Assert.assertTrue(TypeChecker.checkIsType(new BArrayType(person), new BArrayType(BTypes.typeAny)));
+
+        Assert.assertEquals(TypeCheckCache.getSize(), size);
+        Assert.assertEquals(TypeCheckCache.getMissCount(), misses);
+    }
+
+    private static BRecordType createRecord(String name, BType fieldType) {
+        BRecordType recordType = new BRecordType(name, PACKAGE, 0, true, 0);
+        Map<String, BField> fields = new HashMap<>();
+        fields.put("name", new BField(fieldType, "name", Flags.REQUIRED));
+        recordType.setFields(fields);
+        return recordType;
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.runtime.test;
+
+import org.ballerinalang.jvm.TypeConversionMemo;
+import org.ballerinalang.jvm.TypeConverter;
+import org.ballerinalang.jvm.api.BStringUtils;
+import org.ballerinalang.jvm.types.BField;
+import org.ballerinalang.jvm.types.BMapType;
+import org.ballerinalang.jvm.types.BPackage;
+import org.ballerinalang.jvm.types.BRecordType;
+import org.ballerinalang.jvm.types.BType;
+import org.ballerinalang.jvm.types.BTypes;
+import org.ballerinalang.jvm.types.BUnionType;
+import org.ballerinalang.jvm.util.Flags;
+import org.ballerinalang.jvm.values.MapValueImpl;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test cases for the memoized convertibility checks of {@link TypeConverter}, which must give the same types as the
+ * checks without a memo.
+ */
+public class TypeConverterTest {
+
+    private static final BPackage PACKAGE = new BPackage("testorg", "conversion", "1.0.0");
+
+    @Test
+    public void testNestedRecords() {
+        BRecordType inner = createRecord("Inner", true, null, field("name", BTypes.typeString, true));
+        BRecordType outer = createRecord("Outer", true, null, field("a", inner, true), field("b", inner, false));
+
+        MapValueImpl<Object, Object> innerValue = map("name", "x");
+        assertConvertible(map("a", innerValue), outer, outer);
+        // the same value as the member of both fields
+        assertConvertible(map("a", innerValue, "b", innerValue), outer, outer);
+
+        assertConvertible(map("b", innerValue), outer);
+        assertConvertible(map("a", map("name", 1L)), outer);
+        assertConvertible(map("a", innerValue, "c", innerValue), outer);
+    }
+
+    @Test
+    public void testRestField() {
+        BRecordType open = createRecord("Open", false, BTypes.typeInt, field("name", BTypes.typeString, true));
+        assertConvertible(map("name", "x", "count", 1L), open, open);
+        assertConvertible(map("name", "x", "count", "one"), open);
+    }
+
+    @Test
+    public void testUnionOfRecords() {
+        BRecordType first = createRecord("First", false, BTypes.typeAnydata, field("id", BTypes.typeInt, true));
+        BRecordType second = createRecord("Second", false, BTypes.typeAnydata, field("id", BTypes.typeInt, false));
+        BRecordType third = createRecord("Third", true, null, field("key", BTypes.typeString, true));
+        BType union = new BUnionType(Arrays.asList(first, second, third));
+
+        // an ambiguous conversion must still give every matching member
+        assertConvertible(map("id", 1L), union, first, second);
+        assertConvertible(map("key", "k"), union, second, third);
+        assertConvertible(map("id", "1"), union);
+    }
+
+    @Test
+    public void testCyclicValue() {
+        BRecordType node = new BRecordType("Node", PACKAGE, 0, true, 0);
+        BType nextType = new BUnionType(Arrays.asList(node, BTypes.typeNull));
+        node.setFields(fields(field("value", BTypes.typeInt, true), field("next", nextType, false)));
+
+        MapValueImpl<Object, Object> first = map("value", 1L);
+        MapValueImpl<Object, Object> second = map("value", 2L, "next", first);
+        first.put(BStringUtils.fromString("next"), second);
+        assertConvertible(first, node, node);
+
+        second.put(BStringUtils.fromString("value"), BStringUtils.fromString("two"));
+        assertConvertible(first, node);
+    }
+
+    @Test
+    public void testMemoSharedByChecks() {
+        BRecordType inner = createRecord("Inner", true, null, field("name", BTypes.typeString, true));
+        BRecordType outer = createRecord("Outer", true, null, field("a", inner, true));
+        MapValueImpl<Object, Object> innerValue = map("name", "x");
+        MapValueImpl<Object, Object> outerValue = map("a", innerValue);
+
+        TypeConversionMemo memo = new TypeConversionMemo();
+        Assert.assertEquals(TypeConverter.getConvertibleTypes(outerValue, outer, new ArrayList<>(), memo),
+                            Collections.singletonList(outer));
+        Assert.assertEquals(TypeConverter.getConvertibleTypes(innerValue, inner, new ArrayList<>(), memo),
+                            Collections.singletonList(inner));
+        Assert.assertEquals(TypeConverter.getConvertibleTypes(innerValue, outer, new ArrayList<>(), memo),
+                            Collections.emptyList());
+        Assert.assertEquals(TypeConverter.getConvertibleTypesFromJson(outerValue, outer, new ArrayList<>(), memo),
+                            Collections.singletonList(outer));
+    }
+
+    private static void assertConvertible(Object value, BType targetType, BType... expected) {
+        List<BType> expectedTypes = Arrays.asList(expected);
+        Assert.assertEquals(TypeConverter.getConvertibleTypes(value, targetType), expectedTypes);
+        Assert.assertEquals(TypeConverter.getConvertibleTypes(value, targetType, new ArrayList<>(),
+                                                              new TypeConversionMemo()), expectedTypes);
+        Assert.assertEquals(TypeConverter.getConvertibleTypesFromJson(value, targetType, new ArrayList<>()),
+                            expectedTypes);
+        Assert.assertEquals(TypeConverter.getConvertibleTypesFromJson(value, targetType, new ArrayList<>(),
+                                                                      new TypeConversionMemo()), expectedTypes);
+    }
+
+    private static BRecordType createRecord(String name, boolean sealed, BType restFieldType, BField... fields) {
+        return new BRecordType(name, PACKAGE, 0, fields(fields), restFieldType, sealed, 0);
+    }
+
+    private static Map<String, BField> fields(BField... fields) {
+        Map<String, BField> fieldMap = new LinkedHashMap<>();
+        for (BField field : fields) {
+            fieldMap.put(field.getFieldName(), field);
+        }
+        return fieldMap;
+    }
+
+    private static BField field(String name, BType type, boolean required) {
+        return new BField(type, name, required ? Flags.REQUIRED : Flags.OPTIONAL);
+    }
+
+    private static MapValueImpl<Object, Object> map(Object... entries) {
+        MapValueImpl<Object, Object> map = new MapValueImpl<>(new BMapType(BTypes.typeAnydata));
+        for (int i = 0; i < entries.length; i += 2) {
+            Object value = entries[i + 1] instanceof String ? BStringUtils.fromString((String) entries[i + 1]) :
+                    entries[i + 1];
+            map.put(BStringUtils.fromString((String) entries[i]), value);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,137 @@
+/*
+*  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+
+package org.ballerinalang.runtime.test;
+
+import org.ballerinalang.jvm.scheduling.Scheduler;
+import org.ballerinalang.jvm.scheduling.Strand;
+import org.ballerinalang.jvm.scheduling.WorkerDataChannel;
+import org.ballerinalang.jvm.values.ChannelDetails;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.function.Function;
+
+/**
+ * Fan-in tests for {@link WorkerDataChannel}s, where sender strands push messages over their own channel to a single
+ * receiver strand, the way named workers of a function send to a common worker. Senders either send asynchronously,
+ * send synchronously, or send asynchronously and flush at the end.
+ */
+public class WorkerDataChannelTest {
+
+    private static final int[] WORKER_COUNTS = {2, 4, 8, 16, 32, 64};
+
+    private enum SendMode {
+        ASYNC, SYNC, FLUSH
+    }
+
+    @Test
+    public void testAsyncSendFanIn() {
+        for (int workers : WORKER_COUNTS) {
+            runFanIn(4, workers, 1000, SendMode.ASYNC);
+        }
+    }
+
+    @Test
+    public void testSyncSendFanIn() {
+        for (int workers : WORKER_COUNTS) {
+            runFanIn(4, workers, 100, SendMode.SYNC);
+        }
+    }
+
+    @Test
+    public void testFlushFanIn() {
+        for (int workers : WORKER_COUNTS) {
+            runFanIn(4, workers, 1000, SendMode.FLUSH);
+        }
+    }
+
+    /**
+     * Runs a fan-in of {@code workers - 1} senders to one receiver.
+     */
+    private static void runFanIn(int threads, int workers, int messagesPerSender, SendMode mode) {
+        Scheduler scheduler = new Scheduler(threads, false);
+        Strand parent = new Strand("parent", null, scheduler, null, null);
+        int senders = workers - 1;
+        WorkerDataChannel[] channels = new WorkerDataChannel[senders];
+        for (int i = 0; i < senders; i++) {
+            channels[i] = parent.wdChannels.getWorkerDataChannel(channelName(i));
+        }
+
+        long[] sum = new long[1];
+        int[] received = new int[1];
+        int total = senders * messagesPerSender;
+        Function<Object[], Object> receiver = params -> {
+            Strand strand = (Strand) params[0];
+            while (received[0] < total) {
+                Object value;
+                try {
+                    value = channels[received[0] % senders].tryTakeData(strand);
+                } catch (Throwable t) {
+                    throw new AssertionError(t);
+                }
+                if (strand.isYielded()) {
+                    // the scheduler calls the function again once a sender unblocks the strand
+                    return null;
+                }
+                sum[0] += (Long) value;
+                received[0]++;
+            }
+            return null;
+        };
+        scheduler.schedule(new Object[1], receiver, parent, null, "receiver", null);
+        for (int i = 0; i < senders; i++) {
+            WorkerDataChannel channel = channels[i];
+            ChannelDetails[] flushChannels = {new ChannelDetails(channelName(i), false, true)};
+            long[] sent = new long[1];
+            Function<Object[], Object> sender = params -> {
+                Strand strand = (Strand) params[0];
+                try {
+                    while (sent[0] < messagesPerSender) {
+                        if (mode == SendMode.SYNC) {
+                            Assert.assertNull(channel.syncSendData(sent[0], strand));
+                            if (strand.isYielded()) {
+                                // called again to complete the sync send once the receiver takes the message
+                                return null;
+                            }
+                        } else {
+                            channel.sendData(sent[0], strand);
+                        }
+                        sent[0]++;
+                    }
+                    if (mode == SendMode.FLUSH) {
+                        Assert.assertNull(strand.handleFlush(flushChannels));
+                    }
+                } catch (Throwable t) {
+                    throw new AssertionError(t);
+                }
+                return null;
+            };
+            scheduler.schedule(new Object[1], sender, parent, null, "sender" + i, null);
+        }
+
+        scheduler.start();
+
+        Assert.assertEquals(received[0], total);
+        Assert.assertEquals(sum[0], (long) senders * messagesPerSender * (messagesPerSender - 1) / 2);
+    }
+
+    private static String channelName(int sender) {
+        return "w" + sender + "->receiver";
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.runtime.test;
+
+import org.ballerinalang.jvm.XMLFactory;
+import org.ballerinalang.jvm.XMLNodeType;
+import org.ballerinalang.jvm.XMLStreamIterator;
+import org.ballerinalang.jvm.api.values.BError;
+import org.ballerinalang.jvm.api.values.BXML;
+import org.ballerinalang.jvm.values.XMLSequence;
+import org.ballerinalang.jvm.values.XMLValue;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Test cases for {@link XMLStreamIterator}.
+ */
+public class XMLStreamIteratorTest {
+
+    private static final String FEED = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<!-- feed -->"
+            + "<feed xmlns=\"http://www.w3.org/2005/Atom\" xmlns:ex=\"http://example.com\">"
+            + "<title type=\"text\">Feed</title>"
+            + "<entry ex:id=\"1\"><title>First é</title><ex:note>one</ex:note></entry>"
+            + "<!-- between -->"
+            + "<?target data?>"
+            + "<ex:entry><title>Second 😀</title></ex:entry>"
+            + "<entry><content><![CDATA[<not>markup</not>]]></content></entry>"
+            + "</feed>";
+
+    @Test
+    public void testMatchesParse() {
+        List<XMLValue> children = readAll(XMLFactory.parseChildren(stream(FEED), null, null));
+        List<BXML> expected = rootChildren(FEED);
+        Assert.assertEquals(children.size(), expected.size());
+        for (int i = 0; i < children.size(); i++) {
+            Assert.assertEquals(children.get(i).getNodeType(), expected.get(i).getNodeType(), "child " + i);
+            Assert.assertEquals(children.get(i).toString(), expected.get(i).toString(), "child " + i);
+        }
+        Assert.assertEquals(children.get(1).getElementName(), "{http://www.w3.org/2005/Atom}entry");
+        Assert.assertEquals(children.get(4).getElementName(), "{http://example.com}entry");
+    }
+
+    @Test
+    public void testReader() {
+        List<XMLValue> children = readAll(XMLFactory.parseChildren(new StringReader(FEED), null));
+        Assert.assertEquals(children.size(), rootChildren(FEED).size());
+        Assert.assertEquals(children.get(4).toString(), rootChildren(FEED).get(4).toString());
+    }
+
+    @Test
+    public void testCharset() {
+        String doc = "<?xml version=\"1.0\" encoding=\"UTF-16\"?><a><b>é中😀</b></a>";
+        XMLStreamIterator children = new XMLStreamIterator(
+                new ByteArrayInputStream(doc.getBytes(StandardCharsets.UTF_16)), null, null);
+        Assert.assertEquals(((XMLValue) children.next()).getTextValue(), "é中😀");
+
+        children = new XMLStreamIterator(new ByteArrayInputStream("<a><b>é</b></a>".getBytes(
+                StandardCharsets.ISO_8859_1)), "ISO-8859-1", null);
+        Assert.assertEquals(((XMLValue) children.next()).getTextValue(), "é");
+    }
+
+    @Test
+    public void testSkipByQualifiedName() {
+        // only the entries in the default namespace, not the one in the ex namespace
+        List<XMLValue> children = readAll(new XMLStreamIterator(stream(FEED), null,
+                names("{http://www.w3.org/2005/Atom}entry")));
+        Assert.assertEquals(elementNames(children), Arrays.asList("{http://www.w3.org/2005/Atom}title",
+                                                                  "{http://example.com}entry"));
+
+        children = readAll(new XMLStreamIterator(stream(FEED), null, names("{http://example.com}entry",
+                                                                           "{http://www.w3.org/2005/Atom}title")));
+        Assert.assertEquals(elementNames(children), Arrays.asList("{http://www.w3.org/2005/Atom}entry",
+                                                                  "{http://www.w3.org/2005/Atom}entry"));
+
+        // a local name alone matches only elements in no namespace
+        children = readAll(new XMLStreamIterator(stream(FEED), null, names("entry", "title")));
+        Assert.assertEquals(elementNames(children).size(), 4);
+
+        children = readAll(new XMLStreamIterator(stream("<a><b/><c><b/></c><b><b/></b><d/></a>"), null,
+                                                 names("b")));
+        Assert.assertEquals(elementNames(children), Arrays.asList("c", "d"));
+        Assert.assertEquals(children.get(0).toString(), "<c><b/></c>");
+    }
+
+    @Test
+    public void testEmptyRoot() {
+        XMLStreamIterator children = new XMLStreamIterator(stream("<a/>"), null, null);
+        Assert.assertFalse(children.hasNext());
+        Assert.assertFalse(new XMLStreamIterator(stream("<a></a>"), null, null).hasNext());
+    }
+
+    @Test(expectedExceptions = NoSuchElementException.class)
+    public void testNextAfterEnd() {
+        XMLStreamIterator children = new XMLStreamIterator(stream("<a><b/></a>"), null, null);
+        children.next();
+        children.next();
+    }
+
+    @Test
+    public void testMalformed() {
+        XMLStreamIterator children = new XMLStreamIterator(stream("<a><b>1</b><c>2</d></a>"), null, null);
+        Assert.assertEquals(children.next().toString(), "<b>1</b>");
+        try {
+            children.next();
+            Assert.fail("expected a parse error");
+        } catch (BError e) {
+            Assert.assertTrue(e.getMessage().startsWith("failed to create xml: "), e.getMessage());
+        }
+        Assert.assertFalse(children.hasNext());
+    }
+
+    @Test
+    public void testMalformedProlog() {
+        try {
+            new XMLStreamIterator(stream("<?xml version=\"1.0\"?><<a/>"), null, null);
+            Assert.fail("expected a parse error");
+        } catch (BError e) {
+            Assert.assertTrue(e.getMessage().startsWith("failed to create xml: "), e.getMessage());
+        }
+    }
+
+    @Test
+    public void testClose() {
+        ClosingStream in = new ClosingStream("<a><b/><c/></a>");
+        XMLStreamIterator children = new XMLStreamIterator(in, null, null);
+        Assert.assertTrue(children.hasNext());
+        children.close();
+        Assert.assertTrue(in.closed);
+        Assert.assertFalse(children.hasNext());
+
+        // the stream is also closed once the root element ends
+        in = new ClosingStream("<a><b/></a>");
+        readAll(new XMLStreamIterator(in, null, null));
+        Assert.assertTrue(in.closed);
+    }
+
+    @Test
+    public void testLargeFeed() {
+        int entries = 20000;
+        StringBuilder feed = new StringBuilder("<feed>");
+        for (int i = 0; i < entries; i++) {
+            feed.append("<entry id=\"").append(i).append("\"><title>Entry ").append(i).append("</title></entry>");
+            if (i % 100 == 0) {
+                feed.append("<skip><entry/></skip>");
+            }
+        }
+        feed.append("</feed>");
+        XMLStreamIterator children = new XMLStreamIterator(stream(feed.toString()), null, names("skip"));
+        int count = 0;
+        while (children.hasNext()) {
+            XMLValue child = (XMLValue) children.next();
+            Assert.assertEquals(child.getAttribute("id", null).getValue(), String.valueOf(count));
+            count++;
+        }
+        Assert.assertEquals(count, entries);
+    }
+
+    private static List<XMLValue> readAll(XMLStreamIterator iterator) {
+        List<XMLValue> children = new ArrayList<>();
+        while (iterator.hasNext()) {
+            children.add((XMLValue) iterator.next());
+        }
+        return children;
+    }
+
+    private static List<BXML> rootChildren(String doc) {
+        XMLValue value = XMLFactory.parse(doc);
+        for (BXML item : ((XMLSequence) value).getChildrenList()) {
+            if (item.getNodeType() == XMLNodeType.ELEMENT) {
+                return ((XMLSequence) item.children()).getChildrenList();
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    private static List<String> elementNames(List<XMLValue> children) {
+        List<String> names = new ArrayList<>();
+        for (XMLValue child : children) {
+            if (child.getNodeType() == XMLNodeType.ELEMENT) {
+                names.add(child.getElementName());
+            }
+        }
+        return names;
+    }
+
+    private static Set<String> names(String... names) {
+        return new HashSet<>(Arrays.asList(names));
+    }
+
+    private static InputStream stream(String doc) {
+        return new ByteArrayInputStream(doc.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static class ClosingStream extends ByteArrayInputStream {
+
+        private boolean closed;
+
+        ClosingStream(String doc) {
+            super(doc.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
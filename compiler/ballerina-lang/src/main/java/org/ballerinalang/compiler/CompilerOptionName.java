@@ -56,6 +56,10 @@ public enum CompilerOptionName {
 
     LOCK_ENABLED("lockEnabled"),
 
+    INLINE_BUDGET("inlineBudget"),
+
+    DUMP_INLINING("dumpInlining"),
+
     EXPERIMENTAL_FEATURES_ENABLED("experimentalFeaturesEnabled"),
 
     TOOLING_COMPILATION("toolingCompilation");
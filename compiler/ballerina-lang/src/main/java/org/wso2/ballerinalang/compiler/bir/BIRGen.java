@@ -271,9 +271,10 @@ public class BIRGen extends BLangNodeVisitor {
                     testPkg.imports.remove(mod);
                 }
                 testPkg.accept(this);
-                this.birOptimizer.optimizePackage(testBirPkg);
-                testPkg.symbol.bir = testBirPkg;
                 Map<String, String> mockFunctionMap = astPkg.getTestablePkg().getMockFunctionNamesMap();
+                // calls to mocked functions are replaced after optimizing, so they must not be inlined
+                this.birOptimizer.optimizePackage(testBirPkg, mockFunctionMap.isEmpty());
+                testPkg.symbol.bir = testBirPkg;
                 if (!mockFunctionMap.isEmpty()) {
                     replaceMockedFunctions(testBirPkg, mockFunctionMap);
                 }
@@ -205,6 +205,7 @@ public class JvmMethodGen {
     private final JvmPackageGen jvmPackageGen;
     private final SymbolTable symbolTable;
     private final BUnionType errorOrNilType;
+    private YieldAnalyzer yieldAnalyzer;
 
     JvmMethodGen(JvmPackageGen jvmPackageGen) {
 
@@ -255,12 +256,19 @@ public class JvmMethodGen {
         genLocalVars(indexMap, mv, func.localVars);
 
         int returnVarRefIndex = getReturnVarRefIndex(func, indexMap, retType, mv);
+
+        LabelGenerator labelGen = new LabelGenerator();
+        if (!mayYield(func)) {
+            // the function is never resumed, so it is generated without the resume dispatch
+            genNonYieldingMethodBody(func, mv, indexMap, labelGen, module, moduleClassName, attachedType,
+                                     asyncDataCollector, returnVarRefIndex, localVarOffset, methodStartLabel);
+            return;
+        }
         int stateVarIndex = getStateVarIndex(indexMap, mv);
 
         mv.visitVarInsn(ALOAD, localVarOffset);
         mv.visitFieldInsn(GETFIELD, STRAND_CLASS, RESUME_INDEX, "I");
 
-        LabelGenerator labelGen = new LabelGenerator();
         Label resumeLabel = labelGen.getLabel(funcName + "resume");
         mv.visitJumpInsn(IFGT, resumeLabel);
 
@@ -318,6 +326,40 @@ public class JvmMethodGen {
         mv.visitEnd();
     }
 
+    private void genNonYieldingMethodBody(BIRFunction func, MethodVisitor mv, BIRVarToJVMIndexMap indexMap,
+                                          LabelGenerator labelGen, BIRPackage module, String moduleClassName,
+                                          BType attachedType, AsyncDataCollector asyncDataCollector,
+                                          int returnVarRefIndex, int localVarOffset, Label methodStartLabel) {
+        JvmInstructionGen instGen = new JvmInstructionGen(mv, indexMap, module, jvmPackageGen);
+        JvmErrorGen errorGen = new JvmErrorGen(mv, indexMap, instGen);
+        JvmTerminatorGen termGen = new JvmTerminatorGen(mv, indexMap, labelGen, errorGen, module, instGen,
+                                                        jvmPackageGen);
+
+        generateBasicBlocks(mv, labelGen, errorGen, instGen, termGen, func, returnVarRefIndex, -1,
+                            localVarOffset, module, attachedType, moduleClassName, asyncDataCollector);
+
+        Label methodEndLabel = new Label();
+        mv.visitLabel(methodEndLabel);
+
+        // Create Local Variable Table
+        createLocalVariableTable(func, indexMap, localVarOffset, mv, methodStartLabel, labelGen, methodEndLabel);
+
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    void analyzeYields(BIRPackage module) {
+        this.yieldAnalyzer = new YieldAnalyzer(module);
+    }
+
+    private boolean mayYield(BIRFunction func) {
+        return yieldAnalyzer == null || yieldAnalyzer.mayYield(func);
+    }
+
+    private boolean mayYield(BIRTerminator terminator) {
+        return yieldAnalyzer == null || yieldAnalyzer.mayYield(terminator);
+    }
+
     private void generateGetFrame(BIRVarToJVMIndexMap indexMap, int localVarOffset, MethodVisitor mv) {
         BIRVariableDcl frameVar = new BIRVariableDcl(symbolTable.stringType, new Name("frame"), null, VarKind.TEMP);
         int frameVarIndex = indexMap.addToMapIfNotFoundAndGetIndex(frameVar);
@@ -1289,6 +1331,8 @@ public class JvmMethodGen {
         String funcName = JvmCodeGenUtil.cleanupFunctionName(func.name.value);
         BirScope lastScope = null;
         Set<BirScope> visitedScopesSet = new HashSet<>();
+        // the state is only needed to resume the function
+        boolean isResumable = mayYield(func);
 
         int caseIndex = 0;
         for (int i = 0; i < func.basicBlocks.size(); i++) {
@@ -1296,7 +1340,7 @@ public class JvmMethodGen {
             // create jvm label
             Label bbLabel = labelGen.getLabel(funcName + bb.id.value);
             mv.visitLabel(bbLabel);
-            if (i == 0) {
+            if (i == 0 && isResumable) {
                 pushShort(mv, stateVarIndex, caseIndex);
                 caseIndex += 1;
             }
@@ -1310,8 +1354,10 @@ public class JvmMethodGen {
             mv.visitLabel(bbEndLabel);
 
             BIRTerminator terminator = bb.terminator;
-            pushShort(mv, stateVarIndex, caseIndex);
-            caseIndex += 1;
+            if (isResumable) {
+                pushShort(mv, stateVarIndex, caseIndex);
+                caseIndex += 1;
+            }
 
             processTerminator(mv, func, module, funcName, terminator);
             termGen.genTerminator(terminator, moduleClassName, func, funcName, localVarOffset, returnVarRefIndex,
@@ -1320,8 +1366,13 @@ public class JvmMethodGen {
             errorGen.generateTryCatch(func, funcName, bb, termGen, labelGen);
 
             BIRBasicBlock thenBB = terminator.thenBB;
-            if (thenBB != null) {
+            if (thenBB == null) {
+                continue;
+            }
+            if (mayYield(terminator)) {
                 JvmCodeGenUtil.genYieldCheck(mv, termGen.getLabelGenerator(), thenBB, funcName, localVarOffset);
+            } else {
+                mv.visitJumpInsn(GOTO, labelGen.getLabel(funcName + thenBB.id.value));
             }
         }
     }
@@ -2093,6 +2144,10 @@ public class JvmMethodGen {
 
     private void generateFrameClassForFunction(BIRPackage pkg, BIRFunction func, Map<String, byte[]> pkgEntries,
                                                BType attachedType) {
+        if (!mayYield(func)) {
+            // frames are only saved by functions which yield
+            return;
+        }
         String frameClassName = getFrameClassName(JvmCodeGenUtil.getPackageName(pkg), func.name.value,
                                                   attachedType);
         ClassWriter cw = new BallerinaClassWriter(COMPUTE_FRAMES);
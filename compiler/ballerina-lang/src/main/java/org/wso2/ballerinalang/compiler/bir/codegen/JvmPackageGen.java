@@ -423,6 +423,9 @@ public class JvmPackageGen {
         // desugar the record init function
         rewriteRecordInits(module.typeDefs);
 
+        // find the functions which never yield, which do not need to be resumable
+        jvmMethodGen.analyzeYields(module);
+
         // generate object/record value classes
         JvmValueGen valueGen = new JvmValueGen(module, this, jvmMethodGen);
         valueGen.generateValueClasses(jarEntries);
@@ -0,0 +1,168 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.ballerinalang.compiler.bir.codegen;
+
+import org.wso2.ballerinalang.compiler.bir.codegen.interop.JIMethodCall;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRBasicBlock;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRFunction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRPackage;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRTypeDefinition;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator.Call;
+import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.OBSERVE_UTILS;
+
+/**
+ * Finds the functions of a module which can never yield the strand they run on. Such a function is never resumed,
+ * so it is generated without the resume dispatch and the frame class, and its callers do not check whether the
+ * strand yielded after calling it.
+ * <p>
+ * A function may yield if it waits, locks, communicates with a worker, calls a function pointer, an object method,
+ * a Java method or a function of another module, or calls a function of the same module which may yield. Functions
+ * of other modules are assumed to yield since they are generated separately.
+ *
+ * @since 2.0.0
+ */
+class YieldAnalyzer {
+
+    private final BIRPackage module;
+    private final Map<String, BIRFunction> moduleFunctions = new HashMap<>();
+    private final Set<BIRFunction> nonYieldingFunctions = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    YieldAnalyzer(BIRPackage module) {
+        this.module = module;
+        for (BIRFunction func : module.functions) {
+            moduleFunctions.put(func.name.value, func);
+        }
+        analyze();
+    }
+
+    /**
+     * Checks whether a function of the module may yield.
+     *
+     * @param func function to check
+     * @return false if the function can never yield
+     */
+    boolean mayYield(BIRFunction func) {
+        return !nonYieldingFunctions.contains(func);
+    }
+
+    /**
+     * Checks whether the strand may have yielded once a terminator is done.
+     *
+     * @param terminator terminator to check
+     * @return false if the terminator can never yield the strand
+     */
+    boolean mayYield(BIRTerminator terminator) {
+        switch (terminator.kind) {
+            case GOTO:
+            case BRANCH:
+            case RETURN:
+            case PANIC:
+            case UNLOCK:
+                return false;
+            case CALL:
+                BIRFunction callee = getCallee((Call) terminator);
+                return callee == null || mayYield(callee);
+            case PLATFORM:
+                // observability calls injected by the compiler only record the observation
+                return !(terminator instanceof JIMethodCall &&
+                        OBSERVE_UTILS.equals(((JIMethodCall) terminator).jClassName));
+            default:
+                return true;
+        }
+    }
+
+    private void analyze() {
+        List<BIRFunction> functions = new ArrayList<>(module.functions);
+        for (BIRTypeDefinition typeDef : module.typeDefs) {
+            if (typeDef.attachedFuncs != null) {
+                functions.addAll(typeDef.attachedFuncs);
+            }
+        }
+
+        // functions which yield by themselves, and the callers of each function of the module
+        Set<BIRFunction> yieldingFunctions = Collections.newSetFromMap(new IdentityHashMap<>());
+        Map<BIRFunction, List<BIRFunction>> callers = new IdentityHashMap<>();
+        for (BIRFunction func : functions) {
+            if (JvmCodeGenUtil.isExternFunc(func) || yieldsByItself(func, callers)) {
+                yieldingFunctions.add(func);
+            }
+        }
+
+        // a function which calls a function that may yield, may yield as well
+        Deque<BIRFunction> worklist = new ArrayDeque<>(yieldingFunctions);
+        while (!worklist.isEmpty()) {
+            BIRFunction callee = worklist.poll();
+            for (BIRFunction caller : callers.getOrDefault(callee, Collections.emptyList())) {
+                if (yieldingFunctions.add(caller)) {
+                    worklist.add(caller);
+                }
+            }
+        }
+
+        for (BIRFunction func : functions) {
+            if (!yieldingFunctions.contains(func)) {
+                nonYieldingFunctions.add(func);
+            }
+        }
+    }
+
+    private boolean yieldsByItself(BIRFunction func, Map<BIRFunction, List<BIRFunction>> callers) {
+        for (BIRBasicBlock bb : func.basicBlocks) {
+            BIRTerminator terminator = bb.terminator;
+            if (terminator.kind == InstructionKind.CALL) {
+                BIRFunction callee = getCallee((Call) terminator);
+                if (callee == null) {
+                    return true;
+                }
+                callers.computeIfAbsent(callee, k -> new ArrayList<>()).add(func);
+                continue;
+            }
+            if (mayYield(terminator)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private BIRFunction getCallee(Call callIns) {
+        if (callIns.isVirtual || !isCurrentModule(callIns)) {
+            return null;
+        }
+        return moduleFunctions.get(callIns.name.value);
+    }
+
+    private boolean isCurrentModule(Call callIns) {
+        return module.org.value.equals(callIns.calleePkg.orgName.value) &&
+                module.name.value.equals(callIns.calleePkg.name.value) &&
+                module.version.value.equals(callIns.calleePkg.version.value);
+    }
+}
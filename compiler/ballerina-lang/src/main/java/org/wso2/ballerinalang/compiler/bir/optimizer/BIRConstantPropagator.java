@@ -0,0 +1,366 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.ballerinalang.compiler.bir.optimizer;
+
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRBasicBlock;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRErrorEntry;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRFunction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRPackage;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRTypeDefinition;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRVariableDcl;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.BinaryOp;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.ConstantLoad;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.Move;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.UnaryOP;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator.Branch;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator.GOTO;
+import org.wso2.ballerinalang.compiler.bir.model.BirScope;
+import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarScope;
+import org.wso2.ballerinalang.compiler.util.TypeTags;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Propagate constants through the basic blocks of functions, fold the instructions and branches whose operands are
+ * constants and remove the basic blocks which can never be reached.
+ * <p>
+ * This is a conditional constant propagation: a basic block is only analyzed once it is known to be reachable, and
+ * only the reachable successor of a branch on a constant condition is followed. Only {@code int} and {@code boolean}
+ * values of function variables are tracked. Arithmetic which may panic, such as an overflowing addition or a
+ * division by zero, is left for the runtime.
+ *
+ * @since 2.0.0
+ */
+public class BIRConstantPropagator {
+
+    private final Map<BIRBasicBlock, Map<BIRVariableDcl, Object>> outStates = new IdentityHashMap<>();
+    private final Map<BIRBasicBlock, Set<BIRBasicBlock>> reachablePredecessors = new IdentityHashMap<>();
+    private final Set<BIRBasicBlock> entryBlocks = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    public void optimizeNode(BIRPackage pkg) {
+        pkg.functions.forEach(this::optimizeFunction);
+        for (BIRTypeDefinition typeDef : pkg.typeDefs) {
+            if (typeDef.attachedFuncs != null) {
+                typeDef.attachedFuncs.forEach(this::optimizeFunction);
+            }
+        }
+    }
+
+    private void optimizeFunction(BIRFunction func) {
+        if (func.basicBlocks.isEmpty()) {
+            return;
+        }
+
+        // A panic within a trap may reach the target of the trap from any of its instructions
+        entryBlocks.add(func.basicBlocks.get(0));
+        for (BIRErrorEntry errorEntry : func.errorTable) {
+            if (errorEntry.targetBB != null) {
+                entryBlocks.add(errorEntry.targetBB);
+            }
+        }
+
+        propagateConstants();
+        for (BIRBasicBlock bb : func.basicBlocks) {
+            if (outStates.containsKey(bb)) {
+                fold(bb, getInState(bb));
+            }
+        }
+        removeUnreachableBlocks(func);
+
+        outStates.clear();
+        reachablePredecessors.clear();
+        entryBlocks.clear();
+    }
+
+    private void propagateConstants() {
+        Deque<BIRBasicBlock> worklist = new ArrayDeque<>(entryBlocks);
+        Set<BIRBasicBlock> queued = Collections.newSetFromMap(new IdentityHashMap<>());
+        queued.addAll(entryBlocks);
+        while (!worklist.isEmpty()) {
+            BIRBasicBlock bb = worklist.poll();
+            queued.remove(bb);
+
+            Map<BIRVariableDcl, Object> state = getInState(bb);
+            for (BIRNonTerminator instruction : bb.instructions) {
+                assign(state, instruction, evaluate(state, instruction));
+            }
+            if (bb.terminator.lhsOp != null) {
+                state.remove(bb.terminator.lhsOp.variableDcl);
+            }
+
+            boolean changed = !state.equals(outStates.put(bb, state));
+            for (BIRBasicBlock successor : getReachableSuccessors(bb.terminator, state)) {
+                if (successor == null) {
+                    continue;
+                }
+                boolean newEdge = reachablePredecessors.computeIfAbsent(successor,
+                        k -> Collections.newSetFromMap(new IdentityHashMap<>())).add(bb);
+                if ((newEdge || changed) && queued.add(successor)) {
+                    worklist.add(successor);
+                }
+            }
+        }
+    }
+
+    private Map<BIRVariableDcl, Object> getInState(BIRBasicBlock bb) {
+        Map<BIRVariableDcl, Object> state = null;
+        if (!entryBlocks.contains(bb)) {
+            for (BIRBasicBlock predecessor : reachablePredecessors.get(bb)) {
+                Map<BIRVariableDcl, Object> predecessorState = outStates.get(predecessor);
+                if (state == null) {
+                    state = new HashMap<>(predecessorState);
+                } else {
+                    state.entrySet().removeIf(entry -> !entry.getValue().equals(predecessorState.get(entry.getKey())));
+                }
+            }
+        }
+        return state == null ? new HashMap<>() : state;
+    }
+
+    private BIRBasicBlock[] getReachableSuccessors(BIRTerminator terminator, Map<BIRVariableDcl, Object> state) {
+        if (terminator.kind == InstructionKind.BRANCH) {
+            Branch branch = (Branch) terminator;
+            Object condition = state.get(branch.op.variableDcl);
+            if (condition != null) {
+                return new BIRBasicBlock[]{(Boolean) condition ? branch.trueBB : branch.falseBB};
+            }
+        }
+        return terminator.getNextBasicBlocks();
+    }
+
+    private void fold(BIRBasicBlock bb, Map<BIRVariableDcl, Object> state) {
+        List<BIRNonTerminator> instructions = bb.instructions;
+        for (int i = 0; i < instructions.size(); i++) {
+            BIRNonTerminator instruction = instructions.get(i);
+            Object value = evaluate(state, instruction);
+            assign(state, instruction, value);
+            if (value != null && isTracked(instruction.lhsOp.variableDcl, value) &&
+                    (instruction instanceof BinaryOp || instruction instanceof UnaryOP)) {
+                ConstantLoad constantLoad = new ConstantLoad(instruction.pos, value,
+                        instruction.lhsOp.variableDcl.type, instruction.lhsOp);
+                constantLoad.scope = instruction.scope;
+                instructions.set(i, constantLoad);
+            }
+        }
+
+        if (bb.terminator.kind != InstructionKind.BRANCH) {
+            return;
+        }
+        Branch branch = (Branch) bb.terminator;
+        Object condition = state.get(branch.op.variableDcl);
+        if (condition != null) {
+            GOTO gotoIns = new GOTO(branch.pos, (Boolean) condition ? branch.trueBB : branch.falseBB);
+            gotoIns.scope = branch.scope;
+            bb.terminator = gotoIns;
+        }
+    }
+
+    private void assign(Map<BIRVariableDcl, Object> state, BIRNonTerminator instruction, Object value) {
+        if (instruction.lhsOp == null) {
+            return;
+        }
+        BIRVariableDcl lhsVar = instruction.lhsOp.variableDcl;
+        if (value != null && isTracked(lhsVar, value)) {
+            state.put(lhsVar, value);
+        } else {
+            state.remove(lhsVar);
+        }
+    }
+
+    private boolean isTracked(BIRVariableDcl variableDcl, Object value) {
+        if (variableDcl.scope != VarScope.FUNCTION) {
+            return false;
+        }
+        return value instanceof Long ? variableDcl.type.tag == TypeTags.INT :
+                variableDcl.type.tag == TypeTags.BOOLEAN;
+    }
+
+    /**
+     * Evaluate an instruction with the constants known before it.
+     *
+     * @param state       constants known before the instruction
+     * @param instruction instruction to evaluate
+     * @return the constant assigned by the instruction, or null if it is not known or not tracked
+     */
+    private Object evaluate(Map<BIRVariableDcl, Object> state, BIRNonTerminator instruction) {
+        switch (instruction.kind) {
+            case CONST_LOAD:
+                ConstantLoad constantLoad = (ConstantLoad) instruction;
+                if (constantLoad.type.tag == TypeTags.INT && constantLoad.value instanceof Long ||
+                        constantLoad.type.tag == TypeTags.BOOLEAN && constantLoad.value instanceof Boolean) {
+                    return constantLoad.value;
+                }
+                return null;
+            case MOVE:
+                Move move = (Move) instruction;
+                if (move.rhsOp.variableDcl.type.tag != move.lhsOp.variableDcl.type.tag) {
+                    return null;
+                }
+                return state.get(move.rhsOp.variableDcl);
+            case NOT:
+            case NEGATE:
+                Object operand = state.get(((UnaryOP) instruction).rhsOp.variableDcl);
+                return operand == null ? null : foldUnaryOp(instruction.kind, operand);
+            default:
+                if (!(instruction instanceof BinaryOp)) {
+                    return null;
+                }
+                BinaryOp binaryOp = (BinaryOp) instruction;
+                Object lhsOperand = state.get(binaryOp.rhsOp1.variableDcl);
+                Object rhsOperand = state.get(binaryOp.rhsOp2.variableDcl);
+                if (lhsOperand instanceof Long && rhsOperand instanceof Long) {
+                    return foldIntBinaryOp(instruction.kind, (Long) lhsOperand, (Long) rhsOperand);
+                }
+                if (lhsOperand instanceof Boolean && rhsOperand instanceof Boolean) {
+                    return foldBooleanBinaryOp(instruction.kind, (Boolean) lhsOperand, (Boolean) rhsOperand);
+                }
+                return null;
+        }
+    }
+
+    private Object foldUnaryOp(InstructionKind kind, Object operand) {
+        if (kind == InstructionKind.NOT) {
+            return operand instanceof Boolean ? !(Boolean) operand : null;
+        }
+        // negating the minimum value overflows
+        return operand instanceof Long && (Long) operand != Long.MIN_VALUE ? -(Long) operand : null;
+    }
+
+    private Object foldIntBinaryOp(InstructionKind kind, long lhs, long rhs) {
+        try {
+            switch (kind) {
+                case ADD:
+                    return Math.addExact(lhs, rhs);
+                case SUB:
+                    return Math.subtractExact(lhs, rhs);
+                case MUL:
+                    return Math.multiplyExact(lhs, rhs);
+                case DIV:
+                    return rhs == 0 || rhs == -1 && lhs == Long.MIN_VALUE ? null : lhs / rhs;
+                case MOD:
+                    return rhs == 0 || rhs == -1 ? null : lhs % rhs;
+                case BITWISE_AND:
+                    return lhs & rhs;
+                case BITWISE_OR:
+                    return lhs | rhs;
+                case BITWISE_XOR:
+                    return lhs ^ rhs;
+                case EQUAL:
+                    return lhs == rhs;
+                case NOT_EQUAL:
+                    return lhs != rhs;
+                case GREATER_THAN:
+                    return lhs > rhs;
+                case GREATER_EQUAL:
+                    return lhs >= rhs;
+                case LESS_THAN:
+                    return lhs < rhs;
+                case LESS_EQUAL:
+                    return lhs <= rhs;
+                default:
+                    return null;
+            }
+        } catch (ArithmeticException e) {
+            // the overflow is left to panic at runtime
+            return null;
+        }
+    }
+
+    private Object foldBooleanBinaryOp(InstructionKind kind, boolean lhs, boolean rhs) {
+        switch (kind) {
+            case EQUAL:
+                return lhs == rhs;
+            case NOT_EQUAL:
+                return lhs != rhs;
+            default:
+                return null;
+        }
+    }
+
+    private void removeUnreachableBlocks(BIRFunction func) {
+        // Blocks referred from the error table are kept along with the blocks they lead to
+        List<BIRBasicBlock> worklist = new ArrayList<>();
+        worklist.add(func.basicBlocks.get(0));
+        for (BIRErrorEntry errorEntry : func.errorTable) {
+            worklist.add(errorEntry.trapBB);
+            worklist.add(errorEntry.endBB);
+            worklist.add(errorEntry.targetBB);
+        }
+
+        Set<BIRBasicBlock> reachableBlocks = Collections.newSetFromMap(new IdentityHashMap<>());
+        while (!worklist.isEmpty()) {
+            BIRBasicBlock bb = worklist.remove(worklist.size() - 1);
+            if (bb == null || !reachableBlocks.add(bb)) {
+                continue;
+            }
+            Collections.addAll(worklist, bb.terminator.getNextBasicBlocks());
+        }
+
+        if (reachableBlocks.size() == func.basicBlocks.size()) {
+            return;
+        }
+        func.basicBlocks.removeIf(bb -> !reachableBlocks.contains(bb));
+        updateVisibleRanges(func, reachableBlocks);
+    }
+
+    /**
+     * Clears the parts of the visible ranges of local variables which refer to removed basic blocks. The start of a
+     * range is the label of the scope of its declaration, which is only generated for the scopes of the remaining
+     * instructions, so a variable without one is visible from the start of the function. A variable without an end
+     * block is visible up to the end of the function.
+     */
+    private void updateVisibleRanges(BIRFunction func, Set<BIRBasicBlock> reachableBlocks) {
+        Set<BirScope> scopes = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (BIRBasicBlock bb : func.basicBlocks) {
+            for (BIRNonTerminator instruction : bb.instructions) {
+                addScope(scopes, instruction.scope);
+            }
+            addScope(scopes, bb.terminator.scope);
+        }
+
+        for (BIRVariableDcl localVar : func.localVars) {
+            if (localVar.startBB != null && !reachableBlocks.contains(localVar.startBB) ||
+                    localVar.insScope != null && !scopes.contains(localVar.insScope)) {
+                localVar.startBB = null;
+                localVar.insScope = null;
+            }
+            if (localVar.endBB != null && !reachableBlocks.contains(localVar.endBB)) {
+                localVar.endBB = null;
+            }
+        }
+    }
+
+    private void addScope(Set<BirScope> scopes, BirScope scope) {
+        // the label of a scope also starts its enclosing scopes
+        while (scope != null && scopes.add(scope)) {
+            scope = scope.parent;
+        }
+    }
+}
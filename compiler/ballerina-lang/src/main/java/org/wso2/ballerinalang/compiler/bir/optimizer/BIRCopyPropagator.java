@@ -0,0 +1,303 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.ballerinalang.compiler.bir.optimizer;
+
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRBasicBlock;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRErrorEntry;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRFunction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRPackage;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRTypeDefinition;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRVariableDcl;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.BinaryOp;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.FieldAccess;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.IsLike;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.Move;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.TypeCast;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.TypeTest;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.UnaryOP;
+import org.wso2.ballerinalang.compiler.bir.model.BIROperand;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator.Branch;
+import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarScope;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
+import org.wso2.ballerinalang.compiler.util.TypeTags;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Propagate copies made to temporary variables.
+ * <p>
+ * After {@code %1 = move x}, the instructions which read {@code %1} read {@code x} instead wherever the copy is
+ * available, i.e. wherever each path reaching them makes the copy and neither variable is assigned again after it.
+ * The copies available at the start of each basic block are found with a dataflow analysis over the control flow
+ * graph. The move is left for {@link BIRDeadCodeEliminator} to remove once it is no longer read. Only copies between
+ * variables of the same type are propagated, so that the code generated for the instructions which read them does
+ * not change.
+ *
+ * @since 2.0.0
+ */
+public class BIRCopyPropagator {
+
+    // the copies of the function, with the variables they copy to and from, and the copies involving each variable
+    private final List<BIRVariableDcl> copyTargets = new ArrayList<>();
+    private final List<BIRVariableDcl> copySources = new ArrayList<>();
+    private final Map<BIRVariableDcl, BitSet> varCopies = new HashMap<>();
+    private final Map<BIRVariableDcl, BIRVariableDcl> copies = new HashMap<>();
+
+    public void optimizeNode(BIRPackage pkg) {
+        pkg.functions.forEach(this::optimizeFunction);
+        for (BIRTypeDefinition typeDef : pkg.typeDefs) {
+            if (typeDef.attachedFuncs != null) {
+                typeDef.attachedFuncs.forEach(this::optimizeFunction);
+            }
+        }
+    }
+
+    private void optimizeFunction(BIRFunction func) {
+        for (BIRBasicBlock bb : func.basicBlocks) {
+            collectCopies(bb);
+        }
+
+        if (!copyTargets.isEmpty()) {
+            ControlFlowGraph graph = new ControlFlowGraph(func);
+            BitSet entryBlocks = getEntryBlocks(func, graph);
+            UnavailableCopies unavailableCopies = new UnavailableCopies(graph, entryBlocks);
+            BitSet allCopies = new BitSet();
+            allCopies.set(0, copyTargets.size());
+            for (int i = 0; i < graph.size(); i++) {
+                propagateCopies(graph.getBasicBlock(i), entryBlocks.get(i) ? allCopies : unavailableCopies.getIn(i));
+                copies.clear();
+            }
+        }
+
+        copyTargets.clear();
+        copySources.clear();
+        varCopies.clear();
+    }
+
+    private void collectCopies(BIRBasicBlock bb) {
+        for (BIRNonTerminator instruction : bb.instructions) {
+            if (instruction.kind != InstructionKind.MOVE || !isCopy((Move) instruction)) {
+                continue;
+            }
+            BIRVariableDcl lhsVar = instruction.lhsOp.variableDcl;
+            BIRVariableDcl rhsVar = ((Move) instruction).rhsOp.variableDcl;
+            if (getCopy(lhsVar, rhsVar) >= 0) {
+                continue;
+            }
+            int index = copyTargets.size();
+            copyTargets.add(lhsVar);
+            copySources.add(rhsVar);
+            varCopies.computeIfAbsent(lhsVar, k -> new BitSet()).set(index);
+            varCopies.computeIfAbsent(rhsVar, k -> new BitSet()).set(index);
+        }
+    }
+
+    private int getCopy(BIRVariableDcl lhsVar, BIRVariableDcl rhsVar) {
+        BitSet targetCopies = varCopies.get(lhsVar);
+        if (targetCopies == null) {
+            return -1;
+        }
+        for (int i = targetCopies.nextSetBit(0); i >= 0; i = targetCopies.nextSetBit(i + 1)) {
+            if (copyTargets.get(i).equals(lhsVar) && copySources.get(i).equals(rhsVar)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * No copy is available at the start of the function, of the basic blocks without predecessors, or of the targets
+     * of traps, which a panic may reach from the middle of a basic block.
+     */
+    private BitSet getEntryBlocks(BIRFunction func, ControlFlowGraph graph) {
+        BitSet entryBlocks = new BitSet(graph.size());
+        entryBlocks.set(0);
+        for (int i = 0; i < graph.size(); i++) {
+            if (graph.getPredecessors(i).length == 0) {
+                entryBlocks.set(i);
+            }
+        }
+        for (BIRErrorEntry errorEntry : func.errorTable) {
+            int index = func.basicBlocks.indexOf(errorEntry.targetBB);
+            if (index >= 0) {
+                entryBlocks.set(index);
+            }
+        }
+        return entryBlocks;
+    }
+
+    private void propagateCopies(BIRBasicBlock bb, BitSet unavailable) {
+        for (int i = unavailable.nextClearBit(0); i < copyTargets.size(); i = unavailable.nextClearBit(i + 1)) {
+            copies.put(copyTargets.get(i), copySources.get(i));
+        }
+
+        for (BIRNonTerminator instruction : bb.instructions) {
+            if (!copies.isEmpty()) {
+                replaceOperands(instruction);
+            }
+            if (instruction.lhsOp == null) {
+                continue;
+            }
+
+            BIRVariableDcl lhsVar = instruction.lhsOp.variableDcl;
+            copies.entrySet().removeIf(copy -> copy.getKey().equals(lhsVar) || copy.getValue().equals(lhsVar));
+            if (instruction.kind == InstructionKind.MOVE && isCopy((Move) instruction)) {
+                copies.put(lhsVar, ((Move) instruction).rhsOp.variableDcl);
+            }
+        }
+
+        if (!copies.isEmpty() && bb.terminator.kind == InstructionKind.BRANCH) {
+            Branch branch = (Branch) bb.terminator;
+            branch.op = replace(branch.op);
+        }
+    }
+
+    private boolean isCopy(Move move) {
+        BIRVariableDcl lhsVar = move.lhsOp.variableDcl;
+        BIRVariableDcl rhsVar = move.rhsOp.variableDcl;
+        return lhsVar.kind == VarKind.TEMP && lhsVar.scope == VarScope.FUNCTION &&
+                rhsVar.scope == VarScope.FUNCTION && !rhsVar.ignoreVariable && !lhsVar.equals(rhsVar) &&
+                isSameType(lhsVar.type, rhsVar.type);
+    }
+
+    private boolean isSameType(BType lhsType, BType rhsType) {
+        if (lhsType == rhsType) {
+            return true;
+        }
+        if (lhsType.tag != rhsType.tag) {
+            return false;
+        }
+        switch (lhsType.tag) {
+            case TypeTags.INT:
+            case TypeTags.BYTE:
+            case TypeTags.FLOAT:
+            case TypeTags.DECIMAL:
+            case TypeTags.STRING:
+            case TypeTags.BOOLEAN:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private void replaceOperands(BIRNonTerminator instruction) {
+        switch (instruction.kind) {
+            case MOVE:
+                Move move = (Move) instruction;
+                move.rhsOp = replace(move.rhsOp);
+                break;
+            case TYPE_CAST:
+                TypeCast typeCast = (TypeCast) instruction;
+                typeCast.rhsOp = replace(typeCast.rhsOp);
+                break;
+            case IS_LIKE:
+                IsLike isLike = (IsLike) instruction;
+                isLike.rhsOp = replace(isLike.rhsOp);
+                break;
+            case TYPE_TEST:
+                TypeTest typeTest = (TypeTest) instruction;
+                typeTest.rhsOp = replace(typeTest.rhsOp);
+                break;
+            case MAP_LOAD:
+            case MAP_STORE:
+            case ARRAY_LOAD:
+            case ARRAY_STORE:
+            case OBJECT_LOAD:
+            case OBJECT_STORE:
+                // the key and the loaded value or the stored value are read, the lhs of a store is not assigned
+                FieldAccess fieldAccess = (FieldAccess) instruction;
+                fieldAccess.keyOp = replace(fieldAccess.keyOp);
+                fieldAccess.rhsOp = replace(fieldAccess.rhsOp);
+                break;
+            default:
+                if (instruction instanceof BinaryOp) {
+                    BinaryOp binaryOp = (BinaryOp) instruction;
+                    binaryOp.rhsOp1 = replace(binaryOp.rhsOp1);
+                    binaryOp.rhsOp2 = replace(binaryOp.rhsOp2);
+                } else if (instruction instanceof UnaryOP) {
+                    UnaryOP unaryOP = (UnaryOP) instruction;
+                    unaryOP.rhsOp = replace(unaryOP.rhsOp);
+                }
+                break;
+        }
+    }
+
+    private BIROperand replace(BIROperand operand) {
+        if (operand == null) {
+            return null;
+        }
+        BIRVariableDcl source = copies.get(operand.variableDcl);
+        // operands may be shared between instructions, so they are replaced instead of updated
+        return source == null ? operand : new BIROperand(source);
+    }
+
+    /**
+     * Finds the copies which may not be available at the start of each basic block. A copy is unavailable after an
+     * assignment to either of its variables, until it is made again, and is unavailable at the start of a basic
+     * block if it is unavailable at the end of any of its predecessors.
+     */
+    private class UnavailableCopies extends BIRDataflowAnalyzer {
+        private final BitSet entryBlocks;
+
+        UnavailableCopies(ControlFlowGraph graph, BitSet entryBlocks) {
+            super(graph, true);
+            this.entryBlocks = entryBlocks;
+            analyze();
+        }
+
+        @Override
+        protected void computeGenKill(int index, BitSet gen, BitSet kill) {
+            BIRBasicBlock bb = graph.getBasicBlock(index);
+            for (BIRNonTerminator instruction : bb.instructions) {
+                if (instruction.lhsOp == null) {
+                    continue;
+                }
+                assign(instruction.lhsOp.variableDcl, gen, kill);
+                if (instruction.kind == InstructionKind.MOVE && isCopy((Move) instruction)) {
+                    int copy = getCopy(instruction.lhsOp.variableDcl, ((Move) instruction).rhsOp.variableDcl);
+                    gen.clear(copy);
+                    kill.set(copy);
+                }
+            }
+            if (bb.terminator.lhsOp != null) {
+                assign(bb.terminator.lhsOp.variableDcl, gen, kill);
+            }
+
+            if (entryBlocks.get(index)) {
+                gen.set(0, copyTargets.size());
+                gen.andNot(kill);
+            }
+        }
+
+        private void assign(BIRVariableDcl varDcl, BitSet gen, BitSet kill) {
+            BitSet involvedCopies = varCopies.get(varDcl);
+            if (involvedCopies != null) {
+                gen.or(involvedCopies);
+                kill.andNot(involvedCopies);
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.ballerinalang.compiler.bir.optimizer;
+
+import java.util.BitSet;
+
+/**
+ * A dataflow analysis over the basic blocks of a function, with the facts of each basic block represented as a bit
+ * set. Analyses decide what the bits stand for (e.g., variables or definitions) and describe each basic block by the
+ * bits it generates and the bits it kills. The facts flowing into a basic block are the union of the facts flowing out
+ * of its predecessors, or of its successors for backward analyses.
+ * <p>
+ * The equations are solved with a worklist ordered by the reverse postorder of the control flow graph (or by the
+ * postorder, for backward analyses), so that each basic block is usually analyzed after the basic blocks its facts
+ * flow from, and only the basic blocks whose inputs changed are analyzed again.
+ * <p>
+ * Reference: Andrew W. Appel - Modern Compiler Implementation in Java, 2Ed (2002), Chapter 17
+ *
+ * @since 2.0.0
+ */
+public abstract class BIRDataflowAnalyzer {
+    protected final ControlFlowGraph graph;
+    private final boolean forward;
+    private BitSet[] ins;
+    private BitSet[] outs;
+
+    protected BIRDataflowAnalyzer(ControlFlowGraph graph, boolean forward) {
+        this.graph = graph;
+        this.forward = forward;
+    }
+
+    /**
+     * Computes the bits a basic block generates and kills, so that the facts flowing through it are
+     * <code>gen ∪ (facts − kill)</code>.
+     *
+     * @param index the index of the basic block
+     * @param gen   the bits generated by the basic block
+     * @param kill  the bits killed by the basic block
+     */
+    protected abstract void computeGenKill(int index, BitSet gen, BitSet kill);
+
+    /**
+     * Solves the dataflow equations of all the basic blocks.
+     */
+    protected void analyze() {
+        int size = graph.size();
+        BitSet[] gens = new BitSet[size];
+        BitSet[] kills = new BitSet[size];
+        ins = new BitSet[size];
+        outs = new BitSet[size];
+        for (int i = 0; i < size; i++) {
+            gens[i] = new BitSet();
+            kills[i] = new BitSet();
+            computeGenKill(i, gens[i], kills[i]);
+            ins[i] = new BitSet();
+            outs[i] = new BitSet();
+        }
+
+        int[] order = getOrder();
+        int[] positions = new int[size];
+        for (int i = 0; i < size; i++) {
+            positions[order[i]] = i;
+        }
+
+        // the positions in the order of the basic blocks which need to be analyzed
+        BitSet worklist = new BitSet(size);
+        worklist.set(0, size);
+        BitSet[] inputs = forward ? ins : outs;
+        BitSet[] outputs = forward ? outs : ins;
+        for (int position = worklist.nextSetBit(0); position >= 0; position = worklist.nextSetBit(0)) {
+            worklist.clear(position);
+            int index = order[position];
+            BitSet input = inputs[index];
+            for (int source : forward ? graph.getPredecessors(index) : graph.getSuccessors(index)) {
+                input.or(outputs[source]);
+            }
+
+            BitSet output = (BitSet) input.clone();
+            output.andNot(kills[index]);
+            output.or(gens[index]);
+            if (output.equals(outputs[index])) {
+                continue;
+            }
+            outputs[index] = output;
+            for (int target : forward ? graph.getSuccessors(index) : graph.getPredecessors(index)) {
+                worklist.set(positions[target]);
+            }
+        }
+    }
+
+    private int[] getOrder() {
+        int[] reversePostOrder = graph.getReversePostOrder();
+        if (forward) {
+            return reversePostOrder;
+        }
+        int size = reversePostOrder.length;
+        int[] postOrder = new int[size];
+        for (int i = 0; i < size; i++) {
+            postOrder[i] = reversePostOrder[size - 1 - i];
+        }
+        return postOrder;
+    }
+
+    /**
+     * Get the facts at the entry of a basic block.
+     *
+     * @param index the index of the basic block
+     * @return the facts at the entry of the basic block, which should not be modified
+     */
+    public BitSet getIn(int index) {
+        return ins[index];
+    }
+
+    /**
+     * Get the facts at the exit of a basic block.
+     *
+     * @param index the index of the basic block
+     * @return the facts at the exit of the basic block, which should not be modified
+     */
+    public BitSet getOut(int index) {
+        return outs[index];
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.ballerinalang.compiler.bir.optimizer;
+
+import org.wso2.ballerinalang.compiler.bir.model.BIRAbstractInstruction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRBasicBlock;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRErrorEntry;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRFunction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRMappingConstructorEntry;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRMappingConstructorKeyValueEntry;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRMappingConstructorSpreadFieldEntry;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRPackage;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRTypeDefinition;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRVariableDcl;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.FPLoad;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.NewStructure;
+import org.wso2.ballerinalang.compiler.bir.model.BIROperand;
+import org.wso2.ballerinalang.compiler.bir.model.VarKind;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Remove the instructions whose results are never read.
+ * <p>
+ * Only instructions which assign a temporary variable, and which can neither panic nor have any other effect, are
+ * removed: moves, constant loads, type tests, comparisons, and logical and bitwise operations. User variables are
+ * kept as they are, since they are shown by the debugger. The temporary variables which are no longer referred are
+ * removed from the function.
+ *
+ * @since 2.0.0
+ */
+public class BIRDeadCodeEliminator {
+
+    private final Set<BIRVariableDcl> readVars = new HashSet<>();
+    private final Set<BIRVariableDcl> removedVars = new HashSet<>();
+
+    public void optimizeNode(BIRPackage pkg) {
+        pkg.functions.forEach(this::optimizeFunction);
+        for (BIRTypeDefinition typeDef : pkg.typeDefs) {
+            if (typeDef.attachedFuncs != null) {
+                typeDef.attachedFuncs.forEach(this::optimizeFunction);
+            }
+        }
+    }
+
+    private void optimizeFunction(BIRFunction func) {
+        // Removing an instruction may leave the instructions computing its operands unread
+        boolean removed = true;
+        while (removed) {
+            collectReadVars(func);
+            removed = false;
+            for (BIRBasicBlock bb : func.basicBlocks) {
+                removed |= bb.instructions.removeIf(this::isDead);
+            }
+            readVars.clear();
+        }
+
+        if (!removedVars.isEmpty()) {
+            removeUnreferredVars(func);
+            removedVars.clear();
+        }
+    }
+
+    private boolean isDead(BIRNonTerminator instruction) {
+        if (!isRemovable(instruction) || readVars.contains(instruction.lhsOp.variableDcl)) {
+            return false;
+        }
+        removedVars.add(instruction.lhsOp.variableDcl);
+        return true;
+    }
+
+    private boolean isRemovable(BIRNonTerminator instruction) {
+        if (instruction.lhsOp == null || instruction.lhsOp.variableDcl.kind != VarKind.TEMP) {
+            return false;
+        }
+        switch (instruction.kind) {
+            case MOVE:
+            case CONST_LOAD:
+            case TYPE_TEST:
+            case IS_LIKE:
+            case TYPEOF:
+            case NOT:
+            case EQUAL:
+            case NOT_EQUAL:
+            case REF_EQUAL:
+            case REF_NOT_EQUAL:
+            case GREATER_THAN:
+            case GREATER_EQUAL:
+            case LESS_THAN:
+            case LESS_EQUAL:
+            case BITWISE_AND:
+            case BITWISE_OR:
+            case BITWISE_XOR:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private void collectReadVars(BIRFunction func) {
+        for (List<BIRBasicBlock> paramBBs : func.parameters.values()) {
+            paramBBs.forEach(this::collectReadVars);
+        }
+        func.basicBlocks.forEach(this::collectReadVars);
+        for (BIRErrorEntry errorEntry : func.errorTable) {
+            addOperand(errorEntry.errorOp);
+        }
+    }
+
+    private void collectReadVars(BIRBasicBlock bb) {
+        for (BIRNonTerminator instruction : bb.instructions) {
+            collectReadVars(instruction);
+            // the lhs of stores is read
+            if (!isRemovable(instruction)) {
+                addOperand(instruction.lhsOp);
+            }
+        }
+        collectReadVars(bb.terminator);
+        addOperand(bb.terminator.lhsOp);
+    }
+
+    private void collectReadVars(BIRAbstractInstruction instruction) {
+        for (BIROperand operand : instruction.getRhsOperands()) {
+            addOperand(operand);
+        }
+        if (instruction instanceof NewStructure) {
+            for (BIRMappingConstructorEntry entry : ((NewStructure) instruction).initialValues) {
+                if (entry instanceof BIRMappingConstructorKeyValueEntry) {
+                    addOperand(((BIRMappingConstructorKeyValueEntry) entry).keyOp);
+                    addOperand(((BIRMappingConstructorKeyValueEntry) entry).valueOp);
+                } else if (entry instanceof BIRMappingConstructorSpreadFieldEntry) {
+                    addOperand(((BIRMappingConstructorSpreadFieldEntry) entry).exprOp);
+                }
+            }
+        } else if (instruction instanceof FPLoad) {
+            readVars.addAll(((FPLoad) instruction).params);
+        }
+    }
+
+    private void addOperand(BIROperand operand) {
+        if (operand != null) {
+            readVars.add(operand.variableDcl);
+        }
+    }
+
+    private void collectAssignedVars(BIRBasicBlock bb) {
+        for (BIRNonTerminator instruction : bb.instructions) {
+            addOperand(instruction.lhsOp);
+        }
+    }
+
+    private void removeUnreferredVars(BIRFunction func) {
+        // a removed variable may still be assigned by another instruction
+        collectReadVars(func);
+        for (List<BIRBasicBlock> paramBBs : func.parameters.values()) {
+            paramBBs.forEach(this::collectAssignedVars);
+        }
+        func.basicBlocks.forEach(this::collectAssignedVars);
+
+        List<BIRVariableDcl> localVars = new ArrayList<>();
+        for (BIRVariableDcl var : func.localVars) {
+            if (!removedVars.contains(var) || readVars.contains(var)) {
+                localVars.add(var);
+            }
+        }
+        func.localVars = localVars;
+        readVars.clear();
+    }
+}
@@ -0,0 +1,448 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.ballerinalang.compiler.bir.optimizer;
+
+import org.ballerinalang.model.elements.Flag;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRBasicBlock;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRErrorEntry;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRFunction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRPackage;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRTypeDefinition;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRVariableDcl;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.BinaryOp;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.ConstantLoad;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.FieldAccess;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.IsLike;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.Move;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.TypeCast;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.TypeTest;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.UnaryOP;
+import org.wso2.ballerinalang.compiler.bir.model.BIROperand;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator.Branch;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator.Call;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator.GOTO;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator.Panic;
+import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarScope;
+import org.wso2.ballerinalang.compiler.util.Name;
+import org.wso2.ballerinalang.compiler.util.diagnotic.DiagnosticPos;
+import org.wso2.ballerinalang.util.Flags;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inline calls to small functions of the same module.
+ * <p>
+ * A call is replaced by a copy of the body of the callee when the callee has no more instructions than the inline
+ * budget, so that a small function does not cost a full call with its strand and frame handling. Only callees which
+ * can never yield, lock or trap are inlined: their bodies may contain value instructions, jumps, branches, returns
+ * and panics only. Calls within a trap, remote calls and calls to annotated functions, which observability relies
+ * on, and recursive calls are left as they are. Callees are inlined into their callers after their own calls are
+ * inlined, and are kept since they may be referred from elsewhere.
+ *
+ * @since 2.0.0
+ */
+public class BIRFunctionInliner {
+
+    // callers are not grown beyond this size, to stay well within the size limit of a JVM method
+    private static final int MAX_CALLER_SIZE = 2000;
+    private static final int FLAGS_NOT_INLINED = Flags.NATIVE | Flags.INTERFACE | Flags.REMOTE | Flags.RESOURCE |
+            Flags.LAMBDA | Flags.WORKER | Flags.TRANSACTIONAL;
+    private static final String MAIN_FUNCTION_NAME = "main";
+    private static final String INLINED_VAR_PREFIX = "%inl";
+
+    private final int budget;
+    private final boolean dumpInlining;
+    private final PrintStream console;
+
+    private BIRPackage pkg;
+    private final Map<String, BIRFunction> moduleFunctions = new HashMap<>();
+    private final Set<BIRFunction> visitedFunctions = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<BIRFunction> functionsInProgress = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Map<BIRFunction, Boolean> inlinableFunctions = new IdentityHashMap<>();
+    private final List<String> report = new ArrayList<>();
+    private int inlinedCallCount;
+
+    /**
+     * Creates an inliner.
+     *
+     * @param budget       maximum number of instructions of an inlined function, inlining is disabled if not positive
+     * @param dumpInlining whether to print the inlined calls
+     */
+    public BIRFunctionInliner(int budget, boolean dumpInlining) {
+        this(budget, dumpInlining, System.out);
+    }
+
+    /**
+     * Creates an inliner which prints the inlined calls to the given stream.
+     *
+     * @param budget       maximum number of instructions of an inlined function, inlining is disabled if not positive
+     * @param dumpInlining whether to print the inlined calls
+     * @param console      stream to print the inlined calls to
+     */
+    public BIRFunctionInliner(int budget, boolean dumpInlining, PrintStream console) {
+        this.budget = budget;
+        this.dumpInlining = dumpInlining;
+        this.console = console;
+    }
+
+    public void optimizeNode(BIRPackage pkg) {
+        if (budget <= 0) {
+            return;
+        }
+
+        this.pkg = pkg;
+        for (BIRFunction func : pkg.functions) {
+            moduleFunctions.put(func.name.value, func);
+        }
+        for (BIRFunction func : pkg.functions) {
+            inlineCalls(func);
+        }
+        for (BIRTypeDefinition typeDef : pkg.typeDefs) {
+            if (typeDef.attachedFuncs != null) {
+                typeDef.attachedFuncs.forEach(this::inlineCalls);
+            }
+        }
+
+        if (dumpInlining) {
+            console.println("inlined " + inlinedCallCount + " calls in module " + pkg.org + "/" + pkg.name + ":" +
+                                    pkg.version);
+            report.forEach(console::println);
+        }
+
+        this.pkg = null;
+        moduleFunctions.clear();
+        visitedFunctions.clear();
+        functionsInProgress.clear();
+        inlinableFunctions.clear();
+        report.clear();
+        inlinedCallCount = 0;
+    }
+
+    private void inlineCalls(BIRFunction caller) {
+        if (!visitedFunctions.add(caller)) {
+            return;
+        }
+        functionsInProgress.add(caller);
+
+        // inline the calls of the callees first, so that their inlined bodies are inlined in turn
+        for (BIRBasicBlock bb : caller.basicBlocks) {
+            if (bb.terminator != null && bb.terminator.kind == InstructionKind.CALL) {
+                BIRFunction callee = getCallee((Call) bb.terminator);
+                if (callee != null) {
+                    inlineCalls(callee);
+                }
+            }
+        }
+
+        Set<BIRBasicBlock> trappedBBs = getTrappedBasicBlocks(caller);
+        int callerSize = getSize(caller);
+        // inlined blocks are added after the call, and have no calls themselves
+        for (int i = 0; i < caller.basicBlocks.size(); i++) {
+            BIRBasicBlock bb = caller.basicBlocks.get(i);
+            if (bb.terminator == null || bb.terminator.kind != InstructionKind.CALL || trappedBBs.contains(bb)) {
+                continue;
+            }
+
+            Call call = (Call) bb.terminator;
+            BIRFunction callee = getCallee(call);
+            if (callee == null || !isInlinable(caller, call, callee)) {
+                continue;
+            }
+            int calleeSize = getSize(callee);
+            if (callerSize + calleeSize > MAX_CALLER_SIZE) {
+                continue;
+            }
+
+            List<BIRBasicBlock> inlinedBBs = inline(caller, bb, call, callee);
+            caller.basicBlocks.addAll(i + 1, inlinedBBs);
+            caller.dependentGlobalVars.addAll(callee.dependentGlobalVars);
+            callerSize += calleeSize;
+            inlinedCallCount++;
+            if (dumpInlining) {
+                report.add("    " + callee.name + " (" + calleeSize + " instructions) into " + caller.name + " at " +
+                                   call.pos);
+            }
+        }
+
+        functionsInProgress.remove(caller);
+    }
+
+    private boolean isInlinable(BIRFunction caller, Call call, BIRFunction callee) {
+        // observed calls must stay calls, so that the observability instrumentation still finds them
+        if (callee == caller || functionsInProgress.contains(callee) || call.calleeFlags.contains(Flag.REMOTE) ||
+                !call.calleeAnnotAttachments.isEmpty()) {
+            return false;
+        }
+        return inlinableFunctions.computeIfAbsent(callee, this::isInlinable) &&
+                getArgs(callee).size() == call.args.size();
+    }
+
+    private boolean isInlinable(BIRFunction func) {
+        if ((func.flags & FLAGS_NOT_INLINED) != 0 || func.name.value.equals(MAIN_FUNCTION_NAME) ||
+                func.name.value.contains("<") || func.receiver != null || func.restParam != null ||
+                !func.annotAttachments.isEmpty() || func.workerChannels.length > 0 || !func.errorTable.isEmpty() ||
+                func.basicBlocks.isEmpty() || getSize(func) > budget) {
+            return false;
+        }
+        for (List<BIRBasicBlock> defaultValueBBs : func.parameters.values()) {
+            if (!defaultValueBBs.isEmpty()) {
+                return false;
+            }
+        }
+
+        Map<BIRVariableDcl, BIRVariableDcl> localVars = new HashMap<>();
+        func.localVars.forEach(var -> localVars.put(var, var));
+        for (BIRBasicBlock bb : func.basicBlocks) {
+            for (BIRNonTerminator ins : bb.instructions) {
+                if (!isInlinable(ins) || !isInlinable(ins.lhsOp, localVars)) {
+                    return false;
+                }
+                for (BIROperand operand : ins.getRhsOperands()) {
+                    if (!isInlinable(operand, localVars)) {
+                        return false;
+                    }
+                }
+            }
+            if (!isInlinable(bb.terminator)) {
+                return false;
+            }
+            for (BIROperand operand : bb.terminator.getRhsOperands()) {
+                if (!isInlinable(operand, localVars)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean isInlinable(BIRNonTerminator ins) {
+        return ins instanceof Move || ins instanceof BinaryOp || ins instanceof UnaryOP ||
+                ins instanceof ConstantLoad || ins instanceof TypeCast || ins instanceof IsLike ||
+                ins instanceof TypeTest || ins instanceof FieldAccess;
+    }
+
+    private boolean isInlinable(BIRTerminator terminator) {
+        if (terminator == null) {
+            return false;
+        }
+        switch (terminator.kind) {
+            case GOTO:
+            case BRANCH:
+            case RETURN:
+            case PANIC:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private boolean isInlinable(BIROperand operand, Map<BIRVariableDcl, BIRVariableDcl> localVars) {
+        if (operand == null || operand.variableDcl.ignoreVariable) {
+            return true;
+        }
+        VarKind kind = operand.variableDcl.kind;
+        return kind == VarKind.GLOBAL || kind == VarKind.CONSTANT || localVars.get(operand.variableDcl) != null;
+    }
+
+    /**
+     * Replaces the call terminating a basic block with a copy of the body of the callee. The arguments are moved to
+     * copies of the parameters, and each return moves the return value to the lhs of the call and jumps to the block
+     * the call continued with.
+     *
+     * @return the copied basic blocks of the callee
+     */
+    private List<BIRBasicBlock> inline(BIRFunction caller, BIRBasicBlock callBB, Call call, BIRFunction callee) {
+        String varPrefix = INLINED_VAR_PREFIX + inlinedCallCount + "_";
+        Map<BIRVariableDcl, BIRVariableDcl> vars = new HashMap<>();
+        for (BIRVariableDcl var : callee.localVars) {
+            VarKind kind = var.kind == VarKind.TEMP ? VarKind.TEMP : VarKind.LOCAL;
+            BIRVariableDcl inlinedVar = new BIRVariableDcl(call.pos, var.type, new Name(varPrefix + var.name.value),
+                                                           VarScope.FUNCTION, kind, null);
+            vars.put(var, inlinedVar);
+            caller.localVars.add(inlinedVar);
+        }
+
+        Map<BIRBasicBlock, BIRBasicBlock> bbs = new IdentityHashMap<>();
+        List<BIRBasicBlock> inlinedBBs = new ArrayList<>();
+        for (BIRBasicBlock bb : callee.basicBlocks) {
+            BIRBasicBlock inlinedBB = new BIRBasicBlock(new Name(callBB.id.value + "_" + bb.id.value));
+            bbs.put(bb, inlinedBB);
+            inlinedBBs.add(inlinedBB);
+        }
+
+        // the positions and scopes are the ones of the call, which is where the inlined code runs
+        DiagnosticPos pos = call.pos;
+        List<BIRVariableDcl> params = getArgs(callee);
+        for (int i = 0; i < params.size(); i++) {
+            Move argMove = new Move(pos, new BIROperand(call.args.get(i).variableDcl),
+                                    new BIROperand(vars.get(params.get(i))));
+            argMove.scope = call.scope;
+            callBB.instructions.add(argMove);
+        }
+        callBB.terminator = new GOTO(pos, bbs.get(callee.basicBlocks.get(0)));
+        callBB.terminator.scope = call.scope;
+
+        for (BIRBasicBlock bb : callee.basicBlocks) {
+            BIRBasicBlock inlinedBB = bbs.get(bb);
+            for (BIRNonTerminator ins : bb.instructions) {
+                BIRNonTerminator inlinedIns = copy(ins, pos, vars);
+                inlinedIns.scope = call.scope;
+                inlinedBB.instructions.add(inlinedIns);
+            }
+
+            BIRTerminator terminator = bb.terminator;
+            BIRTerminator inlinedTerminator;
+            switch (terminator.kind) {
+                case GOTO:
+                    inlinedTerminator = new GOTO(pos, bbs.get(((GOTO) terminator).targetBB));
+                    break;
+                case BRANCH:
+                    Branch branch = (Branch) terminator;
+                    inlinedTerminator = new Branch(pos, copy(branch.op, vars), bbs.get(branch.trueBB),
+                                                   bbs.get(branch.falseBB));
+                    break;
+                case PANIC:
+                    inlinedTerminator = new Panic(pos, copy(((Panic) terminator).errorOp, vars));
+                    break;
+                default:
+                    // return
+                    if (call.lhsOp != null) {
+                        Move returnMove = new Move(pos, new BIROperand(vars.get(callee.returnVariable)),
+                                                   new BIROperand(call.lhsOp.variableDcl));
+                        returnMove.scope = call.scope;
+                        inlinedBB.instructions.add(returnMove);
+                    }
+                    inlinedTerminator = new GOTO(pos, call.thenBB);
+                    break;
+            }
+            inlinedTerminator.scope = call.scope;
+            inlinedBB.terminator = inlinedTerminator;
+        }
+        return inlinedBBs;
+    }
+
+    private BIRNonTerminator copy(BIRNonTerminator ins, DiagnosticPos pos, Map<BIRVariableDcl, BIRVariableDcl> vars) {
+        if (ins instanceof Move) {
+            Move move = (Move) ins;
+            return new Move(pos, copy(move.rhsOp, vars), copy(move.lhsOp, vars));
+        }
+        if (ins instanceof BinaryOp) {
+            BinaryOp binaryOp = (BinaryOp) ins;
+            return new BinaryOp(pos, binaryOp.kind, binaryOp.lhsOp.variableDcl.type, copy(binaryOp.lhsOp, vars),
+                                copy(binaryOp.rhsOp1, vars), copy(binaryOp.rhsOp2, vars));
+        }
+        if (ins instanceof UnaryOP) {
+            UnaryOP unaryOp = (UnaryOP) ins;
+            return new UnaryOP(pos, unaryOp.kind, copy(unaryOp.lhsOp, vars), copy(unaryOp.rhsOp, vars));
+        }
+        if (ins instanceof ConstantLoad) {
+            ConstantLoad constantLoad = (ConstantLoad) ins;
+            return new ConstantLoad(pos, constantLoad.value, constantLoad.type, copy(constantLoad.lhsOp, vars));
+        }
+        if (ins instanceof TypeCast) {
+            TypeCast typeCast = (TypeCast) ins;
+            return new TypeCast(pos, copy(typeCast.lhsOp, vars), copy(typeCast.rhsOp, vars), typeCast.type,
+                                typeCast.checkTypes);
+        }
+        if (ins instanceof IsLike) {
+            IsLike isLike = (IsLike) ins;
+            return new IsLike(pos, isLike.type, copy(isLike.lhsOp, vars), copy(isLike.rhsOp, vars));
+        }
+        if (ins instanceof TypeTest) {
+            TypeTest typeTest = (TypeTest) ins;
+            return new TypeTest(pos, typeTest.type, copy(typeTest.lhsOp, vars), copy(typeTest.rhsOp, vars));
+        }
+        FieldAccess fieldAccess = (FieldAccess) ins;
+        FieldAccess inlinedFieldAccess = new FieldAccess(pos, fieldAccess.kind, copy(fieldAccess.lhsOp, vars),
+                                                         copy(fieldAccess.keyOp, vars), copy(fieldAccess.rhsOp, vars),
+                                                         fieldAccess.optionalFieldAccess, fieldAccess.fillingRead);
+        inlinedFieldAccess.onInitialization = fieldAccess.onInitialization;
+        return inlinedFieldAccess;
+    }
+
+    private BIROperand copy(BIROperand operand, Map<BIRVariableDcl, BIRVariableDcl> vars) {
+        if (operand == null) {
+            return null;
+        }
+        BIRVariableDcl var = operand.variableDcl;
+        if (var.ignoreVariable || var.kind == VarKind.GLOBAL || var.kind == VarKind.CONSTANT) {
+            return new BIROperand(var);
+        }
+        return new BIROperand(vars.get(var));
+    }
+
+    private List<BIRVariableDcl> getArgs(BIRFunction func) {
+        List<BIRVariableDcl> args = new ArrayList<>();
+        for (BIRVariableDcl var : func.localVars) {
+            if (var.kind == VarKind.ARG) {
+                args.add(var);
+            }
+        }
+        return args;
+    }
+
+    private Set<BIRBasicBlock> getTrappedBasicBlocks(BIRFunction func) {
+        Set<BIRBasicBlock> trappedBBs = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (BIRErrorEntry errorEntry : func.errorTable) {
+            boolean trapped = false;
+            for (BIRBasicBlock bb : func.basicBlocks) {
+                trapped |= bb == errorEntry.trapBB;
+                if (trapped) {
+                    trappedBBs.add(bb);
+                }
+                if (bb == errorEntry.endBB) {
+                    break;
+                }
+            }
+        }
+        return trappedBBs;
+    }
+
+    private int getSize(BIRFunction func) {
+        int size = 0;
+        for (BIRBasicBlock bb : func.basicBlocks) {
+            size += bb.instructions.size() + 1;
+        }
+        return size;
+    }
+
+    private BIRFunction getCallee(Call call) {
+        if (call.isVirtual || !isCurrentModule(call)) {
+            return null;
+        }
+        return moduleFunctions.get(call.name.value);
+    }
+
+    private boolean isCurrentModule(Call call) {
+        return pkg.org.value.equals(call.calleePkg.orgName.value) &&
+                pkg.name.value.equals(call.calleePkg.name.value) &&
+                pkg.version.value.equals(call.calleePkg.version.value);
+    }
+}
@@ -18,6 +18,7 @@
 
 package org.wso2.ballerinalang.compiler.bir.optimizer;
 
+import org.ballerinalang.compiler.CompilerOptionName;
 import org.wso2.ballerinalang.compiler.bir.model.BIRAbstractInstruction;
 import org.wso2.ballerinalang.compiler.bir.model.BIRNode;
 import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRBasicBlock;
@@ -33,6 +34,7 @@ import org.wso2.ballerinalang.compiler.bir.model.BIRVisitor;
 import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
 import org.wso2.ballerinalang.compiler.bir.model.VarKind;
 import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.CompilerOptions;
 import org.wso2.ballerinalang.util.Lists;
 
 import java.util.ArrayList;
@@ -53,6 +55,11 @@ public class BIROptimizer {
     private final LHSTempVarOptimizer lhsTempVarOptimizer;
     private final BIRLockOptimizer lockOptimizer;
     private final BirVariableOptimizer variableOptimizer;
+    private final BIRFunctionInliner functionInliner;
+    private final BIRTypeSpecializer typeSpecializer;
+    private final BIRCopyPropagator copyPropagator;
+    private final BIRConstantPropagator constantPropagator;
+    private final BIRDeadCodeEliminator deadCodeEliminator;
 
     public static BIROptimizer getInstance(CompilerContext context) {
         BIROptimizer birGen = context.get(BIR_OPTIMIZER);
@@ -69,9 +76,39 @@ public class BIROptimizer {
         this.lhsTempVarOptimizer = new LHSTempVarOptimizer();
         this.lockOptimizer = new BIRLockOptimizer();
         this.variableOptimizer = new BirVariableOptimizer();
+        this.typeSpecializer = new BIRTypeSpecializer();
+        this.copyPropagator = new BIRCopyPropagator();
+        this.constantPropagator = new BIRConstantPropagator();
+        this.deadCodeEliminator = new BIRDeadCodeEliminator();
+
+        CompilerOptions compilerOptions = CompilerOptions.getInstance(context);
+        this.functionInliner = new BIRFunctionInliner(getInlineBudget(compilerOptions),
+                Boolean.parseBoolean(compilerOptions.get(CompilerOptionName.DUMP_INLINING)));
+    }
+
+    private int getInlineBudget(CompilerOptions compilerOptions) {
+        String inlineBudget = compilerOptions.get(CompilerOptionName.INLINE_BUDGET);
+        if (inlineBudget == null) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(inlineBudget);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
     }
 
     public void optimizePackage(BIRPackage pkg) {
+        optimizePackage(pkg, true);
+    }
+
+    /**
+     * Optimize a package.
+     *
+     * @param pkg    package to optimize
+     * @param inline whether calls may be inlined, which is not the case if calls are to be replaced later
+     */
+    public void optimizePackage(BIRPackage pkg, boolean inline) {
         // RHS temp var optimization
         pkg.accept(this.rhsTempVarOptimizer);
 
@@ -80,6 +117,20 @@ public class BIROptimizer {
 
         // Optimize lock statements
         this.lockOptimizer.optimizeNode(pkg);
+
+        // Inline calls to small functions
+        if (inline) {
+            this.functionInliner.optimizeNode(pkg);
+        }
+
+        // Keep int, float and boolean values unboxed in union typed variables
+        this.typeSpecializer.optimizeNode(pkg);
+
+        // Propagate copies and constants, and remove the code left unreachable or unread
+        this.copyPropagator.optimizeNode(pkg);
+        this.constantPropagator.optimizeNode(pkg);
+        this.deadCodeEliminator.optimizeNode(pkg);
+
         variableOptimizer.optimizeNode(pkg);
     }
 
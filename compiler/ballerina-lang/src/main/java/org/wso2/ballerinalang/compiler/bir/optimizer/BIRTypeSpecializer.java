@@ -0,0 +1,346 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.ballerinalang.compiler.bir.optimizer;
+
+import org.wso2.ballerinalang.compiler.bir.model.BIRAbstractInstruction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRBasicBlock;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRErrorEntry;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRFunction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRMappingConstructorEntry;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRMappingConstructorKeyValueEntry;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRMappingConstructorSpreadFieldEntry;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRPackage;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRTypeDefinition;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRVariableDcl;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.ConstantLoad;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.FPLoad;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.Move;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.NewStructure;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.TypeCast;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.TypeTest;
+import org.wso2.ballerinalang.compiler.bir.model.BIROperand;
+import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarScope;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BUnionType;
+import org.wso2.ballerinalang.compiler.util.TypeTags;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Give the temporary variables of union and {@code any} types which only ever hold {@code int}, {@code float} or
+ * {@code boolean} values that primitive type, so that their values are neither boxed when assigned nor unboxed
+ * when read. Variables declared by the user keep their types.
+ * <p>
+ * A variable is specialized when each assignment to it converts a value of the same primitive type, which is a
+ * member of the type of the variable, or copies another specialized variable, and each read of it converts it back
+ * to that type after the type is narrowed, tests it against that type, converts it to a union or {@code any} type,
+ * or copies it. The conversions to the primitive type become moves and the type tests become {@code true}. Copies
+ * to variables which are not specialized box the value there.
+ *
+ * @since 2.0.0
+ */
+public class BIRTypeSpecializer {
+
+    private final Map<BIRVariableDcl, List<BIRNonTerminator>> assignments = new HashMap<>();
+    private final Map<BIRVariableDcl, List<BIRNonTerminator>> reads = new HashMap<>();
+    private final Map<BIRVariableDcl, BType> specializedTypes = new HashMap<>();
+    private final Set<BIRVariableDcl> excludedVars = new HashSet<>();
+    // variable declarations referred by operands, which are updated along with the ones of the function
+    private final Set<BIRVariableDcl> varDcls = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    public void optimizeNode(BIRPackage pkg) {
+        pkg.functions.forEach(this::optimizeFunction);
+        for (BIRTypeDefinition typeDef : pkg.typeDefs) {
+            if (typeDef.attachedFuncs != null) {
+                typeDef.attachedFuncs.forEach(this::optimizeFunction);
+            }
+        }
+    }
+
+    private void optimizeFunction(BIRFunction func) {
+        for (List<BIRBasicBlock> paramBBs : func.parameters.values()) {
+            paramBBs.forEach(this::collectUses);
+        }
+        func.basicBlocks.forEach(this::collectUses);
+        for (BIRErrorEntry errorEntry : func.errorTable) {
+            exclude(errorEntry.errorOp);
+        }
+
+        if (!assignments.isEmpty()) {
+            selectSpecializedVars();
+            if (!specializedTypes.isEmpty()) {
+                for (List<BIRBasicBlock> paramBBs : func.parameters.values()) {
+                    paramBBs.forEach(this::specialize);
+                }
+                func.basicBlocks.forEach(this::specialize);
+                for (BIRVariableDcl varDcl : func.localVars) {
+                    retype(varDcl);
+                }
+                varDcls.forEach(this::retype);
+            }
+        }
+
+        assignments.clear();
+        reads.clear();
+        specializedTypes.clear();
+        excludedVars.clear();
+        varDcls.clear();
+    }
+
+    private void collectUses(BIRBasicBlock bb) {
+        for (BIRNonTerminator instruction : bb.instructions) {
+            switch (instruction.kind) {
+                case MOVE:
+                    addAssignment(instruction);
+                    addRead(((Move) instruction).rhsOp, instruction);
+                    break;
+                case TYPE_CAST:
+                    addAssignment(instruction);
+                    addRead(((TypeCast) instruction).rhsOp, instruction);
+                    break;
+                case TYPE_TEST:
+                    exclude(instruction.lhsOp);
+                    addRead(((TypeTest) instruction).rhsOp, instruction);
+                    break;
+                default:
+                    // the lhs of a store is read
+                    exclude(instruction.lhsOp);
+                    excludeOperands(instruction);
+                    break;
+            }
+        }
+        exclude(bb.terminator.lhsOp);
+        excludeOperands(bb.terminator);
+    }
+
+    private void addAssignment(BIRNonTerminator instruction) {
+        BIRVariableDcl lhsVar = instruction.lhsOp.variableDcl;
+        varDcls.add(lhsVar);
+        if (isCandidate(lhsVar)) {
+            assignments.computeIfAbsent(lhsVar, k -> new ArrayList<>()).add(instruction);
+        } else {
+            excludedVars.add(lhsVar);
+        }
+    }
+
+    private void addRead(BIROperand operand, BIRNonTerminator instruction) {
+        varDcls.add(operand.variableDcl);
+        reads.computeIfAbsent(operand.variableDcl, k -> new ArrayList<>()).add(instruction);
+    }
+
+    private void excludeOperands(BIRAbstractInstruction instruction) {
+        for (BIROperand operand : instruction.getRhsOperands()) {
+            exclude(operand);
+        }
+        if (instruction instanceof NewStructure) {
+            for (BIRMappingConstructorEntry entry : ((NewStructure) instruction).initialValues) {
+                if (entry instanceof BIRMappingConstructorKeyValueEntry) {
+                    exclude(((BIRMappingConstructorKeyValueEntry) entry).keyOp);
+                    exclude(((BIRMappingConstructorKeyValueEntry) entry).valueOp);
+                } else if (entry instanceof BIRMappingConstructorSpreadFieldEntry) {
+                    exclude(((BIRMappingConstructorSpreadFieldEntry) entry).exprOp);
+                }
+            }
+        } else if (instruction instanceof FPLoad) {
+            excludedVars.addAll(((FPLoad) instruction).params);
+        }
+    }
+
+    private void exclude(BIROperand operand) {
+        if (operand != null) {
+            excludedVars.add(operand.variableDcl);
+        }
+    }
+
+    private boolean isCandidate(BIRVariableDcl varDcl) {
+        if (varDcl.scope != VarScope.FUNCTION || varDcl.ignoreVariable) {
+            return false;
+        }
+        // variables declared by the user keep their declared types, which the debugger shows
+        if (varDcl.kind != VarKind.TEMP && varDcl.kind != VarKind.SYNTHETIC) {
+            return false;
+        }
+        return isBoxedType(varDcl.type);
+    }
+
+    private boolean isBoxedType(BType type) {
+        switch (type.tag) {
+            case TypeTags.UNION:
+            case TypeTags.ANY:
+            case TypeTags.ANYDATA:
+            case TypeTags.JSON:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private boolean isPrimitiveType(BType type) {
+        return type.tag == TypeTags.INT || type.tag == TypeTags.FLOAT || type.tag == TypeTags.BOOLEAN;
+    }
+
+    private void selectSpecializedVars() {
+        for (Map.Entry<BIRVariableDcl, List<BIRNonTerminator>> entry : assignments.entrySet()) {
+            BType type = getAssignedType(entry.getKey(), entry.getValue());
+            if (type != null && !excludedVars.contains(entry.getKey())) {
+                specializedTypes.put(entry.getKey(), type);
+            }
+        }
+
+        // A variable which can not be specialized may prevent the variables it is copied from or to being specialized
+        boolean changed = true;
+        while (changed) {
+            changed = specializedTypes.keySet().removeIf(varDcl -> !isSpecializable(varDcl));
+        }
+    }
+
+    private BType getAssignedType(BIRVariableDcl varDcl, List<BIRNonTerminator> instructions) {
+        BType assignedType = null;
+        for (BIRNonTerminator instruction : instructions) {
+            if (instruction.kind != InstructionKind.TYPE_CAST) {
+                continue;
+            }
+            BType type = ((TypeCast) instruction).rhsOp.variableDcl.type;
+            if (!isPrimitiveType(type) || assignedType != null && assignedType.tag != type.tag) {
+                return null;
+            }
+            assignedType = type;
+        }
+        // A cast to a type without the primitive type, such as from int to float|string, converts the value
+        return assignedType != null && hasMemberType(varDcl.type, assignedType) ? assignedType : null;
+    }
+
+    private boolean hasMemberType(BType type, BType memberType) {
+        switch (type.tag) {
+            case TypeTags.UNION:
+                for (BType unionMember : ((BUnionType) type).getMemberTypes()) {
+                    if (unionMember.tag == memberType.tag || hasMemberType(unionMember, memberType)) {
+                        return true;
+                    }
+                }
+                return false;
+            case TypeTags.ANY:
+            case TypeTags.ANYDATA:
+            case TypeTags.JSON:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private boolean isSpecializable(BIRVariableDcl varDcl) {
+        BType type = specializedTypes.get(varDcl);
+        for (BIRNonTerminator instruction : assignments.get(varDcl)) {
+            if (instruction.kind == InstructionKind.MOVE &&
+                    !hasSpecializedType(((Move) instruction).rhsOp.variableDcl, type)) {
+                return false;
+            }
+        }
+
+        for (BIRNonTerminator instruction : reads.getOrDefault(varDcl, Collections.emptyList())) {
+            BIRVariableDcl lhsVar = instruction.lhsOp.variableDcl;
+            switch (instruction.kind) {
+                case MOVE:
+                    if (!hasSpecializedType(lhsVar, type) && !isBoxedType(lhsVar.type)) {
+                        return false;
+                    }
+                    break;
+                case TYPE_CAST:
+                    BType targetType = ((TypeCast) instruction).type;
+                    if (targetType.tag != type.tag && !isBoxedType(targetType)) {
+                        return false;
+                    }
+                    break;
+                case TYPE_TEST:
+                    if (((TypeTest) instruction).type.tag != type.tag || lhsVar.type.tag != TypeTags.BOOLEAN) {
+                        return false;
+                    }
+                    break;
+                default:
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean hasSpecializedType(BIRVariableDcl varDcl, BType type) {
+        BType specializedType = specializedTypes.get(varDcl);
+        return specializedType != null && specializedType.tag == type.tag;
+    }
+
+    private void specialize(BIRBasicBlock bb) {
+        List<BIRNonTerminator> instructions = bb.instructions;
+        for (int i = 0; i < instructions.size(); i++) {
+            BIRNonTerminator instruction = instructions.get(i);
+            BIRNonTerminator specializedIns = specialize(instruction);
+            if (specializedIns != instruction) {
+                specializedIns.scope = instruction.scope;
+                instructions.set(i, specializedIns);
+            }
+        }
+    }
+
+    private BIRNonTerminator specialize(BIRNonTerminator instruction) {
+        BIRVariableDcl lhsVar = instruction.lhsOp.variableDcl;
+        switch (instruction.kind) {
+            case MOVE:
+                Move move = (Move) instruction;
+                if (specializedTypes.containsKey(move.rhsOp.variableDcl) && !specializedTypes.containsKey(lhsVar)) {
+                    // box the value for the variable which is not specialized
+                    return new TypeCast(move.pos, move.lhsOp, move.rhsOp, lhsVar.type, false);
+                }
+                return instruction;
+            case TYPE_CAST:
+                TypeCast typeCast = (TypeCast) instruction;
+                BType specializedType = specializedTypes.get(lhsVar);
+                if (specializedType != null) {
+                    return new Move(typeCast.pos, typeCast.rhsOp, typeCast.lhsOp);
+                }
+                specializedType = specializedTypes.get(typeCast.rhsOp.variableDcl);
+                if (specializedType != null && specializedType.tag == typeCast.type.tag) {
+                    return new Move(typeCast.pos, typeCast.rhsOp, typeCast.lhsOp);
+                }
+                return instruction;
+            case TYPE_TEST:
+                if (specializedTypes.containsKey(((TypeTest) instruction).rhsOp.variableDcl)) {
+                    return new ConstantLoad(instruction.pos, true, lhsVar.type, instruction.lhsOp);
+                }
+                return instruction;
+            default:
+                return instruction;
+        }
+    }
+
+    private void retype(BIRVariableDcl varDcl) {
+        BType specializedType = specializedTypes.get(varDcl);
+        if (specializedType != null) {
+            varDcl.type = specializedType;
+        }
+    }
+}
@@ -28,11 +28,13 @@ import org.wso2.ballerinalang.compiler.bir.model.VarKind;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 /**
  * Optimize variables by reusing temporary variables of the same type.
@@ -56,32 +58,34 @@ public class BirVariableOptimizer extends BIRVisitor {
     @Override
     public void visit(BIRNode.BIRFunction birFunction) {
         ControlFlowGraph graph = new ControlFlowGraph(birFunction);
-        LivenessAnalyzer analyzer = new LivenessAnalyzer(graph.getNodes());
-        Map<BIRAbstractInstruction, Set<BIRNode.BIRVariableDcl>> liveOuts = analyzer.getInstructionLiveOuts();
+        LivenessAnalyzer analyzer = new LivenessAnalyzer(graph);
         List<BIRNode.BIRVariableDcl> unusedVars = new ArrayList<>();
-        reuseVars(liveOuts, unusedVars, birFunction);
-        unusedVars.forEach(var -> birFunction.localVars.remove(var));
+        reuseVars(analyzer, unusedVars, birFunction);
+        if (!unusedVars.isEmpty()) {
+            birFunction.localVars.removeAll(new HashSet<>(unusedVars));
+        }
     }
 
-    private void reuseVars(Map<BIRAbstractInstruction, Set<BIRNode.BIRVariableDcl>> liveOuts,
-                           List<BIRNode.BIRVariableDcl> unusedVars, BIRNode.BIRFunction birFunction) {
+    private void reuseVars(LivenessAnalyzer analyzer, List<BIRNode.BIRVariableDcl> unusedVars,
+                           BIRNode.BIRFunction birFunction) {
         List<BIRAbstractInstruction> instructionList = getInstructionList(birFunction);
+        InstructionLiveOuts liveOuts = new InstructionLiveOuts(analyzer);
+        OperandUses uses = new OperandUses(instructionList);
         Map<BType, LinkedList<BIRNode.BIRVariableDcl>> freeVars = new HashMap<>();
         for (int i = 0; i < instructionList.size(); i++) {
             if (instructionList.get(i).getKind() == InstructionKind.XML_SEQ_STORE) {
                 continue;
             }
-            tryToReuseFromFreeVars(liveOuts, freeVars, instructionList, i, unusedVars);
-            checkForFreeVars(freeVars, liveOuts, instructionList.get(i));
+            tryToReuseFromFreeVars(liveOuts, uses, freeVars, instructionList, i, unusedVars);
+            checkForFreeVars(freeVars, liveOuts, uses, i);
         }
     }
 
     private void checkForFreeVars(Map<BType, LinkedList<BIRNode.BIRVariableDcl>> freeVars,
-                                  Map<BIRAbstractInstruction, Set<BIRNode.BIRVariableDcl>> liveOuts,
-                                  BIRAbstractInstruction instruction) {
-        for (BIROperand operand : instruction.getRhsOperands()) {
+                                  InstructionLiveOuts liveOuts, OperandUses uses, int index) {
+        for (BIROperand operand : uses.getRhsOperands(index)) {
             BType type = operand.variableDcl.type;
-            if (operand.variableDcl.kind == VarKind.TEMP && !liveOuts.get(instruction).contains(operand.variableDcl)) {
+            if (operand.variableDcl.kind == VarKind.TEMP && !liveOuts.contains(index, operand.variableDcl)) {
                 if (!freeVars.containsKey(type)) {
                     freeVars.put(type, new LinkedList<>());
                 }
@@ -91,7 +95,7 @@ public class BirVariableOptimizer extends BIRVisitor {
         }
     }
 
-    private void tryToReuseFromFreeVars(Map<BIRAbstractInstruction, Set<BIRNode.BIRVariableDcl>> liveOuts,
+    private void tryToReuseFromFreeVars(InstructionLiveOuts liveOuts, OperandUses uses,
                                         Map<BType, LinkedList<BIRNode.BIRVariableDcl>> freeVars,
                                         List<BIRAbstractInstruction> instructionList, int index,
                                         List<BIRNode.BIRVariableDcl> unusedVars) {
@@ -106,40 +110,38 @@ public class BirVariableOptimizer extends BIRVisitor {
         }
         BIRNode.BIRVariableDcl newLhsOp = defLs.peek();
         BIRNode.BIRVariableDcl oldLhsOp = (instruction).lhsOp.variableDcl;
-        if (oldLhsOp.kind == VarKind.TEMP && !checkVarUse(instruction, oldLhsOp)) {
+        if (oldLhsOp.kind == VarKind.TEMP && !checkVarUse(uses, index, oldLhsOp)) {
             defLs.remove();
             unusedVars.add(oldLhsOp);
-            replaceOldOp(instructionList, index, oldLhsOp, newLhsOp, liveOuts);
+            replaceOldOp(uses, index, oldLhsOp, newLhsOp, liveOuts);
             instruction.lhsOp.variableDcl = newLhsOp;
+            uses.addVarUse(newLhsOp, instruction.lhsOp);
         }
     }
 
-    private void replaceOldOp(List<BIRAbstractInstruction> instructionList, int index, BIRNode.BIRVariableDcl oldLhsOp,
-                              BIRNode.BIRVariableDcl newLhsOp,
-                              Map<BIRAbstractInstruction, Set<BIRNode.BIRVariableDcl>> liveOuts) {
-        for (int i = index + 1; i < instructionList.size(); i++) {
-            BIRAbstractInstruction instruction = instructionList.get(i);
-            boolean changed = false;
-            BIROperand[] operands = instruction.getRhsOperands();
-            for (BIROperand operand : operands) {
-                if (operand.variableDcl == oldLhsOp) {
-                    operand.variableDcl = newLhsOp;
-                    changed = true;
-                }
-            }
-
-            if (!changed) {
+    /**
+     * Replaces the uses of the old variable by the instructions after the given index. The operands are shared
+     * between instructions, so an instruction is regarded as changed only if it is the first one after the given
+     * index to use an operand.
+     */
+    private void replaceOldOp(OperandUses uses, int index, BIRNode.BIRVariableDcl oldLhsOp,
+                              BIRNode.BIRVariableDcl newLhsOp, InstructionLiveOuts liveOuts) {
+        for (BIROperand operand : uses.getVarUses(oldLhsOp)) {
+            if (operand.variableDcl != oldLhsOp) {
                 continue;
             }
-            Set<BIRNode.BIRVariableDcl> insLiveOuts = liveOuts.get(instruction);
-            if (insLiveOuts.remove(oldLhsOp)) {
-                insLiveOuts.add(newLhsOp);
+            int position = uses.getNextPosition(operand, index);
+            if (position < 0) {
+                continue;
             }
+            operand.variableDcl = newLhsOp;
+            uses.addVarUse(newLhsOp, operand);
+            liveOuts.replace(position, oldLhsOp, newLhsOp);
         }
     }
 
-    private boolean checkVarUse(BIRAbstractInstruction instruction, BIRNode.BIRVariableDcl oldLhsOp) {
-        for (BIROperand operand : instruction.getRhsOperands()) {
+    private boolean checkVarUse(OperandUses uses, int index, BIRNode.BIRVariableDcl oldLhsOp) {
+        for (BIROperand operand : uses.getRhsOperands(index)) {
             if (operand.variableDcl == oldLhsOp) {
                 return true;
             }
@@ -235,4 +237,117 @@ public class BirVariableOptimizer extends BIRVisitor {
     public void visit(BIRTerminator.WorkerSend workerSend) {
         // Do nothing
     }
+
+    /**
+     * The variables that are live after the execution of each instruction of the function, in the order of
+     * {@link #getInstructionList}. They are computed for a basic block once its first instruction is reached, so that
+     * only the sets of a single basic block are kept at a time.
+     */
+    private static class InstructionLiveOuts {
+        private final LivenessAnalyzer analyzer;
+        // the replaced variables of the instructions whose sets are not computed yet, as pairs of old and new ones
+        private final Map<Integer, List<BIRNode.BIRVariableDcl>> pendingReplacements = new HashMap<>();
+        private int basicBlock = -1;
+        private int start = 0;
+        private BitSet[] liveOuts = new BitSet[0];
+
+        InstructionLiveOuts(LivenessAnalyzer analyzer) {
+            this.analyzer = analyzer;
+        }
+
+        boolean contains(int position, BIRNode.BIRVariableDcl variableDcl) {
+            while (position >= start + liveOuts.length) {
+                nextBasicBlock();
+            }
+            return liveOuts[position - start].get(analyzer.getIndex(variableDcl));
+        }
+
+        void replace(int position, BIRNode.BIRVariableDcl oldVar, BIRNode.BIRVariableDcl newVar) {
+            if (position < start + liveOuts.length) {
+                replace(liveOuts[position - start], oldVar, newVar);
+                return;
+            }
+            List<BIRNode.BIRVariableDcl> replacements =
+                    pendingReplacements.computeIfAbsent(position, key -> new ArrayList<>());
+            replacements.add(oldVar);
+            replacements.add(newVar);
+        }
+
+        private void nextBasicBlock() {
+            start += liveOuts.length;
+            basicBlock++;
+            liveOuts = analyzer.getInstructionLiveOuts(basicBlock);
+            if (pendingReplacements.isEmpty()) {
+                return;
+            }
+            for (int i = 0; i < liveOuts.length; i++) {
+                List<BIRNode.BIRVariableDcl> replacements = pendingReplacements.remove(start + i);
+                if (replacements == null) {
+                    continue;
+                }
+                for (int j = 0; j < replacements.size(); j += 2) {
+                    replace(liveOuts[i], replacements.get(j), replacements.get(j + 1));
+                }
+            }
+        }
+
+        private void replace(BitSet liveOut, BIRNode.BIRVariableDcl oldVar, BIRNode.BIRVariableDcl newVar) {
+            int oldIndex = analyzer.getIndex(oldVar);
+            if (liveOut.get(oldIndex)) {
+                liveOut.clear(oldIndex);
+                liveOut.set(analyzer.getIndex(newVar));
+            }
+        }
+    }
+
+    /**
+     * The rhs operands of each instruction of the function, indexed by the variables they refer to, so that the uses
+     * of a variable can be replaced without going through the rest of the function.
+     */
+    private static class OperandUses {
+        private final BIROperand[][] rhsOperands;
+        private final Map<BIROperand, List<Integer>> operandPositions = new IdentityHashMap<>();
+        // the operands which referred to each variable at some point
+        private final Map<BIRNode.BIRVariableDcl, List<BIROperand>> varUses = new IdentityHashMap<>();
+
+        OperandUses(List<BIRAbstractInstruction> instructionList) {
+            rhsOperands = new BIROperand[instructionList.size()][];
+            for (int i = 0; i < rhsOperands.length; i++) {
+                rhsOperands[i] = instructionList.get(i).getRhsOperands();
+                for (BIROperand operand : rhsOperands[i]) {
+                    List<Integer> positions = operandPositions.get(operand);
+                    if (positions == null) {
+                        positions = new ArrayList<>(1);
+                        operandPositions.put(operand, positions);
+                        addVarUse(operand.variableDcl, operand);
+                    }
+                    positions.add(i);
+                }
+            }
+        }
+
+        BIROperand[] getRhsOperands(int position) {
+            return rhsOperands[position];
+        }
+
+        List<BIROperand> getVarUses(BIRNode.BIRVariableDcl variableDcl) {
+            List<BIROperand> operands = varUses.get(variableDcl);
+            return operands == null ? new ArrayList<>() : new ArrayList<>(operands);
+        }
+
+        void addVarUse(BIRNode.BIRVariableDcl variableDcl, BIROperand operand) {
+            if (operandPositions.containsKey(operand)) {
+                varUses.computeIfAbsent(variableDcl, key -> new ArrayList<>()).add(operand);
+            }
+        }
+
+        int getNextPosition(BIROperand operand, int position) {
+            for (int next : operandPositions.get(operand)) {
+                if (next > position) {
+                    return next;
+                }
+            }
+            return -1;
+        }
+    }
 }
@@ -15,98 +15,142 @@
  *  specific language governing permissions and limitations
  *  under the License.
  */
-
 package org.wso2.ballerinalang.compiler.bir.optimizer;
 
-import org.wso2.ballerinalang.compiler.bir.model.BIRAbstractInstruction;
 import org.wso2.ballerinalang.compiler.bir.model.BIRNode;
-import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
- * The control flow graph that gets created from the bir. In this implementation each instruction is reflected as a node
- * in the Graph including the terminator instruction.
+ * The control flow graph that gets created from the bir. In this implementation each basic block of the function is
+ * reflected as a node in the graph, and is identified by its index in the function's basic blocks. The nodes are
+ * linked based on the basic blocks' terminators.
  */
 public class ControlFlowGraph {
-    private final BIRNode.BIRFunction function;
-    private final Map<BIRNode.BIRBasicBlock, Node> funcBasicBlockFirstNodeMap;
-    private final Map<BIRNode.BIRBasicBlock, Node> funcBasicBlockLastNodeMap;
-    private final List<Node> nodes;
+    private final List<BIRNode.BIRBasicBlock> basicBlocks;
+    private final int[][] successors;
+    private final int[][] predecessors;
+    private final int[] reversePostOrder;
 
     public ControlFlowGraph(BIRNode.BIRFunction function) {
-        this.function = function;
-        funcBasicBlockFirstNodeMap = new HashMap<>();
-        funcBasicBlockLastNodeMap = new HashMap<>();
-        nodes = new ArrayList<>();
+        this.basicBlocks = function.basicBlocks;
+        int size = basicBlocks.size();
+        this.successors = new int[size][];
+        this.predecessors = new int[size][];
+        this.reversePostOrder = new int[size];
         generate();
     }
 
     /**
-     * Traverses the BIR and generates a graph. Each instruction is represented as a Node and linked with an edge to the
-     * next instruction within the same basic block. The nodes across the basic blocks are linked based on the basic
-     * blocks' terminator nodes.
+     * Traverses the BIR and generates a graph. Each basic block is linked with an edge to each of the basic blocks of
+     * the function its terminator may continue to.
      */
-    public void generate() {
-        for (BIRNode.BIRBasicBlock basicBlock : function.basicBlocks) {
-            Node prev = null;
-            for (int i = 0; i < basicBlock.instructions.size(); i++) {
-                Node node = new Node(basicBlock.instructions.get(i));
-                nodes.add(node);
-                if (i == 0) {
-                    funcBasicBlockFirstNodeMap.put(basicBlock, node);
-                }
-                if (prev != null) {
-                    addEdge(prev, node);
+    private void generate() {
+        int size = basicBlocks.size();
+        Map<BIRNode.BIRBasicBlock, Integer> indexes = new IdentityHashMap<>(size);
+        for (int i = 0; i < size; i++) {
+            indexes.put(basicBlocks.get(i), i);
+        }
+
+        int[] predecessorCounts = new int[size];
+        for (int i = 0; i < size; i++) {
+            BIRNode.BIRBasicBlock[] nextBasicBlocks = basicBlocks.get(i).terminator.getNextBasicBlocks();
+            int[] targets = new int[nextBasicBlocks.length];
+            int count = 0;
+            for (BIRNode.BIRBasicBlock basicBlock : nextBasicBlocks) {
+                Integer target = indexes.get(basicBlock);
+                if (target != null) {
+                    targets[count++] = target;
+                    predecessorCounts[target]++;
                 }
-                prev = node;
             }
-            Node terminatorNode = new Node(basicBlock.terminator);
-            nodes.add(terminatorNode);
-            if (prev != null) {
-                addEdge(prev, terminatorNode);
-            } else {
-                funcBasicBlockFirstNodeMap.put(basicBlock, terminatorNode);
+            successors[i] = count == targets.length ? targets : Arrays.copyOf(targets, count);
+        }
+
+        for (int i = 0; i < size; i++) {
+            predecessors[i] = new int[predecessorCounts[i]];
+            predecessorCounts[i] = 0;
+        }
+        for (int i = 0; i < size; i++) {
+            for (int target : successors[i]) {
+                predecessors[target][predecessorCounts[target]++] = i;
             }
-            funcBasicBlockLastNodeMap.put(basicBlock, terminatorNode);
         }
 
-        connectNodesAcrossBasicBlocks();
+        computeReversePostOrder();
     }
 
-    private void connectNodesAcrossBasicBlocks() {
-        funcBasicBlockLastNodeMap.forEach((birBasicBlock, node) -> {
-            BIRTerminator terminator = birBasicBlock.terminator;
-            for (BIRNode.BIRBasicBlock basicBlock : terminator.getNextBasicBlocks()) {
-                Node target = funcBasicBlockFirstNodeMap.get(basicBlock);
-                if (target != null) {
-                    addEdge(node, target);
+    /**
+     * Orders the basic blocks so that each basic block comes before its successors, except along back edges. The
+     * basic blocks which cannot be reached from the first one (e.g., error handlers) are visited from the first of
+     * them which is left, and are ordered before the basic blocks visited earlier.
+     */
+    private void computeReversePostOrder() {
+        int size = basicBlocks.size();
+        boolean[] visited = new boolean[size];
+        // the basic block and the index of its next successor to visit, for each basic block on the path
+        int[] stack = new int[size];
+        int[] nextSuccessors = new int[size];
+        int position = size;
+        for (int root = 0; root < size; root++) {
+            if (visited[root]) {
+                continue;
+            }
+            List<Integer> order = new ArrayList<>();
+            int depth = 0;
+            stack[0] = root;
+            nextSuccessors[0] = 0;
+            visited[root] = true;
+            while (depth >= 0) {
+                int node = stack[depth];
+                if (nextSuccessors[depth] < successors[node].length) {
+                    int successor = successors[node][nextSuccessors[depth]++];
+                    if (!visited[successor]) {
+                        visited[successor] = true;
+                        depth++;
+                        stack[depth] = successor;
+                        nextSuccessors[depth] = 0;
+                    }
+                    continue;
                 }
+                order.add(node);
+                depth--;
+            }
+            // the basic blocks visited later may lead to the ones visited earlier, but not the other way around
+            position -= order.size();
+            for (int i = 0; i < order.size(); i++) {
+                reversePostOrder[position + i] = order.get(order.size() - 1 - i);
             }
-        });
+        }
+    }
+
+    public int size() {
+        return basicBlocks.size();
     }
 
-    private void addEdge(Node first, Node second) {
-        first.successors.add(second);
-        second.predecessors.add(first);
+    public BIRNode.BIRBasicBlock getBasicBlock(int index) {
+        return basicBlocks.get(index);
     }
 
-    public List<Node> getNodes() {
-        return nodes;
+    public int[] getSuccessors(int index) {
+        return successors[index];
     }
 
-    static class Node {
-        List<Node> successors;
-        List<Node> predecessors;
-        BIRAbstractInstruction instruction;
+    public int[] getPredecessors(int index) {
+        return predecessors[index];
+    }
 
-        public Node(BIRAbstractInstruction instruction) {
-            this.instruction = instruction;
-            predecessors = new ArrayList<>();
-            successors = new ArrayList<>();
-        }
+    /**
+     * Get the indexes of the basic blocks in reverse postorder.
+     *
+     * @return the indexes of the basic blocks, ordered so that each basic block comes before its successors except
+     * along back edges
+     */
+    public int[] getReversePostOrder() {
+        return reversePostOrder;
     }
 }
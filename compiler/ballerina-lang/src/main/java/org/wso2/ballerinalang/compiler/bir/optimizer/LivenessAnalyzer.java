@@ -15,126 +15,130 @@
  *  specific language governing permissions and limitations
  *  under the License.
  */
-
 package org.wso2.ballerinalang.compiler.bir.optimizer;
 
 import org.wso2.ballerinalang.compiler.bir.model.BIRAbstractInstruction;
 import org.wso2.ballerinalang.compiler.bir.model.BIRNode;
 import org.wso2.ballerinalang.compiler.bir.model.BIROperand;
 
+import java.util.BitSet;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 /**
- * Do liveness analysis on the control flow graph to obtain the liveOut value of each function.
+ * Do liveness analysis on the control flow graph to obtain the liveOut value of each instruction. Each variable is
+ * represented by the bit at its index.
+ * <p>
+ * The liveIns and liveOuts are computed for the basic blocks, based on the following equation for each instruction.
+ * <code>
+ * <p>
+ * in[n] ← use[n] ∪ (out[n] − def [n])
+ * <p>
+ * out[n] ← ∪(s∈succ[n]) (in[s])
+ * <p></code>
+ * where ∪ indicates union of, in is liveIns, out is liveOuts, def is lhsOp and use is rhs operands. The liveOuts of
+ * the instructions of a basic block are computed from the liveOut of the basic block when they are needed.
  * <p>
  * Reference: Andrew W. Appel - Modern Compiler Implementation in Java, 2Ed (2002), Chapter 10
  */
-public class LivenessAnalyzer {
-    private final Map<ControlFlowGraph.Node, Set<BIRNode.BIRVariableDcl>> liveIns;
-    private final Map<ControlFlowGraph.Node, Set<BIRNode.BIRVariableDcl>> liveOuts;
-    private final List<ControlFlowGraph.Node> nodes;
+public class LivenessAnalyzer extends BIRDataflowAnalyzer {
+    private static final int[] NO_USES = new int[0];
 
-    public LivenessAnalyzer(List<ControlFlowGraph.Node> nodes) {
-        this.liveIns = new HashMap<>();
-        this.liveOuts = new HashMap<>();
-        this.nodes = nodes;
-        init();
-    }
+    private final Map<BIRNode.BIRVariableDcl, Integer> varIndexes;
+    // the variables defined and used by each instruction of each basic block at the time of the analysis, as the
+    // operands may be updated afterwards
+    private final int[][] defs;
+    private final int[][][] uses;
 
-    private void init() {
-        nodes.forEach(node -> {
-            liveIns.put(node, new HashSet<>());
-            liveOuts.put(node, new HashSet<>());
-        });
+    public LivenessAnalyzer(ControlFlowGraph graph) {
+        super(graph, false);
+        this.varIndexes = new HashMap<>();
+        this.defs = new int[graph.size()][];
+        this.uses = new int[graph.size()][][];
         analyze();
     }
 
-    /**
-     * Analyzes the CFG based on the following equation till there's no change in the liveIns and liveOuts.
-     * <code>
-     * <p>
-     * in[n] ← use[n] ∪ (out[n] − def [n])
-     * <p>
-     * out[n] ← ∪(s∈succ[n]) (in[s])
-     * <p></code>
-     * where ∪ indicates union of, in is liveIns, out is liveOuts, def is lhsOp and use is rhs operands.
-     */
-    private void analyze() {
-        if (nodes.isEmpty()) {
-            return;
-        }
-        boolean changed = true;
-        while (changed) {
-            changed = false;
-            for (int i = nodes.size() - 1; i >= 0; i--) {
-                ControlFlowGraph.Node node = nodes.get(i);
-                changed |= updateLiveIns(node);
-                changed |= updateLiveOuts(node);
+    @Override
+    protected void computeGenKill(int index, BitSet gen, BitSet kill) {
+        BIRNode.BIRBasicBlock basicBlock = graph.getBasicBlock(index);
+        List<? extends BIRAbstractInstruction> instructions = basicBlock.instructions;
+        int size = instructions.size() + 1;
+        defs[index] = new int[size];
+        uses[index] = new int[size][];
+        for (int i = size - 1; i >= 0; i--) {
+            BIRAbstractInstruction instruction = i == size - 1 ? basicBlock.terminator : instructions.get(i);
+            int def = getDef(instruction);
+            int[] instructionUses = getUses(instruction);
+            defs[index][i] = def;
+            uses[index][i] = instructionUses;
+            if (def >= 0) {
+                gen.clear(def);
+                kill.set(def);
+            }
+            for (int use : instructionUses) {
+                gen.set(use);
             }
         }
     }
 
-    /**
-     * If an operand is used at the current node or is liveOut at the current node, it is liveIn at the current node.
-     * This is except for the operand defined at the current node.
-     *
-     * @param node the current node
-     * @return whether the set changed
-     */
-    private boolean updateLiveIns(ControlFlowGraph.Node node) {
-        boolean changed = false;
-        Set<BIRNode.BIRVariableDcl> in = liveIns.get(node);
-        Set<BIRNode.BIRVariableDcl> out = liveOuts.get(node);
-        for (BIROperand use : node.instruction.getRhsOperands()) {
-            changed |= in.add(use.variableDcl);
-        }
-        BIRNode.BIRVariableDcl def = getDef(node);
-        boolean removed = out.remove(def);
-        changed |= in.addAll(out);
-        if (removed) {
-            out.add(def);
+    private int getDef(BIRAbstractInstruction instruction) {
+        if (instruction.lhsOp != null) {
+            BIRNode.BIRVariableDcl variableDcl = instruction.lhsOp.variableDcl;
+            if (!(variableDcl instanceof BIRNode.BIRGlobalVariableDcl)) {
+                return getIndex(variableDcl);
+            }
         }
-        return changed;
+        return -1;
     }
 
-    private BIRNode.BIRVariableDcl getDef(ControlFlowGraph.Node node) {
-        BIRNode.BIRVariableDcl def = null;
-        if (node.instruction.lhsOp != null) {
-            BIRNode.BIRVariableDcl variableDcl = node.instruction.lhsOp.variableDcl;
-            if (!(variableDcl instanceof BIRNode.BIRGlobalVariableDcl)) {
-                def = variableDcl;
-            }
+    private int[] getUses(BIRAbstractInstruction instruction) {
+        BIROperand[] operands = instruction.getRhsOperands();
+        if (operands.length == 0) {
+            return NO_USES;
+        }
+        int[] instructionUses = new int[operands.length];
+        for (int i = 0; i < operands.length; i++) {
+            instructionUses[i] = getIndex(operands[i].variableDcl);
         }
-        return def;
+        return instructionUses;
     }
 
     /**
-     * If an operand is liveIn at any of the successors it is liveOut at current node.
+     * Get the index of the bit representing a variable.
      *
-     * @param node the current node
-     * @return whether the set changed
+     * @param variableDcl the variable
+     * @return the index of the variable
      */
-    private boolean updateLiveOuts(ControlFlowGraph.Node node) {
-        boolean changed = false;
-        for (ControlFlowGraph.Node successor : node.successors) {
-            changed |= liveOuts.get(node).addAll(liveIns.get(successor));
+    public int getIndex(BIRNode.BIRVariableDcl variableDcl) {
+        Integer index = varIndexes.get(variableDcl);
+        if (index == null) {
+            index = varIndexes.size();
+            varIndexes.put(variableDcl, index);
         }
-        return changed;
+        return index;
     }
 
     /**
-     * Get the set of variables that are live after the execution of an instruction.
+     * Get the sets of variables that are live after the execution of each instruction of a basic block.
      *
-     * @return map of BIRAbstractInstruction and the set of variables that are live after the execution of the
-     * instruction.
+     * @param index the index of the basic block
+     * @return the sets of variables that are live after the execution of each instruction of the basic block, followed
+     * by the set for its terminator
      */
-    public Map<BIRAbstractInstruction, Set<BIRNode.BIRVariableDcl>> getInstructionLiveOuts() {
-        Map<BIRAbstractInstruction, Set<BIRNode.BIRVariableDcl>> map = new HashMap<>();
-        liveOuts.forEach((node, var) -> map.put(node.instruction, var));
-        return map;
+    public BitSet[] getInstructionLiveOuts(int index) {
+        int size = defs[index].length;
+        BitSet[] liveOuts = new BitSet[size];
+        BitSet live = (BitSet) getOut(index).clone();
+        for (int i = size - 1; i >= 0; i--) {
+            liveOuts[i] = (BitSet) live.clone();
+            if (defs[index][i] >= 0) {
+                live.clear(defs[index][i]);
+            }
+            for (int use : uses[index][i]) {
+                live.set(use);
+            }
+        }
+        return liveOuts;
     }
 }
@@ -20,6 +20,7 @@ import org.ballerinalang.model.TreeBuilder;
 import org.ballerinalang.model.clauses.OrderKeyNode;
 import org.ballerinalang.model.tree.IdentifierNode;
 import org.ballerinalang.model.tree.NodeKind;
+import org.ballerinalang.model.tree.OperatorKind;
 import org.ballerinalang.model.tree.expressions.RecordLiteralNode;
 import org.ballerinalang.model.tree.statements.VariableDefinitionNode;
 import org.ballerinalang.model.tree.types.TypeNode;
@@ -33,6 +34,7 @@ import org.wso2.ballerinalang.compiler.semantics.model.symbols.BRecordTypeSymbol
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.BSymbol;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.BVarSymbol;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.SymTag;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.Symbols;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BArrayType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BField;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BRecordType;
@@ -171,6 +173,7 @@ import org.wso2.ballerinalang.compiler.util.Name;
 import org.wso2.ballerinalang.compiler.util.Names;
 import org.wso2.ballerinalang.compiler.util.TypeTags;
 import org.wso2.ballerinalang.compiler.util.diagnotic.DiagnosticPos;
+import org.wso2.ballerinalang.util.Flags;
 import org.wso2.ballerinalang.util.Lists;
 
 import java.util.ArrayList;
@@ -205,6 +208,7 @@ public class QueryDesugar extends BLangNodeVisitor {
     private static final Name QUERY_TO_XML_FUNCTION = new Name("toXML");
     private static final Name QUERY_ADD_TO_TABLE_FUNCTION = new Name("addToTable");
     private static final Name QUERY_GET_STREAM_FROM_PIPELINE_FUNCTION = new Name("getStreamFromPipeline");
+    private static final Name QUERY_LOOKUP_TABLE_INDEX_FUNCTION = new Name("lookupTableIndex");
     private static final String FRAME_PARAMETER_NAME = "$frame$";
     private static final CompilerContext.Key<QueryDesugar> QUERY_DESUGAR_KEY = new CompilerContext.Key<>();
     private BLangExpression onConflictExpr;
@@ -247,7 +251,8 @@ public class QueryDesugar extends BLangNodeVisitor {
         List<BLangNode> clauses = queryExpr.getQueryClauses();
         DiagnosticPos pos = clauses.get(0).pos;
         BLangBlockStmt queryBlock = ASTBuilderUtil.createBlockStmt(pos);
-        BLangVariableReference streamRef = buildStream(clauses, queryExpr.type, env, queryBlock);
+        BLangVariableReference streamRef = buildStream(clauses, queryExpr.type, env, queryBlock,
+                !queryExpr.isStream);
         BLangStatementExpression streamStmtExpr;
         if (queryExpr.isStream) {
             streamStmtExpr = ASTBuilderUtil.createStatementExpression(queryBlock, streamRef);
@@ -298,7 +303,7 @@ public class QueryDesugar extends BLangNodeVisitor {
         List<BLangNode> clauses = queryAction.getQueryClauses();
         DiagnosticPos pos = clauses.get(0).pos;
         BLangBlockStmt queryBlock = ASTBuilderUtil.createBlockStmt(pos);
-        BLangVariableReference streamRef = buildStream(clauses, queryAction.type, env, queryBlock);
+        BLangVariableReference streamRef = buildStream(clauses, queryAction.type, env, queryBlock, false);
         BLangVariableReference result = getStreamFunctionVariableRef(queryBlock,
                 QUERY_CONSUME_STREAM_FUNCTION, symTable.errorOrNilType, Lists.of(streamRef), pos);
         BLangStatementExpression stmtExpr = ASTBuilderUtil.createStatementExpression(queryBlock, result);
@@ -313,13 +318,19 @@ public class QueryDesugar extends BLangNodeVisitor {
      * @param resultType result type of the query output.
      * @param env symbol env.
      * @param block parent block to write to.
+     * @param useTableIndex whether an index of the table of the initial fromClause may be used for the whereClause.
      * @return variableReference to created _StreamPipeline.
      */
-    BLangVariableReference buildStream(List<BLangNode> clauses, BType resultType, SymbolEnv env, BLangBlockStmt block) {
+    BLangVariableReference buildStream(List<BLangNode> clauses, BType resultType, SymbolEnv env, BLangBlockStmt block,
+                                       boolean useTableIndex) {
         this.env = env;
         BLangFromClause initFromClause = (BLangFromClause) clauses.get(0);
+        BLangExpression initCollection = initFromClause.collection;
+        if (useTableIndex && clauses.size() > 1 && clauses.get(1).getKind() == NodeKind.WHERE) {
+            initCollection = addTableIndexLookup(block, initFromClause, (BLangWhereClause) clauses.get(1));
+        }
         final BLangVariableReference initPipeline = addPipeline(block, initFromClause.pos,
-                initFromClause.collection, resultType);
+                initCollection, resultType);
         BLangVariableReference initFrom = addInputFunction(block, initFromClause);
         addStreamFunction(block, initPipeline, initFrom);
         for (BLangNode clause : clauses.subList(1, clauses.size())) {
@@ -407,6 +418,108 @@ public class QueryDesugar extends BLangNodeVisitor {
                 Lists.of(valueVarRef, typedescExpr), pos);
     }
 
+    /**
+     * Desugar the table of the initial fromClause to below when the following whereClause compares a field of the
+     * member with a literal or a variable that cannot be reassigned, so that an index on the field, if the table has
+     * one, narrows down the members to iterate. The whereClause is still applied to the members returned by the
+     * lookup. The lookup is done when the pipeline is built, hence this is only done for queries which consume the
+     * pipeline right away, and not for queries which construct streams or query actions.
+     * table<Person> $streamElement$ = lookupTableIndex(personTable, "age", ">", 30);
+     *
+     * @param blockStmt   parent block to write to.
+     * @param fromClause  initial fromClause of the query.
+     * @param whereClause whereClause following the fromClause.
+     * @return the expression to use as the collection of the fromClause.
+     */
+    BLangExpression addTableIndexLookup(BLangBlockStmt blockStmt, BLangFromClause fromClause,
+                                        BLangWhereClause whereClause) {
+        BLangExpression collection = fromClause.collection;
+        BLangVariable variable = (BLangVariable) fromClause.variableDefinitionNode.getVariable();
+        if (collection.type.tag != TypeTags.TABLE || variable.getKind() != NodeKind.VARIABLE
+                || whereClause.expression.getKind() != NodeKind.BINARY_EXPR) {
+            return collection;
+        }
+        BLangBinaryExpr condition = (BLangBinaryExpr) whereClause.expression;
+        String operator = getIndexLookupOperator(condition.opKind);
+        BVarSymbol memberSymbol = ((BLangSimpleVariable) variable).symbol;
+        BLangExpression fieldAccess = condition.lhsExpr;
+        BLangExpression valueExpr = condition.rhsExpr;
+        if (!isMemberFieldAccess(fieldAccess, memberSymbol)) {
+            fieldAccess = condition.rhsExpr;
+            valueExpr = condition.lhsExpr;
+            operator = getFlippedOperator(operator);
+        }
+        if (operator == null || !isMemberFieldAccess(fieldAccess, memberSymbol)) {
+            return collection;
+        }
+        DiagnosticPos pos = whereClause.pos;
+        BLangExpression value;
+        if (valueExpr.getKind() == NodeKind.LITERAL || valueExpr.getKind() == NodeKind.NUMERIC_LITERAL) {
+            value = ASTBuilderUtil.createLiteral(pos, valueExpr.type, ((BLangLiteral) valueExpr).value);
+        } else if (valueExpr.getKind() == NodeKind.SIMPLE_VARIABLE_REF
+                && ((BLangSimpleVarRef) valueExpr).symbol != memberSymbol
+                && (((BLangSimpleVarRef) valueExpr).symbol.tag & SymTag.VARIABLE) == SymTag.VARIABLE
+                && isFinalVariable(((BLangSimpleVarRef) valueExpr).symbol)) {
+            value = ASTBuilderUtil.createVariableRef(pos, (BVarSymbol) ((BLangSimpleVarRef) valueExpr).symbol);
+        } else {
+            return collection;
+        }
+        String fieldName = ((BLangFieldBasedAccess) fieldAccess).field.value;
+        return getStreamFunctionVariableRef(blockStmt, QUERY_LOOKUP_TABLE_INDEX_FUNCTION, collection.type,
+                Lists.of(collection, ASTBuilderUtil.createLiteral(pos, symTable.stringType, fieldName),
+                        ASTBuilderUtil.createLiteral(pos, symTable.stringType, operator),
+                        desugar.addConversionExprIfRequired(value, symTable.anydataType)), pos);
+    }
+
+    private boolean isFinalVariable(BSymbol symbol) {
+        return Symbols.isFlagOn(symbol.flags, Flags.FINAL) || Symbols.isFlagOn(symbol.flags, Flags.CONSTANT)
+                || Symbols.isFlagOn(symbol.flags, Flags.FUNCTION_FINAL);
+    }
+
+    private boolean isMemberFieldAccess(BLangExpression expr, BVarSymbol memberSymbol) {
+        if (expr.getKind() != NodeKind.FIELD_BASED_ACCESS_EXPR) {
+            return false;
+        }
+        BLangFieldBasedAccess fieldAccess = (BLangFieldBasedAccess) expr;
+        return !fieldAccess.optionalFieldAccess && fieldAccess.expr.getKind() == NodeKind.SIMPLE_VARIABLE_REF
+                && ((BLangSimpleVarRef) fieldAccess.expr).symbol == memberSymbol;
+    }
+
+    private String getIndexLookupOperator(OperatorKind opKind) {
+        switch (opKind) {
+            case EQUAL:
+                return "==";
+            case LESS_THAN:
+                return "<";
+            case LESS_EQUAL:
+                return "<=";
+            case GREATER_THAN:
+                return ">";
+            case GREATER_EQUAL:
+                return ">=";
+            default:
+                return null;
+        }
+    }
+
+    private String getFlippedOperator(String operator) {
+        if (operator == null) {
+            return null;
+        }
+        switch (operator) {
+            case "<":
+                return ">";
+            case "<=":
+                return ">=";
+            case ">":
+                return "<";
+            case ">=":
+                return "<=";
+            default:
+                return operator;
+        }
+    }
+
     /**
      * Desugar inputClause to below and return a reference to created from _StreamFunction.
      * _StreamFunction xsFrom = createFromFunction(function(_Frame frame) returns _Frame|error? {
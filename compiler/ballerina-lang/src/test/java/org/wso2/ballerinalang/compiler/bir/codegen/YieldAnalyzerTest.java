@@ -0,0 +1,254 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.ballerinalang.compiler.bir.codegen;
+
+import org.ballerinalang.model.elements.PackageID;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.bir.codegen.interop.JIMethodCall;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRBasicBlock;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRFunction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRPackage;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRVariableDcl;
+import org.wso2.ballerinalang.compiler.bir.model.BIROperand;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarScope;
+import org.wso2.ballerinalang.compiler.util.Name;
+import org.wso2.ballerinalang.util.Flags;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+
+/**
+ * Tests the classification of the functions of a module by {@link YieldAnalyzer}.
+ */
+public class YieldAnalyzerTest {
+
+    private static final Name ORG = new Name("testorg");
+    private static final Name MODULE = new Name("yields");
+    private static final Name VERSION = new Name("1.0.0");
+
+    private BIRPackage module;
+
+    @BeforeMethod
+    public void setup() {
+        module = new BIRPackage(null, ORG, MODULE, VERSION, new Name("yields.bal"));
+    }
+
+    @Test
+    public void testLeafFunction() {
+        BIRFunction leaf = function("leaf");
+        BIRBasicBlock bb1 = block(leaf);
+        BIRBasicBlock bb0 = block(leaf, new BIRTerminator.GOTO(null, bb1));
+        bb1.terminator = new BIRTerminator.Return(null);
+
+        YieldAnalyzer analyzer = new YieldAnalyzer(module);
+        Assert.assertFalse(analyzer.mayYield(leaf));
+        Assert.assertFalse(analyzer.mayYield(bb0.terminator));
+        Assert.assertFalse(analyzer.mayYield(bb1.terminator));
+    }
+
+    @Test
+    public void testCallers() {
+        BIRFunction leaf = returning(function("leaf"));
+        BIRFunction waiting = function("waiting");
+        BIRBasicBlock waitThen = block(waiting);
+        waitThen.terminator = new BIRTerminator.Return(null);
+        block(waiting, new BIRTerminator.Wait(null, new ArrayList<>(), null, waitThen));
+
+        BIRFunction callsLeaf = calling(function("callsLeaf"), call(MODULE, "leaf"));
+        BIRFunction callsWaiting = calling(function("callsWaiting"), call(MODULE, "waiting"));
+        BIRFunction callsCallsWaiting = calling(function("callsCallsWaiting"), call(MODULE, "callsWaiting"));
+
+        YieldAnalyzer analyzer = new YieldAnalyzer(module);
+        Assert.assertFalse(analyzer.mayYield(leaf));
+        Assert.assertFalse(analyzer.mayYield(callsLeaf));
+        Assert.assertTrue(analyzer.mayYield(waiting));
+        Assert.assertTrue(analyzer.mayYield(callsWaiting));
+        Assert.assertTrue(analyzer.mayYield(callsCallsWaiting));
+        Assert.assertFalse(analyzer.mayYield(terminator(callsLeaf)));
+        Assert.assertTrue(analyzer.mayYield(terminator(callsWaiting)));
+    }
+
+    @Test
+    public void testCallsToOtherModules() {
+        returning(function("leaf"));
+        // a function of another module with the same name as a function of this module
+        BIRFunction callsOtherModule = calling(function("callsOtherModule"), call(new Name("other"), "leaf"));
+
+        YieldAnalyzer analyzer = new YieldAnalyzer(module);
+        Assert.assertTrue(analyzer.mayYield(callsOtherModule));
+        Assert.assertTrue(analyzer.mayYield(terminator(callsOtherModule)));
+    }
+
+    @Test
+    public void testFunctionPointerAndVirtualCalls() {
+        BIRFunction callsPointer = function("callsPointer");
+        BIRBasicBlock then = block(callsPointer);
+        then.terminator = new BIRTerminator.Return(null);
+        BIRVariableDcl fp = new BIRVariableDcl(null, new Name("%fp"), VarScope.FUNCTION, VarKind.LOCAL);
+        block(callsPointer, new BIRTerminator.FPCall(null, InstructionKind.FP_CALL, new BIROperand(fp),
+                                                     new ArrayList<>(), null, false, then));
+        returning(function("leaf"));
+        BIRTerminator.Call virtualCall = call(MODULE, "leaf");
+        virtualCall.isVirtual = true;
+        BIRFunction callsMethod = calling(function("callsMethod"), virtualCall);
+
+        YieldAnalyzer analyzer = new YieldAnalyzer(module);
+        Assert.assertTrue(analyzer.mayYield(callsPointer));
+        Assert.assertTrue(analyzer.mayYield(callsMethod));
+    }
+
+    @Test
+    public void testInteropAndExternFunctions() {
+        BIRFunction extern = returning(function("extern"));
+        extern.flags |= Flags.NATIVE;
+        BIRFunction callsExtern = calling(function("callsExtern"), call(MODULE, "extern"));
+
+        BIRFunction callsJava = function("callsJava");
+        BIRBasicBlock then = block(callsJava);
+        then.terminator = new BIRTerminator.Return(null);
+        JIMethodCall javaCall = new JIMethodCall(null);
+        javaCall.jClassName = "org/example/Util";
+        javaCall.thenBB = then;
+        block(callsJava, javaCall);
+
+        BIRFunction observed = function("observed");
+        then = block(observed);
+        then.terminator = new BIRTerminator.Return(null);
+        JIMethodCall observeCall = new JIMethodCall(null);
+        observeCall.jClassName = JvmConstants.OBSERVE_UTILS;
+        observeCall.thenBB = then;
+        block(observed, observeCall);
+
+        YieldAnalyzer analyzer = new YieldAnalyzer(module);
+        Assert.assertTrue(analyzer.mayYield(extern));
+        Assert.assertTrue(analyzer.mayYield(callsExtern));
+        Assert.assertTrue(analyzer.mayYield(callsJava));
+        Assert.assertFalse(analyzer.mayYield(observed));
+    }
+
+    @Test
+    public void testMutualRecursion() {
+        // isEven and isOdd only call each other
+        BIRFunction isEven = function("isEven");
+        BIRFunction isOdd = function("isOdd");
+        callingEither(isEven, "isOdd");
+        callingEither(isOdd, "isEven");
+
+        // ping and pong call each other, and pong waits
+        BIRFunction ping = function("ping");
+        BIRFunction pong = function("pong");
+        callingEither(ping, "pong");
+        BIRBasicBlock ret = block(pong);
+        ret.terminator = new BIRTerminator.Return(null);
+        BIRBasicBlock waitBB = block(pong, new BIRTerminator.Wait(null, new ArrayList<>(), null, ret));
+        block(pong, call(MODULE, "ping", waitBB));
+        BIRFunction callsPing = calling(function("callsPing"), call(MODULE, "ping"));
+
+        YieldAnalyzer analyzer = new YieldAnalyzer(module);
+        Assert.assertFalse(analyzer.mayYield(isEven));
+        Assert.assertFalse(analyzer.mayYield(isOdd));
+        Assert.assertTrue(analyzer.mayYield(ping));
+        Assert.assertTrue(analyzer.mayYield(pong));
+        Assert.assertTrue(analyzer.mayYield(callsPing));
+    }
+
+    @Test
+    public void testWorkerWaitAndLockBodies() {
+        BIRFunction sends = function("sends");
+        BIRBasicBlock then = block(sends);
+        then.terminator = new BIRTerminator.Return(null);
+        block(sends, new BIRTerminator.WorkerSend(null, new Name("w1"), null, false, false, null, then));
+
+        BIRFunction receives = function("receives");
+        then = block(receives);
+        then.terminator = new BIRTerminator.Return(null);
+        block(receives, new BIRTerminator.WorkerReceive(null, new Name("w1"), null, false, then));
+
+        BIRFunction locks = function("locks");
+        BIRBasicBlock unlocked = block(locks);
+        unlocked.terminator = new BIRTerminator.Return(null);
+        BIRBasicBlock locked = block(locks, new BIRTerminator.Unlock(null, unlocked));
+        block(locks, new BIRTerminator.Lock(null, locked));
+
+        YieldAnalyzer analyzer = new YieldAnalyzer(module);
+        Assert.assertTrue(analyzer.mayYield(sends));
+        Assert.assertTrue(analyzer.mayYield(receives));
+        Assert.assertTrue(analyzer.mayYield(locks));
+        Assert.assertFalse(analyzer.mayYield(locked.terminator));
+    }
+
+    private BIRFunction function(String name) {
+        BIRFunction func = new BIRFunction(null, new Name(name), 0, null, null, 0, null, null);
+        module.functions.add(func);
+        return func;
+    }
+
+    // Adds a block in front of the other blocks of the function, so that blocks can be built from the last one.
+    private static BIRBasicBlock block(BIRFunction func, BIRTerminator terminator) {
+        BIRBasicBlock bb = new BIRBasicBlock(new Name("bb" + func.basicBlocks.size()));
+        bb.terminator = terminator;
+        func.basicBlocks.add(0, bb);
+        return bb;
+    }
+
+    private static BIRBasicBlock block(BIRFunction func) {
+        return block(func, null);
+    }
+
+    private static BIRFunction returning(BIRFunction func) {
+        block(func, new BIRTerminator.Return(null));
+        return func;
+    }
+
+    private static BIRFunction calling(BIRFunction func, BIRTerminator.Call call) {
+        BIRBasicBlock then = block(func);
+        then.terminator = new BIRTerminator.Return(null);
+        call.thenBB = then;
+        block(func, call);
+        return func;
+    }
+
+    // A function which returns on one branch and calls the given function on the other.
+    private void callingEither(BIRFunction func, String callee) {
+        BIRBasicBlock ret = block(func);
+        ret.terminator = new BIRTerminator.Return(null);
+        BIRBasicBlock callBB = block(func, call(MODULE, callee, ret));
+        BIRVariableDcl cond = new BIRVariableDcl(null, new Name("%cond"), VarScope.FUNCTION, VarKind.TEMP);
+        block(func, new BIRTerminator.Branch(null, new BIROperand(cond), callBB, ret));
+    }
+
+    private static BIRTerminator.Call call(Name moduleName, String name) {
+        return call(moduleName, name, null);
+    }
+
+    private static BIRTerminator.Call call(Name moduleName, String name, BIRBasicBlock then) {
+        return new BIRTerminator.Call(null, InstructionKind.CALL, false, new PackageID(ORG, moduleName, VERSION),
+                                      new Name(name), new ArrayList<>(), null, then, Collections.emptyList(),
+                                      new HashSet<>());
+    }
+
+    private static BIRTerminator terminator(BIRFunction func) {
+        return func.basicBlocks.get(0).terminator;
+    }
+}
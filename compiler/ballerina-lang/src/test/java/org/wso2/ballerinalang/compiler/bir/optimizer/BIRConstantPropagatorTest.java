@@ -0,0 +1,344 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.ballerinalang.compiler.bir.optimizer;
+
+import org.ballerinalang.model.elements.PackageID;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.bir.emit.BIREmitter;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRBasicBlock;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRErrorEntry;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRFunction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRPackage;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRVariableDcl;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIROperand;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BirScope;
+import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarScope;
+import org.wso2.ballerinalang.compiler.semantics.model.SymbolTable;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BInvokableType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.Name;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+
+/**
+ * Tests the folding of constants and branches by {@link BIRConstantPropagator}.
+ */
+public class BIRConstantPropagatorTest {
+
+    private static final Name ORG = new Name("testorg");
+    private static final Name MODULE = new Name("constants");
+    private static final Name VERSION = new Name("1.0.0");
+
+    private SymbolTable symTable;
+    private BIREmitter birEmitter;
+    private BIRPackage module;
+
+    @BeforeClass
+    public void init() {
+        CompilerContext context = new CompilerContext();
+        symTable = SymbolTable.getInstance(context);
+        birEmitter = BIREmitter.getInstance(context);
+    }
+
+    @BeforeMethod
+    public void setup() {
+        module = new BIRPackage(null, ORG, MODULE, VERSION, new Name("constants.bal"));
+    }
+
+    @Test
+    public void testBranchFolding() {
+        BIRFunction func = function("func");
+        BIRVariableDcl a = var(func, "a", VarKind.LOCAL, symTable.intType);
+        BIRVariableDcl b = var(func, "b", VarKind.LOCAL, symTable.intType);
+        BIRVariableDcl cond = var(func, "%1", VarKind.TEMP, symTable.booleanType);
+        BIRBasicBlock bb0 = block(func);
+        BIRBasicBlock bb1 = block(func);
+        BIRBasicBlock bb2 = block(func);
+        BIRBasicBlock bb3 = block(func);
+        bb0.instructions.add(constant(1, a));
+        bb0.instructions.add(constant(2, b));
+        bb0.instructions.add(binaryOp(InstructionKind.LESS_THAN, cond, a, b));
+        bb0.terminator = new BIRTerminator.Branch(null, operand(cond), bb1, bb2);
+        bb1.instructions.add(binaryOp(InstructionKind.ADD, func.returnVariable, a, b));
+        bb1.terminator = new BIRTerminator.GOTO(null, bb3);
+        bb2.instructions.add(binaryOp(InstructionKind.SUB, func.returnVariable, a, b));
+        bb2.terminator = new BIRTerminator.GOTO(null, bb3);
+        bb3.terminator = new BIRTerminator.Return(null);
+
+        new BIRConstantPropagator().optimizeNode(module);
+
+        Assert.assertEquals(birEmitter.emitFunction(func, 0), String.join("\n",
+                "private func function() -> int {",
+                "    %0(RETURN) int;",
+                "    %0(RETURN) int;",
+                "    a(LOCAL) int;",
+                "    b(LOCAL) int;",
+                "    %1(TEMP) boolean;",
+                "",
+                "    bb0 {",
+                "        a = ConstLoad 1;",
+                "        b = ConstLoad 2;",
+                "        %1 = ConstLoad true;",
+                "        GOTO bb1;",
+                "    }",
+                "    bb1 {",
+                "        %0 = ConstLoad 3;",
+                "        GOTO bb3;",
+                "    }",
+                "    bb3 {",
+                "        return;",
+                "    }",
+                "",
+                "",
+                "}"));
+    }
+
+    @Test
+    public void testConstantsAcrossBlocks() {
+        BIRFunction func = function("func");
+        BIRVariableDcl arg = var(func, "arg", VarKind.ARG, symTable.booleanType);
+        BIRVariableDcl a = var(func, "a", VarKind.LOCAL, symTable.intType);
+        BIRVariableDcl b = var(func, "b", VarKind.LOCAL, symTable.intType);
+        BIRVariableDcl sum = var(func, "%1", VarKind.TEMP, symTable.intType);
+        BIRBasicBlock bb0 = block(func);
+        BIRBasicBlock bb1 = block(func);
+        BIRBasicBlock bb2 = block(func);
+        BIRBasicBlock bb3 = block(func);
+        bb0.instructions.add(constant(1, a));
+        bb0.instructions.add(constant(2, b));
+        bb0.terminator = new BIRTerminator.Branch(null, operand(arg), bb1, bb2);
+        bb1.terminator = new BIRTerminator.GOTO(null, bb3);
+        bb2.instructions.add(constant(3, b));
+        bb2.terminator = new BIRTerminator.GOTO(null, bb3);
+        // a is the same on both paths, b is not
+        bb3.instructions.add(binaryOp(InstructionKind.ADD, sum, a, a));
+        bb3.instructions.add(binaryOp(InstructionKind.ADD, func.returnVariable, sum, b));
+        bb3.terminator = new BIRTerminator.Return(null);
+
+        new BIRConstantPropagator().optimizeNode(module);
+
+        Assert.assertEquals(func.basicBlocks.size(), 4);
+        Assert.assertEquals(emitBlock(bb3), String.join("\n",
+                "        %1 = ConstLoad 2;",
+                "        %0 = %1 + b;",
+                "        return;"));
+    }
+
+    @Test
+    public void testPanickingArithmeticIsNotFolded() {
+        BIRFunction func = function("func");
+        BIRVariableDcl max = var(func, "max", VarKind.LOCAL, symTable.intType);
+        BIRVariableDcl min = var(func, "min", VarKind.LOCAL, symTable.intType);
+        BIRVariableDcl zero = var(func, "zero", VarKind.LOCAL, symTable.intType);
+        BIRVariableDcl one = var(func, "one", VarKind.LOCAL, symTable.intType);
+        BIRVariableDcl minusOne = var(func, "minusOne", VarKind.LOCAL, symTable.intType);
+        BIRVariableDcl result = var(func, "%1", VarKind.TEMP, symTable.intType);
+        BIRBasicBlock bb0 = block(func);
+        bb0.instructions.add(constant(Long.MAX_VALUE, max));
+        bb0.instructions.add(constant(Long.MIN_VALUE, min));
+        bb0.instructions.add(constant(0, zero));
+        bb0.instructions.add(constant(1, one));
+        bb0.instructions.add(constant(-1, minusOne));
+        bb0.instructions.add(binaryOp(InstructionKind.ADD, result, max, one));
+        bb0.instructions.add(binaryOp(InstructionKind.SUB, result, min, one));
+        bb0.instructions.add(binaryOp(InstructionKind.MUL, result, max, max));
+        bb0.instructions.add(binaryOp(InstructionKind.DIV, result, one, zero));
+        bb0.instructions.add(binaryOp(InstructionKind.MOD, result, one, zero));
+        bb0.instructions.add(binaryOp(InstructionKind.DIV, result, min, minusOne));
+        bb0.instructions.add(binaryOp(InstructionKind.DIV, func.returnVariable, max, minusOne));
+        bb0.terminator = new BIRTerminator.Return(null);
+
+        BIRFunction negate = function("negate");
+        BIRVariableDcl negateMin = var(negate, "min", VarKind.LOCAL, symTable.intType);
+        BIRVariableDcl negateOne = var(negate, "one", VarKind.LOCAL, symTable.intType);
+        BIRBasicBlock negateBB = block(negate);
+        negateBB.instructions.add(constant(Long.MIN_VALUE, negateMin));
+        negateBB.instructions.add(constant(1, negateOne));
+        negateBB.instructions.add(new BIRNonTerminator.UnaryOP(null, InstructionKind.NEGATE,
+                                                               operand(negate.returnVariable), operand(negateMin)));
+        negateBB.instructions.add(new BIRNonTerminator.UnaryOP(null, InstructionKind.NEGATE,
+                                                               operand(negate.returnVariable), operand(negateOne)));
+        negateBB.terminator = new BIRTerminator.Return(null);
+
+        new BIRConstantPropagator().optimizeNode(module);
+
+        Assert.assertEquals(emitBlock(bb0), String.join("\n",
+                "        max = ConstLoad 9223372036854775807;",
+                "        min = ConstLoad -9223372036854775808;",
+                "        zero = ConstLoad 0;",
+                "        one = ConstLoad 1;",
+                "        minusOne = ConstLoad -1;",
+                "        %1 = max + one;",
+                "        %1 = min - one;",
+                "        %1 = max * max;",
+                "        %1 = one / zero;",
+                "        %1 = one % zero;",
+                "        %1 = min / minusOne;",
+                "        %0 = ConstLoad -9223372036854775807;",
+                "        return;"));
+        Assert.assertEquals(negateBB.instructions.get(2).kind, InstructionKind.NEGATE);
+        Assert.assertEquals(negateBB.instructions.get(3).kind, InstructionKind.CONST_LOAD);
+        Assert.assertEquals(((BIRNonTerminator.ConstantLoad) negateBB.instructions.get(3)).value, -1L);
+    }
+
+    @Test
+    public void testTrapTargetsAreKept() {
+        BIRFunction func = function("func");
+        BIRVariableDcl a = var(func, "a", VarKind.LOCAL, symTable.intType);
+        BIRVariableDcl cond = var(func, "%1", VarKind.TEMP, symTable.booleanType);
+        BIRVariableDcl error = var(func, "%err", VarKind.TEMP, symTable.intType);
+        BIRBasicBlock bb0 = block(func);
+        BIRBasicBlock bb1 = block(func);
+        BIRBasicBlock bb2 = block(func);
+        BIRBasicBlock bb3 = block(func);
+        BIRBasicBlock bb4 = block(func);
+        BIRBasicBlock bb5 = block(func);
+        bb0.instructions.add(constant(1, a));
+        bb0.instructions.add(new BIRNonTerminator.ConstantLoad(null, false, symTable.booleanType, operand(cond)));
+        bb0.terminator = new BIRTerminator.Branch(null, operand(cond), bb1, bb4);
+        bb1.terminator = call("f", a, bb2);
+        bb2.terminator = new BIRTerminator.GOTO(null, bb4);
+        // the target of the trap may be reached by a panic after any instruction of the trapped blocks
+        bb3.instructions.add(binaryOp(InstructionKind.ADD, func.returnVariable, a, a));
+        bb3.terminator = new BIRTerminator.GOTO(null, bb4);
+        bb4.terminator = new BIRTerminator.Return(null);
+        bb5.terminator = new BIRTerminator.Return(null);
+        func.errorTable.add(new BIRErrorEntry(bb1, bb2, operand(error), bb3));
+
+        new BIRConstantPropagator().optimizeNode(module);
+
+        Assert.assertEquals(func.basicBlocks.size(), 5);
+        Assert.assertEquals(func.basicBlocks.indexOf(bb5), -1);
+        Assert.assertEquals(func.basicBlocks.get(0).terminator.kind, InstructionKind.GOTO);
+        Assert.assertSame(((BIRTerminator.GOTO) bb0.terminator).targetBB, bb4);
+        Assert.assertSame(func.basicBlocks.get(1), bb1);
+        Assert.assertSame(func.basicBlocks.get(2), bb2);
+        Assert.assertSame(func.basicBlocks.get(3), bb3);
+        Assert.assertEquals(emitBlock(bb3), String.join("\n",
+                "        %0 = a + a;",
+                "        GOTO bb4;"));
+    }
+
+    @Test
+    public void testVisibleRangesOfRemovedBlocks() {
+        BIRFunction func = function("func");
+        BIRVariableDcl cond = var(func, "%1", VarKind.TEMP, symTable.booleanType);
+        BIRVariableDcl kept = var(func, "kept", VarKind.LOCAL, symTable.intType);
+        BIRVariableDcl removed = var(func, "removed", VarKind.LOCAL, symTable.intType);
+        BIRVariableDcl endRemoved = var(func, "endRemoved", VarKind.LOCAL, symTable.intType);
+        BirScope functionScope = new BirScope(0, null);
+        BirScope thenScope = new BirScope(1, functionScope);
+        BirScope elseScope = new BirScope(2, functionScope);
+        BIRBasicBlock bb0 = block(func);
+        BIRBasicBlock bb1 = block(func);
+        BIRBasicBlock bb2 = block(func);
+        BIRBasicBlock bb3 = block(func);
+        bb0.instructions.add(new BIRNonTerminator.ConstantLoad(null, true, symTable.booleanType, operand(cond)));
+        bb0.terminator = new BIRTerminator.Branch(null, operand(cond), bb1, bb2);
+        bb1.instructions.add(constant(1, kept));
+        bb1.terminator = new BIRTerminator.GOTO(null, bb3);
+        bb2.instructions.add(constant(2, removed));
+        bb2.terminator = new BIRTerminator.GOTO(null, bb3);
+        bb3.terminator = new BIRTerminator.Return(null);
+        bb0.instructions.get(0).scope = functionScope;
+        bb0.terminator.scope = functionScope;
+        bb1.instructions.get(0).scope = thenScope;
+        bb1.terminator.scope = thenScope;
+        bb2.instructions.get(0).scope = elseScope;
+        bb2.terminator.scope = elseScope;
+        bb3.terminator.scope = functionScope;
+        kept.startBB = bb1;
+        kept.insScope = thenScope;
+        kept.endBB = bb3;
+        removed.startBB = bb2;
+        removed.insScope = elseScope;
+        removed.endBB = bb3;
+        endRemoved.startBB = bb0;
+        endRemoved.insScope = functionScope;
+        endRemoved.endBB = bb2;
+
+        new BIRConstantPropagator().optimizeNode(module);
+
+        Assert.assertEquals(func.basicBlocks.indexOf(bb2), -1);
+        Assert.assertSame(kept.startBB, bb1);
+        Assert.assertSame(kept.insScope, thenScope);
+        Assert.assertSame(kept.endBB, bb3);
+        Assert.assertNull(removed.startBB);
+        Assert.assertNull(removed.insScope);
+        Assert.assertSame(removed.endBB, bb3);
+        Assert.assertSame(endRemoved.startBB, bb0);
+        Assert.assertSame(endRemoved.insScope, functionScope);
+        Assert.assertNull(endRemoved.endBB);
+    }
+
+    private String emitBlock(BIRBasicBlock bb) {
+        String bir = birEmitter.emitFunction(module.functions.get(0), 0);
+        String label = "    " + bb.id.value + " {\n";
+        int start = bir.indexOf(label) + label.length();
+        return bir.substring(start, bir.indexOf("\n    }", start));
+    }
+
+    private BIRFunction function(String name) {
+        BIRFunction function = new BIRFunction(null, new Name(name), 0,
+                                               new BInvokableType(new ArrayList<>(), symTable.intType, null), null, 0,
+                                               null, null);
+        function.returnVariable = var(function, "%0", VarKind.RETURN, symTable.intType);
+        module.functions.add(function);
+        return function;
+    }
+
+    private BIRVariableDcl var(BIRFunction function, String name, VarKind kind, BType type) {
+        BIRVariableDcl var = new BIRVariableDcl(null, type, new Name(name), VarScope.FUNCTION, kind, null);
+        function.localVars.add(var);
+        return var;
+    }
+
+    private BIRBasicBlock block(BIRFunction function) {
+        BIRBasicBlock bb = new BIRBasicBlock(new Name("bb" + function.basicBlocks.size()));
+        function.basicBlocks.add(bb);
+        return bb;
+    }
+
+    private BIRTerminator.Call call(String name, BIRVariableDcl lhs, BIRBasicBlock thenBB) {
+        return new BIRTerminator.Call(null, InstructionKind.CALL, false, new PackageID(ORG, MODULE, VERSION),
+                                      new Name(name), new ArrayList<>(), operand(lhs), thenBB, new ArrayList<>(),
+                                      new HashSet<>());
+    }
+
+    private BIRNonTerminator.ConstantLoad constant(long value, BIRVariableDcl lhs) {
+        return new BIRNonTerminator.ConstantLoad(null, value, symTable.intType, operand(lhs));
+    }
+
+    private BIRNonTerminator.BinaryOp binaryOp(InstructionKind kind, BIRVariableDcl lhs, BIRVariableDcl rhs1,
+                                               BIRVariableDcl rhs2) {
+        return new BIRNonTerminator.BinaryOp(null, kind, lhs.type, operand(lhs), operand(rhs1), operand(rhs2));
+    }
+
+    private BIROperand operand(BIRVariableDcl var) {
+        return new BIROperand(var);
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.ballerinalang.compiler.bir.optimizer;
+
+import org.ballerinalang.model.elements.PackageID;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.bir.emit.BIREmitter;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRBasicBlock;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRErrorEntry;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRFunction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRPackage;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRVariableDcl;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIROperand;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarScope;
+import org.wso2.ballerinalang.compiler.semantics.model.SymbolTable;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BInvokableType;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.Name;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+
+/**
+ * Tests the propagation of copies by {@link BIRCopyPropagator}.
+ */
+public class BIRCopyPropagatorTest {
+
+    private static final Name ORG = new Name("testorg");
+    private static final Name MODULE = new Name("copies");
+    private static final Name VERSION = new Name("1.0.0");
+
+    private SymbolTable symTable;
+    private BIREmitter birEmitter;
+    private BIRPackage module;
+
+    @BeforeClass
+    public void init() {
+        CompilerContext context = new CompilerContext();
+        symTable = SymbolTable.getInstance(context);
+        birEmitter = BIREmitter.getInstance(context);
+    }
+
+    @BeforeMethod
+    public void setup() {
+        module = new BIRPackage(null, ORG, MODULE, VERSION, new Name("copies.bal"));
+    }
+
+    @Test
+    public void testCopiesAcrossBlocks() {
+        BIRFunction func = function("func");
+        BIRVariableDcl x = var(func, "x", VarKind.ARG);
+        BIRVariableDcl cond = var(func, "cond", VarKind.ARG);
+        BIRVariableDcl copy = var(func, "%1", VarKind.TEMP);
+        BIRVariableDcl sum = var(func, "%2", VarKind.TEMP);
+        BIRBasicBlock bb0 = block(func);
+        BIRBasicBlock bb1 = block(func);
+        BIRBasicBlock bb2 = block(func);
+        BIRBasicBlock bb3 = block(func);
+        bb0.instructions.add(move(x, copy));
+        bb0.terminator = new BIRTerminator.Branch(null, operand(cond), bb1, bb2);
+        bb1.instructions.add(binaryOp(InstructionKind.ADD, sum, copy, copy));
+        bb1.terminator = new BIRTerminator.GOTO(null, bb3);
+        bb2.terminator = new BIRTerminator.GOTO(null, bb3);
+        bb3.instructions.add(binaryOp(InstructionKind.ADD, func.returnVariable, copy, x));
+        bb3.terminator = new BIRTerminator.Return(null);
+
+        new BIRCopyPropagator().optimizeNode(module);
+
+        Assert.assertEquals(birEmitter.emitFunction(func, 0), String.join("\n",
+                "private func function() -> int {",
+                "    %0(RETURN) int;",
+                "    %0(RETURN) int;",
+                "    x(ARG) int;",
+                "    cond(ARG) int;",
+                "    %1(TEMP) int;",
+                "    %2(TEMP) int;",
+                "",
+                "    bb0 {",
+                "        %1 = x;",
+                "        cond? bb1 : bb2;",
+                "    }",
+                "    bb1 {",
+                "        %2 = x + x;",
+                "        GOTO bb3;",
+                "    }",
+                "    bb2 {",
+                "        GOTO bb3;",
+                "    }",
+                "    bb3 {",
+                "        %0 = x + x;",
+                "        return;",
+                "    }",
+                "",
+                "",
+                "}"));
+    }
+
+    @Test
+    public void testCopiesReassignedOnOnePath() {
+        BIRFunction func = function("func");
+        BIRVariableDcl x = var(func, "x", VarKind.LOCAL);
+        BIRVariableDcl cond = var(func, "cond", VarKind.ARG);
+        BIRVariableDcl copy = var(func, "%1", VarKind.TEMP);
+        BIRVariableDcl sum = var(func, "%2", VarKind.TEMP);
+        BIRBasicBlock bb0 = block(func);
+        BIRBasicBlock bb1 = block(func);
+        BIRBasicBlock bb2 = block(func);
+        BIRBasicBlock bb3 = block(func);
+        bb0.instructions.add(move(x, copy));
+        bb0.terminator = new BIRTerminator.Branch(null, operand(cond), bb1, bb2);
+        bb1.instructions.add(binaryOp(InstructionKind.ADD, sum, copy, copy));
+        bb1.instructions.add(constant(1, x));
+        bb1.instructions.add(binaryOp(InstructionKind.ADD, sum, copy, x));
+        bb1.terminator = new BIRTerminator.GOTO(null, bb3);
+        bb2.instructions.add(binaryOp(InstructionKind.ADD, sum, copy, copy));
+        bb2.terminator = new BIRTerminator.GOTO(null, bb3);
+        bb3.instructions.add(binaryOp(InstructionKind.ADD, func.returnVariable, copy, x));
+        bb3.terminator = new BIRTerminator.Return(null);
+
+        new BIRCopyPropagator().optimizeNode(module);
+
+        Assert.assertEquals(emitBlock(bb1), String.join("\n",
+                "        %2 = x + x;",
+                "        x = ConstLoad 1;",
+                "        %2 = %1 + x;",
+                "        GOTO bb3;"));
+        Assert.assertEquals(emitBlock(bb2), String.join("\n",
+                "        %2 = x + x;",
+                "        GOTO bb3;"));
+        // x is reassigned on one of the paths reaching bb3
+        Assert.assertEquals(emitBlock(bb3), String.join("\n",
+                "        %0 = %1 + x;",
+                "        return;"));
+    }
+
+    @Test
+    public void testCopiesReassignedInLoops() {
+        BIRFunction func = function("func");
+        BIRVariableDcl x = var(func, "x", VarKind.LOCAL);
+        BIRVariableDcl cond = var(func, "cond", VarKind.ARG);
+        BIRVariableDcl copy = var(func, "%1", VarKind.TEMP);
+        BIRBasicBlock bb0 = block(func);
+        BIRBasicBlock bb1 = block(func);
+        BIRBasicBlock bb2 = block(func);
+        bb0.instructions.add(move(x, copy));
+        bb0.terminator = new BIRTerminator.GOTO(null, bb1);
+        bb1.instructions.add(binaryOp(InstructionKind.ADD, func.returnVariable, copy, copy));
+        bb1.instructions.add(move(func.returnVariable, x));
+        bb1.terminator = new BIRTerminator.Branch(null, operand(cond), bb1, bb2);
+        bb2.instructions.add(binaryOp(InstructionKind.ADD, func.returnVariable, copy, copy));
+        bb2.terminator = new BIRTerminator.Return(null);
+
+        new BIRCopyPropagator().optimizeNode(module);
+
+        // x is reassigned by the previous iteration of the loop
+        Assert.assertEquals(emitBlock(bb1), String.join("\n",
+                "        %0 = %1 + %1;",
+                "        x = %0;",
+                "        cond? bb1 : bb2;"));
+        Assert.assertEquals(emitBlock(bb2), String.join("\n",
+                "        %0 = %1 + %1;",
+                "        return;"));
+    }
+
+    @Test
+    public void testCopiesAreNotPropagatedToTrapTargets() {
+        BIRFunction func = function("func");
+        BIRVariableDcl x = var(func, "x", VarKind.LOCAL);
+        BIRVariableDcl y = var(func, "y", VarKind.LOCAL);
+        BIRVariableDcl copy = var(func, "%1", VarKind.TEMP);
+        BIRVariableDcl error = var(func, "%err", VarKind.TEMP);
+        BIRBasicBlock bb0 = block(func);
+        BIRBasicBlock bb1 = block(func);
+        BIRBasicBlock bb2 = block(func);
+        BIRBasicBlock bb3 = block(func);
+        bb0.instructions.add(move(x, copy));
+        bb0.terminator = call("f", y, bb1);
+        bb1.instructions.add(binaryOp(InstructionKind.ADD, func.returnVariable, copy, copy));
+        bb1.terminator = new BIRTerminator.GOTO(null, bb3);
+        // a panic may reach the target of the trap before the copy is made
+        bb2.instructions.add(binaryOp(InstructionKind.ADD, func.returnVariable, copy, copy));
+        bb2.terminator = new BIRTerminator.GOTO(null, bb3);
+        bb3.terminator = new BIRTerminator.Return(null);
+        func.errorTable.add(new BIRErrorEntry(bb0, bb0, operand(error), bb2));
+
+        new BIRCopyPropagator().optimizeNode(module);
+
+        Assert.assertEquals(emitBlock(bb1), String.join("\n",
+                "        %0 = x + x;",
+                "        GOTO bb3;"));
+        Assert.assertEquals(emitBlock(bb2), String.join("\n",
+                "        %0 = %1 + %1;",
+                "        GOTO bb3;"));
+    }
+
+    private String emitBlock(BIRBasicBlock bb) {
+        String bir = birEmitter.emitFunction(module.functions.get(0), 0);
+        String label = "    " + bb.id.value + " {\n";
+        int start = bir.indexOf(label) + label.length();
+        return bir.substring(start, bir.indexOf("\n    }", start));
+    }
+
+    private BIRFunction function(String name) {
+        BIRFunction function = new BIRFunction(null, new Name(name), 0,
+                                               new BInvokableType(new ArrayList<>(), symTable.intType, null), null, 0,
+                                               null, null);
+        function.returnVariable = var(function, "%0", VarKind.RETURN);
+        module.functions.add(function);
+        return function;
+    }
+
+    private BIRVariableDcl var(BIRFunction function, String name, VarKind kind) {
+        BIRVariableDcl var = new BIRVariableDcl(null, symTable.intType, new Name(name), VarScope.FUNCTION, kind, null);
+        function.localVars.add(var);
+        return var;
+    }
+
+    private BIRBasicBlock block(BIRFunction function) {
+        BIRBasicBlock bb = new BIRBasicBlock(new Name("bb" + function.basicBlocks.size()));
+        function.basicBlocks.add(bb);
+        return bb;
+    }
+
+    private BIRTerminator.Call call(String name, BIRVariableDcl lhs, BIRBasicBlock thenBB) {
+        return new BIRTerminator.Call(null, InstructionKind.CALL, false, new PackageID(ORG, MODULE, VERSION),
+                                      new Name(name), new ArrayList<>(), operand(lhs), thenBB, new ArrayList<>(),
+                                      new HashSet<>());
+    }
+
+    private BIRNonTerminator.Move move(BIRVariableDcl from, BIRVariableDcl to) {
+        return new BIRNonTerminator.Move(null, operand(from), operand(to));
+    }
+
+    private BIRNonTerminator.ConstantLoad constant(long value, BIRVariableDcl lhs) {
+        return new BIRNonTerminator.ConstantLoad(null, value, symTable.intType, operand(lhs));
+    }
+
+    private BIRNonTerminator.BinaryOp binaryOp(InstructionKind kind, BIRVariableDcl lhs, BIRVariableDcl rhs1,
+                                               BIRVariableDcl rhs2) {
+        return new BIRNonTerminator.BinaryOp(null, kind, symTable.intType, operand(lhs), operand(rhs1),
+                                             operand(rhs2));
+    }
+
+    private BIROperand operand(BIRVariableDcl var) {
+        return new BIROperand(var);
+    }
+}
@@ -0,0 +1,370 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.ballerinalang.compiler.bir.optimizer;
+
+import org.ballerinalang.model.elements.PackageID;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.bir.emit.BIREmitter;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRBasicBlock;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRErrorEntry;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRFunction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRPackage;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRVariableDcl;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIROperand;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarScope;
+import org.wso2.ballerinalang.compiler.semantics.model.SymbolTable;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BInvokableType;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.Name;
+import org.wso2.ballerinalang.compiler.util.diagnotic.BDiagnosticSource;
+import org.wso2.ballerinalang.compiler.util.diagnotic.DiagnosticPos;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+
+/**
+ * Tests the inlining of calls by {@link BIRFunctionInliner}.
+ */
+public class BIRFunctionInlinerTest {
+
+    private static final Name ORG = new Name("testorg");
+    private static final Name MODULE = new Name("inlining");
+    private static final Name VERSION = new Name("1.0.0");
+
+    private SymbolTable symTable;
+    private BIREmitter birEmitter;
+    private BIRPackage module;
+
+    @BeforeClass
+    public void init() {
+        CompilerContext context = new CompilerContext();
+        symTable = SymbolTable.getInstance(context);
+        birEmitter = BIREmitter.getInstance(context);
+    }
+
+    @BeforeMethod
+    public void setup() {
+        module = new BIRPackage(null, ORG, MODULE, VERSION, new Name("inlining.bal"));
+    }
+
+    @Test
+    public void testArgumentAndReturnMapping() {
+        BIRFunction add = add("add");
+        BIRFunction caller = function("caller");
+        BIRVariableDcl x = var(caller, "x", VarKind.LOCAL);
+        BIRVariableDcl c1 = var(caller, "c1", VarKind.LOCAL);
+        BIRVariableDcl c2 = var(caller, "c2", VarKind.LOCAL);
+        BIRBasicBlock bb0 = block(caller);
+        BIRBasicBlock bb1 = block(caller);
+        bb0.instructions.add(constant(1, c1));
+        bb0.instructions.add(constant(2, c2));
+        bb0.terminator = call("add", x, bb1, c1, c2);
+        bb1.instructions.add(new BIRNonTerminator.Move(null, operand(x), operand(caller.returnVariable)));
+        bb1.terminator = new BIRTerminator.Return(null);
+        String addBir = birEmitter.emitFunction(add, 0);
+
+        new BIRFunctionInliner(3, false).optimizeNode(module);
+
+        Assert.assertEquals(birEmitter.emitFunction(caller, 0), String.join("\n",
+                "private caller function() -> int {",
+                "    %0(RETURN) int;",
+                "    %0(RETURN) int;",
+                "    x(LOCAL) int;",
+                "    c1(LOCAL) int;",
+                "    c2(LOCAL) int;",
+                "    %inl0_%0(LOCAL) int;",
+                "    %inl0_a(LOCAL) int;",
+                "    %inl0_b(LOCAL) int;",
+                "    %inl0_%3(TEMP) int;",
+                "",
+                "    bb0 {",
+                "        c1 = ConstLoad 1;",
+                "        c2 = ConstLoad 2;",
+                "        %inl0_a = c1;",
+                "        %inl0_b = c2;",
+                "        GOTO bb0_bb0;",
+                "    }",
+                "    bb0_bb0 {",
+                "        %inl0_%3 = %inl0_a + %inl0_b;",
+                "        %inl0_%0 = %inl0_%3;",
+                "        x = %inl0_%0;",
+                "        GOTO bb1;",
+                "    }",
+                "    bb1 {",
+                "        %0 = x;",
+                "        return;",
+                "    }",
+                "",
+                "",
+                "}"));
+        // the callee is kept as it is
+        Assert.assertEquals(birEmitter.emitFunction(add, 0), addBir);
+    }
+
+    @Test
+    public void testCallsWithinTrapsAreNotInlined() {
+        add("add");
+        BIRFunction caller = function("caller");
+        BIRVariableDcl x = var(caller, "x", VarKind.LOCAL);
+        BIRVariableDcl y = var(caller, "y", VarKind.LOCAL);
+        BIRVariableDcl error = var(caller, "%err", VarKind.TEMP);
+        BIRBasicBlock bb0 = block(caller);
+        BIRBasicBlock bb1 = block(caller);
+        BIRBasicBlock bb2 = block(caller);
+        bb0.terminator = call("add", x, bb1, x, x);
+        bb1.terminator = call("add", y, bb2, x, x);
+        bb2.terminator = new BIRTerminator.Return(null);
+        BIRErrorEntry errorEntry = new BIRErrorEntry(bb0, bb0, operand(error), bb1);
+        caller.errorTable.add(errorEntry);
+
+        // a callee with an error table traps panics of its own
+        BIRFunction guarded = add("guarded");
+        guarded.errorTable.add(new BIRErrorEntry(guarded.basicBlocks.get(0), guarded.basicBlocks.get(0),
+                                                 operand(var(guarded, "%err", VarKind.TEMP)),
+                                                 guarded.basicBlocks.get(0)));
+        BIRFunction callsGuarded = function("callsGuarded");
+        BIRVariableDcl z = var(callsGuarded, "z", VarKind.LOCAL);
+        BIRBasicBlock callsGuardedBB = block(callsGuarded);
+        BIRBasicBlock then = block(callsGuarded);
+        callsGuardedBB.terminator = call("guarded", z, then, z, z);
+        then.terminator = new BIRTerminator.Return(null);
+
+        new BIRFunctionInliner(10, false).optimizeNode(module);
+
+        Assert.assertEquals(birEmitter.emitFunction(caller, 0), String.join("\n",
+                "private caller function() -> int {",
+                "    %0(RETURN) int;",
+                "    %0(RETURN) int;",
+                "    x(LOCAL) int;",
+                "    y(LOCAL) int;",
+                "    %err(TEMP) int;",
+                "    %inl0_%0(LOCAL) int;",
+                "    %inl0_a(LOCAL) int;",
+                "    %inl0_b(LOCAL) int;",
+                "    %inl0_%3(TEMP) int;",
+                "",
+                "    bb0 {",
+                "        x = add(x, x) -> bb1;",
+                "    }",
+                "    bb1 {",
+                "        %inl0_a = x;",
+                "        %inl0_b = x;",
+                "        GOTO bb1_bb0;",
+                "    }",
+                "    bb1_bb0 {",
+                "        %inl0_%3 = %inl0_a + %inl0_b;",
+                "        %inl0_%0 = %inl0_%3;",
+                "        y = %inl0_%0;",
+                "        GOTO bb2;",
+                "    }",
+                "    bb2 {",
+                "        return;",
+                "    }",
+                "",
+                "    ---------------------------------------------",
+                "    | trapBB       | endBB        | errorOp      |",
+                "    ---------------------------------------------",
+                "    | bb0          | bb0          | %err         |",
+                "    ---------------------------------------------",
+                "}"));
+        Assert.assertSame(caller.errorTable.get(0), errorEntry);
+        Assert.assertEquals(terminatorKind(callsGuarded, 0), InstructionKind.CALL);
+    }
+
+    @Test
+    public void testRecursiveCallsAreNotInlined() {
+        BIRFunction countDown = function("countDown");
+        BIRVariableDcl n = var(countDown, "n", VarKind.ARG);
+        BIRBasicBlock countDownBB = block(countDown);
+        BIRBasicBlock then = block(countDown);
+        countDownBB.terminator = call("countDown", countDown.returnVariable, then, n);
+        then.terminator = new BIRTerminator.Return(null);
+
+        BIRFunction ping = function("ping");
+        BIRBasicBlock pingBB = block(ping);
+        then = block(ping);
+        pingBB.terminator = call("pong", ping.returnVariable, then);
+        then.terminator = new BIRTerminator.Return(null);
+        BIRFunction pong = function("pong");
+        BIRBasicBlock pongBB = block(pong);
+        then = block(pong);
+        pongBB.terminator = call("ping", pong.returnVariable, then);
+        then.terminator = new BIRTerminator.Return(null);
+
+        // calls which are not recursive are inlined in turn, once the callee has no calls left
+        add("add");
+        BIRFunction middle = function("middle");
+        BIRVariableDcl a = var(middle, "a", VarKind.ARG);
+        BIRBasicBlock middleBB = block(middle);
+        then = block(middle);
+        middleBB.terminator = call("add", middle.returnVariable, then, a, a);
+        then.terminator = new BIRTerminator.Return(null);
+        BIRFunction outer = function("outer");
+        BIRVariableDcl b = var(outer, "b", VarKind.LOCAL);
+        BIRBasicBlock outerBB = block(outer);
+        then = block(outer);
+        outerBB.terminator = call("middle", outer.returnVariable, then, b);
+        then.terminator = new BIRTerminator.Return(null);
+
+        new BIRFunctionInliner(10, false).optimizeNode(module);
+
+        Assert.assertEquals(terminatorKind(countDown, 0), InstructionKind.CALL);
+        Assert.assertEquals(terminatorKind(ping, 0), InstructionKind.CALL);
+        Assert.assertEquals(terminatorKind(pong, 0), InstructionKind.CALL);
+        Assert.assertEquals(countDown.basicBlocks.size(), 2);
+        Assert.assertEquals(ping.basicBlocks.size(), 2);
+        Assert.assertEquals(pong.basicBlocks.size(), 2);
+        Assert.assertEquals(terminatorKind(middle, 0), InstructionKind.GOTO);
+        Assert.assertEquals(terminatorKind(outer, 0), InstructionKind.GOTO);
+        for (BIRBasicBlock bb : outer.basicBlocks) {
+            Assert.assertNotEquals(bb.terminator.kind, InstructionKind.CALL, bb.id.value);
+        }
+    }
+
+    @Test
+    public void testInlineBudget() {
+        // add has two instructions and a return
+        Assert.assertFalse(inlinesAdd(0));
+        Assert.assertFalse(inlinesAdd(2));
+        Assert.assertTrue(inlinesAdd(3));
+    }
+
+    @Test
+    public void testDumpInliningReport() {
+        add("add");
+        BIRFunction caller = function("caller");
+        BIRVariableDcl x = var(caller, "x", VarKind.LOCAL);
+        BIRBasicBlock bb0 = block(caller);
+        BIRBasicBlock bb1 = block(caller);
+        BIRBasicBlock bb2 = block(caller);
+        bb0.terminator = call("add", x, bb1, x, x);
+        bb0.terminator.pos = new DiagnosticPos(new BDiagnosticSource(new PackageID(ORG, MODULE, VERSION),
+                                                                     "inlining.bal"), 5, 5, 12, 21);
+        bb1.terminator = call("add", x, bb2, x, x);
+        bb1.terminator.pos = new DiagnosticPos(new BDiagnosticSource(new PackageID(ORG, MODULE, VERSION),
+                                                                     "inlining.bal"), 6, 6, 12, 21);
+        bb2.terminator = new BIRTerminator.Return(null);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PrintStream console = new PrintStream(out, true);
+        new BIRFunctionInliner(3, true, console).optimizeNode(module);
+
+        Assert.assertEquals(new String(out.toByteArray(), StandardCharsets.UTF_8).replace("\r\n", "\n"),
+                            "inlined 2 calls in module testorg/inlining:1.0.0\n" +
+                                    "    add (3 instructions) into caller at testorg/inlining:1.0.0::" +
+                                    "inlining.bal:5:12:\n" +
+                                    "    add (3 instructions) into caller at testorg/inlining:1.0.0::" +
+                                    "inlining.bal:6:12:\n");
+
+        // nothing is printed without the flag
+        setup();
+        add("add");
+        caller = function("caller");
+        x = var(caller, "x", VarKind.LOCAL);
+        BIRBasicBlock callerBB = block(caller);
+        bb1 = block(caller);
+        callerBB.terminator = call("add", x, bb1, x, x);
+        bb1.terminator = new BIRTerminator.Return(null);
+        out.reset();
+        new BIRFunctionInliner(3, false, console).optimizeNode(module);
+        Assert.assertEquals(terminatorKind(caller, 0), InstructionKind.GOTO);
+        Assert.assertEquals(out.size(), 0);
+    }
+
+    private boolean inlinesAdd(int budget) {
+        setup();
+        add("add");
+        BIRFunction caller = function("caller");
+        BIRVariableDcl x = var(caller, "x", VarKind.LOCAL);
+        BIRBasicBlock callerBB = block(caller);
+        BIRBasicBlock then = block(caller);
+        callerBB.terminator = call("add", x, then, x, x);
+        then.terminator = new BIRTerminator.Return(null);
+
+        new BIRFunctionInliner(budget, false).optimizeNode(module);
+        return terminatorKind(caller, 0) == InstructionKind.GOTO;
+    }
+
+    /**
+     * Adds a function returning the sum of its two arguments, with two instructions and a return.
+     */
+    private BIRFunction add(String name) {
+        BIRFunction add = function(name);
+        BIRVariableDcl a = var(add, "a", VarKind.ARG);
+        BIRVariableDcl b = var(add, "b", VarKind.ARG);
+        BIRVariableDcl sum = var(add, "%3", VarKind.TEMP);
+        BIRBasicBlock bb0 = block(add);
+        bb0.instructions.add(new BIRNonTerminator.BinaryOp(null, InstructionKind.ADD, symTable.intType, operand(sum),
+                                                           operand(a), operand(b)));
+        bb0.instructions.add(new BIRNonTerminator.Move(null, operand(sum), operand(add.returnVariable)));
+        bb0.terminator = new BIRTerminator.Return(null);
+        return add;
+    }
+
+    private BIRFunction function(String name) {
+        BIRFunction function = new BIRFunction(null, new Name(name), 0,
+                                               new BInvokableType(new ArrayList<>(), symTable.intType, null), null, 0,
+                                               null, null);
+        function.returnVariable = var(function, "%0", VarKind.RETURN);
+        module.functions.add(function);
+        return function;
+    }
+
+    private BIRVariableDcl var(BIRFunction function, String name, VarKind kind) {
+        BIRVariableDcl var = new BIRVariableDcl(null, symTable.intType, new Name(name), VarScope.FUNCTION, kind, null);
+        function.localVars.add(var);
+        return var;
+    }
+
+    private BIRBasicBlock block(BIRFunction function) {
+        BIRBasicBlock bb = new BIRBasicBlock(new Name("bb" + function.basicBlocks.size()));
+        function.basicBlocks.add(bb);
+        return bb;
+    }
+
+    private BIRTerminator.Call call(String name, BIRVariableDcl lhs, BIRBasicBlock thenBB, BIRVariableDcl... args) {
+        ArrayList<BIROperand> argOperands = new ArrayList<>();
+        Arrays.stream(args).map(this::operand).forEach(argOperands::add);
+        return new BIRTerminator.Call(null, InstructionKind.CALL, false, new PackageID(ORG, MODULE, VERSION),
+                                      new Name(name), argOperands, operand(lhs), thenBB, new ArrayList<>(),
+                                      new HashSet<>());
+    }
+
+    private BIRNonTerminator.ConstantLoad constant(long value, BIRVariableDcl lhs) {
+        return new BIRNonTerminator.ConstantLoad(null, value, symTable.intType, operand(lhs));
+    }
+
+    private BIROperand operand(BIRVariableDcl var) {
+        return new BIROperand(var);
+    }
+
+    private InstructionKind terminatorKind(BIRFunction function, int bbIndex) {
+        return function.basicBlocks.get(bbIndex).terminator.kind;
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.ballerinalang.compiler.bir.optimizer;
+
+import org.ballerinalang.model.elements.PackageID;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRBasicBlock;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRErrorEntry;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRFunction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRPackage;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRVariableDcl;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIROperand;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarScope;
+import org.wso2.ballerinalang.compiler.semantics.model.SymbolTable;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BInvokableType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BUnionType;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.Name;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+
+/**
+ * Tests the specialization of variables to primitive types by {@link BIRTypeSpecializer}.
+ */
+public class BIRTypeSpecializerTest {
+
+    private static final Name ORG = new Name("testorg");
+    private static final Name MODULE = new Name("specialization");
+    private static final Name VERSION = new Name("1.0.0");
+
+    private SymbolTable symTable;
+    private BIRPackage module;
+
+    @BeforeClass
+    public void init() {
+        symTable = SymbolTable.getInstance(new CompilerContext());
+    }
+
+    @BeforeMethod
+    public void setup() {
+        module = new BIRPackage(null, ORG, MODULE, VERSION, new Name("specialization.bal"));
+    }
+
+    @Test
+    public void testUnionMembersAreSpecialized() {
+        BIRFunction func = function("func");
+        BIRVariableDcl i = var(func, "i", VarKind.ARG, symTable.intType);
+        BIRVariableDcl f = var(func, "f", VarKind.ARG, symTable.floatType);
+        BIRVariableDcl intOrString = var(func, "%1", VarKind.TEMP, union(symTable.intType, symTable.stringType));
+        BIRVariableDcl isInt = var(func, "%2", VarKind.TEMP, symTable.booleanType);
+        BIRVariableDcl anyValue = var(func, "%3", VarKind.TEMP, symTable.anyType);
+        BIRBasicBlock bb0 = block(func);
+        bb0.instructions.add(cast(intOrString, i));
+        bb0.instructions.add(new BIRNonTerminator.TypeTest(null, symTable.intType, operand(isInt),
+                                                           operand(intOrString)));
+        bb0.instructions.add(cast(func.returnVariable, intOrString));
+        bb0.instructions.add(cast(anyValue, f));
+        bb0.terminator = new BIRTerminator.Return(null);
+
+        new BIRTypeSpecializer().optimizeNode(module);
+
+        Assert.assertSame(intOrString.type, symTable.intType);
+        Assert.assertSame(anyValue.type, symTable.floatType);
+        assertKinds(bb0, InstructionKind.MOVE, InstructionKind.CONST_LOAD, InstructionKind.MOVE,
+                    InstructionKind.MOVE);
+    }
+
+    @Test
+    public void testConversionsAreNotSpecialized() {
+        BIRFunction func = function("func");
+        BIRVariableDcl i = var(func, "i", VarKind.ARG, symTable.intType);
+        BIRVariableDcl f = var(func, "f", VarKind.ARG, symTable.floatType);
+        BType floatOrString = union(symTable.floatType, symTable.stringType);
+        BType decimalOrString = union(symTable.decimalType, symTable.stringType);
+        BIRVariableDcl converted = var(func, "%1", VarKind.TEMP, floatOrString);
+        BIRVariableDcl convertedFloat = var(func, "%2", VarKind.TEMP, decimalOrString);
+        BIRBasicBlock bb0 = block(func);
+        // the int and float values are converted to float and decimal values
+        bb0.instructions.add(cast(converted, i));
+        bb0.instructions.add(cast(convertedFloat, f));
+        bb0.terminator = new BIRTerminator.Return(null);
+
+        new BIRTypeSpecializer().optimizeNode(module);
+
+        Assert.assertSame(converted.type, floatOrString);
+        Assert.assertSame(convertedFloat.type, decimalOrString);
+        assertKinds(bb0, InstructionKind.TYPE_CAST, InstructionKind.TYPE_CAST);
+    }
+
+    @Test
+    public void testMoveChains() {
+        BIRFunction func = function("func");
+        BIRVariableDcl i = var(func, "i", VarKind.ARG, symTable.intType);
+        BIRVariableDcl j = var(func, "j", VarKind.ARG, symTable.intType);
+        BIRVariableDcl s = var(func, "s", VarKind.ARG, symTable.stringType);
+        BType intOrString = union(symTable.intType, symTable.stringType);
+        BIRVariableDcl temp = var(func, "%1", VarKind.TEMP, intOrString);
+        BIRVariableDcl x = var(func, "$x", VarKind.SYNTHETIC, intOrString);
+        BIRVariableDcl y = var(func, "%2", VarKind.TEMP, intOrString);
+        BIRBasicBlock bb0 = block(func);
+        bb0.instructions.add(cast(temp, i));
+        bb0.instructions.add(move(temp, x));
+        bb0.instructions.add(cast(x, j));
+        bb0.instructions.add(cast(func.returnVariable, x));
+        // %2 also holds string values, so the value copied to it is boxed
+        bb0.instructions.add(move(temp, y));
+        bb0.instructions.add(cast(y, s));
+        bb0.terminator = new BIRTerminator.Return(null);
+
+        new BIRTypeSpecializer().optimizeNode(module);
+
+        Assert.assertSame(temp.type, symTable.intType);
+        Assert.assertSame(x.type, symTable.intType);
+        Assert.assertSame(y.type, intOrString);
+        assertKinds(bb0, InstructionKind.MOVE, InstructionKind.MOVE, InstructionKind.MOVE, InstructionKind.MOVE,
+                    InstructionKind.TYPE_CAST, InstructionKind.TYPE_CAST);
+        BIRNonTerminator.TypeCast boxing = (BIRNonTerminator.TypeCast) bb0.instructions.get(4);
+        Assert.assertSame(boxing.rhsOp.variableDcl, temp);
+        Assert.assertSame(boxing.type, intOrString);
+    }
+
+    @Test
+    public void testExcludedVariables() {
+        BIRFunction func = function("func");
+        BIRVariableDcl i = var(func, "i", VarKind.ARG, symTable.intType);
+        BType intOrString = union(symTable.intType, symTable.stringType);
+        BIRVariableDcl argument = var(func, "%1", VarKind.TEMP, intOrString);
+        BIRVariableDcl error = var(func, "%2", VarKind.TEMP, intOrString);
+        BIRVariableDcl global = new BIRVariableDcl(null, intOrString, new Name("g"), VarScope.GLOBAL, VarKind.GLOBAL,
+                                                   null);
+        BIRVariableDcl local = var(func, "u", VarKind.LOCAL, intOrString);
+        BIRBasicBlock bb0 = block(func);
+        BIRBasicBlock bb1 = block(func);
+        bb0.instructions.add(cast(argument, i));
+        bb0.instructions.add(cast(error, i));
+        bb0.instructions.add(cast(global, i));
+        bb0.instructions.add(cast(local, i));
+        bb0.instructions.add(cast(func.returnVariable, local));
+        // variables declared by the user, values passed to calls and errors caught by traps keep their types
+        bb0.terminator = call("f", func.returnVariable, bb1, argument);
+        bb1.terminator = new BIRTerminator.Return(null);
+        func.errorTable.add(new BIRErrorEntry(bb0, bb0, operand(error), bb1));
+
+        new BIRTypeSpecializer().optimizeNode(module);
+
+        Assert.assertSame(argument.type, intOrString);
+        Assert.assertSame(error.type, intOrString);
+        Assert.assertSame(global.type, intOrString);
+        Assert.assertSame(local.type, intOrString);
+        assertKinds(bb0, InstructionKind.TYPE_CAST, InstructionKind.TYPE_CAST, InstructionKind.TYPE_CAST,
+                    InstructionKind.TYPE_CAST, InstructionKind.TYPE_CAST);
+    }
+
+    private void assertKinds(BIRBasicBlock bb, InstructionKind... kinds) {
+        Assert.assertEquals(bb.instructions.size(), kinds.length);
+        for (int i = 0; i < kinds.length; i++) {
+            Assert.assertEquals(bb.instructions.get(i).kind, kinds[i], "instruction " + i);
+        }
+    }
+
+    private BType union(BType... types) {
+        return BUnionType.create(null, types);
+    }
+
+    private BIRFunction function(String name) {
+        BIRFunction function = new BIRFunction(null, new Name(name), 0,
+                                               new BInvokableType(new ArrayList<>(), symTable.intType, null), null, 0,
+                                               null, null);
+        function.returnVariable = var(function, "%0", VarKind.RETURN, symTable.intType);
+        module.functions.add(function);
+        return function;
+    }
+
+    private BIRVariableDcl var(BIRFunction function, String name, VarKind kind, BType type) {
+        BIRVariableDcl var = new BIRVariableDcl(null, type, new Name(name), VarScope.FUNCTION, kind, null);
+        function.localVars.add(var);
+        return var;
+    }
+
+    private BIRBasicBlock block(BIRFunction function) {
+        BIRBasicBlock bb = new BIRBasicBlock(new Name("bb" + function.basicBlocks.size()));
+        function.basicBlocks.add(bb);
+        return bb;
+    }
+
+    private BIRTerminator.Call call(String name, BIRVariableDcl lhs, BIRBasicBlock thenBB, BIRVariableDcl arg) {
+        ArrayList<BIROperand> args = new ArrayList<>();
+        args.add(operand(arg));
+        return new BIRTerminator.Call(null, InstructionKind.CALL, false, new PackageID(ORG, MODULE, VERSION),
+                                      new Name(name), args, operand(lhs), thenBB, new ArrayList<>(), new HashSet<>());
+    }
+
+    private BIRNonTerminator.TypeCast cast(BIRVariableDcl lhs, BIRVariableDcl rhs) {
+        return new BIRNonTerminator.TypeCast(null, operand(lhs), operand(rhs), lhs.type, true);
+    }
+
+    private BIRNonTerminator.Move move(BIRVariableDcl from, BIRVariableDcl to) {
+        return new BIRNonTerminator.Move(null, operand(from), operand(to));
+    }
+
+    private BIROperand operand(BIRVariableDcl var) {
+        return new BIROperand(var);
+    }
+}
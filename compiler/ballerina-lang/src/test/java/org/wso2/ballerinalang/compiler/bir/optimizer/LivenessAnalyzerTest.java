@@ -0,0 +1,197 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.ballerinalang.compiler.bir.optimizer;
+
+import org.ballerinalang.model.elements.PackageID;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRBasicBlock;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRErrorEntry;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRFunction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRVariableDcl;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIROperand;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarScope;
+import org.wso2.ballerinalang.compiler.semantics.model.SymbolTable;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BInvokableType;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.Name;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+
+/**
+ * Tests the {@link ControlFlowGraph} and the liveness computed over it by {@link LivenessAnalyzer}.
+ */
+public class LivenessAnalyzerTest {
+
+    private static final PackageID PACKAGE_ID = new PackageID(new Name("testorg"), new Name("liveness"),
+                                                              new Name("1.0.0"));
+
+    private SymbolTable symTable;
+
+    @BeforeClass
+    public void init() {
+        symTable = SymbolTable.getInstance(new CompilerContext());
+    }
+
+    @Test
+    public void testLoop() {
+        BIRFunction func = function();
+        BIRVariableDcl i = var(func, "i");
+        BIRVariableDcl n = var(func, "n");
+        BIRVariableDcl sum = var(func, "sum");
+        BIRVariableDcl cond = var(func, "%1");
+        BIRBasicBlock bb0 = block(func);
+        BIRBasicBlock bb1 = block(func);
+        BIRBasicBlock bb2 = block(func);
+        BIRBasicBlock bb3 = block(func);
+        bb0.instructions.add(constant(0, i));
+        bb0.instructions.add(constant(10, n));
+        bb0.instructions.add(constant(0, sum));
+        bb0.terminator = new BIRTerminator.GOTO(null, bb1);
+        bb1.instructions.add(binaryOp(InstructionKind.LESS_THAN, cond, i, n));
+        bb1.terminator = new BIRTerminator.Branch(null, operand(cond), bb2, bb3);
+        bb2.instructions.add(binaryOp(InstructionKind.ADD, sum, sum, i));
+        bb2.instructions.add(binaryOp(InstructionKind.ADD, i, i, n));
+        bb2.terminator = new BIRTerminator.GOTO(null, bb1);
+        bb3.instructions.add(new BIRNonTerminator.Move(null, operand(sum), operand(func.returnVariable)));
+        bb3.terminator = new BIRTerminator.Return(null);
+
+        ControlFlowGraph graph = new ControlFlowGraph(func);
+        Assert.assertEquals(graph.getSuccessors(1), new int[]{2, 3});
+        Assert.assertEquals(graph.getPredecessors(1), new int[]{0, 2});
+        // the back edge from bb2 is the only one going against the order
+        Assert.assertEquals(graph.getReversePostOrder(), new int[]{0, 1, 3, 2});
+
+        LivenessAnalyzer analyzer = new LivenessAnalyzer(graph);
+        Assert.assertEquals(analyzer.getIn(0), vars(analyzer));
+        Assert.assertEquals(analyzer.getOut(0), vars(analyzer, i, n, sum));
+        // sum is live around the loop, as it is read after it
+        Assert.assertEquals(analyzer.getIn(1), vars(analyzer, i, n, sum));
+        Assert.assertEquals(analyzer.getOut(1), vars(analyzer, i, n, sum));
+        Assert.assertEquals(analyzer.getIn(2), vars(analyzer, i, n, sum));
+        Assert.assertEquals(analyzer.getOut(2), vars(analyzer, i, n, sum));
+        Assert.assertEquals(analyzer.getIn(3), vars(analyzer, sum));
+        Assert.assertEquals(analyzer.getOut(3), vars(analyzer));
+        Assert.assertEquals(analyzer.getInstructionLiveOuts(0), new BitSet[]{
+                vars(analyzer, i), vars(analyzer, i, n), vars(analyzer, i, n, sum), vars(analyzer, i, n, sum)});
+        Assert.assertEquals(analyzer.getInstructionLiveOuts(1), new BitSet[]{
+                vars(analyzer, i, n, sum, cond), vars(analyzer, i, n, sum)});
+    }
+
+    @Test
+    public void testErrorHandlers() {
+        BIRFunction func = function();
+        BIRVariableDcl x = var(func, "x");
+        BIRVariableDcl y = var(func, "y");
+        BIRVariableDcl error = var(func, "%err");
+        BIRBasicBlock bb0 = block(func);
+        BIRBasicBlock bb1 = block(func);
+        BIRBasicBlock bb2 = block(func);
+        BIRBasicBlock bb3 = block(func);
+        BIRBasicBlock bb4 = block(func);
+        BIRBasicBlock bb5 = block(func);
+        BIRBasicBlock bb6 = block(func);
+        bb0.instructions.add(constant(1, x));
+        bb0.terminator = new BIRTerminator.GOTO(null, bb1);
+        ArrayList<BIROperand> args = new ArrayList<>();
+        args.add(operand(x));
+        bb1.terminator = new BIRTerminator.Call(null, InstructionKind.CALL, false, PACKAGE_ID, new Name("f"), args,
+                                                operand(y), bb2, new ArrayList<>(), new HashSet<>());
+        bb2.terminator = new BIRTerminator.GOTO(null, bb3);
+        // the target of the trap reads the error and the values from before the trap
+        bb3.instructions.add(binaryOp(InstructionKind.ADD, func.returnVariable, x, y));
+        bb3.terminator = new BIRTerminator.GOTO(null, bb4);
+        bb4.terminator = new BIRTerminator.Return(null);
+        // basic blocks which are not reached from the first one
+        bb5.terminator = new BIRTerminator.Panic(null, operand(error));
+        bb6.terminator = new BIRTerminator.GOTO(null, bb5);
+        func.errorTable.add(new BIRErrorEntry(bb1, bb2, operand(error), bb3));
+
+        ControlFlowGraph graph = new ControlFlowGraph(func);
+        Assert.assertEquals(graph.getSuccessors(5), new int[0]);
+        Assert.assertEquals(graph.getPredecessors(5), new int[]{6});
+        Assert.assertEquals(graph.getPredecessors(6), new int[0]);
+        // the basic blocks visited from later roots may lead to the ones visited earlier, so they come first
+        Assert.assertEquals(graph.getReversePostOrder(), new int[]{6, 5, 0, 1, 2, 3, 4});
+
+        LivenessAnalyzer analyzer = new LivenessAnalyzer(graph);
+        Assert.assertEquals(analyzer.getIn(0), vars(analyzer));
+        Assert.assertEquals(analyzer.getOut(0), vars(analyzer, x));
+        Assert.assertEquals(analyzer.getIn(1), vars(analyzer, x));
+        // the call defines y
+        Assert.assertEquals(analyzer.getOut(1), vars(analyzer, x, y));
+        Assert.assertEquals(analyzer.getIn(2), vars(analyzer, x, y));
+        Assert.assertEquals(analyzer.getIn(3), vars(analyzer, x, y));
+        Assert.assertEquals(analyzer.getOut(3), vars(analyzer));
+        Assert.assertEquals(analyzer.getIn(4), vars(analyzer));
+        Assert.assertEquals(analyzer.getIn(5), vars(analyzer, error));
+        Assert.assertEquals(analyzer.getOut(5), vars(analyzer));
+        Assert.assertEquals(analyzer.getIn(6), vars(analyzer, error));
+        Assert.assertEquals(analyzer.getOut(6), vars(analyzer, error));
+    }
+
+    private BitSet vars(LivenessAnalyzer analyzer, BIRVariableDcl... vars) {
+        BitSet bits = new BitSet();
+        for (BIRVariableDcl var : vars) {
+            bits.set(analyzer.getIndex(var));
+        }
+        return bits;
+    }
+
+    private BIRFunction function() {
+        BIRFunction function = new BIRFunction(null, new Name("func"), 0,
+                                               new BInvokableType(new ArrayList<>(), symTable.intType, null), null, 0,
+                                               null, null);
+        function.returnVariable = var(function, "%0");
+        return function;
+    }
+
+    private BIRVariableDcl var(BIRFunction function, String name) {
+        BIRVariableDcl var = new BIRVariableDcl(null, symTable.intType, new Name(name), VarScope.FUNCTION,
+                                                VarKind.LOCAL, null);
+        function.localVars.add(var);
+        return var;
+    }
+
+    private BIRBasicBlock block(BIRFunction function) {
+        BIRBasicBlock bb = new BIRBasicBlock(new Name("bb" + function.basicBlocks.size()));
+        function.basicBlocks.add(bb);
+        return bb;
+    }
+
+    private BIRNonTerminator.ConstantLoad constant(long value, BIRVariableDcl lhs) {
+        return new BIRNonTerminator.ConstantLoad(null, value, symTable.intType, operand(lhs));
+    }
+
+    private BIRNonTerminator.BinaryOp binaryOp(InstructionKind kind, BIRVariableDcl lhs, BIRVariableDcl rhs1,
+                                               BIRVariableDcl rhs2) {
+        return new BIRNonTerminator.BinaryOp(null, kind, symTable.intType, operand(lhs), operand(rhs1),
+                                             operand(rhs2));
+    }
+
+    private BIROperand operand(BIRVariableDcl var) {
+        return new BIROperand(var);
+    }
+}
@@ -27,7 +27,10 @@ import org.ballerinalang.jvm.types.BFunctionType;
 import org.ballerinalang.jvm.types.BType;
 import org.ballerinalang.jvm.types.BUnionType;
 import org.ballerinalang.jvm.types.TypeTags;
+import org.ballerinalang.jvm.api.values.BString;
+import org.ballerinalang.jvm.util.RuntimeUtils;
 import org.ballerinalang.jvm.values.ArrayValue;
+import org.ballerinalang.jvm.values.ArrayValueImpl;
 import org.ballerinalang.jvm.values.FPValue;
 import org.ballerinalang.model.types.TypeKind;
 import org.ballerinalang.natives.annotations.Argument;
@@ -35,8 +38,9 @@ import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
-import java.util.PrimitiveIterator;
 
 import static org.ballerinalang.jvm.util.BLangConstants.ARRAY_LANG_LIB;
 import static org.ballerinalang.jvm.util.exceptions.BallerinaErrorReasons.INVALID_TYPE_TO_SORT;
@@ -58,6 +62,8 @@ import static org.ballerinalang.util.BLangCompilerConstants.ARRAY_VERSION;
 )
 public class Sort {
 
+    private static final int INSERTION_SORT_THRESHOLD = 8;
+
     public static ArrayValue sort(Strand strand, ArrayValue arr, Object direction, Object func) {
         checkIsArrayOnlyOperation(arr.getType(), "sort()");
         FPValue<Object, Object> function = (FPValue<Object, Object>) func;
@@ -67,6 +73,18 @@ public class Sort {
             isAscending = false;
         }
 
+        if (arr.size() == 0) {
+            return arr;
+        }
+        if (function == null) {
+            if (arr instanceof ArrayValueImpl && isSimpleTypeTag(elemType.getTag()) &&
+                    sortSimpleMembers((ArrayValueImpl) arr, isAscending)) {
+                return arr;
+            }
+        } else if (sortByKeys(strand, arr, function, isAscending)) {
+            return arr;
+        }
+
         Object[][] sortArr = new Object[arr.size()][2];
         Object[][] sortArrClone = new Object[arr.size()][2];
         if (function != null) {
@@ -111,6 +129,273 @@ public class Sort {
         return arr;
     }
 
+    private static boolean isSimpleTypeTag(int tag) {
+        return TypeTags.isIntegerTypeTag(tag) || TypeTags.isStringTypeTag(tag) || tag == TypeTags.FLOAT_TAG ||
+                tag == TypeTags.BYTE_TAG || tag == TypeTags.BOOLEAN_TAG;
+    }
+
+    /**
+     * Sorts an array of a simple basic type in place, directly on the primitive backing store.
+     *
+     * @return false if the array is not backed by a primitive store
+     */
+    private static boolean sortSimpleMembers(ArrayValueImpl arr, boolean isAscending) {
+        Object store = arr.getBackingStoreForUpdate();
+        int size = arr.size();
+        if (store instanceof long[]) {
+            long[] values = (long[]) store;
+            Arrays.sort(values, 0, size);
+            if (!isAscending) {
+                reverse(values, 0, size);
+            }
+        } else if (store instanceof double[]) {
+            sortFloats((double[]) store, size, isAscending);
+        } else if (store instanceof byte[]) {
+            sortBytes((byte[]) store, size, isAscending);
+        } else if (store instanceof boolean[]) {
+            sortBooleans((boolean[]) store, size, isAscending);
+        } else if (store instanceof BString[]) {
+            Comparator<BString> comparator =
+                    (str1, str2) -> RuntimeUtils.codePointCompare(str1.getValue(), str2.getValue());
+            Arrays.sort((BString[]) store, 0, size, isAscending ? comparator : comparator.reversed());
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private static void sortFloats(double[] values, int size, boolean isAscending) {
+        // NaN goes last irrespective of the sort direction, and -0.0 and +0.0 are equal, so they keep their
+        // relative order. Move NaNs to the end and remember the order of the signs of the zeros.
+        int nonNaNCount = 0;
+        int zeroCount = 0;
+        for (int i = 0; i < size; i++) {
+            double value = values[i];
+            if (!Double.isNaN(value)) {
+                values[nonNaNCount++] = value;
+                if (value == 0) {
+                    zeroCount++;
+                }
+            }
+        }
+        Arrays.fill(values, nonNaNCount, size, Double.NaN);
+        boolean[] negativeZeros = null;
+        if (zeroCount > 1) {
+            negativeZeros = new boolean[zeroCount];
+            for (int i = 0, j = 0; j < zeroCount; i++) {
+                if (values[i] == 0) {
+                    negativeZeros[j++] = Double.doubleToRawLongBits(values[i]) != 0;
+                }
+            }
+        }
+
+        Arrays.sort(values, 0, nonNaNCount);
+        if (!isAscending) {
+            reverse(values, 0, nonNaNCount);
+        }
+
+        if (negativeZeros != null) {
+            int firstZero = 0;
+            while (values[firstZero] != 0) {
+                firstZero++;
+            }
+            for (int j = 0; j < zeroCount; j++) {
+                values[firstZero + j] = negativeZeros[j] ? -0.0 : 0.0;
+            }
+        }
+    }
+
+    private static void sortBytes(byte[] values, int size, boolean isAscending) {
+        // bytes are unsigned, so a counting sort over the 256 values
+        int[] counts = new int[256];
+        for (int i = 0; i < size; i++) {
+            counts[Byte.toUnsignedInt(values[i])]++;
+        }
+        int index = 0;
+        for (int i = 0; i < 256; i++) {
+            int value = isAscending ? i : 255 - i;
+            Arrays.fill(values, index, index + counts[value], (byte) value);
+            index += counts[value];
+        }
+    }
+
+    private static void sortBooleans(boolean[] values, int size, boolean isAscending) {
+        int trueCount = 0;
+        for (int i = 0; i < size; i++) {
+            if (values[i]) {
+                trueCount++;
+            }
+        }
+        if (isAscending) {
+            Arrays.fill(values, 0, size - trueCount, false);
+            Arrays.fill(values, size - trueCount, size, true);
+        } else {
+            Arrays.fill(values, 0, trueCount, true);
+            Arrays.fill(values, trueCount, size, false);
+        }
+    }
+
+    private static void reverse(long[] values, int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            long temp = values[i];
+            values[i] = values[j];
+            values[j] = temp;
+        }
+    }
+
+    private static void reverse(double[] values, int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            double temp = values[i];
+            values[i] = values[j];
+            values[j] = temp;
+        }
+    }
+
+    /**
+     * Sorts the array by keys of a simple basic type. The keys are computed once into a primitive array, and an
+     * array of member indices is sorted by them.
+     *
+     * @return false if the key type is not a simple basic type
+     */
+    private static boolean sortByKeys(Strand strand, ArrayValue arr, FPValue<Object, Object> function,
+                                      boolean isAscending) {
+        int keyTypeTag = ((BFunctionType) function.getType()).retType.getTag();
+        int size = arr.size();
+        IndexComparator comparator;
+        if (TypeTags.isIntegerTypeTag(keyTypeTag) || keyTypeTag == TypeTags.BYTE_TAG ||
+                keyTypeTag == TypeTags.BOOLEAN_TAG) {
+            long[] keys = new long[size];
+            for (int i = 0; i < size; i++) {
+                Object key = function.call(new Object[]{strand, arr.get(i), true});
+                keys[i] = key instanceof Boolean ? ((Boolean) key ? 1 : 0) : ((Number) key).longValue();
+            }
+            comparator = isAscending ? (i, j) -> Long.compare(keys[i], keys[j]) :
+                    (i, j) -> Long.compare(keys[j], keys[i]);
+        } else if (keyTypeTag == TypeTags.FLOAT_TAG) {
+            double[] keys = new double[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = (double) function.call(new Object[]{strand, arr.get(i), true});
+            }
+            comparator = (i, j) -> compareFloats(keys[i], keys[j], isAscending);
+        } else if (TypeTags.isStringTypeTag(keyTypeTag)) {
+            String[] keys = new String[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = ((BString) function.call(new Object[]{strand, arr.get(i), true})).getValue();
+            }
+            comparator = isAscending ? (i, j) -> RuntimeUtils.codePointCompare(keys[i], keys[j]) :
+                    (i, j) -> RuntimeUtils.codePointCompare(keys[j], keys[i]);
+        } else {
+            return false;
+        }
+
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        mergesort(order, new int[size], 0, size - 1, comparator);
+        reorder(arr, order);
+        return true;
+    }
+
+    private static int compareFloats(double value1, double value2, boolean isAscending) {
+        if (Double.isNaN(value1)) {
+            return Double.isNaN(value2) ? 0 : 1;
+        }
+        if (Double.isNaN(value2)) {
+            return -1;
+        }
+        // -0.0 = +0.0
+        if (value1 == value2) {
+            return 0;
+        }
+        return isAscending ? Double.compare(value1, value2) : Double.compare(value2, value1);
+    }
+
+    private static void reorder(ArrayValue arr, int[] order) {
+        int size = order.length;
+        Object store = arr instanceof ArrayValueImpl ? ((ArrayValueImpl) arr).getBackingStoreForUpdate() : null;
+        if (store instanceof long[]) {
+            long[] values = (long[]) store;
+            long[] copy = Arrays.copyOf(values, size);
+            for (int k = 0; k < size; k++) {
+                values[k] = copy[order[k]];
+            }
+        } else if (store instanceof double[]) {
+            double[] values = (double[]) store;
+            double[] copy = Arrays.copyOf(values, size);
+            for (int k = 0; k < size; k++) {
+                values[k] = copy[order[k]];
+            }
+        } else if (store instanceof byte[]) {
+            byte[] values = (byte[]) store;
+            byte[] copy = Arrays.copyOf(values, size);
+            for (int k = 0; k < size; k++) {
+                values[k] = copy[order[k]];
+            }
+        } else if (store instanceof boolean[]) {
+            boolean[] values = (boolean[]) store;
+            boolean[] copy = Arrays.copyOf(values, size);
+            for (int k = 0; k < size; k++) {
+                values[k] = copy[order[k]];
+            }
+        } else {
+            Object[] copy = new Object[size];
+            for (int k = 0; k < size; k++) {
+                copy[k] = arr.get(k);
+            }
+            for (int k = 0; k < size; k++) {
+                arr.add(k, copy[order[k]]);
+            }
+        }
+    }
+
+    /**
+     * Stable mergesort of member indices, where the comparator gives the order of the members in the sorted array.
+     */
+    private static void mergesort(int[] order, int[] aux, int lo, int hi, IndexComparator comparator) {
+        if (hi - lo < INSERTION_SORT_THRESHOLD) {
+            for (int i = lo + 1; i <= hi; i++) {
+                int index = order[i];
+                int j = i - 1;
+                while (j >= lo && comparator.compare(index, order[j]) < 0) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = index;
+            }
+            return;
+        }
+
+        int mid = lo + (hi - lo) / 2;
+        mergesort(order, aux, lo, mid, comparator);
+        mergesort(order, aux, mid + 1, hi, comparator);
+        if (comparator.compare(order[mid + 1], order[mid]) >= 0) {
+            // already in order
+            return;
+        }
+
+        System.arraycopy(order, lo, aux, lo, hi + 1 - lo);
+        for (int i = lo, j = mid + 1, k = lo; k <= hi; k++) {
+            if (i > mid) {
+                order[k] = aux[j++];
+            } else if (j > hi) {
+                order[k] = aux[i++];
+            } else if (comparator.compare(aux[j], aux[i]) < 0) {
+                order[k] = aux[j++];
+            } else {
+                order[k] = aux[i++];
+            }
+        }
+    }
+
+    /**
+     * Compares two array members by their indices, without boxing the keys.
+     */
+    private interface IndexComparator {
+
+        int compare(int index1, int index2);
+    }
+
     private static BType getMemberType(BUnionType unionType) {
         List<BType> memberTypes = unionType.getMemberTypes();
         for (BType type : memberTypes) {
@@ -204,7 +489,7 @@ public class Sort {
         } else if (type.getTag() == TypeTags.BOOLEAN_TAG) {
             return Boolean.compare((boolean) value1, (boolean) value2);
         } else if (TypeTags.isStringTypeTag(type.getTag())) {
-            return codePointCompare(value1.toString(), value2.toString());
+            return RuntimeUtils.codePointCompare(value1.toString(), value2.toString());
         } else if (type.getTag() == TypeTags.BYTE_TAG) {
             return Integer.compare((int) value1, (int) value2);
         } else if (type.getTag() == TypeTags.ARRAY_TAG) {
@@ -238,25 +523,4 @@ public class Sort {
                                         BStringUtils.fromString("expected an ordered type, but found '" +
                                                                        type.toString() + "'"));
     }
-
-    private static int codePointCompare(String str1, String str2) {
-        PrimitiveIterator.OfInt iterator1 = str1.codePoints().iterator();
-        PrimitiveIterator.OfInt iterator2 = str2.codePoints().iterator();
-        while (iterator1.hasNext()) {
-            if (!iterator2.hasNext()) {
-                return 1;
-            }
-            Integer codePoint1 = iterator1.next();
-            Integer codePoint2 = iterator2.next();
-
-            int cmp = codePoint1.compareTo(codePoint2);
-            if (cmp != 0) {
-                return cmp;
-            }
-        }
-        if (iterator2.hasNext()) {
-            return -1;
-        }
-        return 0;
-    }
 }
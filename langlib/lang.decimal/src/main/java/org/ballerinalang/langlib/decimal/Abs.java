@@ -41,6 +41,6 @@ import static org.ballerinalang.util.BLangCompilerConstants.DECIMAL_VERSION;
 public class Abs {
 
     public static DecimalValue abs(Strand strand, DecimalValue n) {
-        return new DecimalValue(n.value().abs());
+        return n.abs();
     }
 }
@@ -43,6 +43,6 @@ import static org.ballerinalang.util.BLangCompilerConstants.DECIMAL_VERSION;
 public class Ceiling {
 
     public static DecimalValue ceiling(Strand strand, DecimalValue x) {
-        return new DecimalValue(x.value().setScale(0, RoundingMode.CEILING));
+        return x.toIntegralValue(RoundingMode.CEILING);
     }
 }
@@ -43,6 +43,6 @@ import static org.ballerinalang.util.BLangCompilerConstants.DECIMAL_VERSION;
 public class Floor {
 
     public static DecimalValue floor(Strand strand, DecimalValue x) {
-        return new DecimalValue(x.value().setScale(0, RoundingMode.FLOOR));
+        return x.toIntegralValue(RoundingMode.FLOOR);
     }
 }
@@ -46,7 +46,7 @@ public class Max {
         int size = ns.size();
         for (int i = 0; i < size; i++) {
             DecimalValue current = (DecimalValue) ns.get(i);
-            max = current.value().compareTo(max.value()) >= 0 ? current : max;
+            max = current.compareTo(max) >= 0 ? current : max;
         }
         return max;
     }
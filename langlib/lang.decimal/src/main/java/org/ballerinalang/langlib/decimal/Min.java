@@ -46,7 +46,7 @@ public class Min {
         int size = ns.size();
         for (int i = 0; i < size; i++) {
             DecimalValue current = (DecimalValue) ns.getRefValue(i);
-            min = current.value().compareTo(min.value()) <= 0 ? current : min;
+            min = current.compareTo(min) <= 0 ? current : min;
         }
         return min;
     }
@@ -43,6 +43,6 @@ import static org.ballerinalang.util.BLangCompilerConstants.DECIMAL_VERSION;
 public class Round {
 
     public static DecimalValue round(Strand strand, DecimalValue x) {
-        return new DecimalValue(x.value().setScale(0, RoundingMode.HALF_EVEN));
+        return x.toIntegralValue(RoundingMode.HALF_EVEN);
     }
 }
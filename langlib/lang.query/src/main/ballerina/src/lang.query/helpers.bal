@@ -150,5 +150,24 @@ function consumeStream(stream<Type, error?> strm) returns error? {
     }
 }
 
+function lookupTableIndex(table<map<Type>> tbl, string fieldName, string operator, anydata value)
+        returns table<map<Type>> = external;
+
+function createJoinHashTable() returns handle = external;
+
+function addToJoinHashTable(handle joinHashTable, any key, _Frame frame) = external;
+
+function getJoinCandidates(handle joinHashTable, any key) returns handle = external;
+
+function getJoinCandidate(handle candidates, int index) returns _Frame? = external;
+
+function createFrameSorter(int frameLimit) returns handle = external;
+
+function addToFrameSorter(handle sorter, _Frame frame) = external;
+
+function sortFrames(handle sorter) = external;
+
+function getSortedFrame(handle sorter, int index) returns _Frame? = external;
+
 // TODO: This for debugging purposes, remove once completed.
 function print(any|error? data) = external;
@@ -78,6 +78,10 @@ class _StreamPipeline {
 
     function addStreamFunction(_StreamFunction streamFunction) {
         _StreamFunction existingFunc = self.streamFunction;
+        if (streamFunction is _LimitFunction && existingFunc is _OrderByFunction) {
+            // Only the first `limit` ordered frames are needed, so the order by function need not sort them all.
+            existingFunc.limitFunction = streamFunction;
+        }
         streamFunction.prevFunc = existingFunc;
         self.streamFunction = streamFunction;
     }
@@ -298,8 +302,9 @@ class _InnerJoinFunction {
     *_StreamFunction;
     function (_Frame _frame) returns any lhsKeyFunction;
     function (_Frame _frame) returns any rhsKeyFunction;
-    _FrameMultiMap rhsFramesMap = new;
-    _Frame[]? rhsCandidates;
+    handle rhsFramesMap;
+    handle? rhsCandidates;
+    int rhsCandidateIndex = 0;
     _Frame|error? lhsFrame;
 
     function init(
@@ -311,9 +316,10 @@ class _InnerJoinFunction {
         self.rhsCandidates = ();
         self.prevFunc = ();
         self.lhsFrame = ();
+        self.rhsFramesMap = createJoinHashTable();
         _Frame|error? f = pipelineToJoin.next();
         while (f is _Frame) {
-            self.rhsFramesMap.put(rhsKeyFunction(f).toString(), f);
+            addToJoinHashTable(self.rhsFramesMap, rhsKeyFunction(f), f);
             f = pipelineToJoin.next();
         }
     }
@@ -325,10 +331,8 @@ class _InnerJoinFunction {
     public function process() returns _Frame|error? {
         function (_Frame _frame) returns any lhsKF = self.lhsKeyFunction;
         _StreamFunction pf = <_StreamFunction>self.prevFunc;
-         _FrameMultiMap rhsFramesMap = self.rhsFramesMap;
-        _Frame[]? rhsCandidates = self.rhsCandidates;
+        handle? rhsCandidates = self.rhsCandidates;
         _Frame|error? lhsFrame = self.lhsFrame;
-        string lhsKey = "";
 
         if (lhsFrame is ()) {
             lhsFrame = pf.process();
@@ -336,14 +340,14 @@ class _InnerJoinFunction {
         }
 
         if (lhsFrame is _Frame) {
-            lhsKey = lhsKF(lhsFrame).toString();
             if (rhsCandidates is ()) {
-                rhsCandidates = rhsFramesMap.get(lhsKey);
+                rhsCandidates = getJoinCandidates(self.rhsFramesMap, lhsKF(lhsFrame));
                 self.rhsCandidates = rhsCandidates;
+                self.rhsCandidateIndex = 0;
             }
-            if (rhsCandidates is _Frame[] && rhsCandidates.length() > 0) {
-                _Frame rhsFrame = rhsCandidates.shift();
-                self.rhsCandidates = rhsCandidates;
+            _Frame? rhsFrame = getJoinCandidate(<handle>rhsCandidates, self.rhsCandidateIndex);
+            if (rhsFrame is _Frame) {
+                self.rhsCandidateIndex += 1;
                 _Frame joinedFrame = {...lhsFrame, ...rhsFrame};
                 return joinedFrame;
             } else {
@@ -371,8 +375,9 @@ class _OuterJoinFunction {
     *_StreamFunction;
     function (_Frame _frame) returns any lhsKeyFunction;
     function (_Frame _frame) returns any rhsKeyFunction;
-    _FrameMultiMap rhsFramesMap = new;
-    _Frame[]? rhsCandidates;
+    handle rhsFramesMap;
+    handle? rhsCandidates;
+    int rhsCandidateIndex = 0;
     _Frame|error? lhsFrame;
     _Frame nilFrame;
 
@@ -386,9 +391,10 @@ class _OuterJoinFunction {
         self.prevFunc = ();
         self.lhsFrame = ();
         self.nilFrame = nilFrame;
+        self.rhsFramesMap = createJoinHashTable();
         _Frame|error? f = pipelineToJoin.next();
         while (f is _Frame) {
-            self.rhsFramesMap.put(rhsKeyFunction(f).toString(), f);
+            addToJoinHashTable(self.rhsFramesMap, rhsKeyFunction(f), f);
             f = pipelineToJoin.next();
         }
     }
@@ -400,11 +406,9 @@ class _OuterJoinFunction {
     public function process() returns _Frame|error? {
         function (_Frame _frame) returns any lhsKF = self.lhsKeyFunction;
         _StreamFunction pf = <_StreamFunction>self.prevFunc;
-         _FrameMultiMap rhsFramesMap = self.rhsFramesMap;
-        _Frame[]? rhsCandidates = self.rhsCandidates;
+        handle? rhsCandidates = self.rhsCandidates;
         _Frame|error? lhsFrame = self.lhsFrame;
         _Frame nilFrame = self.nilFrame;
-        string lhsKey = "";
 
         if (lhsFrame is ()) {
             lhsFrame = pf.process();
@@ -412,17 +416,16 @@ class _OuterJoinFunction {
         }
 
         if (lhsFrame is _Frame) {
-            lhsKey = lhsKF(lhsFrame).toString();
             if (rhsCandidates is ()) {
-                rhsCandidates = rhsFramesMap.get(lhsKey);
+                rhsCandidates = getJoinCandidates(self.rhsFramesMap, lhsKF(lhsFrame));
                 self.rhsCandidates = rhsCandidates;
+                self.rhsCandidateIndex = 0;
             }
 
-            if (rhsCandidates is _Frame[]) {
-                _Frame rhsFrame = rhsCandidates.shift();
-                if (rhsCandidates.length() > 0) {
-                    self.rhsCandidates = rhsCandidates;
-                } else {
+            _Frame? rhsFrame = getJoinCandidate(<handle>rhsCandidates, self.rhsCandidateIndex);
+            if (rhsFrame is _Frame) {
+                self.rhsCandidateIndex += 1;
+                if (getJoinCandidate(<handle>rhsCandidates, self.rhsCandidateIndex) is ()) {
                     // Move to next lhs frame in next iteration.
                     self.rhsCandidates = ();
                     self.lhsFrame = ();
@@ -430,8 +433,9 @@ class _OuterJoinFunction {
                 _Frame joinedFrame = {...lhsFrame, ...rhsFrame};
                 return joinedFrame;
             } else {
-                // rhsCandidates is nil, move to next lhs frame in next iteration.
+                // There are no rhs candidates, move to next lhs frame in next iteration.
                 _Frame joinedFrame = {...lhsFrame, ...nilFrame};
+                self.rhsCandidates = ();
                 self.lhsFrame = ();
                 return joinedFrame;
             }
@@ -487,43 +491,53 @@ class _OrderByFunction {
     # Desugared function to do;
     # order by person.fname true, person.age false
     function(_Frame _frame) orderKeyFunc;
-    stream<_Frame>? orderedStream;
+    # Limit function of the following limit clause, if any.
+    _LimitFunction? limitFunction = ();
+    handle? sortedFrames;
+    int sortedFrameIndex = 0;
 
     function init(function(_Frame _frame) orderKeyFunc) {
         self.orderKeyFunc = orderKeyFunc;
-        self.orderedStream = ();
+        self.sortedFrames = ();
         self.prevFunc = ();
     }
 
     public function process() returns _Frame|error? {
-        if (self.orderedStream is ()) {
+        handle? sortedFrames = self.sortedFrames;
+        if (sortedFrames is ()) {
             _StreamFunction pf = <_StreamFunction> self.prevFunc;
             function(_Frame _frame) orderKeyFunc = self.orderKeyFunc;
             _Frame|error? f = pf.process();
-            boolean[] directions = [];
-            _OrderTreeNode oTree = new;
+            int frameLimit = -1;
+            _LimitFunction? limitFunction = self.limitFunction;
+            if (f is _Frame && limitFunction is _LimitFunction) {
+                frameLimit = limitFunction.getLimit(f);
+            }
+            handle sorter = createFrameSorter(frameLimit);
             // consume all events for ordering.
             while (f is _Frame) {
                 orderKeyFunc(f);
-                oTree.add(f, <any[]>f["$orderDirection$"], <any[]>f["$orderKey$"]);
+                addToFrameSorter(sorter, f);
                 f = pf.process();
             }
             if (f is error) {
                 return f;
             }
-            self.orderedStream = oTree.get().toStream();
+            sortFrames(sorter);
+            sortedFrames = sorter;
+            self.sortedFrames = sorter;
+            self.sortedFrameIndex = 0;
         }
 
-        stream<_Frame> s = <stream<_Frame>>self.orderedStream;
-        record {|_Frame value;|}|error? f = s.next();
-        if (f is record {|_Frame value;|}) {
-            return f.value;
+        _Frame? f = getSortedFrame(<handle>sortedFrames, self.sortedFrameIndex);
+        if (f is _Frame) {
+            self.sortedFrameIndex += 1;
         }
         return f;
     }
 
     public function reset() {
-        self.orderedStream = ();
+        self.sortedFrames = ();
         _StreamFunction? pf = self.prevFunc;
         if (pf is _StreamFunction) {
             pf.reset();
@@ -606,6 +620,8 @@ class _LimitFunction {
 
     # Desugared function to limit the number of results
     function (_Frame _frame) returns int limitFunc;
+    # Limit of the current execution of the query, evaluated once on the first frame.
+    int? lmt = ();
     public int count = 0;
 
     function init(function (_Frame _frame) returns int limitFunc) {
@@ -615,13 +631,9 @@ class _LimitFunction {
 
     public function process() returns _Frame|error? {
         _StreamFunction pf = <_StreamFunction>self.prevFunc;
-        function (_Frame _frame) returns int limitFunc = self.limitFunc;
         _Frame|error? pFrame = pf.process();
         if (pFrame is _Frame) {
-            int lmt = limitFunc(pFrame);
-            if (lmt < 1) {
-                panic error("Invalid limit", message = "limit cannot be < 1.");
-            }
+            int lmt = self.getLimit(pFrame);
             if (self.count < lmt) {
                 self.count += 1;
                 return pFrame;
@@ -631,7 +643,22 @@ class _LimitFunction {
         return pFrame;
     }
 
+    function getLimit(_Frame frame) returns int {
+        int? lmt = self.lmt;
+        if (lmt is int) {
+            return lmt;
+        }
+        function (_Frame _frame) returns int limitFunc = self.limitFunc;
+        int frameLimit = limitFunc(frame);
+        if (frameLimit < 1) {
+            panic error("Invalid limit", message = "limit cannot be < 1.");
+        }
+        self.lmt = frameLimit;
+        return frameLimit;
+    }
+
     public function reset() {
+        self.lmt = ();
         self.count = 0;
         _StreamFunction? pf = self.prevFunc;
         if (pf is _StreamFunction) {
@@ -642,35 +669,6 @@ class _LimitFunction {
 
 // ---- helper types ----
 
-class _FrameMultiMap {
-    map<_Frame[]> m;
-
-    function init() {
-        self.m = {};
-    }
-
-    function put(string k, _Frame v) {
-        _Frame[]? vals = self.m[k];
-        if (vals is _Frame[]) {
-            vals.push(v);
-        } else {
-            self.m[k] = [v];
-        }
-    }
-
-    function get(string k) returns _Frame[]? {
-        _Frame[]? vals = self.m[k];
-        if (vals is _Frame[]) {
-            _Frame[] frames = [];
-            foreach _Frame v in vals {
-                frames.push(v);
-            }
-            return frames;
-        }
-    }
-
-}
-
 class IterHelper {
     public _StreamPipeline pipeline;
     public typedesc<Type> outputType;
@@ -691,105 +689,3 @@ class IterHelper {
         }
     }
 }
-
-class _OrderTreeNode {
-    any? key = ();
-    _Frame[]? frames = ();
-    lang_array:SortDirection nodesDirection = lang_array:ASCENDING;
-    map<_OrderTreeNode> nodes = {};
-    any[] keys = [];
-
-    # adds a _Frame into the _OrderTreeNode tree structure.
-    function add(_Frame f, any[] directions, any[] keys) {
-        if (keys.length() == 0 && directions.length() == 0) {
-            if (self.frames is _Frame[]) {
-                _Frame[] frames = <_Frame[]>self.frames;
-                frames.push(f);
-                self.frames = frames;
-            } else {
-                self.frames = [f];
-            }
-
-        } else {
-            if(!<boolean>directions.shift()) {
-                self.nodesDirection = lang_array:DESCENDING;
-            }
-            any key = keys.shift();
-            string keyStr = key.toString();
-            _OrderTreeNode o;
-            if (self.nodes.hasKey(keyStr)) {
-                o = self.nodes.get(keyStr);
-            } else {
-                o = new;
-                o.key = key;
-                self.nodes[keyStr] = o;
-                self.keys.push(key);
-            }
-            o.add(f, directions, keys);
-        }
-    }
-
-    # do a pre-order tree traversal and return collected leaf frames as orderedFrames.
-    # + return -  ordered frames.
-    function get() returns _Frame[] {
-        _Frame[] orderedFrames = [];
-        if (self.frames is _Frame[]) {
-            _Frame[] frames = <_Frame[]>self.frames;
-            foreach _Frame f in frames {
-                orderedFrames.push(f);
-            }
-        } else {
-            any[] keys = self.getSortedArray(self.keys);
-            foreach any k in keys {
-                _OrderTreeNode o = self.nodes.get(k.toString());
-                _Frame[] frms = o.get();
-                foreach _Frame f in frms {
-                    orderedFrames.push(f);
-                }
-            }
-        }
-        return orderedFrames;
-    }
-
-    # sorting is not supported for any[], therefore have to resolve runtime type and sort it.
-    # + return -  ordered array.
-    function getSortedArray(any[] arr) returns any[] {
-        if (arr.length() > 0) {
-            int i = 0;
-            while (i < arr.length()) {
-                if (arr[i] is ()) {
-                    i += 1;
-                    continue;
-                } else if (arr[i] is boolean) {
-                    boolean?[] res = [];
-                    self.copyArray(arr, res);
-                    return res.sort(self.nodesDirection, (v) => v);
-                } else if (arr[i] is int) {
-                    int?[] res = [];
-                    self.copyArray(arr, res);
-                    return res.sort(self.nodesDirection, (v) => v);
-                } else if (arr[i] is float) {
-                    float?[] res = [];
-                    self.copyArray(arr, res);
-                    return res.sort(self.nodesDirection, (v) => v);
-                } else if (arr[i] is decimal) {
-                    decimal?[] res = [];
-                    self.copyArray(arr, res);
-                    return res.sort(self.nodesDirection, (v) => v);
-                } else if (arr[i] is string) {
-                    string?[] res = [];
-                    self.copyArray(arr, res);
-                    return res.sort(self.nodesDirection, (v) => v);
-                }
-            }
-        }
-        return arr;
-    }
-
-    # copy every element of source array into empty target array.
-    function copyArray(any[] 'source, any[] 'target) {
-        foreach var v in 'source {
-            'target.push(v);
-        }
-    }
-}
@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.langlib.query;
+
+import org.ballerinalang.jvm.api.BStringUtils;
+import org.ballerinalang.jvm.api.values.BString;
+import org.ballerinalang.jvm.util.RuntimeUtils;
+import org.ballerinalang.jvm.values.ArrayValue;
+import org.ballerinalang.jvm.values.DecimalValue;
+import org.ballerinalang.jvm.values.MapValue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Orders the frames of an order by clause by the order keys and directions the order by function adds to each
+ * frame. Frames with equal keys keep their input order and () and NaN keys go last irrespective of the direction.
+ * Numbers of different types are compared by their exact values and arrays are compared member by member.
+ * <p>
+ * When the order by clause is followed by a limit clause only the first {@code limit} frames are kept, in a
+ * bounded heap, instead of sorting all the frames.
+ *
+ * @since 2.0.0
+ */
+class FrameSorter {
+
+    private static final BString ORDER_KEY = BStringUtils.fromString("$orderKey$");
+    private static final BString ORDER_DIRECTION = BStringUtils.fromString("$orderDirection$");
+
+    private static final int BOOLEAN_RANK = 0;
+    private static final int NUMBER_RANK = 1;
+    private static final int STRING_RANK = 2;
+    private static final int ARRAY_RANK = 3;
+    private static final int OTHER_RANK = 4;
+
+    private final int limit;
+    private final List<SortEntry> entries = new ArrayList<>();
+    private final Comparator<SortEntry> comparator = this::compare;
+    private PriorityQueue<SortEntry> topEntries;
+    private boolean[] ascending;
+    private long sequence;
+
+    /**
+     * @param limit maximum number of frames to keep, or a value less than 1 to keep all the frames
+     */
+    FrameSorter(int limit) {
+        this.limit = limit;
+        if (limit > 0) {
+            // the head of the heap is the frame that is ordered last among the kept frames
+            this.topEntries = new PriorityQueue<>(Math.min(limit, 1024), comparator.reversed());
+        }
+    }
+
+    void add(MapValue<?, ?> frame) {
+        ArrayValue keys = (ArrayValue) frame.get(ORDER_KEY);
+        if (ascending == null) {
+            ArrayValue directions = (ArrayValue) frame.get(ORDER_DIRECTION);
+            ascending = new boolean[directions.size()];
+            for (int i = 0; i < ascending.length; i++) {
+                ascending[i] = directions.getBoolean(i);
+            }
+        }
+        Object[] keyValues = new Object[keys.size()];
+        for (int i = 0; i < keyValues.length; i++) {
+            keyValues[i] = keys.get(i);
+        }
+        SortEntry entry = new SortEntry(keyValues, frame, sequence++);
+
+        if (topEntries == null) {
+            entries.add(entry);
+            return;
+        }
+        if (topEntries.size() < limit) {
+            topEntries.add(entry);
+        } else if (compare(entry, topEntries.peek()) < 0) {
+            topEntries.poll();
+            topEntries.add(entry);
+        }
+    }
+
+    void sort() {
+        if (topEntries != null) {
+            entries.addAll(topEntries);
+            topEntries = null;
+        }
+        // the sequence breaks ties, so frames with equal keys keep their input order
+        Collections.sort(entries, comparator);
+    }
+
+    MapValue<?, ?> get(int index) {
+        return index < entries.size() ? entries.get(index).frame : null;
+    }
+
+    private int compare(SortEntry entry1, SortEntry entry2) {
+        for (int i = 0; i < entry1.keys.length; i++) {
+            int result = compareKeys(entry1.keys[i], entry2.keys[i], ascending[i]);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return Long.compare(entry1.sequence, entry2.sequence);
+    }
+
+    private static int compareKeys(Object key1, Object key2, boolean ascending) {
+        // () and NaN go last irrespective of the direction
+        if (key1 == null || key2 == null) {
+            return key1 == null ? (key2 == null ? 0 : 1) : -1;
+        }
+        if (isNaN(key1) || isNaN(key2)) {
+            return isNaN(key1) ? (isNaN(key2) ? 0 : 1) : -1;
+        }
+        int result = compareValues(key1, key2);
+        return ascending ? result : -result;
+    }
+
+    private static int compareValues(Object value1, Object value2) {
+        // values of different kinds are ordered by kind, so that the order stays total
+        int rank1 = rank(value1);
+        int rank2 = rank(value2);
+        if (rank1 != rank2) {
+            return Integer.compare(rank1, rank2);
+        }
+        switch (rank1) {
+            case BOOLEAN_RANK:
+                return Boolean.compare((Boolean) value1, (Boolean) value2);
+            case NUMBER_RANK:
+                return compareNumbers(value1, value2);
+            case STRING_RANK:
+                return RuntimeUtils.codePointCompare(((BString) value1).getValue(), ((BString) value2).getValue());
+            case ARRAY_RANK:
+                return compareArrays((ArrayValue) value1, (ArrayValue) value2);
+            default:
+                // values of other types do not have an order, keep the input order
+                return 0;
+        }
+    }
+
+    private static int compareArrays(ArrayValue array1, ArrayValue array2) {
+        int size = Math.min(array1.size(), array2.size());
+        for (int i = 0; i < size; i++) {
+            int result = compareKeys(array1.get(i), array2.get(i), true);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return Integer.compare(array1.size(), array2.size());
+    }
+
+    private static int compareNumbers(Object number1, Object number2) {
+        boolean isFloat1 = number1 instanceof Double;
+        boolean isFloat2 = number2 instanceof Double;
+        if (isFloat1 && isFloat2) {
+            double value1 = (Double) number1;
+            double value2 = (Double) number2;
+            // -0.0 and 0.0 are equal
+            return value1 == value2 ? 0 : Double.compare(value1, value2);
+        }
+        if (!isFloat1 && !isFloat2 && !(number1 instanceof DecimalValue) && !(number2 instanceof DecimalValue)) {
+            return Long.compare(((Number) number1).longValue(), ((Number) number2).longValue());
+        }
+        if (isFloat1 && Double.isInfinite((Double) number1)) {
+            return (Double) number1 > 0 ? 1 : -1;
+        }
+        if (isFloat2 && Double.isInfinite((Double) number2)) {
+            return (Double) number2 > 0 ? -1 : 1;
+        }
+        // ints above 2^53 are not exact as floats, so mixed numbers are compared as exact decimals
+        return toBigDecimal(number1).compareTo(toBigDecimal(number2));
+    }
+
+    private static BigDecimal toBigDecimal(Object number) {
+        if (number instanceof DecimalValue) {
+            return ((DecimalValue) number).value();
+        }
+        if (number instanceof Double) {
+            return new BigDecimal((Double) number);
+        }
+        return BigDecimal.valueOf(((Number) number).longValue());
+    }
+
+    private static boolean isNaN(Object value) {
+        return value instanceof Double && Double.isNaN((Double) value);
+    }
+
+    private static int rank(Object value) {
+        if (value instanceof Boolean) {
+            return BOOLEAN_RANK;
+        }
+        if (value instanceof Number || value instanceof DecimalValue) {
+            return NUMBER_RANK;
+        }
+        if (value instanceof BString) {
+            return STRING_RANK;
+        }
+        if (value instanceof ArrayValue) {
+            return ARRAY_RANK;
+        }
+        return OTHER_RANK;
+    }
+
+    private static class SortEntry {
+
+        private final Object[] keys;
+        private final MapValue<?, ?> frame;
+        private final long sequence;
+
+        SortEntry(Object[] keys, MapValue<?, ?> frame, long sequence) {
+            this.keys = keys;
+            this.frame = frame;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.langlib.query;
+
+import org.ballerinalang.jvm.values.MapValue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hash table of the frames of the right hand side of a join, keyed by the value of the right hand side key
+ * expression. The table is built once, and each frame of the left hand side probes it with its key.
+ *
+ * @since 2.0.0
+ */
+class JoinHashTable {
+
+    private final Map<QueryKey, List<MapValue<?, ?>>> frames = new HashMap<>();
+
+    void add(Object key, MapValue<?, ?> frame) {
+        frames.computeIfAbsent(new QueryKey(key), k -> new ArrayList<>(1)).add(frame);
+    }
+
+    /**
+     * Returns the frames with a key equal to the given key, in the order they were added.
+     */
+    List<MapValue<?, ?>> getCandidates(Object key) {
+        List<MapValue<?, ?>> candidates = frames.get(new QueryKey(key));
+        return candidates == null ? Collections.emptyList() : candidates;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.langlib.query;
+
+import org.ballerinalang.jvm.api.values.BString;
+import org.ballerinalang.jvm.scheduling.Strand;
+import org.ballerinalang.jvm.values.TableValueImpl;
+import org.ballerinalang.model.types.TypeKind;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.natives.annotations.ReturnType;
+
+import static org.ballerinalang.util.BLangCompilerConstants.QUERY_VERSION;
+
+/**
+ * Implementation of lang.query:lookupTableIndex(table, string, string, anydata), which narrows the table a query
+ * iterates to the members matching a where clause predicate on an indexed field. The table itself is returned when
+ * there is no index which can answer the predicate.
+ *
+ * @since 2.0.0
+ */
+@BallerinaFunction(
+        orgName = "ballerina", packageName = "lang.query", version = QUERY_VERSION,
+        functionName = "lookupTableIndex",
+        args = {@Argument(name = "tbl", type = TypeKind.TABLE), @Argument(name = "fieldName", type = TypeKind.STRING),
+                @Argument(name = "operator", type = TypeKind.STRING),
+                @Argument(name = "value", type = TypeKind.ANYDATA)},
+        returnType = {@ReturnType(type = TypeKind.TABLE)}
+)
+public class LookupTableIndex {
+
+    public static TableValueImpl<?, ?> lookupTableIndex(Strand strand, TableValueImpl<?, ?> tbl, BString fieldName,
+                                                        BString operator, Object value) {
+        TableValueImpl<?, ?> result;
+        switch (operator.getValue()) {
+            case "==":
+                result = tbl.lookupIndex(fieldName, value);
+                break;
+            case "<":
+                result = tbl.lookupIndexRange(fieldName, null, false, value, false);
+                break;
+            case "<=":
+                result = tbl.lookupIndexRange(fieldName, null, false, value, true);
+                break;
+            case ">":
+                result = tbl.lookupIndexRange(fieldName, value, false, null, false);
+                break;
+            case ">=":
+                result = tbl.lookupIndexRange(fieldName, value, true, null, false);
+                break;
+            default:
+                result = null;
+        }
+        return result == null ? tbl : result;
+    }
+}
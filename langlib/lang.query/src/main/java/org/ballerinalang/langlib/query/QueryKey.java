@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.langlib.query;
+
+import org.ballerinalang.jvm.TypeChecker;
+import org.ballerinalang.jvm.api.values.BString;
+import org.ballerinalang.jvm.values.ArrayValue;
+import org.ballerinalang.jvm.values.DecimalValue;
+import org.ballerinalang.jvm.values.MapValue;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Map;
+
+/**
+ * Hash key of a join, wrapping the value of a key expression. Keys are equal when the values are equal in
+ * Ballerina, and the hash code is computed from the shape of the value, so that numbers of different types which
+ * are equal hash alike and mappings hash independent of the order of their fields.
+ *
+ * @since 2.0.0
+ */
+class QueryKey {
+
+    private static final int MAX_HASH_DEPTH = 8;
+
+    private final Object value;
+    private final int hash;
+
+    QueryKey(Object value) {
+        this.value = value;
+        this.hash = hash(value, 0);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof QueryKey)) {
+            return false;
+        }
+        QueryKey other = (QueryKey) obj;
+        return hash == other.hash && TypeChecker.isEqual(value, other.value);
+    }
+
+    private static int hash(Object value, int depth) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof Long || value instanceof Integer) {
+            return Long.hashCode(((Number) value).longValue());
+        }
+        if (value instanceof Double) {
+            double doubleValue = (Double) value;
+            long longValue = (long) doubleValue;
+            // integral floats hash as ints, which also makes -0.0 and +0.0 hash alike
+            return longValue == doubleValue ? Long.hashCode(longValue) : Double.hashCode(doubleValue);
+        }
+        if (value instanceof DecimalValue) {
+            BigDecimal decimal = ((DecimalValue) value).value();
+            if (decimal.signum() == 0) {
+                return 0;
+            }
+            decimal = decimal.stripTrailingZeros();
+            if (decimal.scale() <= 0) {
+                BigInteger integral = decimal.toBigInteger();
+                if (integral.bitLength() < 64) {
+                    return Long.hashCode(integral.longValue());
+                }
+            }
+            return decimal.hashCode();
+        }
+        if (value instanceof BString) {
+            return ((BString) value).getValue().hashCode();
+        }
+        if (value instanceof Boolean || value instanceof String) {
+            return value.hashCode();
+        }
+        if (depth == MAX_HASH_DEPTH) {
+            // deeply nested or cyclic values are told apart by equality
+            return 0;
+        }
+        if (value instanceof ArrayValue) {
+            ArrayValue array = (ArrayValue) value;
+            int result = 1;
+            for (int i = 0; i < array.size(); i++) {
+                result = 31 * result + hash(array.get(i), depth + 1);
+            }
+            return result;
+        }
+        if (value instanceof MapValue) {
+            int result = 0;
+            for (Object entry : ((MapValue<?, ?>) value).entrySet()) {
+                Map.Entry<?, ?> field = (Map.Entry<?, ?>) entry;
+                result += hash(field.getKey(), depth + 1) ^ hash(field.getValue(), depth + 1);
+            }
+            return result;
+        }
+        // xml, errors and tables are rarely used as keys, these are told apart by equality
+        return 0;
+    }
+}
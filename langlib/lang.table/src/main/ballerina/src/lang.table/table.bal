@@ -168,3 +168,15 @@ public isolated function toArray(table<Type> t) returns Type[] = external;
 # XXX should it be 0, if the maximum used key value is < 0?
 # Provides similar functionality to auto-increment
 public isolated function nextKey(table<any|error> key<int> t) returns int = external;
+
+# Creates an index on a field of the members of table `t`.
+# Query expressions use the index to look up the members by the value of the field
+# instead of iterating over all the members.
+# A hash index supports `==` lookups, an ordered index supports `<`, `<=`, `>` and `>=` lookups as well.
+# The index is maintained as members are added, put and removed.
+# This panics if the field is not a `readonly` field of a simple basic type, optionally with `()`.
+#
+# + t - the table
+# + fieldName - name of the field
+# + ordered - whether the index is ordered
+public isolated function addIndex(table<map<any|error>> t, string fieldName, boolean ordered = false) = external;
@@ -19,6 +19,7 @@
 package org.ballerinalang.langlib.value;
 
 import org.ballerinalang.jvm.TypeChecker;
+import org.ballerinalang.jvm.TypeConversionMemo;
 import org.ballerinalang.jvm.TypeConverter;
 import org.ballerinalang.jvm.api.BStringUtils;
 import org.ballerinalang.jvm.api.BValueCreator;
@@ -41,6 +42,7 @@ import org.ballerinalang.jvm.util.exceptions.BallerinaException;
 import org.ballerinalang.jvm.util.exceptions.RuntimeErrors;
 import org.ballerinalang.jvm.values.ArrayValue;
 import org.ballerinalang.jvm.values.ArrayValueImpl;
+import org.ballerinalang.jvm.values.CloneRefs;
 import org.ballerinalang.jvm.values.ErrorValue;
 import org.ballerinalang.jvm.values.MapValue;
 import org.ballerinalang.jvm.values.MapValueImpl;
@@ -53,7 +55,6 @@ import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -101,7 +102,7 @@ public class CloneWithType {
 
     public static Object convert(BType convertType, Object inputValue, TypedescValue t, Strand strand) {
         try {
-            return convert(inputValue, convertType, new ArrayList<>(), t, strand);
+            return convert(inputValue, convertType, new ArrayList<>(), new TypeConversionMemo(), t, strand);
         } catch (ErrorValue e) {
             return e;
         } catch (BallerinaException e) {
@@ -110,7 +111,7 @@ public class CloneWithType {
     }
 
     private static Object convert(Object value, BType targetType, List<TypeValuePair> unresolvedValues) {
-        return convert(value, targetType, unresolvedValues, false, null, null);
+        return convert(value, targetType, unresolvedValues, new TypeConversionMemo(), false, null, null);
     }
 
     private static Object convert(Object value, BType targetType, List<TypeValuePair> unresolvedValues,
@@ -146,13 +147,13 @@ public class CloneWithType {
     }
 
     private static Object convert(Object value, BType targetType, List<TypeValuePair> unresolvedValues,
-                                  TypedescValue t, Strand strand) {
-        return convert(value, targetType, unresolvedValues, false, t, strand);
+                                  TypeConversionMemo memo, TypedescValue t, Strand strand) {
+        return convert(value, targetType, unresolvedValues, memo, false, t, strand);
     }
 
 
     private static Object convert(Object value, BType targetType, List<TypeValuePair> unresolvedValues,
-                                  boolean allowAmbiguity, TypedescValue t, Strand strand) {
+                                  TypeConversionMemo memo, boolean allowAmbiguity, TypedescValue t, Strand strand) {
         if (value == null) {
             if (targetType.isNilable()) {
                 return null;
@@ -161,7 +162,7 @@ public class CloneWithType {
                     BLangExceptionHelper.getErrorMessage(RuntimeErrors.CANNOT_CONVERT_NIL, targetType));
         }
         List<BType> convertibleTypes;
-        convertibleTypes = TypeConverter.getConvertibleTypes(value, targetType);
+        convertibleTypes = TypeConverter.getConvertibleTypes(value, targetType, new ArrayList<>(), memo);
         if (convertibleTypes.isEmpty()) {
             throw createConversionError(value, targetType);
         } else if (!allowAmbiguity && convertibleTypes.size() > 1) {
@@ -180,11 +181,11 @@ public class CloneWithType {
             }
         }
 
-        return convert((RefValue) value, matchingType, unresolvedValues, t, strand);
+        return convert((RefValue) value, matchingType, unresolvedValues, memo, t, strand);
     }
 
     private static Object convert(RefValue value, BType targetType, List<TypeValuePair> unresolvedValues,
-                                  TypedescValue t, Strand strand) {
+                                  TypeConversionMemo memo, TypedescValue t, Strand strand) {
         TypeValuePair typeValuePair = new TypeValuePair(value, targetType);
 
         if (unresolvedValues.contains(typeValuePair)) {
@@ -200,11 +201,11 @@ public class CloneWithType {
         switch (value.getType().getTag()) {
             case TypeTags.MAP_TAG:
             case TypeTags.RECORD_TYPE_TAG:
-                newValue = convertMap((MapValue<?, ?>) value, targetType, unresolvedValues, t, strand);
+                newValue = convertMap((MapValue<?, ?>) value, targetType, unresolvedValues, memo, t, strand);
                 break;
             case TypeTags.ARRAY_TAG:
             case TypeTags.TUPLE_TAG:
-                newValue = convertArray((ArrayValue) value, targetType, unresolvedValues, t, strand);
+                newValue = convertArray((ArrayValue) value, targetType, unresolvedValues, memo, t, strand);
                 break;
             case TypeTags.XML_TAG:
             case TypeTags.XML_ELEMENT_TAG:
@@ -212,7 +213,7 @@ public class CloneWithType {
             case TypeTags.XML_PI_TAG:
             case TypeTags.XML_TEXT_TAG:
             case TypeTags.ERROR_TAG:
-                newValue = value.copy(new HashMap<>());
+                newValue = value.copy(new CloneRefs());
                 break;
             default:
                 // should never reach here
@@ -224,13 +225,13 @@ public class CloneWithType {
     }
 
     private static Object convertMap(MapValue<?, ?> map, BType targetType, List<TypeValuePair> unresolvedValues,
-                                     TypedescValue t, Strand strand) {
+                                     TypeConversionMemo memo, TypedescValue t, Strand strand) {
         switch (targetType.getTag()) {
             case TypeTags.MAP_TAG:
                 MapValueImpl<BString, Object> newMap = new MapValueImpl<>(targetType);
                 for (Map.Entry entry : map.entrySet()) {
                     BType constraintType = ((BMapType) targetType).getConstrainedType();
-                    putToMap(newMap, entry, constraintType, unresolvedValues, t, strand);
+                    putToMap(newMap, entry, constraintType, unresolvedValues, memo, t, strand);
                 }
                 return newMap;
             case TypeTags.RECORD_TYPE_TAG:
@@ -243,20 +244,16 @@ public class CloneWithType {
                             .createRecordValue(recordType.getPackage(), recordType.getName());
                 }
 
-                BType restFieldType = recordType.restFieldType;
-                Map<String, BType> targetTypeField = new HashMap<>();
-                for (BField field : recordType.getFields().values()) {
-                    targetTypeField.put(field.getFieldName(), field.getFieldType());
-                }
-
+                Map<String, BField> fields = recordType.getFields();
                 for (Map.Entry entry : map.entrySet()) {
-                    BType fieldType = targetTypeField.getOrDefault(entry.getKey().toString(), restFieldType);
-                    putToMap(newRecord, entry, fieldType, unresolvedValues, t, strand);
+                    BField field = fields.get(entry.getKey().toString());
+                    BType fieldType = field != null ? field.getFieldType() : recordType.restFieldType;
+                    putToMap(newRecord, entry, fieldType, unresolvedValues, memo, t, strand);
                 }
                 return newRecord;
             case TypeTags.JSON_TAG:
                 BType matchingType = TypeConverter.resolveMatchingTypeForUnion(map, targetType);
-                return convert(map, matchingType, unresolvedValues, t, strand);
+                return convert(map, matchingType, unresolvedValues, memo, t, strand);
             default:
                 break;
         }
@@ -266,13 +263,14 @@ public class CloneWithType {
 
 
     private static Object convertArray(ArrayValue array, BType targetType, List<TypeValuePair> unresolvedValues,
-                                       TypedescValue t, Strand strand) {
+                                       TypeConversionMemo memo, TypedescValue t, Strand strand) {
         switch (targetType.getTag()) {
             case TypeTags.ARRAY_TAG:
                 BArrayType arrayType = (BArrayType) targetType;
                 ArrayValueImpl newArray = new ArrayValueImpl(arrayType);
                 for (int i = 0; i < array.size(); i++) {
-                    Object newValue = convert(array.get(i), arrayType.getElementType(), unresolvedValues, t, strand);
+                    Object newValue = convert(array.get(i), arrayType.getElementType(), unresolvedValues, memo, t,
+                                              strand);
                     newArray.add(i, newValue);
                 }
                 return newArray;
@@ -282,14 +280,14 @@ public class CloneWithType {
                 int minLen = tupleType.getTupleTypes().size();
                 for (int i = 0; i < array.size(); i++) {
                     BType elementType = (i < minLen) ? tupleType.getTupleTypes().get(i) : tupleType.getRestType();
-                    Object newValue = convert(array.get(i), elementType, unresolvedValues, t, strand);
+                    Object newValue = convert(array.get(i), elementType, unresolvedValues, memo, t, strand);
                     newTuple.add(i, newValue);
                 }
                 return newTuple;
             case TypeTags.JSON_TAG:
                 newArray = new ArrayValueImpl(new BArrayType(BTypes.typeJSON));
                 for (int i = 0; i < array.size(); i++) {
-                    Object newValue = convert(array.get(i), BTypes.typeJSON, unresolvedValues, t, strand);
+                    Object newValue = convert(array.get(i), BTypes.typeJSON, unresolvedValues, memo, t, strand);
                     newArray.add(i, newValue);
                 }
                 return newArray;
@@ -301,8 +299,9 @@ public class CloneWithType {
     }
 
     private static void putToMap(MapValue<BString, Object> map, Map.Entry entry, BType fieldType,
-                                 List<TypeValuePair> unresolvedValues, TypedescValue t, Strand strand) {
-        Object newValue = convert(entry.getValue(), fieldType, unresolvedValues, true, t, strand);
+                                 List<TypeValuePair> unresolvedValues, TypeConversionMemo memo, TypedescValue t,
+                                 Strand strand) {
+        Object newValue = convert(entry.getValue(), fieldType, unresolvedValues, memo, true, t, strand);
         map.put(BStringUtils.fromString(entry.getKey().toString()), newValue);
     }
 
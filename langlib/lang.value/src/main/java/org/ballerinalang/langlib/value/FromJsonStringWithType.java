@@ -17,9 +17,11 @@
  */
 package org.ballerinalang.langlib.value;
 
-import org.ballerinalang.jvm.JSONParser;
+import org.ballerinalang.jvm.JSONBinder;
+import org.ballerinalang.jvm.JSONPullParser;
 import org.ballerinalang.jvm.api.BErrorCreator;
 import org.ballerinalang.jvm.api.BStringUtils;
+import org.ballerinalang.jvm.api.values.BError;
 import org.ballerinalang.jvm.api.values.BString;
 import org.ballerinalang.jvm.scheduling.Strand;
 import org.ballerinalang.jvm.util.exceptions.BallerinaException;
@@ -29,6 +31,8 @@ import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
 
+import java.nio.charset.StandardCharsets;
+
 import static org.ballerinalang.jvm.util.exceptions.BallerinaErrorReasons.VALUE_LANG_LIB_CONVERSION_ERROR;
 import static org.ballerinalang.util.BLangCompilerConstants.VALUE_VERSION;
 
@@ -60,13 +64,19 @@ public class FromJsonStringWithType {
         try {
             if (str.equals("null")) {
                 return FromJsonWithType.fromJsonWithType(strand, null, t);
-            } else {
-                Object jsonFromString = JSONParser.parse(str);
-                return FromJsonWithType.fromJsonWithType(strand, jsonFromString, t);
             }
+            return bind(strand, str, t);
+        } catch (BError e) {
+            return e;
         } catch (BallerinaException e) {
             return BErrorCreator.createError(VALUE_LANG_LIB_CONVERSION_ERROR,
                                              BStringUtils.fromString(e.getMessage()));
         }
     }
+
+    private static Object bind(Strand strand, String str, TypedescValue t) {
+        JSONBinder binder = new JSONBinder(recordType -> FromJsonWithType.createRecord(recordType, t, strand),
+                (value, targetType) -> FromJsonWithType.convertJson(value, targetType, t, strand));
+        return binder.bindDocument(new JSONPullParser(str.getBytes(StandardCharsets.UTF_8)), t.getDescribingType());
+    }
 }
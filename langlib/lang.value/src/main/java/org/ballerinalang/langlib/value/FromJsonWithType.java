@@ -18,6 +18,7 @@
 package org.ballerinalang.langlib.value;
 
 import org.ballerinalang.jvm.TypeChecker;
+import org.ballerinalang.jvm.TypeConversionMemo;
 import org.ballerinalang.jvm.TypeConverter;
 import org.ballerinalang.jvm.XMLFactory;
 import org.ballerinalang.jvm.api.BStringUtils;
@@ -51,7 +52,6 @@ import org.ballerinalang.jvm.values.TypedescValue;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -78,7 +78,7 @@ public class FromJsonWithType {
     public static Object fromJsonWithType(Strand strand, Object v, TypedescValue t) {
         BType describingType = t.getDescribingType();
         try {
-            return convert(v, describingType, new ArrayList<>(), t, strand);
+            return convert(v, describingType, new ArrayList<>(), new TypeConversionMemo(), t, strand);
         } catch (ErrorValue e) {
             return e;
         } catch (BallerinaException e) {
@@ -88,7 +88,7 @@ public class FromJsonWithType {
     }
 
     private static Object convert(Object value, BType targetType, List<TypeValuePair> unresolvedValues,
-                                  TypedescValue t, Strand strand) {
+                                  TypeConversionMemo memo, TypedescValue t, Strand strand) {
 
         TypeValuePair typeValuePair = new TypeValuePair(value, targetType);
         BType sourceType = TypeChecker.getType(value);
@@ -108,7 +108,8 @@ public class FromJsonWithType {
                     BLangExceptionHelper.getErrorMessage(RuntimeErrors.CANNOT_CONVERT_NIL, targetType));
         }
 
-        List<BType> convertibleTypes = TypeConverter.getConvertibleTypesFromJson(value, targetType, new ArrayList<>());
+        List<BType> convertibleTypes = TypeConverter.getConvertibleTypesFromJson(value, targetType,
+                                                                                 new ArrayList<>(), memo);
         if (convertibleTypes.isEmpty()) {
             throw createConversionError(value, targetType);
         } else if (convertibleTypes.size() > 1) {
@@ -121,11 +122,11 @@ public class FromJsonWithType {
         switch (sourceType.getTag()) {
             case TypeTags.MAP_TAG:
             case TypeTags.RECORD_TYPE_TAG:
-                newValue = convertMap((MapValue<?, ?>) value, matchingType, unresolvedValues, t, strand);
+                newValue = convertMap((MapValue<?, ?>) value, matchingType, unresolvedValues, memo, t, strand);
                 break;
             case TypeTags.ARRAY_TAG:
             case TypeTags.TUPLE_TAG:
-                newValue = convertArray((ArrayValue) value, matchingType, unresolvedValues, t, strand);
+                newValue = convertArray((ArrayValue) value, matchingType, unresolvedValues, memo, t, strand);
                 break;
             default:
                 if (TypeTags.isXMLTypeTag(matchingType.getTag())) {
@@ -156,39 +157,29 @@ public class FromJsonWithType {
     }
 
     private static Object convertMap(MapValue<?, ?> map, BType targetType, List<TypeValuePair> unresolvedValues,
-                                     TypedescValue t, Strand strand) {
+                                     TypeConversionMemo memo, TypedescValue t, Strand strand) {
         switch (targetType.getTag()) {
             case TypeTags.MAP_TAG:
                 MapValueImpl<BString, Object> newMap = new MapValueImpl<>(targetType);
                 BType constraintType = ((BMapType) targetType).getConstrainedType();
                 for (Map.Entry entry : map.entrySet()) {
-                    putToMap(newMap, entry, constraintType, unresolvedValues, t, strand);
+                    putToMap(newMap, entry, constraintType, unresolvedValues, memo, t, strand);
                 }
                 return newMap;
             case TypeTags.RECORD_TYPE_TAG:
                 BRecordType recordType = (BRecordType) targetType;
-                MapValueImpl<BString, Object> newRecord;
-                if (t.getDescribingType() == targetType) {
-                    newRecord = (MapValueImpl<BString, Object>) t.instantiate(strand);
-                } else {
-                    newRecord = (MapValueImpl<BString, Object>) BValueCreator
-                            .createRecordValue(recordType.getPackage(), recordType.getName());
-                }
-
-                BType restFieldType = recordType.restFieldType;
-                Map<String, BType> targetTypeField = new HashMap<>();
-                for (BField field : recordType.getFields().values()) {
-                    targetTypeField.put(field.getFieldName(), field.getFieldType());
-                }
+                MapValueImpl<BString, Object> newRecord = createRecord(recordType, t, strand);
 
+                Map<String, BField> fields = recordType.getFields();
                 for (Map.Entry entry : map.entrySet()) {
-                    BType fieldType = targetTypeField.getOrDefault(entry.getKey().toString(), restFieldType);
-                    putToMap(newRecord, entry, fieldType, unresolvedValues, t, strand);
+                    BField field = fields.get(entry.getKey().toString());
+                    BType fieldType = field != null ? field.getFieldType() : recordType.restFieldType;
+                    putToMap(newRecord, entry, fieldType, unresolvedValues, memo, t, strand);
                 }
                 return newRecord;
             case TypeTags.JSON_TAG:
                 BType matchingType = TypeConverter.resolveMatchingTypeForUnion(map, targetType);
-                return convert(map, matchingType, unresolvedValues, t, strand);
+                return convert(map, matchingType, unresolvedValues, memo, t, strand);
         }
         // should never reach here
         throw ErrorUtils.createConversionError(map, targetType);
@@ -196,13 +187,14 @@ public class FromJsonWithType {
 
 
     private static Object convertArray(ArrayValue array, BType targetType, List<TypeValuePair> unresolvedValues,
-                                       TypedescValue t, Strand strand) {
+                                       TypeConversionMemo memo, TypedescValue t, Strand strand) {
         switch (targetType.getTag()) {
             case TypeTags.ARRAY_TAG:
                 BArrayType arrayType = (BArrayType) targetType;
                 ArrayValueImpl newArray = new ArrayValueImpl(arrayType);
                 for (int i = 0; i < array.size(); i++) {
-                    Object newValue = convert(array.get(i), arrayType.getElementType(), unresolvedValues, t, strand);
+                    Object newValue = convert(array.get(i), arrayType.getElementType(), unresolvedValues, memo, t,
+                                              strand);
                     newArray.add(i, newValue);
                 }
                 return newArray;
@@ -212,14 +204,14 @@ public class FromJsonWithType {
                 int minLen = tupleType.getTupleTypes().size();
                 for (int i = 0; i < array.size(); i++) {
                     BType elementType = (i < minLen) ? tupleType.getTupleTypes().get(i) : tupleType.getRestType();
-                    Object newValue = convert(array.get(i), elementType, unresolvedValues, t, strand);
+                    Object newValue = convert(array.get(i), elementType, unresolvedValues, memo, t, strand);
                     newTuple.add(i, newValue);
                 }
                 return newTuple;
             case TypeTags.JSON_TAG:
                 newArray = new ArrayValueImpl((BArrayType) BTypes.typeJsonArray);
                 for (int i = 0; i < array.size(); i++) {
-                    Object newValue = convert(array.get(i), targetType, unresolvedValues, t, strand);
+                    Object newValue = convert(array.get(i), targetType, unresolvedValues, memo, t, strand);
                     newArray.add(i, newValue);
                 }
                 return newArray;
@@ -228,7 +220,7 @@ public class FromJsonWithType {
                 TableValueImpl newTable = new TableValueImpl(tableType);
                 for (int i = 0; i < array.size(); i++) {
                     MapValueImpl mapValue = (MapValueImpl) convert(array.get(i), tableType.getConstrainedType(),
-                            unresolvedValues, t, strand);
+                            unresolvedValues, memo, t, strand);
                     newTable.add(mapValue);
                 }
                 return newTable;
@@ -237,9 +229,22 @@ public class FromJsonWithType {
         throw ErrorUtils.createConversionError(array, targetType);
     }
 
+    static Object convertJson(Object value, BType targetType, TypedescValue t, Strand strand) {
+        return convert(value, targetType, new ArrayList<>(), new TypeConversionMemo(), t, strand);
+    }
+
+    static MapValueImpl<BString, Object> createRecord(BRecordType recordType, TypedescValue t, Strand strand) {
+        if (t.getDescribingType() == recordType) {
+            return (MapValueImpl<BString, Object>) t.instantiate(strand);
+        }
+        return (MapValueImpl<BString, Object>) BValueCreator.createRecordValue(recordType.getPackage(),
+                                                                               recordType.getName());
+    }
+
     private static void putToMap(MapValue<BString, Object> map, Map.Entry entry, BType fieldType,
-                                 List<TypeValuePair> unresolvedValues, TypedescValue t, Strand strand) {
-        Object newValue = convert(entry.getValue(), fieldType, unresolvedValues, t, strand);
+                                 List<TypeValuePair> unresolvedValues, TypeConversionMemo memo, TypedescValue t,
+                                 Strand strand) {
+        Object newValue = convert(entry.getValue(), fieldType, unresolvedValues, memo, t, strand);
         map.put(BStringUtils.fromString(entry.getKey().toString()), newValue);
     }
 
@@ -428,4 +428,28 @@ public class LangLibTableTest {
         BValue[] returns = BRunUtil.invoke(compileResult, "testPutValidDataToKeylessTbl");
         Assert.assertTrue(((BBoolean) returns[0]).booleanValue());
     }
+
+    @Test
+    public void testAddIndex() {
+        BValue[] returns = BRunUtil.invoke(compileResult, "testAddIndex");
+        Assert.assertTrue(((BBoolean) returns[0]).booleanValue());
+    }
+
+    @Test(expectedExceptions = BLangRuntimeException.class,
+            expectedExceptionsMessageRegExp = "error: OperationNotSupported \\{\"message\":\"cannot create " +
+                    "an index on field 'balance' of table 'table<Account> key\\(id\\)', expected a readonly " +
+                    "field of a simple basic type\"\\}.*")
+    public void testAddIndexOnMutableField() {
+        BRunUtil.invoke(compileResult, "testAddIndexOnMutableField");
+        Assert.fail();
+    }
+
+    @Test(expectedExceptions = BLangRuntimeException.class,
+            expectedExceptionsMessageRegExp = "error: OperationNotSupported \\{\"message\":\"cannot create " +
+                    "an index on field 'code' of table 'table<Account> key\\(id\\)', expected a readonly " +
+                    "field of a simple basic type\"\\}.*")
+    public void testAddIndexOnUnionTypedField() {
+        BRunUtil.invoke(compileResult, "testAddIndexOnUnionTypedField");
+        Assert.fail();
+    }
 }
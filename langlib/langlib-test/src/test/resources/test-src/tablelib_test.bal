@@ -690,3 +690,61 @@ function testPutValidDataToKeylessTbl() returns boolean {
     testPassed = testPassed && tableToList[2] == intern1;
     return testPassed;
 }
+
+type Account record {|
+    readonly int id;
+    readonly int? branch;
+    readonly int|string code;
+    decimal balance;
+|};
+
+type AccountTable table<Account> key(id);
+
+function getAccounts() returns AccountTable {
+    AccountTable accountTbl = table [
+      { id: 1, branch: 20, code: 100, balance: 50 },
+      { id: 2, branch: 10, code: "B2", balance: 75 },
+      { id: 3, branch: (), code: 300, balance: 20 },
+      { id: 4, branch: 20, code: "D4", balance: 10 }
+    ];
+    return accountTbl;
+}
+
+function getAccountIds(AccountTable accountTbl, int branch) returns int[] {
+    return from var account in accountTbl
+        where account.branch == branch
+        select account.id;
+}
+
+function testAddIndex() returns boolean {
+    AccountTable accountTbl = getAccounts();
+    accountTbl.addIndex("branch", true);
+    boolean testPassed = getAccountIds(accountTbl, 20) == [1, 4];
+
+    accountTbl.put({ id: 5, branch: 20, code: 500, balance: 5 });
+    accountTbl.put({ id: 1, branch: 10, code: 100, balance: 50 });
+    _ = accountTbl.remove(4);
+    testPassed = testPassed && getAccountIds(accountTbl, 20) == [5];
+    testPassed = testPassed && getAccountIds(accountTbl, 10) == [1, 2];
+
+    // fields which are not indexed can still be updated in place
+    Account account = accountTbl.get(2);
+    account.balance = 80;
+    testPassed = testPassed && getAccountIds(accountTbl, 10) == [1, 2];
+
+    AccountTable accountTblClone = accountTbl.clone();
+    accountTbl.removeAll();
+    testPassed = testPassed && getAccountIds(accountTbl, 10).length() == 0;
+    testPassed = testPassed && getAccountIds(accountTblClone, 10) == [1, 2];
+    return testPassed;
+}
+
+function testAddIndexOnMutableField() {
+    AccountTable accountTbl = getAccounts();
+    accountTbl.addIndex("balance");
+}
+
+function testAddIndexOnUnionTypedField() {
+    AccountTable accountTbl = getAccounts();
+    accountTbl.addIndex("code");
+}
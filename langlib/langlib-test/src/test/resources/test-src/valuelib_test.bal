@@ -936,6 +936,27 @@ function testFromJsonStringWithTypeIntArray() {
     assert(intArr[1], 2);
 }
 
+type Student3Array Student3[];
+
+function testFromJsonStringWithTypeNestedRecords() {
+    string s = "[{\"name\":\"A\\\"b\\u00e9\",\"age\":35}, {\"name\":\"C\"}]";
+    Student3[]|error arr = s.fromJsonStringWithType(Student3Array);
+    Student3[] students = <Student3[]> arr;
+    assert(students.length(), 2);
+    assert(students[0].name, "A\"b\u{e9}");
+    assert(students[0]?.age, 35);
+    assert(students[1].name, "C");
+    assert(students[1]?.age, ());
+}
+
+function testFromJsonStringWithTypeMalformed() {
+    string s = "[{\"name\":\"A\"} {\"name\":\"B\"}]";
+    Student3[]|error arr = s.fromJsonStringWithType(Student3Array);
+    assert(arr is error, true);
+    error err = <error> arr;
+    assert(err.detail()[MESSAGE].toString(), "expected , or ] at line: 1 column: 15");
+}
+
 /////////////////////////// Tests for `toJson()` ///////////////////////////
 
 function testToJsonWithRecord1() {
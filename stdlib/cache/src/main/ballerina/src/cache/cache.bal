@@ -35,6 +35,20 @@ public type CacheConfig record {|
     int cleanupIntervalInSeconds?;
 |};
 
+# Represents the statistics of a `cache:Cache` object. The statistics are collected only when the cache uses the
+# built-in `cache:LruEvictionPolicy`.
+#
+# + hitCount - Number of lookups that returned a cached value
+# + missCount - Number of lookups for keys that were not available or had expired
+# + evictionCount - Number of entries evicted to keep the cache within its capacity
+# + expirationCount - Number of entries removed since their max age had elapsed
+public type CacheStats record {|
+    int hitCount;
+    int missCount;
+    int evictionCount;
+    int expirationCount;
+|};
+
 type CacheEntry record {|
     string key;
     any data;
@@ -67,6 +81,8 @@ public class Cache {
     private float evictionFactor;
     private int defaultMaxAgeInSeconds;
     private LinkedList list;
+    // Whether the native cache engine runs the eviction, which is the case for the built-in LRU eviction policy.
+    private boolean nativeEviction = false;
 
     # Called when a new `cache:Cache` object is created.
     #
@@ -96,7 +112,7 @@ public class Cache {
             tail: ()
         };
 
-        externInit(self, self.capacity);
+        self.nativeEviction = externInit(self, self.capacity, self.evictionPolicy, self.evictionFactor);
 
         int? cleanupIntervalInSeconds = cacheConfig?.cleanupIntervalInSeconds;
         if (cleanupIntervalInSeconds is int) {
@@ -129,11 +145,6 @@ public class Cache {
             return prepareError("Unsupported cache value '()' for the key: " + key + ".",
                                 logLevel = LOG_LEVEL_DEBUG);
         }
-        // If the current cache is full (i.e. size = capacity), evict cache.
-        if (self.size() == self.capacity) {
-            evict(self, self.list, self.evictionPolicy, self.capacity, self.evictionFactor);
-        }
-
         // Calculate the `expTime` of the cache entry based on the `maxAgeInSeconds` property and
         // `defaultMaxAgeInSeconds` property.
         int calculatedExpTime = -1;
@@ -145,6 +156,16 @@ public class Cache {
             }
         }
 
+        if (self.nativeEviction) {
+            externPutEntry(self, key, value, calculatedExpTime);
+            return;
+        }
+
+        // If the current cache is full (i.e. size = capacity), evict cache.
+        if (self.size() == self.capacity) {
+            evict(self, self.list, self.evictionPolicy, self.capacity, self.evictionFactor);
+        }
+
         CacheEntry entry = {
             key: key,
             data: value,
@@ -167,6 +188,16 @@ public class Cache {
     # + return - The cached value associated with the provided key or an `Error` if the provided cache key is not
     #            exisiting in the cache or any error occurred while retrieving the value from the cache.
     public function get(string key) returns any|Error {
+        if (self.nativeEviction) {
+            // Returns `()` for an expired entry, after removing it.
+            any|error value = externGetEntry(self, key);
+            if (value is any) {
+                return value;
+            }
+            return prepareError("Cache entry from the given key: " + key + ", is not available.",
+                                logLevel = LOG_LEVEL_DEBUG);
+        }
+
         if (!self.hasKey(key)) {
             return prepareError("Cache entry from the given key: " + key + ", is not available.",
                                 logLevel = LOG_LEVEL_DEBUG);
@@ -199,8 +230,10 @@ public class Cache {
                                 logLevel = LOG_LEVEL_DEBUG);
         }
 
-        Node node = externGet(self, key);
-        self.evictionPolicy.remove(self.list, node);
+        if (!self.nativeEviction) {
+            Node node = externGet(self, key);
+            self.evictionPolicy.remove(self.list, node);
+        }
         externRemove(self, key);
     }
 
@@ -209,7 +242,9 @@ public class Cache {
     # + return - `()` if successfully discarded all the values from the cache or an `Error` if any error occurred while
     # discarding all the values from the cache.
     public function invalidateAll() returns Error? {
-        self.evictionPolicy.clear(self.list);
+        if (!self.nativeEviction) {
+            self.evictionPolicy.clear(self.list);
+        }
         externRemoveAll(self);
     }
 
@@ -242,6 +277,20 @@ public class Cache {
     public function capacity() returns int {
         return self.capacity;
     }
+
+    # Returns the hit, miss, eviction, and expiration counts of the cache. The counts are only collected when the
+    # cache uses the built-in `cache:LruEvictionPolicy` and are `0` otherwise.
+    #
+    # + return - The statistics of the cache
+    public function stats() returns CacheStats {
+        int[] stats = externStats(self);
+        return {
+            hitCount: stats[0],
+            missCount: stats[1],
+            evictionCount: stats[2],
+            expirationCount: stats[3]
+        };
+    }
 }
 
 function evict(Cache cache, LinkedList list, AbstractEvictionPolicy evictionPolicy, int capacity, float evictionFactor) {
@@ -263,6 +312,10 @@ function cleanup(Cache cache, LinkedList list, AbstractEvictionPolicy evictionPo
     if (externSize(cache) == 0) {
         return;
     }
+    // The native cache engine expires the entries of caches with the built-in LRU eviction policy by itself.
+    if (externCleanup(cache)) {
+        return;
+    }
     foreach string key in externKeys(cache) {
         Node node = externGet(cache, key);
         CacheEntry entry = <CacheEntry>node.value;
@@ -276,7 +329,16 @@ function cleanup(Cache cache, LinkedList list, AbstractEvictionPolicy evictionPo
     }
 }
 
-function externInit(Cache cache, int capacity) = @java:Method {
+function externInit(Cache cache, int capacity, AbstractEvictionPolicy evictionPolicy, float evictionFactor)
+                    returns boolean = @java:Method {
+    'class: "org.ballerinalang.stdlib.cache.nativeimpl.Cache"
+} external;
+
+function externPutEntry(Cache cache, string key, any value, int expTime) = @java:Method {
+    'class: "org.ballerinalang.stdlib.cache.nativeimpl.Cache"
+} external;
+
+function externGetEntry(Cache cache, string key) returns any|error = @java:Method {
     'class: "org.ballerinalang.stdlib.cache.nativeimpl.Cache"
 } external;
 
@@ -307,3 +369,11 @@ function externKeys(Cache cache) returns string[] = @java:Method {
 function externSize(Cache cache) returns int = @java:Method {
     'class: "org.ballerinalang.stdlib.cache.nativeimpl.Cache"
 } external;
+
+function externCleanup(Cache cache) returns boolean = @java:Method {
+    'class: "org.ballerinalang.stdlib.cache.nativeimpl.Cache"
+} external;
+
+function externStats(Cache cache) returns int[] = @java:Method {
+    'class: "org.ballerinalang.stdlib.cache.nativeimpl.Cache"
+} external;
@@ -18,15 +18,17 @@
 
 package org.ballerinalang.stdlib.cache.nativeimpl;
 
+import org.ballerinalang.jvm.api.BErrorCreator;
+import org.ballerinalang.jvm.api.BStringUtils;
+import org.ballerinalang.jvm.api.values.BError;
 import org.ballerinalang.jvm.api.values.BObject;
 import org.ballerinalang.jvm.api.values.BString;
+import org.ballerinalang.jvm.types.BPackage;
 import org.ballerinalang.jvm.values.ArrayValueImpl;
 import org.ballerinalang.jvm.values.MapValue;
 
-import java.util.concurrent.ConcurrentHashMap;
-
 /**
- * Ballerina function to cache with java.util.concurrent.ConcurrentHashMap.
+ * Ballerina functions of the `cache:Cache` object, backed by a {@link CacheEngine}.
  *
  * @since 2.0.0
  */
@@ -34,50 +36,77 @@ public class Cache {
 
     public static final String CACHE_MAP = "CACHE_MAP";
 
-    public static void externInit(BObject cache, int capacity) {
-        ConcurrentHashMap<BString, MapValue<BString, Object>> map = new ConcurrentHashMap<>(capacity);
-        cache.addNativeData(CACHE_MAP, map);
+    private static final String LRU_EVICTION_POLICY = "LruEvictionPolicy";
+    private static final String BALLERINA_ORG = "ballerina";
+    private static final String CACHE_MODULE = "cache";
+    // returned by externGetEntry for keys without an entry; never reaches the user
+    private static final BError ENTRY_NOT_FOUND = BErrorCreator.createError(
+            BStringUtils.fromString("cache entry not found"));
+
+    public static boolean externInit(BObject cache, int capacity, BObject evictionPolicy, double evictionFactor) {
+        CacheEngine engine = new CacheEngine(capacity, evictionFactor, isLruEvictionPolicy(evictionPolicy));
+        cache.addNativeData(CACHE_MAP, engine);
+        return engine.managesEviction();
     }
 
     public static void externPut(BObject cache, BString key, MapValue<BString, Object> value) {
-        ConcurrentHashMap<BString, MapValue<BString, Object>> map =
-                (ConcurrentHashMap<BString, MapValue<BString, Object>>) cache.getNativeData(CACHE_MAP);
-        map.put(key, value);
+        getEngine(cache).put(key, value, CacheEntry.NO_EXPIRY);
     }
 
     public static MapValue<BString, Object> externGet(BObject cache, BString key) {
-        ConcurrentHashMap<BString, MapValue<BString, Object>> map =
-                (ConcurrentHashMap<BString, MapValue<BString, Object>>) cache.getNativeData(CACHE_MAP);
-        return map.get(key);
+        return (MapValue<BString, Object>) getEngine(cache).peek(key);
+    }
+
+    public static void externPutEntry(BObject cache, BString key, Object value, long expTime) {
+        getEngine(cache).put(key, value, expTime);
+    }
+
+    public static Object externGetEntry(BObject cache, BString key) {
+        Object value = getEngine(cache).get(key);
+        return value == CacheEngine.ABSENT ? ENTRY_NOT_FOUND : value;
     }
 
     public static void externRemove(BObject cache, BString key) {
-        ConcurrentHashMap<BString, MapValue<BString, Object>> map =
-                (ConcurrentHashMap<BString, MapValue<BString, Object>>) cache.getNativeData(CACHE_MAP);
-        map.remove(key);
+        getEngine(cache).remove(key);
     }
 
     public static void externRemoveAll(BObject cache) {
-        ConcurrentHashMap<BString, MapValue<BString, Object>> map =
-                (ConcurrentHashMap<BString, MapValue<BString, Object>>) cache.getNativeData(CACHE_MAP);
-        map.clear();
+        getEngine(cache).clear();
     }
 
     public static boolean externHasKey(BObject cache, BString key) {
-        ConcurrentHashMap<BString, MapValue<BString, Object>> map =
-                (ConcurrentHashMap<BString, MapValue<BString, Object>>) cache.getNativeData(CACHE_MAP);
-        return map.containsKey(key);
+        return getEngine(cache).containsKey(key);
     }
 
     public static ArrayValueImpl externKeys(BObject cache) {
-        ConcurrentHashMap<BString, MapValue<BString, Object>> map =
-                (ConcurrentHashMap<BString, MapValue<BString, Object>>) cache.getNativeData(CACHE_MAP);
-        return new ArrayValueImpl(map.keySet().toArray(new BString[0]));
+        return new ArrayValueImpl(getEngine(cache).keys());
     }
 
     public static int externSize(BObject cache) {
-        ConcurrentHashMap<BString, MapValue<BString, Object>> map =
-                (ConcurrentHashMap<BString, MapValue<BString, Object>>) cache.getNativeData(CACHE_MAP);
-        return map.size();
+        return getEngine(cache).size();
+    }
+
+    public static boolean externCleanup(BObject cache) {
+        CacheEngine engine = getEngine(cache);
+        if (!engine.managesEviction()) {
+            return false;
+        }
+        engine.cleanUp();
+        return true;
+    }
+
+    public static ArrayValueImpl externStats(BObject cache) {
+        return new ArrayValueImpl(getEngine(cache).stats());
+    }
+
+    private static CacheEngine getEngine(BObject cache) {
+        return (CacheEngine) cache.getNativeData(CACHE_MAP);
+    }
+
+    private static boolean isLruEvictionPolicy(BObject evictionPolicy) {
+        // Object types are structural, so match the class itself rather than the shape of the policy.
+        BPackage pkg = evictionPolicy.getType().getPackage();
+        return LRU_EVICTION_POLICY.equals(evictionPolicy.getType().getName()) && pkg != null &&
+                BALLERINA_ORG.equals(pkg.getOrg()) && CACHE_MODULE.equals(pkg.getName());
     }
 }
@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.stdlib.cache.nativeimpl;
+
+import org.ballerinalang.jvm.api.values.BString;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Store of a `cache:Cache`. Reads do not take a lock; writes are serialized by the engine lock.
+ * <p>
+ * When the cache uses the built-in LRU eviction policy, the engine also runs the policy: the entries are linked in
+ * access order and, once the cache grows beyond its capacity, the least recently used entries are taken from the
+ * front of the list, as many as the eviction factor allows, in one batch. A read does not move its entry in the list
+ * itself. It records the entry in a {@link ReadBuffer}, which the holder of the lock drains before every write, and
+ * which a reader drains when it finds the buffer filling up and the lock free. Entries with an expiry time are
+ * tracked in a {@link TimerWheel}, which is advanced on writes and by the cleanup task. Hit, miss, eviction and
+ * expiration counts are kept for such caches.
+ * <p>
+ * The entries are also linked in insertion order, which is the order of the keys. For custom eviction policies the
+ * engine only stores the linked list nodes managed by the policy.
+ *
+ * @since 2.0.0
+ */
+class CacheEngine {
+
+    static final Object ABSENT = new Object();
+
+    private final ConcurrentHashMap<BString, CacheEntry> entries = new ConcurrentHashMap<>();
+    // sentinel of the circular list of the entries in access order, used when the engine runs the eviction
+    private final CacheEntry accessOrder = new CacheEntry(null, null, CacheEntry.NO_EXPIRY);
+    // sentinel of the circular list of the entries in insertion order
+    private final CacheEntry insertionOrder = new CacheEntry(null, null, CacheEntry.NO_EXPIRY);
+    private final int capacity;
+    private final int evictionCount;
+    private final boolean managesEviction;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReadBuffer readBuffer;
+    private final TimerWheel timerWheel;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    CacheEngine(int capacity, double evictionFactor, boolean managesEviction) {
+        this.capacity = capacity;
+        // same rounding as the float to int conversion done by the Ballerina eviction
+        this.evictionCount = Math.max(1, (int) Math.rint(capacity * evictionFactor));
+        this.managesEviction = managesEviction;
+        this.readBuffer = managesEviction ? new ReadBuffer() : null;
+        this.timerWheel = managesEviction ? new TimerWheel(System.nanoTime()) : null;
+        this.accessOrder.next = accessOrder;
+        this.accessOrder.prev = accessOrder;
+        this.insertionOrder.after = insertionOrder;
+        this.insertionOrder.before = insertionOrder;
+    }
+
+    boolean managesEviction() {
+        return managesEviction;
+    }
+
+    /**
+     * Returns the value cached for the key and records the read of the entry.
+     *
+     * @param key key of the value
+     * @return the value, null if the entry has expired, or {@link #ABSENT} if there is no entry
+     */
+    Object get(BString key) {
+        CacheEntry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return ABSENT;
+        }
+        if (entry.isExpired(System.nanoTime())) {
+            misses.increment();
+            // rare, so taking the lock here is fine
+            lock.lock();
+            try {
+                expire(entry);
+            } finally {
+                lock.unlock();
+            }
+            return null;
+        }
+        hits.increment();
+        if (managesEviction && readBuffer.record(entry) && lock.tryLock()) {
+            try {
+                readBuffer.drain(this::moveToEnd);
+            } finally {
+                lock.unlock();
+            }
+        }
+        return entry.value;
+    }
+
+    /**
+     * Returns the value stored for the key, without recording the read or updating the statistics.
+     */
+    Object peek(BString key) {
+        CacheEntry entry = entries.get(key);
+        return entry == null ? null : entry.value;
+    }
+
+    void put(BString key, Object value, long expTime) {
+        CacheEntry entry = new CacheEntry(key, value, expTime);
+        lock.lock();
+        try {
+            CacheEntry previous = entries.put(key, entry);
+            if (previous != null) {
+                // the key keeps its position
+                replaceInInsertionOrder(previous, entry);
+            } else {
+                linkLastInInsertionOrder(entry);
+            }
+            if (!managesEviction) {
+                return;
+            }
+            readBuffer.drain(this::moveToEnd);
+            if (previous != null) {
+                unlink(previous);
+            }
+            linkLast(entry);
+            long now = System.nanoTime();
+            if (expTime != CacheEntry.NO_EXPIRY) {
+                timerWheel.schedule(entry);
+            }
+            if (previous == null && entries.size() > capacity) {
+                evict(now);
+            }
+            timerWheel.advance(now, this::isLive, this::expire);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void remove(BString key) {
+        lock.lock();
+        try {
+            CacheEntry entry = entries.remove(key);
+            if (entry != null) {
+                unlinkFromInsertionOrder(entry);
+                if (managesEviction) {
+                    unlink(entry);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+            // the entries are unlinked one by one, as reads may still hold and record them
+            CacheEntry entry = insertionOrder.after;
+            while (entry != insertionOrder) {
+                CacheEntry after = entry.after;
+                entry.before = null;
+                entry.after = null;
+                entry = after;
+            }
+            insertionOrder.after = insertionOrder;
+            insertionOrder.before = insertionOrder;
+            if (managesEviction) {
+                entry = accessOrder.next;
+                while (entry != accessOrder) {
+                    CacheEntry next = entry.next;
+                    entry.prev = null;
+                    entry.next = null;
+                    entry = next;
+                }
+                accessOrder.next = accessOrder;
+                accessOrder.prev = accessOrder;
+                // the buffered entries are no longer linked, hence skipped
+                readBuffer.drain(this::moveToEnd);
+                timerWheel.clear();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean containsKey(BString key) {
+        return entries.containsKey(key);
+    }
+
+    BString[] keys() {
+        lock.lock();
+        try {
+            BString[] keys = new BString[entries.size()];
+            int i = 0;
+            for (CacheEntry entry = insertionOrder.after; entry != insertionOrder; entry = entry.after) {
+                keys[i++] = entry.key;
+            }
+            return keys;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Removes the entries that have expired by now.
+     */
+    void cleanUp() {
+        lock.lock();
+        try {
+            readBuffer.drain(this::moveToEnd);
+            timerWheel.advance(System.nanoTime(), this::isLive, this::expire);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long[] stats() {
+        return new long[]{hits.sum(), misses.sum(), evictions.sum(), expirations.sum()};
+    }
+
+    private void evict(long now) {
+        int count = Math.max(evictionCount, entries.size() - capacity);
+        while (count > 0 && accessOrder.next != accessOrder) {
+            // the least recently used entry
+            CacheEntry entry = accessOrder.next;
+            entries.remove(entry.key, entry);
+            unlinkFromInsertionOrder(entry);
+            unlink(entry);
+            if (entry.isExpired(now)) {
+                expirations.increment();
+            } else {
+                evictions.increment();
+            }
+            count--;
+        }
+    }
+
+    private boolean isLive(CacheEntry entry) {
+        return entry.prev != null;
+    }
+
+    private void expire(CacheEntry entry) {
+        if (entries.remove(entry.key, entry)) {
+            unlinkFromInsertionOrder(entry);
+            unlink(entry);
+            expirations.increment();
+        }
+    }
+
+    private void moveToEnd(CacheEntry entry) {
+        // entries removed since they were read are skipped
+        if (isLive(entry)) {
+            unlink(entry);
+            linkLast(entry);
+        }
+    }
+
+    private void linkLast(CacheEntry entry) {
+        entry.prev = accessOrder.prev;
+        entry.next = accessOrder;
+        accessOrder.prev.next = entry;
+        accessOrder.prev = entry;
+    }
+
+    // An entry which is not linked is no longer held by the engine.
+    private void unlink(CacheEntry entry) {
+        entry.prev.next = entry.next;
+        entry.next.prev = entry.prev;
+        entry.prev = null;
+        entry.next = null;
+    }
+
+    private void linkLastInInsertionOrder(CacheEntry entry) {
+        entry.before = insertionOrder.before;
+        entry.after = insertionOrder;
+        insertionOrder.before.after = entry;
+        insertionOrder.before = entry;
+    }
+
+    private void replaceInInsertionOrder(CacheEntry previous, CacheEntry entry) {
+        entry.before = previous.before;
+        entry.after = previous.after;
+        previous.before.after = entry;
+        previous.after.before = entry;
+        previous.before = null;
+        previous.after = null;
+    }
+
+    private void unlinkFromInsertionOrder(CacheEntry entry) {
+        entry.before.after = entry.after;
+        entry.after.before = entry.before;
+        entry.before = null;
+        entry.after = null;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.stdlib.cache.nativeimpl;
+
+import org.ballerinalang.jvm.api.values.BString;
+
+/**
+ * An entry of the {@link CacheEngine}. The key, value and expiry time are fixed; putting a value for an existing
+ * key replaces the entry. The entry is also a node of the list of entries in insertion order and, when the engine
+ * runs the eviction, of the list of entries in access order. Both lists are only updated under the lock of the
+ * engine.
+ *
+ * @since 2.0.0
+ */
+class CacheEntry {
+
+    static final long NO_EXPIRY = -1;
+
+    final BString key;
+    final Object value;
+    // expiry time in System.nanoTime() scale, or NO_EXPIRY
+    final long expTime;
+    // neighbours in access order
+    CacheEntry prev;
+    CacheEntry next;
+    // neighbours in insertion order
+    CacheEntry before;
+    CacheEntry after;
+
+    CacheEntry(BString key, Object value, long expTime) {
+        this.key = key;
+        this.value = value;
+        this.expTime = expTime;
+    }
+
+    boolean isExpired(long now) {
+        return expTime != NO_EXPIRY && expTime - now < 0;
+    }
+}
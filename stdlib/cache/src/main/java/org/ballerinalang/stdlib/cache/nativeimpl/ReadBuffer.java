@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.stdlib.cache.nativeimpl;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Lossy buffer of the cache entries read since the access order of the {@link CacheEngine} was last updated.
+ * <p>
+ * Readers record an entry without taking a lock, in a stripe chosen by the reading thread, so that concurrent readers
+ * rarely touch the same stripe. A stripe is a bounded ring: when it is full, or another reader claims the same slot
+ * at the same moment, the read is dropped. The access order is then slightly less accurate, but a read never waits.
+ * The buffer is drained by the holder of the engine lock.
+ *
+ * @since 2.0.0
+ */
+class ReadBuffer {
+
+    static final int STRIPE_SIZE = 16;
+    // a reader offers to drain the buffer once its stripe is half full
+    static final int DRAIN_THRESHOLD = STRIPE_SIZE / 2;
+
+    private static final int STRIPE_MASK = STRIPE_SIZE - 1;
+    private static final int MAX_STRIPES = 16;
+
+    private final Stripe[] stripes;
+    private final int mask;
+
+    ReadBuffer() {
+        int count = 1;
+        while (count < Math.min(Runtime.getRuntime().availableProcessors(), MAX_STRIPES)) {
+            count <<= 1;
+        }
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        this.mask = count - 1;
+    }
+
+    /**
+     * Records a read of the entry.
+     *
+     * @param entry entry that was read
+     * @return whether the buffer should be drained
+     */
+    boolean record(CacheEntry entry) {
+        return stripes[stripeIndex()].offer(entry);
+    }
+
+    /**
+     * Passes the recorded entries to the consumer, in the order they were recorded in each stripe. Must only be called
+     * by the holder of the engine lock.
+     *
+     * @param consumer consumer of the entries
+     */
+    void drain(Consumer<CacheEntry> consumer) {
+        for (Stripe stripe : stripes) {
+            stripe.drain(consumer);
+        }
+    }
+
+    private int stripeIndex() {
+        long id = Thread.currentThread().getId();
+        // spread the ids, which are usually sequential
+        int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    /**
+     * A ring with many writers and a single reader, the holder of the engine lock.
+     */
+    private static class Stripe {
+
+        private final AtomicReferenceArray<CacheEntry> slots = new AtomicReferenceArray<>(STRIPE_SIZE);
+        private final AtomicLong writeCounter = new AtomicLong();
+        private volatile long readCounter;
+
+        boolean offer(CacheEntry entry) {
+            long head = readCounter;
+            long tail = writeCounter.get();
+            long size = tail - head;
+            if (size >= STRIPE_SIZE) {
+                return true;
+            }
+            if (!writeCounter.compareAndSet(tail, tail + 1)) {
+                // another reader took the slot
+                return false;
+            }
+            slots.lazySet((int) tail & STRIPE_MASK, entry);
+            return size + 1 >= DRAIN_THRESHOLD;
+        }
+
+        void drain(Consumer<CacheEntry> consumer) {
+            long head = readCounter;
+            long tail = writeCounter.get();
+            for (; head < tail; head++) {
+                int index = (int) head & STRIPE_MASK;
+                CacheEntry entry = slots.get(index);
+                if (entry == null) {
+                    // the slot is claimed, but the entry is not written yet
+                    break;
+                }
+                slots.lazySet(index, null);
+                consumer.accept(entry);
+            }
+            readCounter = head;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.stdlib.cache.nativeimpl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Hashed timer wheel of one second ticks holding the cache entries that have an expiry time. An entry is scheduled
+ * in the bucket of the first tick after it expires; entries that are due further than a full turn of the wheel stay
+ * in their bucket until the wheel comes around again. The wheel is only used under the lock of the
+ * {@link CacheEngine}.
+ *
+ * @since 2.0.0
+ */
+class TimerWheel {
+
+    private static final long TICK_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final int BUCKETS = 256;
+    private static final int MASK = BUCKETS - 1;
+
+    private final Queue<CacheEntry>[] buckets;
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    TimerWheel(long now) {
+        this.buckets = new Queue[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            this.buckets[i] = new ArrayDeque<>();
+        }
+        this.currentTick = tickOf(now);
+    }
+
+    void schedule(CacheEntry entry) {
+        buckets[(int) ((tickOf(entry.expTime) + 1) & MASK)].add(entry);
+    }
+
+    /**
+     * Moves the wheel up to the given time and expires the live entries that are due. Entries that are no longer
+     * live in the cache (replaced or removed) are dropped from the wheel.
+     *
+     * @param now    current time in System.nanoTime() scale
+     * @param isLive checks whether an entry is still held by the cache
+     * @param expire expires a due entry
+     */
+    void advance(long now, Predicate<CacheEntry> isLive, Consumer<CacheEntry> expire) {
+        long nowTick = tickOf(now);
+        if (nowTick <= currentTick) {
+            return;
+        }
+        long fromTick = currentTick + 1;
+        long ticks = Math.min(nowTick - currentTick, BUCKETS);
+        List<CacheEntry> pending = new ArrayList<>();
+        for (long i = 0; i < ticks; i++) {
+            Queue<CacheEntry> bucket = buckets[(int) ((fromTick + i) & MASK)];
+            CacheEntry entry;
+            while ((entry = bucket.poll()) != null) {
+                pending.add(entry);
+            }
+            for (CacheEntry due : pending) {
+                if (!isLive.test(due)) {
+                    continue;
+                }
+                if (due.isExpired(now)) {
+                    expire.accept(due);
+                } else {
+                    // due in a later turn of the wheel
+                    bucket.add(due);
+                }
+            }
+            pending.clear();
+        }
+        currentTick = nowTick;
+    }
+
+    void clear() {
+        for (Queue<CacheEntry> bucket : buckets) {
+            bucket.clear();
+        }
+    }
+
+    private static long tickOf(long nanoTime) {
+        return Math.floorDiv(nanoTime, TICK_NANOS);
+    }
+}
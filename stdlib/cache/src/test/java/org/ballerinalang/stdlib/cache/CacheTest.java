@@ -285,6 +285,18 @@ public class CacheTest {
         BRunUtil.invoke(compileResult, "testCreateCacheWithNegativeDefaultMaxAge");
     }
 
+    @Test
+    public void testCacheStats() {
+        BValue[] returns = BRunUtil.invoke(compileResult, "testCacheStats");
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 1);
+        Assert.assertEquals(((BInteger) returns[1]).intValue(), 2);
+        Assert.assertEquals(((BInteger) returns[2]).intValue(), 2);
+        Assert.assertEquals(((BInteger) returns[3]).intValue(), 1);
+        String[] expected = new String[]{"A", "D"};
+        String[] actual = removeEmptyValues(((BValueArray) returns[4]).getStringArray());
+        Assert.assertTrue(Arrays.equals(actual, expected));
+    }
+
     private String[] removeEmptyValues(String[] arr) {
         List<String> list = new ArrayList<>(Arrays.asList(arr));
         list.removeAll(Arrays.asList("", null));
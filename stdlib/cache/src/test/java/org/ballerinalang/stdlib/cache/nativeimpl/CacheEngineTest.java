@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.stdlib.cache.nativeimpl;
+
+import org.ballerinalang.jvm.api.BStringUtils;
+import org.ballerinalang.jvm.api.values.BString;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests the LRU eviction and the statistics of {@link CacheEngine}.
+ *
+ * @since 2.0.0
+ */
+public class CacheEngineTest {
+
+    @Test
+    public void testEvictsLeastRecentlyUsedEntries() {
+        CacheEngine engine = new CacheEngine(4, 0.5, true);
+        put(engine, "A", "B", "C", "D");
+        engine.get(key("A"));
+        engine.get(key("C"));
+        put(engine, "E");
+
+        // "B" and "D" are the least recently used entries, the keys keep the insertion order
+        Assert.assertEquals(keys(engine), new String[]{"A", "C", "E"});
+        Assert.assertEquals(engine.stats(), new long[]{2, 0, 2, 0});
+    }
+
+    @Test
+    public void testReplacingAnEntryDoesNotEvict() {
+        CacheEngine engine = new CacheEngine(2, 0.5, true);
+        put(engine, "A", "B");
+        put(engine, "A");
+
+        Assert.assertEquals(keys(engine), new String[]{"A", "B"});
+        Assert.assertEquals(engine.stats()[2], 0);
+
+        // "A" was put after "B", so "B" is the least recently used entry
+        put(engine, "C");
+        Assert.assertEquals(keys(engine), new String[]{"A", "C"});
+    }
+
+    @Test
+    public void testStats() {
+        CacheEngine engine = new CacheEngine(10, 0.2, true);
+        put(engine, "A");
+        engine.put(key("B"), "B", System.nanoTime() - 1);
+
+        Assert.assertEquals(engine.get(key("A")), "A");
+        Assert.assertSame(engine.get(key("C")), CacheEngine.ABSENT);
+        Assert.assertNull(engine.get(key("B")));
+        Assert.assertEquals(engine.peek(key("A")), "A");
+
+        Assert.assertEquals(engine.stats(), new long[]{1, 2, 0, 1});
+        Assert.assertEquals(keys(engine), new String[]{"A"});
+    }
+
+    @Test
+    public void testCleanUpExpiresEntries() throws InterruptedException {
+        CacheEngine engine = new CacheEngine(10, 0.2, true);
+        engine.put(key("A"), "A", System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100));
+        put(engine, "B");
+
+        Thread.sleep(2100);
+        engine.cleanUp();
+
+        Assert.assertEquals(keys(engine), new String[]{"B"});
+        Assert.assertEquals(engine.stats(), new long[]{0, 0, 0, 1});
+    }
+
+    @Test
+    public void testClear() {
+        CacheEngine engine = new CacheEngine(2, 0.5, true);
+        put(engine, "A", "B");
+        engine.clear();
+        put(engine, "C", "D", "E");
+
+        Assert.assertEquals(keys(engine), new String[]{"D", "E"});
+    }
+
+    @Test
+    public void testClearWhileAReadIsBuffered() throws ReflectiveOperationException {
+        CacheEngine engine = new CacheEngine(2, 0.5, true);
+        put(engine, "A", "B");
+        CacheEntry entry = (CacheEntry) getField(engine, "entries", ConcurrentHashMap.class).get(key("A"));
+        engine.clear();
+        put(engine, "A", "B");
+        // a read which found the entry before the clear records it after the clear
+        getField(engine, "readBuffer", ReadBuffer.class).record(entry);
+        put(engine, "C");
+
+        // the buffered entry is skipped, so the new "A" is the least recently used entry
+        Assert.assertEquals(keys(engine), new String[]{"B", "C"});
+        Assert.assertEquals(engine.size(), 2);
+        Assert.assertEquals(engine.peek(key("B")), "B");
+        Assert.assertNull(entry.prev);
+        Assert.assertNull(entry.after);
+    }
+
+    @Test
+    public void testReadsAreCountedAcrossThreads() throws InterruptedException {
+        CacheEngine engine = new CacheEngine(100, 0.25, true);
+        put(engine, "A", "B");
+        int threads = 8;
+        int reads = 10000;
+        List<Thread> readers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Thread reader = new Thread(() -> {
+                for (int j = 0; j < reads; j++) {
+                    engine.get(key("A"));
+                    engine.get(key("Z"));
+                }
+            });
+            readers.add(reader);
+            reader.start();
+        }
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        // reads may be dropped from the access order, but never from the statistics
+        Assert.assertEquals(engine.stats(), new long[]{threads * reads, threads * reads, 0, 0});
+        Assert.assertEquals(keys(engine), new String[]{"A", "B"});
+    }
+
+    @Test
+    public void testBufferedReadsUpdateTheAccessOrder() {
+        CacheEngine engine = new CacheEngine(4, 0.25, true);
+        put(engine, "A", "B", "C", "D");
+        // more reads than a stripe of the read buffer holds, so some are applied by the reader itself
+        for (int i = 0; i < ReadBuffer.STRIPE_SIZE * 2; i++) {
+            engine.get(key("A"));
+            engine.get(key("B"));
+        }
+        engine.get(key("C"));
+        put(engine, "E");
+
+        // "D" was never read
+        Assert.assertEquals(keys(engine), new String[]{"A", "B", "C", "E"});
+        put(engine, "F");
+        // "A" and "B" were read before "C"
+        Assert.assertEquals(keys(engine), new String[]{"B", "C", "E", "F"});
+    }
+
+    private static void put(CacheEngine engine, String... keys) {
+        for (String key : keys) {
+            engine.put(key(key), key, CacheEntry.NO_EXPIRY);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T getField(CacheEngine engine, String name, Class<T> type)
+            throws ReflectiveOperationException {
+        Field field = CacheEngine.class.getDeclaredField(name);
+        field.setAccessible(true);
+        return (T) field.get(engine);
+    }
+
+    private static BString key(String key) {
+        return BStringUtils.fromString(key);
+    }
+
+    private static String[] keys(CacheEngine engine) {
+        return Arrays.stream(engine.keys()).map(BString::getValue).toArray(String[]::new);
+    }
+}
@@ -293,3 +293,24 @@ function testCreateCacheWithNegativeDefaultMaxAge() {
     };
     cache:Cache c = new(config);
 }
+
+function testCacheStats() returns [int, int, int, int, string[]] {
+    cache:CacheConfig config = {
+        capacity: 3,
+        evictionFactor: 0.34
+    };
+    cache:Cache cache = new(config);
+    checkpanic cache.put("A", "1");
+    checkpanic cache.put("B", "2");
+    checkpanic cache.put("C", "3");
+    any|cache:Error a = cache.get("A");
+    any|cache:Error x = cache.get("X");
+    // evicts "B", the least recently used entry
+    checkpanic cache.put("D", "4");
+    // evicts "C"
+    checkpanic cache.put("E", "5", 1);
+    runtime:sleep(2000);
+    any|cache:Error e = cache.get("E");
+    cache:CacheStats stats = cache.stats();
+    return [stats.hitCount, stats.missCount, stats.evictionCount, stats.expirationCount, cache.keys()];
+}
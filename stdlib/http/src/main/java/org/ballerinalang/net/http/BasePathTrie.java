@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.net.http;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable trie of the service base paths of a host, keyed by path segment. Finds the most specific base path of a
+ * request path in a single walk over the path, without allocating, so the cost does not grow with the number of
+ * services. A path matches a base path if it equals the base path ignoring case, or if it continues the base path
+ * with a '/'.
+ *
+ * @since 2.0.0
+ */
+class BasePathTrie {
+
+    private final Node root = new Node();
+    private final Map<String, String> basePathsIgnoringCase = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    BasePathTrie(Collection<String> basePaths) {
+        for (String basePath : basePaths) {
+            if (HttpConstants.DEFAULT_BASE_PATH.equals(basePath)) {
+                root.basePath = basePath;
+                continue;
+            }
+            basePathsIgnoringCase.putIfAbsent(basePath, basePath);
+            if (!basePath.startsWith(HttpConstants.DEFAULT_BASE_PATH)) {
+                continue;
+            }
+            Node node = root;
+            int segmentStart = 1;
+            while (true) {
+                int segmentEnd = basePath.indexOf('/', segmentStart);
+                if (segmentEnd < 0) {
+                    segmentEnd = basePath.length();
+                }
+                node = node.addChild(basePath, segmentStart, segmentEnd);
+                if (segmentEnd == basePath.length()) {
+                    break;
+                }
+                segmentStart = segmentEnd + 1;
+            }
+            node.basePath = basePath;
+        }
+    }
+
+    /**
+     * Finds the most specific base path of the given request path.
+     *
+     * @param path raw path of the request
+     * @return the base path, or null if none matches
+     */
+    String find(String path) {
+        Node node = root;
+        String match = root.basePath;
+        if (path.startsWith(HttpConstants.DEFAULT_BASE_PATH)) {
+            int segmentStart = 1;
+            while (node != null) {
+                int segmentEnd = path.indexOf('/', segmentStart);
+                if (segmentEnd < 0) {
+                    segmentEnd = path.length();
+                }
+                node = node.getChild(path, segmentStart, segmentEnd);
+                if (node != null && node.basePath != null) {
+                    if (segmentEnd == path.length()) {
+                        return node.basePath;
+                    }
+                    match = node.basePath;
+                }
+                if (segmentEnd == path.length()) {
+                    break;
+                }
+                segmentStart = segmentEnd + 1;
+            }
+        }
+        String exactMatch = basePathsIgnoringCase.get(path);
+        return exactMatch != null ? exactMatch : match;
+    }
+
+    private static int hash(String str, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + str.charAt(i);
+        }
+        return hash;
+    }
+
+    /**
+     * A path segment of the trie. Children are looked up by comparing the hash of the segment first, and then the
+     * characters in place.
+     */
+    private static class Node {
+
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final int[] NO_HASHES = new int[0];
+
+        private String segment;
+        private int hash;
+        private String basePath;
+        private Node[] children = NO_CHILDREN;
+        private int[] childHashes = NO_HASHES;
+
+        Node addChild(String path, int start, int end) {
+            Node child = getChild(path, start, end);
+            if (child != null) {
+                return child;
+            }
+            child = new Node();
+            child.segment = path.substring(start, end);
+            child.hash = hash(path, start, end);
+            children = Arrays.copyOf(children, children.length + 1);
+            childHashes = Arrays.copyOf(childHashes, childHashes.length + 1);
+            children[children.length - 1] = child;
+            childHashes[childHashes.length - 1] = child.hash;
+            return child;
+        }
+
+        Node getChild(String path, int start, int end) {
+            if (children.length == 0) {
+                return null;
+            }
+            int hash = hash(path, start, end);
+            int length = end - start;
+            for (int i = 0; i < childHashes.length; i++) {
+                if (childHashes[i] != hash) {
+                    continue;
+                }
+                Node child = children[i];
+                if (child.segment.length() == length && path.regionMatches(start, child.segment, 0, length)) {
+                    return child;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -26,6 +26,12 @@ import org.ballerinalang.net.uri.parser.Node;
 import org.ballerinalang.net.uri.parser.URITemplateParser;
 
 import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Basic URI Template implementation.
@@ -35,16 +41,48 @@ import java.io.UnsupportedEncodingException;
  **/
 public class URITemplate<DataType, InboundMsgType> {
 
+    private static final int MAX_CACHED_MATCHES = 1024;
+    private static final String SEGMENT_PLACEHOLDER = "{}";
+
     private Node<DataType, InboundMsgType> syntaxTree;
+    private volatile String[] segmentLiterals = new String[0];
+    private final Map<String, List<Node<DataType, InboundMsgType>>> matchCache = new ConcurrentHashMap<>();
 
     public URITemplate(Node<DataType, InboundMsgType> syntaxTree) {
         this.syntaxTree = syntaxTree;
     }
 
+    /**
+     * Matches the uri against the templates. Resolutions are remembered by the shape of the uri, in which each
+     * segment that does not contain a literal of the templates, or a '.', is replaced by a placeholder. Uris of the
+     * same shape traverse the tree alike up to the first data element reached, unless a path parameter value or a
+     * declining data element decides the traversal, so only resolutions in which neither happened are remembered. On
+     * a repeated shape the remembered branch is matched again, which extracts the path parameters of the uri and asks
+     * the data element for the data. The tree is traversed as usual if the branch does not match.
+     *
+     * @param uri        the uri to match
+     * @param variables  the variables extracted from the uri
+     * @param inboundMsg the inbound message
+     * @return the matched data or null
+     */
     public DataType matches(String uri, HttpResourceArguments variables, InboundMsgType inboundMsg) {
+        String shape = getShape(uri);
+        List<Node<DataType, InboundMsgType>> branch = matchCache.get(shape);
+        if (branch != null) {
+            HttpResourceArguments branchVariables = new HttpResourceArguments();
+            DataReturnAgent<DataType> dataReturnAgent = new DataReturnAgent<>();
+            if (Node.matchBranch(branch, uri, branchVariables, inboundMsg, dataReturnAgent)) {
+                variables.getMap().putAll(branchVariables.getMap());
+                return dataReturnAgent.getData();
+            }
+        }
+
         DataReturnAgent<DataType> dataReturnAgent = new DataReturnAgent<>();
         boolean isFound = syntaxTree.matchAll(uri, variables, 0, inboundMsg, dataReturnAgent);
         if (isFound) {
+            if (!dataReturnAgent.isValueDependent()) {
+                cacheMatch(shape, dataReturnAgent);
+            }
             return dataReturnAgent.getData();
         }
         if (dataReturnAgent.getError() != null) {
@@ -53,6 +91,54 @@ public class URITemplate<DataType, InboundMsgType> {
         return null;
     }
 
+    @SuppressWarnings("unchecked")
+    private void cacheMatch(String shape, DataReturnAgent<DataType> dataReturnAgent) {
+        if (matchCache.size() >= MAX_CACHED_MATCHES) {
+            matchCache.clear();
+        }
+        List<Node<DataType, InboundMsgType>> branch = new ArrayList<>();
+        for (Node<DataType, ?> node : dataReturnAgent.getMatchedNodes()) {
+            branch.add((Node<DataType, InboundMsgType>) node);
+        }
+        matchCache.put(shape, branch);
+    }
+
+    private String getShape(String uri) {
+        String[] literals = segmentLiterals;
+        StringBuilder shape = new StringBuilder(uri.length());
+        int segmentStart = 0;
+        while (true) {
+            int segmentEnd = uri.indexOf('/', segmentStart);
+            if (segmentEnd < 0) {
+                segmentEnd = uri.length();
+            }
+            if (segmentEnd == segmentStart || containsLiteral(uri, segmentStart, segmentEnd, literals)) {
+                shape.append(uri, segmentStart, segmentEnd);
+            } else {
+                shape.append(SEGMENT_PLACEHOLDER);
+            }
+            if (segmentEnd == uri.length()) {
+                return shape.toString();
+            }
+            shape.append('/');
+            segmentStart = segmentEnd + 1;
+        }
+    }
+
+    private static boolean containsLiteral(String uri, int start, int end, String[] literals) {
+        int dotIndex = uri.indexOf('.', start);
+        if (dotIndex >= 0 && dotIndex < end) {
+            return true;
+        }
+        for (String literal : literals) {
+            int index = uri.indexOf(literal, start);
+            if (index >= 0 && index + literal.length() <= end) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public void parse(String uriTemplate, DataType resource,
                       DataElementFactory<? extends DataElement<DataType, InboundMsgType>>
                               elementCreator) throws URITemplateException, UnsupportedEncodingException {
@@ -60,6 +146,13 @@ public class URITemplate<DataType, InboundMsgType> {
 
         URITemplateParser<DataType, InboundMsgType> parser = new URITemplateParser<>(syntaxTree, elementCreator);
         parser.parse(uriTemplate, resource);
+
+        Set<String> literals = new HashSet<>();
+        syntaxTree.addLiteralTokens(literals);
+        literals.remove("/");
+        literals.remove("*");
+        segmentLiterals = literals.toArray(new String[0]);
+        matchCache.clear();
     }
 
     private String removeTheFirstAndLastBackSlash(String template) throws URITemplateException {
@@ -43,6 +43,9 @@ public class URIUtil {
     public static final String URI_PATH_DELIMITER = "/";
     public static final char DOT_SEGMENT = '.';
     private static final BString[] EMPTY_STRING_ARRAY = new BString[0];
+    // punctuation java.net.URI accepts unescaped in a path, and additionally in a query
+    private static final String PATH_PUNCTUATION = "-_.!~*'():@&=+$,;/";
+    private static final String QUERY_PUNCTUATION = "?[]";
 
     public static String[] getPathSegments(String path) {
         if (path.startsWith(URI_PATH_DELIMITER)) {
@@ -59,6 +62,32 @@ public class URIUtil {
         return path.substring(basePath.length());
     }
 
+    /**
+     * Checks whether a request target is a path, optionally followed by a query, which {@link java.net.URI} accepts
+     * as it is. The raw path and query of such a target are the parts before and after its first '?', and the query
+     * needs no decoding. Targets with escapes or fragments are left for {@link java.net.URI} to parse.
+     *
+     * @param target request target, as normalized by {@link #extractMatrixParams(String, Map)}
+     * @return true if the target can be split without parsing it as a URI
+     */
+    public static boolean isPlainRequestTarget(String target) {
+        if (!target.startsWith(URI_PATH_DELIMITER) || target.startsWith("//")) {
+            return false;
+        }
+        boolean inQuery = false;
+        for (int i = 0; i < target.length(); i++) {
+            char c = target.charAt(i);
+            if (c == '?') {
+                inQuery = true;
+            } else if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' ||
+                    PATH_PUNCTUATION.indexOf(c) >= 0 || inQuery && QUERY_PUNCTUATION.indexOf(c) >= 0 ||
+                    c > 0x7f && !Character.isSpaceChar(c) && !Character.isISOControl(c))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @SuppressWarnings("unchecked")
     public static void populateQueryParamMap(String queryParamString, BMap<BString, Object> queryParamsMap)
             throws UnsupportedEncodingException {
@@ -114,6 +143,12 @@ public class URIUtil {
         if (path.startsWith("/")) {
             path = path.substring(1);
         }
+        int queryStart = path.indexOf('?');
+        int pathEnd = queryStart < 0 ? path.length() : queryStart;
+        if (path.lastIndexOf(';', pathEnd - 1) < 0) {
+            // no matrix params, only normalize the path the same way as below
+            return normalizePath(path, pathEnd);
+        }
         String[] pathSplits = path.split("\\?");
         String[] pathSegments = pathSplits[0].split("/");
         String pathToMatrixParam = "";
@@ -138,4 +173,23 @@ public class URIUtil {
         }
         return pathToMatrixParam;
     }
+
+    private static String normalizePath(String path, int pathEnd) {
+        StringBuilder normalizedPath = new StringBuilder(path.length() + 1);
+        int trimmedPathEnd = pathEnd;
+        while (trimmedPathEnd > 0 && path.charAt(trimmedPathEnd - 1) == '/') {
+            trimmedPathEnd--;
+        }
+        if (pathEnd == 0 || trimmedPathEnd > 0) {
+            normalizedPath.append('/').append(path, 0, trimmedPathEnd);
+        }
+        int queryEnd = path.length();
+        while (queryEnd > pathEnd + 1 && path.charAt(queryEnd - 1) == '?') {
+            queryEnd--;
+        }
+        if (queryEnd > pathEnd + 1) {
+            normalizedPath.append(path, pathEnd, queryEnd);
+        }
+        return normalizedPath.toString();
+    }
 }
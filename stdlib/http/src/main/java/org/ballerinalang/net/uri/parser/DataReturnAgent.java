@@ -21,6 +21,10 @@ package org.ballerinalang.net.uri.parser;
 
 import org.ballerinalang.jvm.util.exceptions.BallerinaException;
 
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+
 /**
  * This class is use to set and return data in the template tree.
  * @param <DataType> Type of data which should be set and returned.
@@ -28,6 +32,8 @@ import org.ballerinalang.jvm.util.exceptions.BallerinaException;
 public class DataReturnAgent<DataType> {
 
     private DataType data;
+    private LinkedList<Node<DataType, ?>> matchedNodes;
+    private boolean valueDependent;
     private BallerinaException ballerinaException;
 
     /**
@@ -46,6 +52,41 @@ public class DataReturnAgent<DataType> {
         return data;
     }
 
+    /**
+     * Add a node to the front of the matched branch. Nodes are added from the node of the data up to the root.
+     * @param node the matched node.
+     */
+    void addMatchedNode(Node<DataType, ?> node) {
+        if (matchedNodes == null) {
+            matchedNodes = new LinkedList<>();
+        }
+        matchedNodes.addFirst(node);
+    }
+
+    /**
+     * Get the matched branch.
+     * @return the nodes from the root to the node of the data, or an empty list if no data was found.
+     */
+    public List<Node<DataType, ?>> getMatchedNodes() {
+        return matchedNodes == null ? Collections.emptyList() : matchedNodes;
+    }
+
+    /**
+     * Mark the match as depending on more than the shape of the uri, i.e. on the value of a path parameter or on a
+     * data element which declined the inbound message.
+     */
+    void setValueDependent() {
+        this.valueDependent = true;
+    }
+
+    /**
+     * Check whether the match depends on more than the shape of the uri.
+     * @return true if a path parameter value or a data element decided the match.
+     */
+    public boolean isValueDependent() {
+        return valueDependent;
+    }
+
     /**
      * Set Error.
      * @param ballerinaException the error to be set.
@@ -25,6 +25,7 @@ import org.ballerinalang.net.uri.URITemplateException;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Node represents different types of path segments in the uri-template.
@@ -66,10 +67,20 @@ public abstract class Node<DataType, InboundMsgType> {
                             DataReturnAgent<DataType> dataReturnAgent) {
         int matchLength = match(uriFragment, variables);
         if (matchLength < 0) {
+            if (this instanceof Expression) {
+                dataReturnAgent.setValueDependent();
+            }
             return false;
         }
         if (matchLength == uriFragment.length()) {
-            return dataElement.getData(inboundMsg, dataReturnAgent);
+            if (dataElement.getData(inboundMsg, dataReturnAgent)) {
+                dataReturnAgent.addMatchedNode(this);
+                return true;
+            }
+            if (dataElement.hasData()) {
+                dataReturnAgent.setValueDependent();
+            }
+            return false;
         }
         if (matchLength >= uriFragment.length()) {
             return false;
@@ -77,42 +88,92 @@ public abstract class Node<DataType, InboundMsgType> {
         String subUriFragment = nextURIFragment(uriFragment, matchLength);
         String subPath = nextSubPath(subUriFragment);
 
-        boolean isFound;
         for (Node<DataType, InboundMsgType> childNode : childNodesList) {
-            if (childNode instanceof Literal) {
-                String regex = childNode.getToken();
-                if (regex.equals("*")) {
-                    regex = "." + regex;
-                    if (!subPath.matches(regex)) {
-                        continue;
-                    }
-                    isFound = childNode.matchAll(subUriFragment, variables, start + matchLength, inboundMsg,
-                                                 dataReturnAgent);
-                    if (isFound) {
-                        setUriPostFix(variables, subUriFragment);
-                        return true;
-                    }
-                    continue;
-                }
-                if (!subPath.contains(regex)) {
-                    continue;
-                }
-                isFound = childNode.matchAll(subUriFragment, variables, start + matchLength, inboundMsg,
-                                             dataReturnAgent);
-                if (isFound) {
-                    return true;
-                }
+            if (!childNode.isCandidate(subPath)) {
                 continue;
             }
-            isFound = childNode.matchAll(subUriFragment, variables, start + matchLength, inboundMsg,
-                                         dataReturnAgent);
-            if (isFound) {
+            if (childNode.matchAll(subUriFragment, variables, start + matchLength, inboundMsg, dataReturnAgent)) {
+                if (childNode.isWildcard()) {
+                    setUriPostFix(variables, subUriFragment);
+                }
+                dataReturnAgent.addMatchedNode(this);
                 return true;
             }
         }
         return false;
     }
 
+    /**
+     * Matches the uri along a branch of nodes, from the root to the node of the data, which an earlier traversal
+     * matched. Unlike {@link #matchAll}, no other branch is tried if a node of the branch does not match.
+     *
+     * @param branch          the nodes of the branch
+     * @param uri             the uri to match
+     * @param variables       the variables extracted from the uri
+     * @param inboundMsg      the inbound message
+     * @param dataReturnAgent the agent to return the data with
+     * @param <DataType>      type of data which is stored in the nodes
+     * @param <InboundMsgType> inbound message type for additional checks
+     * @return true if the uri matches the branch and the data element at its end returned the data
+     */
+    public static <DataType, InboundMsgType> boolean matchBranch(List<Node<DataType, InboundMsgType>> branch,
+                                                                 String uri, HttpResourceArguments variables,
+                                                                 InboundMsgType inboundMsg,
+                                                                 DataReturnAgent<DataType> dataReturnAgent) {
+        String uriFragment = uri;
+        int lastIndex = branch.size() - 1;
+        for (int i = 0; i <= lastIndex; i++) {
+            Node<DataType, InboundMsgType> node = branch.get(i);
+            int matchLength = node.match(uriFragment, variables);
+            if (matchLength < 0) {
+                return false;
+            }
+            if (matchLength == uriFragment.length()) {
+                return i == lastIndex && node.dataElement.getData(inboundMsg, dataReturnAgent);
+            }
+            if (i == lastIndex || matchLength > uriFragment.length()) {
+                return false;
+            }
+            uriFragment = nextURIFragment(uriFragment, matchLength);
+            Node<DataType, InboundMsgType> childNode = branch.get(i + 1);
+            if (!childNode.isCandidate(nextSubPath(uriFragment))) {
+                return false;
+            }
+            if (childNode.isWildcard()) {
+                node.setUriPostFix(variables, uriFragment);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds the tokens of the literals of this node and its descendants to the given set.
+     *
+     * @param tokens the set of tokens
+     */
+    public void addLiteralTokens(Set<String> tokens) {
+        if (this instanceof Literal) {
+            tokens.add(token);
+        }
+        for (Node<DataType, InboundMsgType> childNode : childNodesList) {
+            childNode.addLiteralTokens(tokens);
+        }
+    }
+
+    private boolean isCandidate(String subPath) {
+        if (!(this instanceof Literal)) {
+            return true;
+        }
+        if (isWildcard()) {
+            return subPath.matches(".*");
+        }
+        return subPath.contains(token);
+    }
+
+    private boolean isWildcard() {
+        return this instanceof Literal && token.equals("*");
+    }
+
     private boolean hasDataElement(DataElement<DataType, InboundMsgType> dataElement) {
         return dataElement != null && dataElement.hasData();
     }
@@ -177,7 +238,7 @@ public abstract class Node<DataType, InboundMsgType> {
         }
     }
 
-    private String nextURIFragment(String uri, int matchLength) {
+    private static String nextURIFragment(String uri, int matchLength) {
         String uriFragment = uri;
         if (uriFragment.startsWith("/")) {
             uriFragment = uriFragment.substring(matchLength);
@@ -193,7 +254,7 @@ public abstract class Node<DataType, InboundMsgType> {
         return uriFragment;
     }
 
-    private String nextSubPath(String uriFragment) {
+    private static String nextSubPath(String uriFragment) {
         String subPath;
         if (uriFragment.contains("/")) {
             subPath = uriFragment.substring(0, uriFragment.indexOf("/"));
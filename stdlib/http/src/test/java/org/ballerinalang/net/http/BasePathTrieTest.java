@@ -0,0 +1,64 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*  http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.net.http;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+
+/**
+ * Tests the base path lookup of {@link BasePathTrie}.
+ */
+public class BasePathTrieTest {
+
+    @Test
+    public void testLongestBasePathMatch() {
+        BasePathTrie trie = new BasePathTrie(Arrays.asList("/shop/orders/items", "/shop/orders", "/shop"));
+        Assert.assertEquals(trie.find("/shop/orders/items/1"), "/shop/orders/items");
+        Assert.assertEquals(trie.find("/shop/orders/1"), "/shop/orders");
+        Assert.assertEquals(trie.find("/shop/1/orders"), "/shop");
+        Assert.assertEquals(trie.find("/shop/orders"), "/shop/orders");
+        Assert.assertEquals(trie.find("/shop/"), "/shop");
+        // a base path only matches whole segments
+        Assert.assertNull(trie.find("/shopping"));
+        Assert.assertNull(trie.find("/sh"));
+        Assert.assertNull(trie.find("/"));
+    }
+
+    @Test
+    public void testBasePathCase() {
+        BasePathTrie trie = new BasePathTrie(Arrays.asList("/Catalog", "/shop", "/Shop"));
+        // base paths which differ only in case match their exact case
+        Assert.assertEquals(trie.find("/shop"), "/shop");
+        Assert.assertEquals(trie.find("/Shop"), "/Shop");
+        Assert.assertEquals(trie.find("/Shop/1"), "/Shop");
+        // a path equal to a base path ignoring case matches it, a longer path does not
+        Assert.assertEquals(trie.find("/CATALOG"), "/Catalog");
+        Assert.assertNull(trie.find("/catalog/books"));
+    }
+
+    @Test
+    public void testDefaultBasePath() {
+        BasePathTrie trie = new BasePathTrie(Arrays.asList("/shop", "/"));
+        Assert.assertEquals(trie.find("/"), "/");
+        Assert.assertEquals(trie.find("/unknown/path"), "/");
+        Assert.assertEquals(trie.find("/shopping"), "/");
+        Assert.assertEquals(trie.find("/shop/1"), "/shop");
+    }
+}
@@ -0,0 +1,137 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*  http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.net.uri;
+
+import org.ballerinalang.net.http.HttpResourceArguments;
+import org.ballerinalang.net.uri.parser.DataElement;
+import org.ballerinalang.net.uri.parser.DataReturnAgent;
+import org.ballerinalang.net.uri.parser.Literal;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests the matching of {@link URITemplate}, for uris repeated with the same shape in particular.
+ */
+public class URITemplateTest {
+
+    private URITemplate<String, String> uriTemplate;
+
+    @BeforeMethod
+    public void setup() throws URITemplateException {
+        uriTemplate = new URITemplate<>(new Literal<>(new TestDataElement(), "/"));
+    }
+
+    @Test
+    public void testPathParamsOfTheSameShape() throws URITemplateException, UnsupportedEncodingException {
+        parse("/items/{id}", "item", "GET");
+        parse("/items/{id}/reviews", "reviews", "GET");
+        parse("/files/{id}.json", "fileJson", "GET");
+
+        for (int i = 0; i < 3; i++) {
+            assertMatch("/items/1", "GET", "item", "1");
+            assertMatch("/items/2", "GET", "item", "2");
+            assertMatch("/items/1/reviews", "GET", "reviews", "1");
+            assertMatch("/files/3.json", "GET", "fileJson", "3");
+        }
+    }
+
+    @Test
+    public void testDecliningDataElementAfterRepeatedMatch() throws URITemplateException,
+            UnsupportedEncodingException {
+        parse("/items/{id}", "item", "GET");
+        parse("/items/{id}", "updateItem", "POST application/json");
+        parse("/items/*", "anyItem", "POST");
+
+        assertMatch("/items/1", "POST application/json", "updateItem", "1");
+        assertMatch("/items/2", "POST application/json", "updateItem", "2");
+        // the data element of the remembered match declines, the wildcard takes the request
+        Assert.assertEquals(match("/items/3", "POST text/plain", new HttpResourceArguments()), "anyItem");
+        assertMatch("/items/4", "GET", "item", "4");
+        Assert.assertNull(match("/items/5", "DELETE", new HttpResourceArguments()));
+        assertMatch("/items/6", "POST application/json", "updateItem", "6");
+    }
+
+    @Test
+    public void testParseClearsRememberedMatches() throws URITemplateException, UnsupportedEncodingException {
+        parse("/items/*", "anyItem", "GET");
+        assertMatch("/items/7", "GET", "anyItem", null);
+        assertMatch("/items/7", "GET", "anyItem", null);
+
+        // the uri keeps its shape, but the new template is more specific
+        parse("/items/{id}", "item", "GET");
+        assertMatch("/items/7", "GET", "item", "7");
+        assertMatch("/items/latest", "GET", "item", "latest");
+
+        // the segment becomes a literal of the templates
+        parse("/items/latest", "latestItem", "GET");
+        assertMatch("/items/latest", "GET", "latestItem", null);
+        assertMatch("/items/7", "GET", "item", "7");
+    }
+
+    private void parse(String template, String name, String accepted) throws URITemplateException,
+            UnsupportedEncodingException {
+        uriTemplate.parse(template, name + " " + accepted, TestDataElement::new);
+    }
+
+    private String match(String uri, String request, HttpResourceArguments variables) {
+        String resource = uriTemplate.matches(uri, variables, request);
+        return resource == null ? null : resource.substring(0, resource.indexOf(' '));
+    }
+
+    private void assertMatch(String uri, String request, String expectedResource, String expectedId) {
+        HttpResourceArguments variables = new HttpResourceArguments();
+        Assert.assertEquals(match(uri, request, variables), expectedResource, uri);
+        Assert.assertEquals(variables.getMap().get("id"), expectedId, uri);
+    }
+
+    /**
+     * Holds resources as "name method [content-type]" and returns the one which accepts a request given as
+     * "method [content-type]", or declines the request.
+     */
+    private static class TestDataElement implements DataElement<String, String> {
+
+        private final List<String> resources = new ArrayList<>();
+
+        @Override
+        public void setData(String resource) {
+            resources.add(resource);
+        }
+
+        @Override
+        public boolean hasData() {
+            return !resources.isEmpty();
+        }
+
+        @Override
+        public boolean getData(String request, DataReturnAgent<String> dataReturnAgent) {
+            for (String resource : resources) {
+                String accepted = resource.substring(resource.indexOf(' ') + 1);
+                if (request.equals(accepted) || request.startsWith(accepted + ' ')) {
+                    dataReturnAgent.setData(resource);
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*  http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.net.uri;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.net.URI;
+
+/**
+ * Tests the splitting of request targets without {@link URI}.
+ */
+public class URIUtilTest {
+
+    @Test
+    public void testPlainRequestTargets() {
+        String[] targets = {"/", "/shop/orders/1", "/shop?id=1&name=a+b", "/a:b/@c/$d,e;f=g", "/shop?", "/shop??x",
+                "/shop?list=[1,2]&q=/a?b", "/café/क", "/-_.!~*'()"};
+        for (String target : targets) {
+            Assert.assertTrue(URIUtil.isPlainRequestTarget(target), target);
+            // the parts are the ones the URI would give
+            URI uri = URI.create(target);
+            int queryStart = target.indexOf('?');
+            Assert.assertEquals(queryStart < 0 ? target : target.substring(0, queryStart), uri.getRawPath(), target);
+            String rawQuery = queryStart < 0 ? null : target.substring(queryStart + 1);
+            Assert.assertEquals(rawQuery, uri.getRawQuery(), target);
+            Assert.assertEquals(rawQuery, uri.getQuery(), target);
+        }
+    }
+
+    @Test
+    public void testTargetsLeftForURI() {
+        // escapes, fragments, characters the URI rejects and targets the URI reads as an authority
+        String[] targets = {"/caf%C3%A9", "/shop?name=a%20b", "/shop#top", "/a b", "/a\"b", "/{id}", "/a|b", "/a\\b",
+                "/[1]", "/a^b", "/a`b", "/a<b>", "/a b", "/a\u0085b", "/a\tb", "shop", "//host/shop"};
+        for (String target : targets) {
+            Assert.assertFalse(URIUtil.isPlainRequestTarget(target), target);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*  http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.stdlib.services.dispatching;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import org.ballerinalang.jvm.JSONParser;
+import org.ballerinalang.jvm.api.BStringUtils;
+import org.ballerinalang.jvm.api.values.BString;
+import org.ballerinalang.jvm.values.MapValueImpl;
+import org.ballerinalang.stdlib.utils.HTTPTestRequest;
+import org.ballerinalang.stdlib.utils.MessageUtils;
+import org.ballerinalang.stdlib.utils.Services;
+import org.ballerinalang.test.util.BCompileUtil;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.transport.http.netty.message.HttpCarbonMessage;
+import org.wso2.transport.http.netty.message.HttpMessageDataStreamer;
+
+/**
+ * Test class for the base path lookup of the services and the repeated dispatching of resources.
+ */
+@SuppressWarnings("unchecked")
+public class BasePathDispatchingTest {
+
+    private static final int TEST_EP_PORT = 9090;
+
+    @BeforeClass()
+    public void setup() {
+        BCompileUtil.compile("test-src/services/dispatching/base-path-and-match-cache.bal");
+    }
+
+    @Test(description = "Test dispatching to the longest base path that prefixes the request path")
+    public void testLongestBasePathMatch() {
+        assertDispatched(invoke("/shop/orders/7", "GET"), "orders", "order", "7");
+        assertDispatched(invoke("/shop/7", "GET"), "shop", "item", "7");
+    }
+
+    @Test(description = "Test base paths which differ only in case and a request path equal to a base path")
+    public void testBasePathCase() {
+        // the base path with the exact case wins
+        assertDispatched(invoke("/shop", "GET"), "shop", "root", null);
+        assertDispatched(invoke("/Shop", "GET"), "Shop", "root", null);
+        // a request path equal to a base path ignoring case still matches it
+        assertDispatched(invoke("/catalog", "GET"), "Catalog", "root", null);
+        // prefixes are matched with case
+        assertDispatched(invoke("/catalog/books", "GET"), "default", "fallback", null);
+    }
+
+    @Test(description = "Test dispatching to the service of the default base path")
+    public void testDefaultBasePath() {
+        assertDispatched(invoke("/", "GET"), "default", "fallback", null);
+        assertDispatched(invoke("/unknown/path", "GET"), "default", "fallback", null);
+        assertDispatched(invoke("/shopping", "POST"), "default", "fallback", null);
+    }
+
+    @Test(description = "Test repeated requests with path params of the same shape")
+    public void testRepeatedPathParams() {
+        for (int i = 0; i < 3; i++) {
+            assertDispatched(invoke("/shop/1", "GET"), "shop", "item", "1");
+            assertDispatched(invoke("/shop/2", "GET"), "shop", "item", "2");
+            assertDispatched(invoke("/shop/1/reviews", "GET"), "shop", "reviews", "1");
+            assertDispatched(invoke("/shop/orders/1", "GET"), "orders", "order", "1");
+        }
+    }
+
+    @Test(description = "Test method and consumes checks of a resource resolved before")
+    public void testChecksAfterRepeatedRequest() {
+        assertDispatched(invoke("/shop/3", "GET"), "shop", "item", "3");
+        assertDispatched(invoke("/shop/3", "GET"), "shop", "item", "3");
+
+        HTTPTestRequest cMsg = MessageUtils.generateHTTPMessage("/shop/3", "POST", "{}");
+        cMsg.setHeader(HttpHeaderNames.CONTENT_TYPE.toString(), "application/json");
+        assertDispatched(Services.invoke(TEST_EP_PORT, cMsg), "shop", "updateItem", "3");
+
+        cMsg = MessageUtils.generateHTTPMessage("/shop/3", "POST", "hello");
+        cMsg.setHeader(HttpHeaderNames.CONTENT_TYPE.toString(), "text/plain");
+        HttpCarbonMessage response = Services.invoke(TEST_EP_PORT, cMsg);
+        Assert.assertNotNull(response, "Response message not found");
+        Assert.assertEquals((int) response.getHttpStatusCode(), 415, "Response code mismatch");
+
+        response = invoke("/shop/3", "DELETE");
+        Assert.assertNotNull(response, "Response message not found");
+        Assert.assertEquals((int) response.getHttpStatusCode(), 405, "Response code mismatch");
+
+        assertDispatched(invoke("/shop/3", "GET"), "shop", "item", "3");
+    }
+
+    private static HttpCarbonMessage invoke(String path, String method) {
+        HTTPTestRequest cMsg = MessageUtils.generateHTTPMessage(path, method);
+        return Services.invoke(TEST_EP_PORT, cMsg);
+    }
+
+    private static void assertDispatched(HttpCarbonMessage response, String service, String resource, String id) {
+        Assert.assertNotNull(response, "Response message not found");
+        MapValueImpl<BString, Object> bJson = (MapValueImpl<BString, Object>) JSONParser.parse(
+                new HttpMessageDataStreamer(response).getInputStream());
+        Assert.assertEquals(bJson.get(BStringUtils.fromString("service")).toString(), service,
+                            "Dispatched to wrong service");
+        Assert.assertEquals(bJson.get(BStringUtils.fromString("resource")).toString(), resource,
+                            "Dispatched to wrong resource");
+        if (id != null) {
+            Assert.assertEquals(bJson.get(BStringUtils.fromString("id")).toString(), id, "Wrong path param");
+        }
+    }
+}
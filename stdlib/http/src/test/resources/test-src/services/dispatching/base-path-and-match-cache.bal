@@ -0,0 +1,97 @@
+import ballerina/http;
+
+listener http:MockListener testEP = new(9090);
+
+@http:ServiceConfig {
+    basePath:"/shop"
+}
+service shop on testEP {
+
+    @http:ResourceConfig {
+        methods:["GET"],
+        path:"/"
+    }
+    resource function root(http:Caller caller, http:Request req) {
+        checkpanic caller->respond({"service":"shop", "resource":"root"});
+    }
+
+    @http:ResourceConfig {
+        methods:["GET"],
+        path:"/{id}"
+    }
+    resource function item(http:Caller caller, http:Request req, string id) {
+        checkpanic caller->respond({"service":"shop", "resource":"item", "id":id});
+    }
+
+    @http:ResourceConfig {
+        methods:["POST"],
+        path:"/{id}",
+        consumes:["application/json"]
+    }
+    resource function updateItem(http:Caller caller, http:Request req, string id) {
+        checkpanic caller->respond({"service":"shop", "resource":"updateItem", "id":id});
+    }
+
+    @http:ResourceConfig {
+        methods:["GET"],
+        path:"/{id}/reviews"
+    }
+    resource function reviews(http:Caller caller, http:Request req, string id) {
+        checkpanic caller->respond({"service":"shop", "resource":"reviews", "id":id});
+    }
+}
+
+@http:ServiceConfig {
+    basePath:"/shop/orders"
+}
+service orders on testEP {
+
+    @http:ResourceConfig {
+        methods:["GET"],
+        path:"/{id}"
+    }
+    resource function order(http:Caller caller, http:Request req, string id) {
+        checkpanic caller->respond({"service":"orders", "resource":"order", "id":id});
+    }
+}
+
+@http:ServiceConfig {
+    basePath:"/Shop"
+}
+service upperCaseShop on testEP {
+
+    @http:ResourceConfig {
+        methods:["GET"],
+        path:"/"
+    }
+    resource function root(http:Caller caller, http:Request req) {
+        checkpanic caller->respond({"service":"Shop", "resource":"root"});
+    }
+}
+
+@http:ServiceConfig {
+    basePath:"/Catalog"
+}
+service catalog on testEP {
+
+    @http:ResourceConfig {
+        methods:["GET"],
+        path:"/"
+    }
+    resource function root(http:Caller caller, http:Request req) {
+        checkpanic caller->respond({"service":"Catalog", "resource":"root"});
+    }
+}
+
+@http:ServiceConfig {
+    basePath:"/"
+}
+service defaultService on testEP {
+
+    @http:ResourceConfig {
+        path:"/*"
+    }
+    resource function fallback(http:Caller caller, http:Request req) {
+        checkpanic caller->respond({"service":"default", "resource":"fallback"});
+    }
+}
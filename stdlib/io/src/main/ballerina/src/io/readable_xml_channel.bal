@@ -0,0 +1,85 @@
+// Copyright (c) 2020 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/java;
+
+# Represents a channel, which reads the children of the root element of an XML document one at a time. A child is
+# read only when it is requested, so a document of any size can be read without holding all of it in memory.
+public class ReadableXmlChannel {
+
+    private ReadableCharacterChannel charChannel;
+
+    # Constructs a `ReadableXmlChannel` from a given `ReadableCharacterChannel`.
+    #
+    # + charChannel - The `ReadableCharacterChannel`, from which the XML document is read
+    # + skippedElements - Names of the child elements to skip without reading them. A name is given in the
+    #                     `{namespace-uri}local-name` form, or as the local name for an element in no namespace
+    public function init(ReadableCharacterChannel charChannel, string[] skippedElements = []) {
+        self.charChannel = charChannel;
+        initReadableXmlChannel(self, charChannel, skippedElements);
+    }
+
+# Checks whether there's a child left to be read.
+# ```ballerina
+# boolean hasNext = readableXmlChannel.hasNext();
+# ```
+#
+# + return - True if there's a child left to be read
+    public function hasNext() returns boolean {
+        return hasNextXmlExtern(self);
+    }
+
+# Reads the next child of the root element.
+# ```ballerina
+# xml|io:Error child = readableXmlChannel.getNext();
+# ```
+#
+# + return - The child, an `EofError` once the root element ends or else an `io:Error`
+    public function getNext() returns @tainted xml|Error {
+        return getNextXmlExtern(self);
+    }
+
+# Closes a given XML channel.
+# ```ballerina
+# io:Error? err = readableXmlChannel.close();
+# ```
+#
+# + return - An `io:Error` if the XML channel could not be closed properly
+    public function close() returns Error? {
+        return closeReadableXmlChannelExtern(self);
+    }
+}
+
+function initReadableXmlChannel(ReadableXmlChannel xmlChannel, ReadableCharacterChannel charChannel,
+                                string[] skippedElements) = @java:Method {
+    name: "initXmlChannel",
+    'class: "org.ballerinalang.stdlib.io.nativeimpl.XmlChannelUtils"
+} external;
+
+function hasNextXmlExtern(ReadableXmlChannel xmlChannel) returns boolean = @java:Method {
+    name: "hasNext",
+    'class: "org.ballerinalang.stdlib.io.nativeimpl.XmlChannelUtils"
+} external;
+
+function getNextXmlExtern(ReadableXmlChannel xmlChannel) returns @tainted xml|Error = @java:Method {
+    name: "getNext",
+    'class: "org.ballerinalang.stdlib.io.nativeimpl.XmlChannelUtils"
+} external;
+
+function closeReadableXmlChannelExtern(ReadableXmlChannel xmlChannel) returns Error? = @java:Method {
+    name: "close",
+    'class: "org.ballerinalang.stdlib.io.nativeimpl.XmlChannelUtils"
+} external;
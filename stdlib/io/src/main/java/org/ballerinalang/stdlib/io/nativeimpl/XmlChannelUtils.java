@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2020 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.stdlib.io.nativeimpl;
+
+import org.ballerinalang.jvm.XMLFactory;
+import org.ballerinalang.jvm.XMLStreamIterator;
+import org.ballerinalang.jvm.api.values.BError;
+import org.ballerinalang.jvm.api.values.BObject;
+import org.ballerinalang.jvm.values.ArrayValue;
+import org.ballerinalang.stdlib.io.channels.base.CharacterChannel;
+import org.ballerinalang.stdlib.io.readers.CharacterChannelReader;
+import org.ballerinalang.stdlib.io.utils.IOConstants;
+import org.ballerinalang.stdlib.io.utils.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.ballerinalang.stdlib.io.utils.IOConstants.XML_CHANNEL_NAME;
+
+/**
+ * This class hold Java inter-ops bridging functions for io# *ReadableXmlChannel.
+ *
+ * @since 2.0.0
+ */
+public class XmlChannelUtils {
+
+    private static final Logger log = LoggerFactory.getLogger(XmlChannelUtils.class);
+
+    private XmlChannelUtils() {
+    }
+
+    public static void initXmlChannel(BObject xmlChannel, BObject characterChannelInfo, ArrayValue skippedElements) {
+        CharacterChannel characterChannel = (CharacterChannel) characterChannelInfo
+                .getNativeData(IOConstants.CHARACTER_CHANNEL_NAME);
+        Set<String> skippedElementNames = new HashSet<>(Arrays.asList(skippedElements.getStringArray()));
+        try {
+            XMLStreamIterator children = XMLFactory.parseChildren(new CharacterChannelReader(characterChannel),
+                                                                  skippedElementNames);
+            xmlChannel.addNativeData(XML_CHANNEL_NAME, children);
+        } catch (BError e) {
+            String message = "error occurred while converting character channel to xml channel: " + e.getMessage();
+            log.error(message, e);
+            throw IOUtils.createError(message);
+        }
+    }
+
+    public static boolean hasNext(BObject channel) {
+        XMLStreamIterator children = (XMLStreamIterator) channel.getNativeData(XML_CHANNEL_NAME);
+        if (children == null) {
+            return false;
+        }
+        try {
+            return children.hasNext();
+        } catch (BError e) {
+            String msg = "error occurred while checking hasNext on ReadableXmlChannel: " + e.getMessage();
+            log.error(msg, e);
+            throw IOUtils.createError(msg);
+        }
+    }
+
+    public static Object getNext(BObject channel) {
+        XMLStreamIterator children = (XMLStreamIterator) channel.getNativeData(XML_CHANNEL_NAME);
+        try {
+            if (!children.hasNext()) {
+                return IOUtils.createEoFError();
+            }
+            return children.next();
+        } catch (BError e) {
+            log.error("error occurred while reading next xml item from ReadableXmlChannel", e);
+            return IOUtils.createError(e);
+        }
+    }
+
+    public static Object close(BObject channel) {
+        XMLStreamIterator children = (XMLStreamIterator) channel.getNativeData(XML_CHANNEL_NAME);
+        children.close();
+        return null;
+    }
+}
@@ -41,6 +41,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.stream.Stream;
 
 import javax.xml.stream.XMLStreamException;
@@ -385,6 +386,26 @@ public class IOTest {
         BRunUtil.invoke(characterInputOutputProgramFile, "closeReadableChannel");
     }
 
+    @Test(description = "Test 'ReadableXmlChannel' in ballerina/io package")
+    public void testReadXmlChildren() throws URISyntaxException {
+        String resourceToRead = "datafiles/io/text/feed.xml";
+
+        BValue[] args = { new BString(getAbsoluteFilePath(resourceToRead)), new BString("UTF-8") };
+        BRunUtil.invoke(characterInputOutputProgramFile, "initReadableChannel", args);
+        BValue[] returns = BRunUtil.invoke(characterInputOutputProgramFile, "readXmlElementNames",
+                                           new BValue[] { new BValueArray(new String[0]) });
+        Assert.assertEquals(toStringArray(returns[0]), new String[] {
+                "{http://www.w3.org/2005/Atom}title", "{http://www.w3.org/2005/Atom}entry",
+                "{http://example.com}entry", "{http://www.w3.org/2005/Atom}entry" });
+
+        // skipped by the qualified name, so an element with the same local name in another namespace is kept
+        BRunUtil.invoke(characterInputOutputProgramFile, "initReadableChannel", args);
+        returns = BRunUtil.invoke(characterInputOutputProgramFile, "readXmlElementNames", new BValue[] {
+                new BValueArray(new String[] { "{http://www.w3.org/2005/Atom}entry", "title" }) });
+        Assert.assertEquals(toStringArray(returns[0]), new String[] {
+                "{http://www.w3.org/2005/Atom}title", "{http://example.com}entry" });
+    }
+
     @Test(description = "Test function to convert string to json")
     public void convertStringToJsonTest() throws URISyntaxException {
         String content = "{\n" + "  \"test\": { \"name\": \"Foo\" }\n" + "}";
@@ -470,6 +491,11 @@ public class IOTest {
         BRunUtil.invoke(characterInputOutputProgramFile, "closeWritableChannel");
     }
 
+    private String[] toStringArray(BValue value) {
+        BValueArray array = (BValueArray) value;
+        return Arrays.copyOf(array.getStringArray(), (int) array.size());
+    }
+
     private String readFileContent(String filePath) throws URISyntaxException {
         Path path = Paths.get(getAbsoluteFilePath(filePath));
         StringBuilder data = new StringBuilder();
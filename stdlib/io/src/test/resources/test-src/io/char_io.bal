@@ -15,6 +15,7 @@
 // under the License.
 
 import ballerina/io;
+import ballerina/lang.'xml;
 
 io:ReadableCharacterChannel? rch = ();
 io:WritableCharacterChannel? wch = ();
@@ -130,6 +131,28 @@ function readXml() returns @tainted xml|error {
     return e;
 }
 
+function readXmlElementNames(string[] skippedElements) returns @tainted string[]|error {
+    var rCha = rch;
+    if (rCha is io:ReadableCharacterChannel) {
+        io:ReadableXmlChannel xmlChannel = new io:ReadableXmlChannel(rCha, skippedElements);
+        string[] names = [];
+        while (xmlChannel.hasNext()) {
+            xml child = check xmlChannel.getNext();
+            if (child is 'xml:Element) {
+                names.push(child.getName());
+            }
+        }
+        var result = xmlChannel.getNext();
+        if (!(result is io:EofError)) {
+            return error("expected an EofError");
+        }
+        check xmlChannel.close();
+        return names;
+    }
+    io:GenericError e = io:GenericError("Character channel not initialized properly");
+    return e;
+}
+
 function readAvailableProperty(string key) returns @tainted string?|error {
     var rCha = rch;
     if(rCha is io:ReadableCharacterChannel) {
@@ -16,6 +16,7 @@
  */
 package org.ballerinalang.test.util;
 
+import org.ballerinalang.compiler.CompilerOptionName;
 import org.ballerinalang.compiler.CompilerPhase;
 import org.ballerinalang.jvm.scheduling.Scheduler;
 import org.ballerinalang.jvm.scheduling.Strand;
@@ -56,6 +57,7 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.StringJoiner;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -96,6 +98,30 @@ public class BCompileUtil {
         return compile(sourceFilePath, CompilerPhase.BIR_GEN);
     }
 
+    /**
+     * Compile with the given compiler options and return the semantic errors.
+     *
+     * @param sourceFilePath  Path to source module/file
+     * @param compilerOptions Compiler options to compile with, in addition to the ones of the tests
+     * @return Semantic errors
+     */
+    public static CompileResult compileAndGetBIR(String sourceFilePath,
+                                                 Map<CompilerOptionName, String> compilerOptions) {
+        Path sourcePath = Paths.get(sourceFilePath);
+        String packageName = sourcePath.getFileName().toString();
+        Path sourceRoot = resourceDir.resolve(sourcePath.getParent());
+
+        CompilerContext context = new CompilerContext();
+        CompilerOptions options = CompilerOptions.getInstance(context);
+        options.put(PROJECT_DIR, sourceRoot.toString());
+        options.put(COMPILER_PHASE, CompilerPhase.BIR_GEN.toString());
+        options.put(PRESERVE_WHITESPACE, "false");
+        options.put(EXPERIMENTAL_FEATURES_ENABLED, Boolean.TRUE.toString());
+        options.put(OFFLINE, "true");
+        compilerOptions.forEach(options::put);
+        return compile(context, packageName, CompilerPhase.BIR_GEN, false);
+    }
+
     /**
      * Compile and return the semantic errors.
      *
@@ -106,6 +132,20 @@ public class BCompileUtil {
         return compileOnJBallerina(sourceFilePath, false, true);
     }
 
+    /**
+     * Compile with the given compiler options and return the semantic errors.
+     *
+     * @param sourceFilePath  Path to source module/file
+     * @param compilerOptions Compiler options to compile with, in addition to the ones of the tests
+     * @return Semantic errors
+     */
+    public static CompileResult compile(String sourceFilePath, Map<CompilerOptionName, String> compilerOptions) {
+        CompilerContext context = new CompilerContext();
+        CompilerOptions options = CompilerOptions.getInstance(context);
+        compilerOptions.forEach(options::put);
+        return compileOnJBallerina(context, sourceFilePath, false, true);
+    }
+
     /**
      * Compile and return the semantic errors.
      *
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.ballerinalang.test.bir;
+
+import org.ballerinalang.compiler.CompilerOptionName;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.test.util.BCompileUtil;
+import org.ballerinalang.test.util.BRunUtil;
+import org.ballerinalang.test.util.CompileResult;
+import org.ballerinalang.util.exceptions.BLangRuntimeException;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRBasicBlock;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRErrorEntry;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRFunction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRPackage;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
+import org.wso2.ballerinalang.compiler.tree.BLangPackage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Tests the inlining of calls to small functions with the inline budget enabled, both in the BIR and at runtime.
+ */
+public class FunctionInliningTest {
+
+    private static final String SOURCE_FILE = "test-src/bir/inlining.bal";
+    private static final int INLINE_BUDGET = 15;
+
+    private CompileResult result;
+    private CompileResult inlinedResult;
+    private BIRPackage inlinedBir;
+    private List<String> report;
+
+    @BeforeClass
+    public void setup() throws UnsupportedEncodingException {
+        result = BCompileUtil.compile(SOURCE_FILE);
+        inlinedResult = BCompileUtil.compile(SOURCE_FILE, getInlineOptions(false));
+        Assert.assertEquals(inlinedResult.getErrorCount(), 0);
+
+        PrintStream out = System.out;
+        ByteArrayOutputStream dump = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(dump, true, StandardCharsets.UTF_8.name()));
+        CompileResult birResult;
+        try {
+            birResult = BCompileUtil.compileAndGetBIR(SOURCE_FILE, getInlineOptions(true));
+        } finally {
+            System.setOut(out);
+        }
+        Assert.assertEquals(birResult.getErrorCount(), 0);
+        inlinedBir = ((BLangPackage) birResult.getAST()).symbol.bir;
+        report = getReport(new String(dump.toByteArray(), StandardCharsets.UTF_8), inlinedBir);
+    }
+
+    @Test(description = "Test that arguments and return values are mapped to the variables of the caller")
+    public void testArgumentsAndReturns() {
+        Assert.assertTrue(getCallees(getFunction("argumentsAndReturns")).isEmpty());
+        Assert.assertTrue(getCallees(getFunction("divideInlined")).isEmpty());
+        assertResults("argumentsAndReturns", 15);
+        assertResults("divideInlined", 5, new BInteger(17), new BInteger(3));
+        assertResults("divideInlined", -5, new BInteger(-17), new BInteger(3));
+    }
+
+    @Test(expectedExceptions = BLangRuntimeException.class,
+            expectedExceptionsMessageRegExp = "error: \\{ballerina\\}DivisionByZero \\{\"message\":\" / " +
+                    "by zero\"\\}.*")
+    public void testPanicWithinInlinedCall() {
+        BRunUtil.invoke(inlinedResult, "divideInlined", new BValue[]{new BInteger(1), new BInteger(0)});
+    }
+
+    @Test(description = "Test that calls within a trap are kept, and the ones around it are inlined")
+    public void testTrapAndInlinedCalls() {
+        BIRFunction func = getFunction("trapAndInlinedCalls");
+        Assert.assertEquals(getCallees(func), Arrays.asList("divide"));
+        Assert.assertEquals(func.errorTable.size(), 1);
+        Assert.assertTrue(getTrappedCallees(func, func.errorTable.get(0)).contains("divide"));
+
+        assertResults("trapAndInlinedCalls", 17, new BInteger(3));
+        assertResults("trapAndInlinedCalls", -7, new BInteger(0));
+    }
+
+    @Test(description = "Test that recursive calls are not inlined")
+    public void testRecursiveCalls() {
+        Assert.assertEquals(getCallees(getFunction("factorial")), Arrays.asList("factorial"));
+        Assert.assertEquals(getCallees(getFunction("isEven")), Arrays.asList("isOdd"));
+        Assert.assertEquals(getCallees(getFunction("isOdd")), Arrays.asList("isEven"));
+        Assert.assertEquals(getCallees(getFunction("recursiveCalls")), Arrays.asList("factorial", "isEven", "isOdd"));
+        assertResults("recursiveCalls", 131);
+    }
+
+    @Test(description = "Test that functions larger than the inline budget are not inlined")
+    public void testInlineBudget() {
+        Assert.assertEquals(getCallees(getFunction("overBudget")), Arrays.asList("polynomial"));
+        for (String line : report) {
+            Assert.assertFalse(line.startsWith("    polynomial "), line);
+        }
+        assertResults("overBudget", 120, new BInteger(2));
+    }
+
+    @Test(description = "Test the report of the inlined calls")
+    public void testDumpInliningReport() {
+        Assert.assertFalse(report.isEmpty());
+        String header = report.get(0);
+        Assert.assertEquals(header, "inlined " + (report.size() - 1) + " calls in module " + inlinedBir.org + "/" +
+                inlinedBir.name + ":" + inlinedBir.version);
+        List<String> inlinedCalls = report.subList(1, report.size()).stream()
+                .map(line -> line.substring(0, line.indexOf(" at ")))
+                .map(line -> line.replaceAll(" \\(\\d+ instructions\\)", ""))
+                .sorted()
+                .collect(Collectors.toList());
+        Assert.assertEquals(inlinedCalls, Arrays.asList(
+                "    add into argumentsAndReturns",
+                "    add into argumentsAndReturns",
+                "    add into trapAndInlinedCalls",
+                "    add into trapAndInlinedCalls",
+                "    clamp into argumentsAndReturns",
+                "    clamp into argumentsAndReturns",
+                "    divide into divideInlined"));
+        Pattern inlinedCall = Pattern.compile(" {4}\\w+ \\((\\d+) instructions\\) into \\w+ at .+");
+        for (String line : report.subList(1, report.size())) {
+            Matcher matcher = inlinedCall.matcher(line);
+            Assert.assertTrue(matcher.matches(), line);
+            Assert.assertTrue(Integer.parseInt(matcher.group(1)) <= INLINE_BUDGET, line);
+        }
+    }
+
+    private void assertResults(String function, long expected, BValue... args) {
+        BValue[] returns = BRunUtil.invoke(result, function, args);
+        BValue[] inlinedReturns = BRunUtil.invoke(inlinedResult, function, args);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), expected);
+        Assert.assertEquals(((BInteger) inlinedReturns[0]).intValue(), expected);
+    }
+
+    private Map<CompilerOptionName, String> getInlineOptions(boolean dumpInlining) {
+        Map<CompilerOptionName, String> options = new EnumMap<>(CompilerOptionName.class);
+        options.put(CompilerOptionName.INLINE_BUDGET, Integer.toString(INLINE_BUDGET));
+        options.put(CompilerOptionName.DUMP_INLINING, Boolean.toString(dumpInlining));
+        return options;
+    }
+
+    /**
+     * Returns the lines printed for the given module, as other modules may be compiled along with it.
+     */
+    private List<String> getReport(String output, BIRPackage module) {
+        String header = "calls in module " + module.org + "/" + module.name + ":" + module.version;
+        List<String> lines = new ArrayList<>();
+        for (String line : output.split("\\r?\\n")) {
+            if (line.startsWith("inlined ")) {
+                if (!lines.isEmpty()) {
+                    break;
+                }
+                if (line.endsWith(header)) {
+                    lines.add(line);
+                }
+            } else if (!lines.isEmpty() && line.startsWith("    ")) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    private BIRFunction getFunction(String name) {
+        return inlinedBir.functions.stream()
+                .filter(func -> func.name.value.equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("function not found: " + name));
+    }
+
+    private List<String> getCallees(BIRFunction func) {
+        List<String> callees = new ArrayList<>();
+        for (BIRBasicBlock bb : func.basicBlocks) {
+            if (bb.terminator.kind == InstructionKind.CALL) {
+                callees.add(((BIRTerminator.Call) bb.terminator).name.value);
+            }
+        }
+        return callees;
+    }
+
+    private List<String> getTrappedCallees(BIRFunction func, BIRErrorEntry errorEntry) {
+        List<String> callees = new ArrayList<>();
+        boolean trapped = false;
+        for (BIRBasicBlock bb : func.basicBlocks) {
+            trapped |= bb == errorEntry.trapBB;
+            if (trapped && bb.terminator.kind == InstructionKind.CALL) {
+                callees.add(((BIRTerminator.Call) bb.terminator).name.value);
+            }
+            if (bb == errorEntry.endBB) {
+                break;
+            }
+        }
+        return callees;
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.ballerinalang.test.jvm;
+
+import org.ballerinalang.model.values.BBoolean;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.model.values.BValueArray;
+import org.ballerinalang.test.util.BCompileUtil;
+import org.ballerinalang.test.util.BRunUtil;
+import org.ballerinalang.test.util.CompileResult;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the code generated for functions which can never yield, and for the functions which may yield around them.
+ * A function which may yield saves its frame in a generated frame class, which is not generated for the others.
+ */
+public class YieldAnalysisTest {
+
+    private CompileResult compileResult;
+
+    @BeforeClass
+    public void setup() {
+        compileResult = BCompileUtil.compile("test-src/jvm/yield-analysis.bal");
+        Assert.assertEquals(compileResult.getErrorCount(), 0, compileResult.toString());
+    }
+
+    @DataProvider
+    public Object[][] nonYieldingFunctions() {
+        return new Object[][]{
+                // a leaf function
+                {"sum"},
+                // a caller of a function which never yields
+                {"sumTwice"},
+                // mutual recursion without a yield
+                {"isEven"},
+                {"isOdd"}
+        };
+    }
+
+    @DataProvider
+    public Object[][] yieldingFunctions() {
+        return new Object[][]{
+                // callers of an interop function
+                {"callJava"},
+                {"callCallJava"},
+                // a call through a function pointer, and its callers
+                {"applyTwice"},
+                {"applyLeaf"},
+                {"applyYielding"},
+                // mutual recursion which reaches a yield
+                {"countDown"},
+                {"countDownOther"},
+                // workers, wait and lock
+                {"workerSum"},
+                {"lockedIncrement"}
+        };
+    }
+
+    @Test(dataProvider = "nonYieldingFunctions")
+    public void testNonYieldingFunctionHasNoFrame(String function) {
+        Assert.assertFalse(hasFrameClass(function), function + " is generated to be resumed");
+    }
+
+    @Test(dataProvider = "yieldingFunctions")
+    public void testYieldingFunctionHasFrame(String function) {
+        Assert.assertTrue(hasFrameClass(function), function + " is not generated to be resumed");
+    }
+
+    @Test
+    public void testNonYieldingFunctions() {
+        BValueArray values = new BValueArray(new long[]{1, 2, 3, 4});
+        Assert.assertEquals(invokeInt("sum", values), 10);
+        Assert.assertEquals(invokeInt("sumTwice", new BValueArray(new long[]{5, 6})), 22);
+        Assert.assertTrue(((BBoolean) BRunUtil.invoke(compileResult, "isEven",
+                                                      new BValue[]{new BInteger(10)})[0]).booleanValue());
+        Assert.assertTrue(((BBoolean) BRunUtil.invoke(compileResult, "isOdd",
+                                                      new BValue[]{new BInteger(7)})[0]).booleanValue());
+    }
+
+    @Test
+    public void testInteropCalls() {
+        Assert.assertEquals(invokeInt("callJava", new BInteger(4)), 10);
+        Assert.assertEquals(invokeInt("callCallJava", new BInteger(4)), 18);
+    }
+
+    @Test
+    public void testFunctionPointerCalls() {
+        Assert.assertEquals(invokeInt("applyLeaf"), 12);
+        Assert.assertEquals(invokeInt("applyYielding"), 5);
+    }
+
+    @Test
+    public void testMutualRecursion() {
+        Assert.assertEquals(invokeInt("countDown", new BInteger(4), new BInteger(0)), 10);
+    }
+
+    @Test
+    public void testWorkersWaitAndLock() {
+        Assert.assertEquals(invokeInt("workerSum"), 18);
+        Assert.assertEquals(invokeInt("lockedIncrement", new BInteger(5)), 5);
+    }
+
+    private long invokeInt(String function, BValue... args) {
+        BValue[] returns = BRunUtil.invoke(compileResult, function, args);
+        Assert.assertEquals(returns.length, 1);
+        return ((BInteger) returns[0]).intValue();
+    }
+
+    private boolean hasFrameClass(String function) {
+        try {
+            // the module has no name, so its classes are in the default package
+            Class.forName(function + "Frame", false, compileResult.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+}
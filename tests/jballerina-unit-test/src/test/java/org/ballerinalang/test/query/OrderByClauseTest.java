@@ -238,6 +238,33 @@ public class OrderByClauseTest {
                 "<author>Dan Brown</author><author>Enid Blyton</author>");
     }
 
+    @Test(description = "Test query expr with order by clause followed by a limit clause")
+    public void testQueryExprWithOrderByClauseAndLimitEvaluatesLimitOnce() {
+        BValue[] returnValues = BRunUtil.invoke(result, "testQueryExprWithOrderByClauseAndLimitEvaluatesLimitOnce");
+        Assert.assertNotNull(returnValues);
+
+        Assert.assertEquals(returnValues.length, 1, "Expected events are not received");
+        Assert.assertTrue(((BBoolean) returnValues[0]).booleanValue());
+    }
+
+    @Test(description = "Test query expr with order by clause with int keys that are not exact as floats")
+    public void testQueryExprWithOrderByClauseHavingLargeIntKeys() {
+        BValue[] returnValues = BRunUtil.invoke(result, "testQueryExprWithOrderByClauseHavingLargeIntKeys");
+        Assert.assertNotNull(returnValues);
+
+        Assert.assertEquals(returnValues[0].stringValue(),
+                "[9223372036854775807, 9007199254740993, 9007199254740992, -1, -9007199254740993]");
+    }
+
+    @Test(description = "Test query expr with order by clause with array keys")
+    public void testQueryExprWithOrderByClauseHavingArrayKeys() {
+        BValue[] returnValues = BRunUtil.invoke(result, "testQueryExprWithOrderByClauseHavingArrayKeys");
+        Assert.assertNotNull(returnValues);
+
+        Assert.assertEquals(returnValues.length, 1, "Expected events are not received");
+        Assert.assertTrue(((BBoolean) returnValues[0]).booleanValue());
+    }
+
     @Test(description = "Test negative scenarios for query expr with order by clause")
     public void testNegativeScenarios() {
         Assert.assertEquals(negativeResult.getErrorCount(), 3);
@@ -0,0 +1,77 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.test.query;
+
+import org.ballerinalang.model.values.BBoolean;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.test.util.BCompileUtil;
+import org.ballerinalang.test.util.BRunUtil;
+import org.ballerinalang.test.util.CompileResult;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * This contains methods to test query expressions with where clauses on indexed fields of tables.
+ *
+ * @since 2.0.0
+ */
+public class TableIndexQueryTest {
+    private CompileResult result;
+
+    @BeforeClass
+    public void setup() {
+        result = BCompileUtil.compile("test-src/query/table-index-query.bal");
+    }
+
+    @Test(description = "Test equality lookups on indexed fields")
+    public void testQueryWithIndexedEqualityLookup() {
+        BValue[] returnValues = BRunUtil.invoke(result, "testQueryWithIndexedEqualityLookup");
+        Assert.assertTrue(((BBoolean) returnValues[0]).booleanValue());
+    }
+
+    @Test(description = "Test range lookups on ordered indexes")
+    public void testQueryWithIndexedRangeLookup() {
+        BValue[] returnValues = BRunUtil.invoke(result, "testQueryWithIndexedRangeLookup");
+        Assert.assertTrue(((BBoolean) returnValues[0]).booleanValue());
+    }
+
+    @Test(description = "Test lookups with values of a type other than the type of the indexed field")
+    public void testQueryWithIndexedLookupOfOtherType() {
+        BValue[] returnValues = BRunUtil.invoke(result, "testQueryWithIndexedLookupOfOtherType");
+        Assert.assertTrue(((BBoolean) returnValues[0]).booleanValue());
+    }
+
+    @Test(description = "Test lookups after members are added, put, removed and updated")
+    public void testQueryWithIndexAfterTableUpdates() {
+        BValue[] returnValues = BRunUtil.invoke(result, "testQueryWithIndexAfterTableUpdates");
+        Assert.assertTrue(((BBoolean) returnValues[0]).booleanValue());
+    }
+
+    @Test(description = "Test where clause comparing an indexed field with a variable which is reassigned")
+    public void testQueryWithNonFinalVariable() {
+        BValue[] returnValues = BRunUtil.invoke(result, "testQueryWithNonFinalVariable");
+        Assert.assertTrue(((BBoolean) returnValues[0]).booleanValue());
+    }
+
+    @Test(description = "Test stream query on a table with an index")
+    public void testStreamQueryOnIndexedTable() {
+        BValue[] returnValues = BRunUtil.invoke(result, "testStreamQueryOnIndexedTable");
+        Assert.assertTrue(((BBoolean) returnValues[0]).booleanValue());
+    }
+}
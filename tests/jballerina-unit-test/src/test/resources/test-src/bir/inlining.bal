@@ -0,0 +1,100 @@
+// Copyright (c) 2020 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+// small enough to be inlined
+
+function add(int a, int b) returns int {
+    return a + b;
+}
+
+function clamp(int value, int max) returns int {
+    if (value > max) {
+        return max;
+    }
+    return value;
+}
+
+function divide(int a, int b) returns int {
+    return a / b;
+}
+
+// larger than the inline budget of the tests
+
+function polynomial(int x) returns int {
+    int x2 = x * x;
+    int x3 = x2 * x;
+    int x4 = x3 * x;
+    int x5 = x4 * x;
+    return x5 + 2 * x4 + 3 * x3 + 4 * x2 + 5 * x + 6;
+}
+
+// recursive
+
+function factorial(int n) returns int {
+    if (n <= 1) {
+        return 1;
+    }
+    return n * factorial(n - 1);
+}
+
+function isEven(int n) returns boolean {
+    if (n == 0) {
+        return true;
+    }
+    return isOdd(n - 1);
+}
+
+function isOdd(int n) returns boolean {
+    if (n == 0) {
+        return false;
+    }
+    return isEven(n - 1);
+}
+
+public function argumentsAndReturns() returns int {
+    int x = 3;
+    int y = add(x, 4);
+    return clamp(add(y, x), 8) + clamp(y, 100);
+}
+
+public function divideInlined(int a, int b) returns int {
+    return divide(a, b);
+}
+
+public function trapAndInlinedCalls(int b) returns int {
+    int before = add(1, 2);
+    int|error result = trap divide(before * 10, b);
+    int after = add(before, 4);
+    if (result is error) {
+        return -after;
+    }
+    return result + after;
+}
+
+public function recursiveCalls() returns int {
+    int result = factorial(5);
+    if (isEven(10)) {
+        result += 1;
+    }
+    if (isOdd(7)) {
+        result += 10;
+    }
+    return result;
+}
+
+public function overBudget(int x) returns int {
+    return polynomial(x);
+}
@@ -0,0 +1,127 @@
+// Copyright (c) 2020 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/java;
+
+int counter = 0;
+
+// never yields: only arithmetic and calls to functions which never yield
+
+function sum(int[] values) returns int {
+    int total = 0;
+    foreach int value in values {
+        total += value;
+    }
+    return total;
+}
+
+function sumTwice(int[] values) returns int {
+    return sum(values) + sum(values);
+}
+
+function isEven(int n) returns boolean {
+    if (n == 0) {
+        return true;
+    }
+    return isOdd(n - 1);
+}
+
+function isOdd(int n) returns boolean {
+    if (n == 0) {
+        return false;
+    }
+    return isEven(n - 1);
+}
+
+// yields: an interop function which completes the strand from another thread
+
+function addSlowly(int a, int b) returns int = @java:Method {
+    name:"addTwoNumbersSlowAsync",
+    'class:"org/ballerinalang/nativeimpl/jvm/tests/StaticMethods"
+} external;
+
+function addQuickly(int a, int b) returns int = @java:Method {
+    name:"addTwoNumbersFastAsync",
+    'class:"org/ballerinalang/nativeimpl/jvm/tests/StaticMethods"
+} external;
+
+function callJava(int a) returns int {
+    int sumOfTwo = addSlowly(a, 1);
+    return sumOfTwo + addQuickly(a, 1);
+}
+
+function callCallJava(int a) returns int {
+    int before = sum([a, a]);
+    int result = callJava(a);
+    // locals must survive the yield of the callee
+    return before + result;
+}
+
+// yields: calls through function pointers
+
+function applyTwice(function (int) returns int f, int a) returns int {
+    return f(f(a));
+}
+
+function applyLeaf() returns int {
+    return applyTwice(function (int x) returns int { return x * 2; }, 3);
+}
+
+function applyYielding() returns int {
+    return applyTwice(function (int x) returns int { return addSlowly(x, 1); }, 3);
+}
+
+// yields: the recursion reaches a yielding function
+
+function countDown(int n, int acc) returns int {
+    if (n == 0) {
+        return addSlowly(acc, 0);
+    }
+    return countDownOther(n - 1, acc + n);
+}
+
+function countDownOther(int n, int acc) returns int {
+    return countDown(n, acc);
+}
+
+// yields: workers, wait and lock
+
+function workerSum() returns int {
+    worker w1 returns int {
+        return sum([1, 2, 3]);
+    }
+    worker w2 returns int {
+        int received = <- w3;
+        return received * 2;
+    }
+    worker w3 {
+        int value = sumTwice([1, 2]);
+        value -> w2;
+    }
+    int first = wait w1;
+    int second = wait w2;
+    return first + second;
+}
+
+function lockedIncrement(int times) returns int {
+    foreach int i in 1 ... times {
+        lock {
+            counter += 1;
+        }
+    }
+    return counter;
+}
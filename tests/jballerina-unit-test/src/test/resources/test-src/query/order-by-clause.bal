@@ -486,3 +486,60 @@ function incrementCount(int i) returns int {
     int count = i + 2;
     return count;
 }
+
+int limitEvaluationCount = 0;
+
+function getLimit(int lmt) returns int {
+    limitEvaluationCount += 1;
+    return lmt;
+}
+
+function testQueryExprWithOrderByClauseAndLimitEvaluatesLimitOnce() returns boolean {
+    Person p1 = {firstName: "Amy", lastName: "Melina", age: 34};
+    Person p2 = {firstName: "Frank", lastName: "James", age: 30};
+    Person p3 = {firstName: "Melina", lastName: "Kodel", age: 72};
+    Person p4 = {firstName: "Terrence", lastName: "Lewis", age: 30};
+    Person p5 = {firstName: "Meghan", lastName: "Markle", age: 55};
+
+    Person[] personList = [p1, p2, p3, p4, p5];
+    limitEvaluationCount = 0;
+
+    Person[] opPersonList = from var person in personList
+        order by person.age ascending
+        limit getLimit(3)
+        select person;
+
+    boolean testPassed = limitEvaluationCount == 1;
+    testPassed = testPassed && opPersonList.length() == 3;
+    // frames with equal keys keep their input order
+    testPassed = testPassed && opPersonList[0] == p2;
+    testPassed = testPassed && opPersonList[1] == p4;
+    testPassed = testPassed && opPersonList[2] == p1;
+    return testPassed;
+}
+
+function testQueryExprWithOrderByClauseHavingLargeIntKeys() returns int[] {
+    int[] values = [9007199254740993, -9007199254740993, 9007199254740992, 9223372036854775807, -1];
+    return from var v in values
+        order by v descending
+        select v;
+}
+
+function testQueryExprWithOrderByClauseHavingArrayKeys() returns boolean {
+    Employee e1 = {name: "Frank", address: {unitNo: 111, street: "Main Street"}, tokens: {}, noOfShifts: [1, 2, 3]};
+    Employee e2 = {name: "James", address: {unitNo: 222, street: "Main Street"}, tokens: {}, noOfShifts: [1, 2]};
+    Employee e3 = {name: "Nina", address: {unitNo: 333, street: "Palm Grove"}, tokens: {}, noOfShifts: [1, 3]};
+    Employee e4 = {name: "Amy", address: {unitNo: 444, street: "Palm Grove"}, tokens: {}, noOfShifts: [0, 5, 5]};
+
+    Employee[] empList = [e1, e2, e3, e4];
+
+    Employee[] opEmpList = from var emp in empList
+        order by emp.noOfShifts ascending
+        select emp;
+
+    boolean testPassed = opEmpList[0] == e4;
+    testPassed = testPassed && opEmpList[1] == e2;
+    testPassed = testPassed && opEmpList[2] == e1;
+    testPassed = testPassed && opEmpList[3] == e3;
+    return testPassed;
+}
@@ -0,0 +1,105 @@
+// Copyright (c) 2020 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+type Product record {|
+    readonly int id;
+    readonly string category;
+    readonly float? price;
+    readonly decimal weight;
+    int stock;
+|};
+
+type ProductTable table<Product> key(id);
+
+function getProducts() returns ProductTable {
+    ProductTable productTbl = table [
+        {id: 1, category: "fruit", price: 2.5, weight: 1.0, stock: 10},
+        {id: 2, category: "dairy", price: 1.2, weight: 0.5, stock: 5},
+        {id: 3, category: "fruit", price: (), weight: 2.0, stock: 0},
+        {id: 4, category: "bakery", price: 3.0, weight: 0.75, stock: 8},
+        {id: 5, category: "fruit", price: 0.8, weight: 0.25, stock: 20}
+    ];
+    productTbl.addIndex("category");
+    productTbl.addIndex("price");
+    productTbl.addIndex("weight", true);
+    return productTbl;
+}
+
+function testQueryWithIndexedEqualityLookup() returns boolean {
+    ProductTable productTbl = getProducts();
+    final string category = "fruit";
+    int[] ids1 = from var p in productTbl where p.category == category select p.id;
+    int[] ids2 = from var p in productTbl where "dairy" == p.category select p.id;
+    int[] ids3 = from var p in productTbl where p.category == "meat" select p.id;
+    int[] ids4 = from var p in productTbl where p.price == () select p.id;
+    int[] ids5 = from var p in productTbl where p.price == 0.8 select p.id;
+    return ids1 == [1, 3, 5] && ids2 == [2] && ids3.length() == 0 && ids4 == [3] && ids5 == [5];
+}
+
+function testQueryWithIndexedRangeLookup() returns boolean {
+    ProductTable productTbl = getProducts();
+    int[] ids1 = from var p in productTbl where p.weight >= 0.75d select p.id;
+    int[] ids2 = from var p in productTbl where 0.75d > p.weight select p.id;
+    int[] ids3 = getLighterProductIds(productTbl, 1.0d);
+    return ids1 == [1, 3, 4] && ids2 == [2, 5] && ids3 == [2, 4, 5];
+}
+
+function getLighterProductIds(ProductTable productTbl, decimal maxWeight) returns int[] {
+    return from var p in productTbl where p.weight < maxWeight select p.id;
+}
+
+function testQueryWithIndexedLookupOfOtherType() returns boolean {
+    ProductTable productTbl = getProducts();
+    final anydata weight = "1.0";
+    final anydata price = 3;
+    int[] ids1 = from var p in productTbl where p.weight == weight select p.id;
+    int[] ids2 = from var p in productTbl where p.price == price select p.id;
+    return ids1.length() == 0 && ids2.length() == 0;
+}
+
+function testQueryWithIndexAfterTableUpdates() returns boolean {
+    ProductTable productTbl = getProducts();
+    productTbl.put({id: 2, category: "fruit", price: 1.2, weight: 0.5, stock: 5});
+    productTbl.add({id: 6, category: "dairy", price: 4.0, weight: 3.0, stock: 1});
+    _ = productTbl.remove(1);
+    // fields which are not indexed can be updated in place
+    Product product = productTbl.get(3);
+    product.stock = 15;
+
+    int[] ids1 = from var p in productTbl where p.category == "fruit" select p.id;
+    int[] ids2 = from var p in productTbl where p.category == "dairy" select p.id;
+    int[] ids3 = from var p in productTbl where p.weight > 1.0d select p.id;
+    int[] ids4 = from var p in productTbl where p.category == "fruit" && p.stock > 10 select p.id;
+    return ids1 == [2, 3, 5] && ids2 == [6] && ids3 == [3, 6] && ids4 == [3, 5];
+}
+
+function testQueryWithNonFinalVariable() returns boolean {
+    ProductTable productTbl = getProducts();
+    string category = "fruit";
+    category = "bakery";
+    int[] ids = from var p in productTbl where p.category == category select p.id;
+    return ids == [4];
+}
+
+function testStreamQueryOnIndexedTable() returns boolean {
+    ProductTable productTbl = getProducts();
+    stream<Product> productStream = stream from var p in productTbl where p.category == "fruit" select p;
+    int[] ids = [];
+    error? e = productStream.forEach(function (Product p) {
+        ids.push(p.id);
+    });
+    return e is () && ids == [1, 3, 5];
+}